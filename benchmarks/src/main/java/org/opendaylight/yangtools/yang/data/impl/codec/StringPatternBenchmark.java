@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Validation performance of {@link StringStringCodec}s with {@code pattern} restrictions, comparing available
+ * {@link PatternEngine}s on ietf-inet-types address and domain name patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class StringPatternBenchmark {
+    private static final String[] IPV4_ADDRESSES = {
+        "192.168.1.1", "10.0.0.254", "255.255.255.255", "172.16.31.7%eth0"
+    };
+    private static final String[] IPV6_ADDRESSES = {
+        "2001:db8::ff00:42:8329", "fe80::1%eth0", "::ffff:192.168.1.1", "2001:0db8:85a3:0000:0000:8a2e:0370:7334"
+    };
+    private static final String[] DOMAIN_NAMES = {
+        "example.com", "www.opendaylight.org.", "a-very-long-label-with-dashes.sub-domain.example.net"
+    };
+
+    @Param
+    public PatternEngine patternEngine;
+
+    private StringStringCodec ipv4Codec;
+    private StringStringCodec ipv6Codec;
+    private StringStringCodec domainCodec;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + StringPatternBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResource("/string-patterns.yang");
+        ipv4Codec = StringStringCodec.from(typeOf(context, "ipv4-address"), patternEngine);
+        ipv6Codec = StringStringCodec.from(typeOf(context, "ipv6-address"), patternEngine);
+        domainCodec = StringStringCodec.from(typeOf(context, "domain-name"), patternEngine);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ipv4Codec = null;
+        ipv6Codec = null;
+        domainCodec = null;
+    }
+
+    @Benchmark
+    public void ipv4Address(final Blackhole bh) {
+        deserialize(bh, ipv4Codec, IPV4_ADDRESSES);
+    }
+
+    @Benchmark
+    public void ipv6Address(final Blackhole bh) {
+        deserialize(bh, ipv6Codec, IPV6_ADDRESSES);
+    }
+
+    @Benchmark
+    public void domainName(final Blackhole bh) {
+        deserialize(bh, domainCodec, DOMAIN_NAMES);
+    }
+
+    private static void deserialize(final Blackhole bh, final StringStringCodec codec, final String[] values) {
+        for (String value : values) {
+            bh.consume(codec.deserialize(value));
+        }
+    }
+
+    private static StringTypeDefinition typeOf(final EffectiveModelContext context, final String leaf) {
+        return (StringTypeDefinition) ((LeafSchemaNode) context.findDataTreeChild(
+            QName.create("string-patterns", leaf)).orElseThrow()).getType();
+    }
+}
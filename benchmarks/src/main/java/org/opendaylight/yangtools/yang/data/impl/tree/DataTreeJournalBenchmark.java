@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.data.journal.DataTreeJournal;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of {@link DataTreeJournal}. Appending shows the effect of batching syncs, restoring shows the cost of
+ * replaying a journal with and without a snapshot covering it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, timeUnit = TimeUnit.MILLISECONDS)
+public class DataTreeJournalBenchmark {
+    private static final int CANDIDATE_COUNT = 1000;
+    private static final int INNER_LIST_COUNT = 10;
+
+    @Param({ "1", "10", "100" })
+    public int syncInterval;
+
+    private final List<DataTreeCandidate> candidates = new ArrayList<>(CANDIDATE_COUNT);
+
+    private EffectiveModelContext modelContext;
+    private Path appendDirectory;
+    private Path journalDirectory;
+    private Path snapshotDirectory;
+    private DataTreeJournal journal;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + DataTreeJournalBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException, DataValidationFailedException {
+        modelContext = BenchmarkModel.createTestContext();
+        journalDirectory = Files.createTempDirectory("journal");
+        snapshotDirectory = Files.createTempDirectory("snapshot");
+
+        final DataTree dataTree = createTree();
+        try (DataTreeJournal plain = DataTreeJournal.builder(journalDirectory).setSyncInterval(CANDIDATE_COUNT)
+                .open();
+             DataTreeJournal snapshotted = DataTreeJournal.builder(snapshotDirectory)
+                 .setSyncInterval(CANDIDATE_COUNT).open()) {
+            DataTreeModification mod = dataTree.takeSnapshot().newModification();
+            mod.write(BenchmarkModel.TEST_PATH, ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(BenchmarkModel.TEST)
+                .withChild(ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST).build())
+                .build());
+            commit(plain, dataTree, mod);
+
+            for (int i = 0; i < CANDIDATE_COUNT - 1; ++i) {
+                mod = dataTree.takeSnapshot().newModification();
+                mod.write(BenchmarkModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(
+                    BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i)), createEntry(i));
+                commit(plain, dataTree, mod);
+            }
+
+            // Same journal, but with everything covered by a snapshot
+            for (DataTreeCandidate candidate : candidates) {
+                snapshotted.append(candidate);
+            }
+            snapshotted.writeSnapshot(dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()).orElseThrow());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        deleteDirectory(journalDirectory);
+        deleteDirectory(snapshotDirectory);
+        candidates.clear();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws IOException {
+        appendDirectory = Files.createTempDirectory("append");
+        journal = DataTreeJournal.builder(appendDirectory).setSyncInterval(syncInterval).open();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() throws IOException {
+        journal.close();
+        journal = null;
+        deleteDirectory(appendDirectory);
+    }
+
+    @Benchmark
+    public void append1KCandidates() throws IOException {
+        for (DataTreeCandidate candidate : candidates) {
+            journal.append(candidate);
+        }
+    }
+
+    @Benchmark
+    public DataTree restore1KCandidatesFromJournal() throws IOException, DataValidationFailedException {
+        return restore(journalDirectory);
+    }
+
+    @Benchmark
+    public DataTree restore1KCandidatesFromSnapshot() throws IOException, DataValidationFailedException {
+        return restore(snapshotDirectory);
+    }
+
+    private DataTree restore(final Path directory) throws IOException, DataValidationFailedException {
+        final DataTree dataTree = createTree();
+        try (DataTreeJournal restoring = DataTreeJournal.builder(directory).open()) {
+            restoring.restore(dataTree);
+        }
+        return dataTree;
+    }
+
+    private DataTree createTree() {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, modelContext);
+    }
+
+    private void commit(final DataTreeJournal plain, final DataTree dataTree, final DataTreeModification mod)
+            throws IOException, DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        plain.commit(dataTree, candidate);
+        candidates.add(candidate);
+    }
+
+    private static MapEntryNode createEntry(final int id) {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> innerList =
+            ImmutableNodes.mapNodeBuilder(BenchmarkModel.INNER_LIST);
+        for (int j = 0; j < INNER_LIST_COUNT; ++j) {
+            innerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.INNER_LIST_QNAME,
+                BenchmarkModel.NAME_QNAME, j)
+                .withChild(ImmutableNodes.leafNode(BenchmarkModel.VALUE_QNAME, "value" + id + "/" + j))
+                .build());
+        }
+        return ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, id)
+            .withChild(innerList.build()).build();
+    }
+
+    private static void deleteDirectory(final Path directory) throws IOException {
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -8,7 +8,9 @@
 package org.opendaylight.yangtools.yang.data.impl.tree;
 
 import com.google.common.collect.Streams;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -63,6 +65,7 @@ public class InMemoryDataTreeBenchmark {
     private static final int OUTER_LIST_100K = 100000;
     private static final int OUTER_LIST_50K = 50000;
     private static final int OUTER_LIST_10K = 10000;
+    private static final int BATCH_SIZE = 100;
 
     private static final NodeIdentifierWithPredicates[] OUTER_LIST_IDS = Streams.mapWithIndex(
         IntStream.range(0, OUTER_LIST_100K),
@@ -235,6 +238,26 @@ public class InMemoryDataTreeBenchmark {
         }
     }
 
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write10KSingleNodeWithTenInnerItemsInBatchedCommitsBenchmark() throws DataValidationFailedException {
+        final List<DataTreeModification> batch = new ArrayList<>(BATCH_SIZE);
+        for (int outerListKey = 0; outerListKey < OUTER_LIST_10K; ++outerListKey) {
+            final DataTreeModification modification = begin();
+            modification.write(OUTER_LIST_PATHS[outerListKey], OUTER_LIST_TEN_ITEM_INNER_LIST[outerListKey]);
+            modification.ready();
+            batch.add(modification);
+            if (batch.size() == BATCH_SIZE) {
+                datastore.commit(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            datastore.commit(batch);
+        }
+    }
+
     private CursorAwareDataTreeModification begin() {
         return (CursorAwareDataTreeModification) datastore.takeSnapshot().newModification();
     }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.OffHeapSubtreeOffloader;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Comparison of on-heap and off-heap storage of list entries in an {@link DataTree}. The benchmark reads from a
+ * datastore populated with entries, which are either kept on heap or offloaded. The interesting numbers are those
+ * reported by the GC profiler, which is enabled when running via {@link #main(String...)}: with a limited heap the
+ * on-heap datastore leaves less room for young generation, resulting in more frequent collections. The score itself
+ * shows the cost of materializing offloaded entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 5, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, timeUnit = TimeUnit.MILLISECONDS)
+public class OffHeapStorageBenchmark {
+    private static final int OUTER_LIST_COUNT = 20000;
+    private static final int INNER_LIST_COUNT = 10;
+
+    private static final MapNode EMPTY_OUTER_LIST = ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST).build();
+    private static final YangInstanceIdentifier[] OUTER_LIST_PATHS = new YangInstanceIdentifier[OUTER_LIST_COUNT];
+
+    static {
+        for (int i = 0; i < OUTER_LIST_COUNT; ++i) {
+            OUTER_LIST_PATHS[i] = BenchmarkModel.OUTER_LIST_PATH.node(NodeIdentifierWithPredicates.of(
+                BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, i)).toOptimized();
+        }
+    }
+
+    @Param({ "false", "true" })
+    public boolean offHeap;
+
+    private DataTree datastore;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + OffHeapStorageBenchmark.class.getSimpleName() + ".*")
+            .addProfiler(GCProfiler.class)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() throws DataValidationFailedException {
+        final DataTreeConfiguration.Builder builder = DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder();
+        if (offHeap) {
+            builder.setSubtreeOffloader(OffHeapSubtreeOffloader.of(NormalizedNodeStreamVersion.current(), 0));
+        }
+        datastore = new InMemoryDataTreeFactory().create(builder.build(), BenchmarkModel.createTestContext());
+
+        final DataTreeModification modification = datastore.takeSnapshot().newModification();
+        modification.write(BenchmarkModel.TEST_PATH, ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(BenchmarkModel.TEST).withChild(EMPTY_OUTER_LIST).build());
+        modification.ready();
+        datastore.commit(datastore.prepare(modification));
+
+        // Entries are created on the fly, so that the only reference to them is held by the datastore
+        for (int i = 0; i < OUTER_LIST_COUNT; ++i) {
+            final DataTreeModification mod = datastore.takeSnapshot().newModification();
+            mod.write(OUTER_LIST_PATHS[i], createEntry(i));
+            mod.ready();
+            datastore.validate(mod);
+            datastore.commit(datastore.prepare(mod));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        datastore = null;
+    }
+
+    @Benchmark
+    public void read20KEntriesWithTenInnerItems(final Blackhole blackhole) {
+        final DataTreeSnapshot snapshot = datastore.takeSnapshot();
+        for (int i = 0; i < OUTER_LIST_COUNT; ++i) {
+            blackhole.consume(snapshot.readNode(OUTER_LIST_PATHS[i]
+                .node(BenchmarkModel.INNER_LIST_QNAME)));
+        }
+    }
+
+    private static MapEntryNode createEntry(final int id) {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> innerList =
+            ImmutableNodes.mapNodeBuilder(BenchmarkModel.INNER_LIST);
+        for (int j = 0; j < INNER_LIST_COUNT; ++j) {
+            innerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.INNER_LIST_QNAME,
+                BenchmarkModel.NAME_QNAME, j)
+                .withChild(ImmutableNodes.leafNode(BenchmarkModel.VALUE_QNAME, "value" + id + "/" + j))
+                .build());
+        }
+        return ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, id)
+            .withChild(innerList.build()).build();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamCompression;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compression ratio versus throughput of {@link NormalizedNodeStreamCompression} on a datastore-like tree. The score
+ * is the number of serializations (or deserializations) per second, while the {@code bytes} secondary result reports
+ * the number of bytes produced (or consumed) per second. Dividing the two yields the stream size, which can be
+ * compared against the {@code NONE} baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class StreamCompressionBenchmark {
+    public enum Compression {
+        NONE,
+        DEFLATE_FAST,
+        DEFLATE_DEFAULT,
+        DEFLATE_FAST_PARALLEL;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+        public long bytes;
+    }
+
+    private static final int OUTER_LIST_COUNT = 20000;
+    private static final int INNER_LIST_COUNT = 10;
+
+    @Param
+    public Compression compression;
+
+    private ExecutorService executor;
+    private NormalizedNode tree;
+    private byte[] stream;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + StreamCompressionBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        tree = createTree();
+        stream = write();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        executor = null;
+        tree = null;
+        stream = null;
+    }
+
+    @Benchmark
+    public byte[] write20KEntriesWithTenInnerItems(final Counters counters) throws IOException {
+        final byte[] bytes = write();
+        counters.bytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public NormalizedNode read20KEntriesWithTenInnerItems(final Counters counters) throws IOException {
+        final InputStream is = new ByteArrayInputStream(stream);
+        final NormalizedNode ret = NormalizedNodeDataInput.newDataInput(new DataInputStream(
+            compression == Compression.NONE ? is : NormalizedNodeStreamCompression.newInputStream(is)))
+            .readNormalizedNode();
+        counters.bytes += stream.length;
+        return ret;
+    }
+
+    private byte[] write() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.current().newDataOutput(
+                new DataOutputStream(compress(bos)))) {
+            out.writeNormalizedNode(tree);
+        }
+        return bos.toByteArray();
+    }
+
+    private OutputStream compress(final OutputStream out) {
+        switch (compression) {
+            case NONE:
+                return out;
+            case DEFLATE_FAST:
+                return NormalizedNodeStreamCompression.DEFLATE.newOutputStream(out,
+                    NormalizedNodeStreamCompression.DEFAULT_BLOCK_SIZE, Deflater.BEST_SPEED, null);
+            case DEFLATE_DEFAULT:
+                return NormalizedNodeStreamCompression.DEFLATE.newOutputStream(out);
+            case DEFLATE_FAST_PARALLEL:
+                return NormalizedNodeStreamCompression.DEFLATE.newOutputStream(out,
+                    NormalizedNodeStreamCompression.DEFAULT_BLOCK_SIZE, Deflater.BEST_SPEED, executor);
+            default:
+                throw new IllegalStateException("Unhandled compression " + compression);
+        }
+    }
+
+    private static ContainerNode createTree() {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> outerList =
+            ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST);
+        for (int i = 0; i < OUTER_LIST_COUNT; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, SystemMapNode> innerList =
+                ImmutableNodes.mapNodeBuilder(BenchmarkModel.INNER_LIST);
+            for (int j = 0; j < INNER_LIST_COUNT; ++j) {
+                innerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.INNER_LIST_QNAME,
+                    BenchmarkModel.NAME_QNAME, j)
+                    .withChild(ImmutableNodes.leafNode(BenchmarkModel.VALUE_QNAME, "value" + i + "/" + j))
+                    .build());
+            }
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME,
+                BenchmarkModel.ID_QNAME, i).withChild(innerList.build()).build());
+        }
+        return ImmutableContainerNodeBuilder.create().withNodeIdentifier(BenchmarkModel.TEST)
+            .withChild(outerList.build()).build();
+    }
+}
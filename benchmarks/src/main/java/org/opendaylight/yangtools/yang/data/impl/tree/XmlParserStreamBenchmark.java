@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLStreamException;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlCodecFactory;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.SAXException;
+
+/**
+ * Buffering versus streaming {@link XmlParserStream} on a datastore-like XML document. With the default 200K outer
+ * list entries the document is about 150MB in size. Run with {@code -prof gc} to compare allocation rates, which is
+ * where the streaming parser is expected to differ the most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class XmlParserStreamBenchmark {
+    private static final int INNER_LIST_COUNT = 10;
+
+    @Param({ "20000", "200000" })
+    public int outerListCount;
+
+    private XmlCodecFactory codecs;
+    private Inference inference;
+    private byte[] document;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + XmlParserStreamBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final EffectiveModelContext context = BenchmarkModel.createTestContext();
+        codecs = XmlCodecFactory.create(context);
+        inference = Inference.ofDataTreePath(context, BenchmarkModel.TEST.getNodeType());
+        document = createDocument(outerListCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        codecs = null;
+        inference = null;
+        document = null;
+    }
+
+    @Benchmark
+    public NormalizedNode parseBuffered() throws XMLStreamException, URISyntaxException, IOException, SAXException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+        XmlParserStream.create(writer, codecs, inference, true)
+            .parse(UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(document)));
+        return result.getResult();
+    }
+
+    @Benchmark
+    public NormalizedNode parseStreaming() throws XMLStreamException, URISyntaxException, IOException, SAXException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+        XmlParserStream.createStreaming(writer, codecs, inference, true)
+            .parse(UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(document)));
+        return result.getResult();
+    }
+
+    private static byte[] createDocument(final int outerListCount) throws IOException {
+        final String ns = BenchmarkModel.TEST.getNodeType().getNamespace().toString();
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bos, StandardCharsets.UTF_8)) {
+            out.write("<test xmlns=\"" + ns + "\">\n");
+            for (int i = 0; i < outerListCount; ++i) {
+                out.write("  <outer-list>\n    <id>" + i + "</id>\n");
+                for (int j = 0; j < INNER_LIST_COUNT; ++j) {
+                    out.write("    <inner-list>\n      <name>" + j + "</name>\n      <value>value" + i + "/" + j
+                        + "</value>\n    </inner-list>\n");
+                }
+                out.write("  </outer-list>\n");
+            }
+            out.write("</test>\n");
+        }
+        return bos.toByteArray();
+    }
+}
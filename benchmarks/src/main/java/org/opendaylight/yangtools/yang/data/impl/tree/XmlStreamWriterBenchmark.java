@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link XMLStreamNormalizedNodeStreamWriter} writing to an {@link XMLOutputFactory}-provided {@link XMLStreamWriter}
+ * versus writing directly to an {@link java.io.OutputStream}, on a datastore-like tree. Both variants produce UTF-8
+ * encoded XML into a reused buffer. Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class XmlStreamWriterBenchmark {
+    private static final XMLOutputFactory FACTORY = XMLOutputFactory.newFactory();
+    private static final int OUTER_LIST_COUNT = 20000;
+    private static final int INNER_LIST_COUNT = 10;
+
+    private EffectiveModelContext context;
+    private ContainerNode tree;
+    private ByteArrayOutputStream bos;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + XmlStreamWriterBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkModel.createTestContext();
+        tree = createTree();
+        bos = new ByteArrayOutputStream();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context = null;
+        tree = null;
+        bos = null;
+    }
+
+    @Benchmark
+    public int writeXMLStreamWriter() throws IOException, XMLStreamException {
+        bos.reset();
+        final XMLStreamWriter xmlWriter = FACTORY.createXMLStreamWriter(bos, "UTF-8");
+        write(XMLStreamNormalizedNodeStreamWriter.create(xmlWriter, context));
+        xmlWriter.close();
+        return bos.size();
+    }
+
+    @Benchmark
+    public int writeOutputStream() throws IOException {
+        bos.reset();
+        write(XMLStreamNormalizedNodeStreamWriter.create(bos, context));
+        return bos.size();
+    }
+
+    private void write(final NormalizedNodeStreamWriter streamWriter) throws IOException {
+        try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(streamWriter)) {
+            writer.write(tree);
+        }
+    }
+
+    private static ContainerNode createTree() {
+        final CollectionNodeBuilder<MapEntryNode, SystemMapNode> outerList =
+            ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST);
+        for (int i = 0; i < OUTER_LIST_COUNT; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, SystemMapNode> innerList =
+                ImmutableNodes.mapNodeBuilder(BenchmarkModel.INNER_LIST);
+            for (int j = 0; j < INNER_LIST_COUNT; ++j) {
+                innerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.INNER_LIST_QNAME,
+                    BenchmarkModel.NAME_QNAME, j)
+                    .withChild(ImmutableNodes.leafNode(BenchmarkModel.VALUE_QNAME, "value" + i + "/" + j))
+                    .build());
+            }
+            outerList.withChild(ImmutableNodes.mapEntryBuilder(BenchmarkModel.OUTER_LIST_QNAME,
+                BenchmarkModel.ID_QNAME, i).withChild(innerList.build()).build());
+        }
+        return ImmutableContainerNodeBuilder.create().withNodeIdentifier(BenchmarkModel.TEST)
+            .withChild(outerList.build()).build();
+    }
+}
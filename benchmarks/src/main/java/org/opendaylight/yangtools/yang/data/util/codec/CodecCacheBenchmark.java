@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util.codec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Lookup performance of {@link CodecCache} implementations, with all threads sharing a single, fully-populated cache.
+ * {@link LazyCodecCache} is not thread-safe, but is included as a baseline, as concurrent reads are safe once
+ * the cache is populated. {@link NoopCodecCache} measures the cost of a lookup miss. Lives in the same package as
+ * {@link CodecCache} so it can access lookup methods directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class CodecCacheBenchmark {
+    public enum CacheType {
+        NOOP,
+        LAZY,
+        PRECOMPUTED,
+        SHARED,
+        CONCURRENT;
+    }
+
+    @Param
+    public CacheType cacheType;
+
+    private CodecCache<Object> cache;
+    private TypedDataSchemaNode[] leaves;
+    private TypeDefinition<?>[] types;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + CodecCacheBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("deprecation")
+    public void setup() {
+        final List<TypedDataSchemaNode> tmp = new ArrayList<>();
+        collectLeaves(tmp, YangParserTestUtils.parseYangResource("/odl-datastore-test.yang"));
+        leaves = tmp.toArray(new TypedDataSchemaNode[0]);
+        types = tmp.stream().map(TypedDataSchemaNode::getType).toArray(TypeDefinition<?>[]::new);
+
+        switch (cacheType) {
+            case NOOP:
+                cache = NoopCodecCache.getInstance();
+                break;
+            case LAZY:
+                cache = populate(new LazyCodecCache<>());
+                break;
+            case PRECOMPUTED:
+                cache = populate(new LazyCodecCache<>()).toPrecomputed();
+                break;
+            case SHARED:
+                cache = populate(new SharedCodecCache<>());
+                break;
+            case CONCURRENT:
+                cache = populate(new ConcurrentCodecCache<>());
+                break;
+            default:
+                throw new IllegalStateException("Unhandled cache type " + cacheType);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cache = null;
+        leaves = null;
+        types = null;
+    }
+
+    @Benchmark
+    public void lookupSimple(final Blackhole bh) {
+        for (TypeDefinition<?> type : types) {
+            bh.consume(cache.lookupSimple(type));
+        }
+    }
+
+    @Benchmark
+    public void lookupComplex(final Blackhole bh) {
+        for (TypedDataSchemaNode leaf : leaves) {
+            bh.consume(cache.lookupComplex(leaf));
+        }
+    }
+
+    private <C extends CodecCache<Object>> C populate(final C toPopulate) {
+        for (TypedDataSchemaNode leaf : leaves) {
+            toPopulate.getSimple(leaf.getType(), new Object());
+            toPopulate.getComplex(leaf, new Object());
+        }
+        return toPopulate;
+    }
+
+    private static void collectLeaves(final List<TypedDataSchemaNode> to, final DataNodeContainer parent) {
+        for (DataSchemaNode child : parent.getChildNodes()) {
+            collectChild(to, child);
+        }
+    }
+
+    private static void collectChild(final List<TypedDataSchemaNode> to, final DataSchemaNode child) {
+        if (child instanceof TypedDataSchemaNode) {
+            to.add((TypedDataSchemaNode) child);
+        } else if (child instanceof DataNodeContainer) {
+            collectLeaves(to, (DataNodeContainer) child);
+        } else if (child instanceof ChoiceSchemaNode) {
+            ((ChoiceSchemaNode) child).getCases().forEach(caze -> collectLeaves(to, caze));
+        }
+    }
+}
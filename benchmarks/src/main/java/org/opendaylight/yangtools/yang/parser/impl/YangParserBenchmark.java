@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserException;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of assembling an {@link EffectiveModelContext} from a directory of YANG texts, comparing adding the texts one
+ * by one via {@link YangParser#addSource(org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation)},
+ * which parses them on the caller's thread, with adding them as a batch via
+ * {@link YangParser#addSources(java.util.Collection)} of a parser which parses them concurrently on the common
+ * {@link ForkJoinPool}. The set of texts is taken from the directory specified by the {@code corpus} parameter, which
+ * should point to a large set of models, such as a checkout of the OpenConfig or IETF YANG model repositories. If it
+ * is not specified, the models bundled with this module are used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class YangParserBenchmark {
+    private static final List<String> BUNDLED_RESOURCES = List.of("/odl-datastore-test.yang", "/string-patterns.yang");
+
+    @Param("")
+    public String corpus;
+
+    private final YangParserFactory factory = new YangParserFactoryImpl();
+    private final YangParserFactory concurrentFactory = new YangParserFactoryImpl(DefaultReactors.defaultReactor(),
+        ForkJoinPool.commonPool());
+    private List<YangTextSchemaSource> sources;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + YangParserBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final List<YangTextSchemaSource> texts = new ArrayList<>();
+        if (corpus.isEmpty()) {
+            for (String resource : BUNDLED_RESOURCES) {
+                texts.add(YangTextSchemaSource.forResource(YangParserBenchmark.class, resource));
+            }
+        } else {
+            try (Stream<Path> paths = Files.walk(Paths.get(corpus))) {
+                for (Path path : paths.filter(path -> path.toString().endsWith(".yang")).collect(Collectors.toList())) {
+                    texts.add(YangTextSchemaSource.forFile(path.toFile()));
+                }
+            }
+        }
+
+        // Keep texts in memory, so that we do not measure the filesystem
+        sources = new ArrayList<>(texts.size());
+        for (YangTextSchemaSource text : texts) {
+            sources.add(YangTextSchemaSource.delegateForByteSource(text.getIdentifier(),
+                ByteSource.wrap(text.read())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sources = null;
+    }
+
+    @Benchmark
+    public EffectiveModelContext sequential() throws IOException, YangParserException, YangSyntaxErrorException {
+        final YangParser parser = factory.createParser(StatementParserMode.DEFAULT_MODE);
+        for (YangTextSchemaSource source : sources) {
+            parser.addSource(source);
+        }
+        return parser.buildEffectiveModel();
+    }
+
+    @Benchmark
+    public EffectiveModelContext batch() throws IOException, YangParserException, YangSyntaxErrorException {
+        return concurrentFactory.createParser(StatementParserMode.DEFAULT_MODE).addSources(sources)
+            .buildEffectiveModel();
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import com.google.common.io.ByteSource;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Cost of turning a set of YANG texts into IR, comparing a cold start, which has to lex and parse all of them, with a
+ * warm start, which finds all of them in a {@link FilesystemIRSourceCache}. The set of texts is taken from the
+ * directory specified by the {@code corpus} parameter, which should point to a large set of models, such as a checkout
+ * of the OpenConfig or IETF YANG model repositories. If it is not specified, the models bundled with this module are
+ * used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+public class IRSourceCacheBenchmark {
+    private static final List<String> BUNDLED_RESOURCES = List.of("/odl-datastore-test.yang", "/string-patterns.yang");
+
+    @Param("")
+    public String corpus;
+
+    private List<YangTextSchemaSource> sources;
+    private Path cacheDirectory;
+    private FilesystemIRSourceCache cache;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + IRSourceCacheBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, YangSyntaxErrorException {
+        // Keep texts in memory, so that we do not measure the filesystem
+        final List<YangTextSchemaSource> texts = new ArrayList<>();
+        if (corpus.isEmpty()) {
+            for (String resource : BUNDLED_RESOURCES) {
+                texts.add(YangTextSchemaSource.forResource(IRSourceCacheBenchmark.class, resource));
+            }
+        } else {
+            try (Stream<Path> paths = Files.walk(Paths.get(corpus))) {
+                for (Path path : paths.filter(path -> path.toString().endsWith(".yang")).collect(Collectors.toList())) {
+                    texts.add(YangTextSchemaSource.forFile(path.toFile()));
+                }
+            }
+        }
+
+        sources = new ArrayList<>(texts.size());
+        for (YangTextSchemaSource text : texts) {
+            sources.add(YangTextSchemaSource.delegateForByteSource(text.getIdentifier(),
+                ByteSource.wrap(text.read())));
+        }
+
+        cacheDirectory = Files.createTempDirectory("ir-cache");
+        cache = FilesystemIRSourceCache.create(cacheDirectory);
+        for (YangTextSchemaSource source : sources) {
+            cache.transformText(source);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cache = null;
+        sources = null;
+        MoreFiles.deleteRecursively(cacheDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+
+    @Benchmark
+    public void coldStart(final Blackhole bh) throws IOException, YangSyntaxErrorException {
+        for (YangTextSchemaSource source : sources) {
+            bh.consume(TextToIRTransformer.transformText(source));
+        }
+    }
+
+    @Benchmark
+    public void warmStart(final Blackhole bh) throws IOException, YangSyntaxErrorException {
+        for (YangTextSchemaSource source : sources) {
+            bh.consume(cache.transformText(source));
+        }
+    }
+}
@@ -34,7 +34,8 @@ abstract class AbstractModifiedContainerNode extends AbstractContainerNode {
     }
 
     protected final Map<PathArgument, TreeNode> snapshotChildren() {
-        return MapAdaptor.getDefaultInstance().takeSnapshot(children);
+        return children instanceof PersistentChildMap ? ((PersistentChildMap) children).toMutable()
+            : MapAdaptor.getDefaultInstance().takeSnapshot(children);
     }
 
     @Override
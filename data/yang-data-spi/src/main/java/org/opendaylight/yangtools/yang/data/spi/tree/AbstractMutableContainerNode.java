@@ -80,7 +80,7 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
          * => more materialization can happen
          */
         if (!version.equals(subtreeVersion)) {
-            final Map<PathArgument, TreeNode> newChildren = MapAdaptor.getDefaultInstance().optimize(children);
+            final Map<PathArgument, TreeNode> newChildren = optimizeChildren(children);
             final int dataSize = getData().body().size();
             final int childrenSize = newChildren.size();
             if (dataSize != childrenSize) {
@@ -98,4 +98,19 @@ abstract class AbstractMutableContainerNode implements MutableTreeNode {
         children = null;
         return ret;
     }
+
+    private static Map<PathArgument, TreeNode> optimizeChildren(final Map<PathArgument, TreeNode> children) {
+        /*
+         * Large maps are held in a PersistentChildMap, which is cheaper to snapshot and uses less memory than
+         * the maps provided by MapAdaptor. Once a map is promoted, we keep it, as mutable() can then be satisfied
+         * in constant time.
+         */
+        if (children instanceof PersistentChildMap) {
+            return ((PersistentChildMap) children).toImmutable();
+        }
+        if (children.size() >= PersistentChildMap.MIN_SIZE) {
+            return PersistentChildMap.copyOf(children);
+        }
+        return MapAdaptor.getDefaultInstance().optimize(children);
+    }
 }
@@ -0,0 +1,540 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.spi.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.MapAdaptor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * A persistent Hash Array Mapped Trie holding child {@link TreeNode}s. This is used instead of a
+ * {@link MapAdaptor}-managed map for nodes with a large number of children, typically keyed lists.
+ *
+ * <p>
+ * Unlike a general-purpose map, this trie stores the {@link TreeNode}s themselves in its leaves: the key is
+ * {@link TreeNode#getIdentifier()} and its cached hash code is used to index the trie. Each mapping therefore costs a
+ * single array slot, without a per-mapping entry object or a separate copy of the key.
+ *
+ * <p>
+ * Note the trie does not retain any {@link PathArgument} of its own. {@link TreeNode#getIdentifier()} is forwarded to
+ * {@link org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode#getIdentifier()} of the child's data, hence
+ * for list entries the {@code NodeIdentifierWithPredicates} is owned by the {@code MapEntryNode}, which needs to keep
+ * it for as long as the entry is part of the tree. Keying the trie by raw key values and re-creating the identifier
+ * on access would not reduce the footprint of an entry, but would add an allocation to each lookup and iteration
+ * step. Eliminating the identifier altogether requires a {@code MapEntryNode} which materializes it on demand, which
+ * is beyond the scope of this class.
+ *
+ * <p>
+ * An instance is either mutable or immutable. A mutable instance is obtained through {@link #toMutable()}, which is an
+ * O(1) operation sharing the entire trie. Mutations copy only the path from the root to the modified leaf, and
+ * repeated mutations through the same mutable instance update its private nodes in place. {@link #toImmutable()}
+ * freezes the instance, again in O(1).
+ */
+final class PersistentChildMap extends AbstractMap<PathArgument, TreeNode> {
+    /**
+     * Minimum number of children for which a node is switched to this implementation.
+     */
+    static final int MIN_SIZE = MapAdaptor.DEFAULT_PERSIST_MIN_ITEMS;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    // 7 bitmap levels cover all 32 bits of the hash, plus one level of collision nodes
+    private static final int MAX_DEPTH = 8;
+
+    /**
+     * Mutation context. It acts as the ownership token of nodes which can be updated in place and also carries the
+     * leaf replaced or removed by the last operation.
+     */
+    private static final class Edit {
+        @Nullable TreeNode previous;
+    }
+
+    private abstract static class Node {
+        abstract Object[] array();
+
+        abstract @Nullable TreeNode get(int shift, int hash, Object key);
+
+        abstract @NonNull Node put(Edit edit, int shift, int hash, TreeNode value);
+
+        abstract @Nullable Node remove(Edit edit, int shift, int hash, Object key);
+
+        /**
+         * Return the leaf this node holds, if it holds exactly one leaf and no other nodes.
+         *
+         * @return Single leaf, or null
+         */
+        abstract @Nullable TreeNode singleLeaf();
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        private final Edit owner;
+
+        private int bitmap;
+        private Object[] array;
+
+        BitmapNode(final Edit owner, final int bitmap, final Object[] array) {
+            this.owner = owner;
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        @Override
+        TreeNode get(final int shift, final int hash, final Object key) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final Object obj = array[index(bit)];
+            if (obj instanceof Node) {
+                return ((Node) obj).get(shift + BITS, hash, key);
+            }
+            final TreeNode leaf = (TreeNode) obj;
+            return key.equals(leaf.getIdentifier()) ? leaf : null;
+        }
+
+        @Override
+        Node put(final Edit edit, final int shift, final int hash, final TreeNode value) {
+            final int bit = bitpos(hash, shift);
+            final int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newArray = new Object[array.length + 1];
+                System.arraycopy(array, 0, newArray, 0, idx);
+                newArray[idx] = value;
+                System.arraycopy(array, idx, newArray, idx + 1, array.length - idx);
+                return withArray(edit, bitmap | bit, newArray);
+            }
+
+            final Object obj = array[idx];
+            final Object newObj;
+            if (obj instanceof Node) {
+                final Node child = (Node) obj;
+                newObj = child.put(edit, shift + BITS, hash, value);
+                if (newObj == child) {
+                    return this;
+                }
+            } else {
+                final TreeNode leaf = (TreeNode) obj;
+                if (value.getIdentifier().equals(leaf.getIdentifier())) {
+                    edit.previous = leaf;
+                    if (leaf == value) {
+                        return this;
+                    }
+                    newObj = value;
+                } else {
+                    newObj = merge(edit, shift + BITS, leaf, hash, value);
+                }
+            }
+
+            final BitmapNode ret = editable(edit);
+            ret.array[idx] = newObj;
+            return ret;
+        }
+
+        @Override
+        Node remove(final Edit edit, final int shift, final int hash, final Object key) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int idx = index(bit);
+            final Object obj = array[idx];
+            if (obj instanceof Node) {
+                final Node child = (Node) obj;
+                final Node newChild = child.remove(edit, shift + BITS, hash, key);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    // Pull single leaves up, so the trie does not retain unnecessary levels
+                    final TreeNode leaf = newChild.singleLeaf();
+                    final BitmapNode ret = editable(edit);
+                    ret.array[idx] = leaf != null ? leaf : newChild;
+                    return ret;
+                }
+            } else {
+                final TreeNode leaf = (TreeNode) obj;
+                if (!key.equals(leaf.getIdentifier())) {
+                    return this;
+                }
+                edit.previous = leaf;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 1, newArray, idx, newArray.length - idx);
+            return withArray(edit, bitmap ^ bit, newArray);
+        }
+
+        @Override
+        TreeNode singleLeaf() {
+            return array.length == 1 && array[0] instanceof TreeNode ? (TreeNode) array[0] : null;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & bit - 1);
+        }
+
+        private BitmapNode editable(final Edit newEdit) {
+            return owner == newEdit ? this : new BitmapNode(newEdit, bitmap, array.clone());
+        }
+
+        private BitmapNode withArray(final Edit newEdit, final int newBitmap, final Object[] newArray) {
+            if (owner == newEdit) {
+                bitmap = newBitmap;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(newEdit, newBitmap, newArray);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final Edit owner;
+        private final int hash;
+
+        private TreeNode[] array;
+
+        CollisionNode(final Edit owner, final int hash, final TreeNode[] array) {
+            this.owner = owner;
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        Object[] array() {
+            return array;
+        }
+
+        @Override
+        TreeNode get(final int shift, final int keyHash, final Object key) {
+            if (keyHash == hash) {
+                for (TreeNode leaf : array) {
+                    if (key.equals(leaf.getIdentifier())) {
+                        return leaf;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        Node put(final Edit edit, final int shift, final int keyHash, final TreeNode value) {
+            if (keyHash != hash) {
+                return new BitmapNode(edit, bitpos(hash, shift), new Object[] { this })
+                    .put(edit, shift, keyHash, value);
+            }
+
+            final int idx = indexOf(value.getIdentifier());
+            if (idx != -1) {
+                final TreeNode leaf = array[idx];
+                edit.previous = leaf;
+                if (leaf == value) {
+                    return this;
+                }
+                final TreeNode[] newArray = array.clone();
+                newArray[idx] = value;
+                return withArray(edit, newArray);
+            }
+
+            final TreeNode[] newArray = new TreeNode[array.length + 1];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = value;
+            return withArray(edit, newArray);
+        }
+
+        @Override
+        Node remove(final Edit edit, final int shift, final int keyHash, final Object key) {
+            if (keyHash != hash) {
+                return this;
+            }
+            final int idx = indexOf(key);
+            if (idx == -1) {
+                return this;
+            }
+
+            edit.previous = array[idx];
+            if (array.length == 1) {
+                return null;
+            }
+            final TreeNode[] newArray = new TreeNode[array.length - 1];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 1, newArray, idx, newArray.length - idx);
+            return withArray(edit, newArray);
+        }
+
+        @Override
+        TreeNode singleLeaf() {
+            return array.length == 1 ? array[0] : null;
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < array.length; ++i) {
+                if (key.equals(array[i].getIdentifier())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private CollisionNode withArray(final Edit newEdit, final TreeNode[] newArray) {
+            if (owner == newEdit) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(newEdit, hash, newArray);
+        }
+    }
+
+    private static final class LeafIterator implements Iterator<TreeNode> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] indexes = new int[MAX_DEPTH];
+
+        private TreeNode next;
+        private int depth;
+
+        LeafIterator(final Node root) {
+            arrays[0] = root.array();
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public TreeNode next() {
+            final TreeNode ret = next;
+            if (ret == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return ret;
+        }
+
+        private void advance() {
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int idx = indexes[depth];
+                if (idx == array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+
+                indexes[depth] = idx + 1;
+                final Object obj = array[idx];
+                if (obj instanceof Node) {
+                    ++depth;
+                    arrays[depth] = ((Node) obj).array();
+                    indexes[depth] = 0;
+                } else {
+                    next = (TreeNode) obj;
+                    return;
+                }
+            }
+            next = null;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<PathArgument, TreeNode>> {
+        @Override
+        public Iterator<Entry<PathArgument, TreeNode>> iterator() {
+            final Iterator<TreeNode> it = new LeafIterator(root);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Entry<PathArgument, TreeNode> next() {
+                    final TreeNode leaf = it.next();
+                    return new SimpleImmutableEntry<>(leaf.getIdentifier(), leaf);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private @NonNull Node root;
+    private @Nullable Edit edit;
+    private int size;
+
+    private PersistentChildMap(final Node root, final int size, final Edit edit) {
+        this.root = root;
+        this.size = size;
+        this.edit = edit;
+    }
+
+    /**
+     * Create an immutable map containing specified children.
+     *
+     * @param children Children to include
+     * @return An immutable map
+     */
+    static @NonNull PersistentChildMap copyOf(final Map<PathArgument, TreeNode> children) {
+        final PersistentChildMap ret = new PersistentChildMap(BitmapNode.EMPTY, 0, new Edit());
+        for (TreeNode child : children.values()) {
+            ret.putChild(child);
+        }
+        return ret.toImmutable();
+    }
+
+    /**
+     * Return a mutable copy of this map. This method can only be invoked on an immutable map.
+     *
+     * @return A mutable map
+     * @throws IllegalStateException if this map is mutable
+     */
+    @NonNull PersistentChildMap toMutable() {
+        checkState(edit == null, "Attempted to snapshot mutable map %s", this);
+        return new PersistentChildMap(root, size, new Edit());
+    }
+
+    /**
+     * Freeze this map. This instance becomes immutable and is returned.
+     *
+     * @return This map
+     */
+    @NonNull PersistentChildMap toImmutable() {
+        edit = null;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public TreeNode get(final Object key) {
+        return key instanceof PathArgument ? root.get(0, hash(key), key) : null;
+    }
+
+    @Override
+    public TreeNode put(final PathArgument key, final TreeNode value) {
+        checkArgument(key.equals(value.getIdentifier()), "Key %s does not match value %s", key, value);
+        return putChild(value);
+    }
+
+    @Override
+    public TreeNode remove(final Object key) {
+        if (!(key instanceof PathArgument)) {
+            return null;
+        }
+
+        final Edit local = checkMutable();
+        local.previous = null;
+        final Node newRoot = root.remove(local, 0, hash(key), key);
+        root = newRoot != null ? newRoot : BitmapNode.EMPTY;
+        return consumePrevious(local, -1);
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        root = BitmapNode.EMPTY;
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<PathArgument, TreeNode>> entrySet() {
+        return new EntrySet();
+    }
+
+    private TreeNode putChild(final TreeNode value) {
+        final Edit local = checkMutable();
+        local.previous = null;
+        root = root.put(local, 0, hash(value.getIdentifier()), value);
+        return consumePrevious(local, 1);
+    }
+
+    private Edit checkMutable() {
+        final Edit local = edit;
+        if (local == null) {
+            throw new UnsupportedOperationException("Map is immutable");
+        }
+        return local;
+    }
+
+    private TreeNode consumePrevious(final Edit local, final int delta) {
+        final TreeNode ret = local.previous;
+        if (ret != null) {
+            local.previous = null;
+            if (delta < 0) {
+                size--;
+            }
+        } else if (delta > 0) {
+            size++;
+        }
+        return ret;
+    }
+
+    private static int hash(final Object key) {
+        // PathArgument hash codes are cached, but not necessarily well-distributed in the lower bits
+        final int hash = key.hashCode();
+        return hash ^ hash >>> 16;
+    }
+
+    static int bitpos(final int hash, final int shift) {
+        return 1 << (hash >>> shift & MASK);
+    }
+
+    static Node merge(final Edit edit, final int shift, final TreeNode first, final int secondHash,
+            final TreeNode second) {
+        final int firstHash = hash(first.getIdentifier());
+        if (firstHash == secondHash) {
+            return new CollisionNode(edit, firstHash, new TreeNode[] { first, second });
+        }
+
+        final int firstFrag = firstHash >>> shift & MASK;
+        final int secondFrag = secondHash >>> shift & MASK;
+        if (firstFrag == secondFrag) {
+            return new BitmapNode(edit, 1 << firstFrag,
+                new Object[] { merge(edit, shift + BITS, first, secondHash, second) });
+        }
+        return new BitmapNode(edit, 1 << firstFrag | 1 << secondFrag,
+            firstFrag < secondFrag ? new Object[] { first, second } : new Object[] { second, first });
+    }
+}
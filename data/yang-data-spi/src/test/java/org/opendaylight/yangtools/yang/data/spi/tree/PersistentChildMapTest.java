@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.spi.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+public class PersistentChildMapTest {
+    private static final QName LIST = QName.create("test", "list");
+    private static final QName KEY = QName.create(LIST, "key");
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        final Map<PathArgument, TreeNode> expected = new HashMap<>();
+        PersistentChildMap map = PersistentChildMap.copyOf(Map.of());
+
+        for (int round = 0; round < 20; ++round) {
+            final PersistentChildMap previous = map;
+            final Map<PathArgument, TreeNode> previousExpected = new HashMap<>(expected);
+
+            final PersistentChildMap mutable = map.toMutable();
+            for (int i = 0; i < 500; ++i) {
+                final int key = random.nextInt(2000);
+                if (random.nextInt(3) == 0) {
+                    assertSame(expected.remove(id(key)), mutable.remove(id(key)));
+                } else {
+                    final TreeNode node = node(id(key));
+                    assertSame(expected.put(node.getIdentifier(), node), mutable.put(node.getIdentifier(), node));
+                }
+                assertEquals(expected.size(), mutable.size());
+            }
+
+            map = mutable.toImmutable();
+            assertEquals(expected, map);
+            expected.forEach((id, node) -> assertSame(node, mutable.get(id)));
+
+            // Previous version is not affected by modifications
+            assertEquals(previousExpected, previous);
+        }
+    }
+
+    @Test
+    public void testHashCollisions() {
+        // "Aa" and "BB" have the same hash code, hence the identifiers collide as well
+        final PathArgument first = NodeIdentifierWithPredicates.of(LIST, KEY, "Aa");
+        final PathArgument second = NodeIdentifierWithPredicates.of(LIST, KEY, "BB");
+        final PathArgument third = NodeIdentifierWithPredicates.of(LIST, KEY, "C#");
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first.hashCode(), third.hashCode());
+
+        final TreeNode firstNode = node(first);
+        final TreeNode secondNode = node(second);
+        final TreeNode thirdNode = node(third);
+
+        final PersistentChildMap map = PersistentChildMap.copyOf(Map.of(first, firstNode, second, secondNode))
+            .toMutable();
+        assertSame(firstNode, map.get(first));
+        assertSame(secondNode, map.get(second));
+        assertNull(map.get(third));
+
+        assertNull(map.put(third, thirdNode));
+        assertEquals(3, map.size());
+        assertSame(secondNode, map.remove(second));
+        assertNull(map.remove(second));
+        assertSame(firstNode, map.remove(first));
+        assertEquals(Map.of(third, thirdNode), map);
+        assertSame(thirdNode, map.remove(third));
+        assertEquals(Map.of(), map);
+    }
+
+    @Test
+    public void testImmutable() {
+        final PathArgument id = id(1);
+        final PersistentChildMap map = PersistentChildMap.copyOf(Map.of());
+        assertThrows(UnsupportedOperationException.class, () -> map.put(id, node(id)));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove(id));
+
+        final PersistentChildMap mutable = map.toMutable();
+        assertThrows(IllegalStateException.class, mutable::toMutable);
+        assertThrows(IllegalArgumentException.class, () -> mutable.put(id, node(id(2))));
+    }
+
+    private static PathArgument id(final int key) {
+        return NodeIdentifierWithPredicates.of(LIST, KEY, key);
+    }
+
+    private static TreeNode node(final PathArgument id) {
+        final TreeNode node = mock(TreeNode.class);
+        doReturn(id).when(node).getIdentifier();
+        return node;
+    }
+}
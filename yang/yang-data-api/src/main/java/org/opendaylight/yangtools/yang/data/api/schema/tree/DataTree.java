@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import java.util.List;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 
 /**
@@ -29,4 +30,22 @@ public interface DataTree extends DataTreeTip, ReadOnlyDataTree {
      * @param candidate data tree candidate
      */
     void commit(DataTreeCandidate candidate);
+
+    /**
+     * Validate, prepare and commit a batch of modifications as a single unit. Each modification is validated against
+     * the tip resulting from preparing its predecessor, i.e. the batch behaves exactly as if the modifications were
+     * committed one after another. The returned candidate is a summary of the changes performed by the whole batch,
+     * as produced by {@link DataTreeCandidates#aggregate(List)}.
+     *
+     * <p>
+     * The batch is committed atomically: if any of the modifications fails to validate, or the batch cannot be
+     * committed, none of them are committed and the corresponding exception is propagated.
+     *
+     * @param modifications Sealed modifications, in commit order
+     * @return Candidate summarizing the changes made by the batch
+     * @throws NullPointerException if {@code modifications} is null or contains a null element
+     * @throws IllegalArgumentException if {@code modifications} is empty or contains an unrecognized modification
+     * @throws DataValidationFailedException if any modification would result in inconsistent data tree
+     */
+    DataTreeCandidate commit(List<? extends DataTreeModification> modifications) throws DataValidationFailedException;
 }
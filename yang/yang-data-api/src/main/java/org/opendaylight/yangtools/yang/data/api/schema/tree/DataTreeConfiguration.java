@@ -7,11 +7,14 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.MoreObjects;
+import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
@@ -24,6 +27,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
  * <li>treeType</li>
  * <li>enable/disable unique indexes and unique constraint validation</li>
  * <li>enable/disable mandatory nodes validation</li>
+ * <li>threshold for parallel application of sibling modifications</li>
+ * <li>offloading of list entries outside of the Java heap</li>
  * </ul>
  *
  * <p>
@@ -50,13 +55,18 @@ public class DataTreeConfiguration implements Immutable {
     private final @NonNull YangInstanceIdentifier rootPath;
     private final boolean uniqueIndexes;
     private final boolean mandatoryNodesValidation;
+    private final int parallelApplyThreshold;
+    private final @Nullable SubtreeOffloader subtreeOffloader;
 
     DataTreeConfiguration(final TreeType treeType, final YangInstanceIdentifier rootPath, final boolean uniqueIndexes,
-            final boolean mandatoryNodesValidation) {
+            final boolean mandatoryNodesValidation, final int parallelApplyThreshold,
+            final @Nullable SubtreeOffloader subtreeOffloader) {
         this.treeType = requireNonNull(treeType);
         this.rootPath = requireNonNull(rootPath);
         this.uniqueIndexes = uniqueIndexes;
         this.mandatoryNodesValidation = mandatoryNodesValidation;
+        this.parallelApplyThreshold = parallelApplyThreshold;
+        this.subtreeOffloader = subtreeOffloader;
     }
 
     public @NonNull YangInstanceIdentifier getRootPath() {
@@ -75,11 +85,43 @@ public class DataTreeConfiguration implements Immutable {
         return mandatoryNodesValidation;
     }
 
+    /**
+     * Return the minimum number of sibling modifications a container needs to have before they are applied in
+     * parallel during {@link DataTreeTip#prepare(DataTreeModification)}.
+     *
+     * @return Parallel apply threshold, {@code 0} if parallel apply is disabled
+     */
+    public int getParallelApplyThreshold() {
+        return parallelApplyThreshold;
+    }
+
+    /**
+     * Check whether sibling modifications may be applied in parallel. When enabled,
+     * {@link DataTreeTip#prepare(DataTreeModification)} applies the modified children of a container, list or other
+     * node container concurrently as soon as there are at least {@link #getParallelApplyThreshold()} of them. Nodes
+     * with fewer modified children, as well as validation and commit, are always processed by the calling thread.
+     *
+     * @return {@code true} if parallel apply is enabled
+     */
+    public boolean isParallelApplyEnabled() {
+        return parallelApplyThreshold != 0;
+    }
+
+    /**
+     * Return the {@link SubtreeOffloader} used to store list entries written into the tree.
+     *
+     * @return Subtree offloader, or empty if all data is kept on heap
+     */
+    public @NonNull Optional<SubtreeOffloader> getSubtreeOffloader() {
+        return Optional.ofNullable(subtreeOffloader);
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("type", treeType).add("root", rootPath)
                 .add("mandatory", mandatoryNodesValidation)
-                .add("unique", uniqueIndexes).toString();
+                .add("unique", uniqueIndexes).add("parallelApply", parallelApplyThreshold)
+                .add("offloader", subtreeOffloader).toString();
     }
 
     public static DataTreeConfiguration getDefault(final TreeType treeType) {
@@ -89,7 +131,7 @@ public class DataTreeConfiguration implements Immutable {
             case OPERATIONAL:
                 return DEFAULT_OPERATIONAL;
             default:
-                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.empty(), false, true);
+                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.empty(), false, true, 0, null);
         }
     }
 
@@ -101,6 +143,8 @@ public class DataTreeConfiguration implements Immutable {
         return new Builder(treeType)
                 .setMandatoryNodesValidation(isMandatoryNodesValidationEnabled())
                 .setUniqueIndexes(isUniqueIndexEnabled())
+                .setParallelApplyThreshold(getParallelApplyThreshold())
+                .setSubtreeOffloader(subtreeOffloader)
                 .setRootPath(getRootPath());
     }
 
@@ -109,6 +153,8 @@ public class DataTreeConfiguration implements Immutable {
         private YangInstanceIdentifier rootPath;
         private boolean uniqueIndexes;
         private boolean mandatoryNodesValidation;
+        private int parallelApplyThreshold;
+        private SubtreeOffloader subtreeOffloader;
 
         public Builder(final TreeType treeType) {
             this.treeType = requireNonNull(treeType);
@@ -125,6 +171,39 @@ public class DataTreeConfiguration implements Immutable {
             return this;
         }
 
+        /**
+         * Enable parallel application of sibling modifications. Parallel apply kicks in during
+         * {@link DataTreeTip#prepare(DataTreeModification)}, when a container, a list or another node container has
+         * at least {@code threshold} modified children. These are then split into chunks of at most {@code threshold}
+         * children and applied concurrently in the {@link java.util.concurrent.ForkJoinPool#commonPool()}, while the
+         * results are merged back in their original order. Nested containers are subject to the same rule. This
+         * pays off for large modifications only, as the overhead of forking is not negligible.
+         *
+         * <p>
+         * A value of {@code 0} disables this feature, which is the default.
+         *
+         * @param threshold Minimum number of modified children to trigger parallel apply, {@code 0} to disable
+         * @return This builder
+         * @throws IllegalArgumentException if {@code threshold} is negative or {@code 1}
+         */
+        public Builder setParallelApplyThreshold(final int threshold) {
+            checkArgument(threshold == 0 || threshold > 1, "Invalid parallel apply threshold %s", threshold);
+            this.parallelApplyThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Set the {@link SubtreeOffloader} to use for list entries written into the tree. A {@code null} value keeps
+         * all data on heap, which is the default.
+         *
+         * @param offloader Subtree offloader, {@code null} to disable offloading
+         * @return This builder
+         */
+        public Builder setSubtreeOffloader(final @Nullable SubtreeOffloader offloader) {
+            this.subtreeOffloader = offloader;
+            return this;
+        }
+
         public Builder setRootPath(final YangInstanceIdentifier rootPath) {
             this.rootPath = rootPath.toOptimized();
             return this;
@@ -132,7 +211,8 @@ public class DataTreeConfiguration implements Immutable {
 
         @Override
         public DataTreeConfiguration build() {
-            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation);
+            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation,
+                parallelApplyThreshold, subtreeOffloader);
         }
     }
 }
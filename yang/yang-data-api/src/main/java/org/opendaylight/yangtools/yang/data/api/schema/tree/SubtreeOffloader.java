@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+
+/**
+ * A strategy for moving cold subtrees out of the Java heap. A {@link DataTree} configured with an offloader hands each
+ * list entry which is written as a whole to {@link #offload(MapEntryNode)} and stores whatever it returns. Offloaded
+ * entries are expected to keep their storage outside of the Java heap and materialize their contents only when they
+ * are accessed.
+ *
+ * <p>
+ * Entries which are subsequently modified are materialized as regular on-heap nodes, hence offloading is only
+ * beneficial for subtrees which are written once and read rarely.
+ */
+@Beta
+@FunctionalInterface
+public interface SubtreeOffloader {
+    /**
+     * Offload a list entry. Implementations are free to return the entry unchanged, for example when it is too small
+     * to be worth offloading.
+     *
+     * @param entry Entry to offload
+     * @return A node equivalent to {@code entry}
+     */
+    @NonNull MapEntryNode offload(@NonNull MapEntryNode entry);
+}
@@ -57,7 +57,7 @@ class TerminalDataTreeCandidateNode implements DataTreeCandidateNode {
     @Override
     public Optional<DataTreeCandidateNode> getModifiedChild(
             PathArgument childIdentifier) {
-        return Optional.ofNullable(childNodes.get(identifier));
+        return Optional.ofNullable(childNodes.get(childIdentifier));
     }
 
     @Override
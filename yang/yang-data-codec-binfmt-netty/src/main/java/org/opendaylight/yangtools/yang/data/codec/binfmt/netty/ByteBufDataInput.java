@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt.netty;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ByteProcessor;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.StringDataInput;
+
+/**
+ * A {@link DataInput} reading directly from a {@link ByteBuf}. Reads advance the buffer's reader index. Unlike
+ * {@link io.netty.buffer.ByteBufInputStream}, strings are decoded through {@link ByteBuf#toString(int, int, Charset)}:
+ * heap buffers are decoded straight from their backing array, other buffers, including composite buffers, are staged
+ * in Netty's thread-local temporary array, so that strings up to 1KiB do not allocate an intermediate array.
+ */
+final class ByteBufDataInput implements StringDataInput {
+    // Modified UTF-8 is the same as US-ASCII as long as there are no zeroes and no bytes with high bit set
+    private static final ByteProcessor FIND_NON_ASCII = value -> value > 0;
+    private static final ByteProcessor FIND_EOL = value -> value != '\n' && value != '\r';
+
+    private final @NonNull ByteBuf buf;
+
+    ByteBufDataInput(final ByteBuf buf) {
+        this.buf = requireNonNull(buf);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        ensure(len);
+        buf.readBytes(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public int skipBytes(final int n) {
+        final int skipped = Math.max(0, Math.min(n, buf.readableBytes()));
+        buf.skipBytes(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensure(Byte.BYTES);
+        return buf.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        ensure(Byte.BYTES);
+        return buf.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        ensure(Short.BYTES);
+        return buf.readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        ensure(Short.BYTES);
+        return buf.readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        ensure(Character.BYTES);
+        return buf.readChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return buf.readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return buf.readLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        ensure(Float.BYTES);
+        return buf.readFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        ensure(Double.BYTES);
+        return buf.readDouble();
+    }
+
+    @Override
+    public String readLine() {
+        final int readable = buf.readableBytes();
+        if (readable == 0) {
+            return null;
+        }
+
+        // Same semantics as DataInputStream.readLine(): bytes are mapped to chars directly and a line is terminated
+        // by '\n', '\r', '\r\n' or the end of input
+        final int start = buf.readerIndex();
+        final int eol = buf.forEachByte(start, readable, FIND_EOL);
+        final int length = eol == -1 ? readable : eol - start;
+        final String line = buf.toString(start, length, StandardCharsets.ISO_8859_1);
+        buf.skipBytes(length);
+        if (eol != -1 && buf.readByte() == '\r' && buf.isReadable() && buf.getByte(buf.readerIndex()) == '\n') {
+            buf.skipBytes(1);
+        }
+        return line;
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        ensure(Short.BYTES);
+        final int length = buf.getUnsignedShort(buf.readerIndex());
+        ensure(Short.BYTES + length);
+
+        final int offset = buf.readerIndex() + Short.BYTES;
+        if (length != 0 && buf.forEachByte(offset, length, FIND_NON_ASCII) != -1) {
+            // Not US-ASCII, take the slow path
+            return DataInputStream.readUTF(this);
+        }
+
+        buf.skipBytes(Short.BYTES);
+        return readString(length, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String readString(final int length, final Charset charset) throws IOException {
+        ensure(length);
+        final String str = buf.toString(buf.readerIndex(), length, charset);
+        buf.skipBytes(length);
+        return str;
+    }
+
+    private void ensure(final int length) throws EOFException {
+        if (buf.readableBytes() < length) {
+            throw new EOFException("Need " + length + " bytes, only " + buf.readableBytes() + " remain");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt.netty;
+
+import static java.util.Objects.requireNonNull;
+
+import io.netty.buffer.ByteBuf;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataOutput} writing directly into a {@link ByteBuf}. Writes advance the buffer's writer index, expanding
+ * the buffer through its allocator as needed. Attempts to write past the buffer's maximum capacity result in an
+ * {@link IOException}, leaving the buffer's writer index unchanged.
+ */
+final class ByteBufDataOutput implements DataOutput {
+    private final @NonNull ByteBuf buf;
+
+    ByteBufDataOutput(final ByteBuf buf) {
+        this.buf = requireNonNull(buf);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) throws IOException {
+        writeByte(b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensure(len);
+        buf.writeBytes(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeBoolean(final boolean v) throws IOException {
+        writeByte(v ? 1 : 0);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeByte(final int v) throws IOException {
+        ensure(Byte.BYTES);
+        buf.writeByte(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeShort(final int v) throws IOException {
+        ensure(Short.BYTES);
+        buf.writeShort(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChar(final int v) throws IOException {
+        ensure(Character.BYTES);
+        buf.writeChar(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeInt(final int v) throws IOException {
+        ensure(Integer.BYTES);
+        buf.writeInt(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeLong(final long v) throws IOException {
+        ensure(Long.BYTES);
+        buf.writeLong(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeFloat(final float v) throws IOException {
+        ensure(Float.BYTES);
+        buf.writeFloat(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeDouble(final double v) throws IOException {
+        ensure(Double.BYTES);
+        buf.writeDouble(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeBytes(final String s) throws IOException {
+        final int length = s.length();
+        ensure(length);
+        for (int i = 0; i < length; ++i) {
+            buf.writeByte(s.charAt(i));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChars(final String s) throws IOException {
+        final int length = s.length();
+        ensure(length * Character.BYTES);
+        for (int i = 0; i < length; ++i) {
+            buf.writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeUTF(final String s) throws IOException {
+        final int length = s.length();
+        int encodedLength = 0;
+        for (int i = 0; i < length; ++i) {
+            encodedLength += utfLength(s.charAt(i));
+        }
+        if (encodedLength > 65535) {
+            throw new UTFDataFormatException("Encoded string too long: " + encodedLength + " bytes");
+        }
+
+        ensure(Short.BYTES + encodedLength);
+        buf.writeShort(encodedLength);
+        if (encodedLength == length) {
+            // Fast path: US-ASCII only, which Netty encodes in bulk
+            buf.writeCharSequence(s, StandardCharsets.US_ASCII);
+            return;
+        }
+
+        for (int i = 0; i < length; ++i) {
+            final char ch = s.charAt(i);
+            switch (utfLength(ch)) {
+                case 1:
+                    buf.writeByte(ch);
+                    break;
+                case 2:
+                    buf.writeByte(0xC0 | ch >> 6 & 0x1F).writeByte(0x80 | ch & 0x3F);
+                    break;
+                default:
+                    buf.writeByte(0xE0 | ch >> 12 & 0x0F).writeByte(0x80 | ch >> 6 & 0x3F).writeByte(0x80 | ch & 0x3F);
+            }
+        }
+    }
+
+    // Length of a character in modified UTF-8, as specified in DataInput
+    private static int utfLength(final char ch) {
+        if (ch != 0 && ch < 0x80) {
+            return 1;
+        }
+        return ch < 0x800 ? 2 : 3;
+    }
+
+    private void ensure(final int length) throws IOException {
+        // Make sure we fail before writing anything, expanding the buffer as needed
+        if (buf.maxWritableBytes() < length) {
+            throw new IOException("Need " + length + " bytes, only " + buf.maxWritableBytes() + " can be written");
+        }
+        buf.ensureWritable(length);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt.netty;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import java.io.IOException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.InvalidNormalizedNodeStreamException;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+
+/**
+ * Factory methods for {@link NormalizedNodeDataInput}s and {@link NormalizedNodeDataOutput}s operating directly on
+ * {@link ByteBuf}s, without wrapping them in {@link io.netty.buffer.ByteBufInputStream} or
+ * {@link io.netty.buffer.ByteBufOutputStream}. Any kind of buffer is supported, including pooled and composite
+ * buffers.
+ *
+ * <p>
+ * Instances returned from these methods do not take ownership of the buffer: they neither retain nor release it.
+ */
+@Beta
+public final class ByteBufNormalizedNodeStreams {
+    private ByteBufNormalizedNodeStreams() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given buffer, starting at its reader
+     * index, which is advanced as data is read. This method first reads and validates that the buffer contains a valid
+     * NormalizedNode stream.
+     *
+     * @param buf the ByteBuf to read from
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws NullPointerException if {@code buf} is null
+     * @throws InvalidNormalizedNodeStreamException if the stream version is not supported
+     * @throws IOException if an error occurs reading from the input
+     */
+    public static @NonNull NormalizedNodeDataInput newDataInput(final ByteBuf buf) throws IOException {
+        return NormalizedNodeDataInput.newDataInput(new ByteBufDataInput(buf));
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes into the given buffer in the
+     * {@link NormalizedNodeStreamVersion#current()} format. Data is written at the buffer's writer index, which is
+     * advanced as data is written.
+     *
+     * @param buf the ByteBuf to write to
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if {@code buf} is null
+     */
+    public static @NonNull NormalizedNodeDataOutput newDataOutput(final ByteBuf buf) {
+        return newDataOutput(buf, NormalizedNodeStreamVersion.current());
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes into the given buffer in the specified
+     * format. Data is written at the buffer's writer index, which is advanced as data is written.
+     *
+     * @param buf the ByteBuf to write to
+     * @param version Streaming version to use
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if any argument is null
+     * @throws UnsupportedOperationException if {@code version} cannot be created in this runtime
+     */
+    public static @NonNull NormalizedNodeDataOutput newDataOutput(final ByteBuf buf,
+            final NormalizedNodeStreamVersion version) {
+        return version.newDataOutput(new ByteBufDataOutput(buf));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt.netty;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ByteBufNormalizedNodeStreamsTest {
+    private static final QName CONTAINER = QName.create("urn:test", "container");
+    private static final QName LIST = QName.create(CONTAINER, "list");
+    private static final QName KEY = QName.create(CONTAINER, "key");
+    private static final QName VALUE = QName.create(CONTAINER, "value");
+
+    private static final ContainerNode TEST_CONTAINER = Builders.containerBuilder()
+        .withNodeIdentifier(NodeIdentifier.create(CONTAINER))
+        .withChild(ImmutableNodes.mapNodeBuilder(LIST)
+            .withChild(ImmutableNodes.mapEntryBuilder(LIST, KEY, "ascii")
+                .withChild(ImmutableNodes.leafNode(VALUE, "plain")).build())
+            .withChild(ImmutableNodes.mapEntryBuilder(LIST, KEY, "non-ascii")
+                .withChild(ImmutableNodes.leafNode(VALUE, "nul\0é€😀")).build())
+            .withChild(ImmutableNodes.mapEntryBuilder(LIST, KEY, "long")
+                .withChild(ImmutableNodes.leafNode(VALUE, Strings.repeat("x", 70000))).build())
+            .build())
+        .build();
+
+    @Test
+    public void testUnpooledRoundTrip() throws IOException {
+        assertRoundTrip(Unpooled.buffer(16));
+    }
+
+    @Test
+    public void testPooledDirectRoundTrip() throws IOException {
+        final ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer(16);
+        try {
+            assertRoundTrip(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    @Test
+    public void testCompositeRead() throws IOException {
+        final byte[] bytes = writeStream();
+
+        // Split the stream into small components, so that strings and primitives straddle component boundaries
+        final CompositeByteBuf buf = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            buf.addComponent(true, Unpooled.wrappedBuffer(bytes, offset, Math.min(7, bytes.length - offset)));
+        }
+
+        final NormalizedNodeDataInput in = ByteBufNormalizedNodeStreams.newDataInput(buf);
+        assertEquals(TEST_CONTAINER, in.readNormalizedNode());
+        assertFalse(buf.isReadable());
+        buf.release();
+    }
+
+    @Test
+    public void testCompatibleWithStreams() throws IOException {
+        final ByteBuf buf = Unpooled.buffer();
+        try (NormalizedNodeDataOutput out = ByteBufNormalizedNodeStreams.newDataOutput(buf)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+        assertArrayEquals(writeStream(), ByteBufUtil.getBytes(buf));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testReadLine() throws IOException {
+        final byte[] bytes = "first\nsecond\r\nthird\rlast".getBytes(StandardCharsets.US_ASCII);
+        final DataInputStream expected = new DataInputStream(new ByteArrayInputStream(bytes));
+        final CompositeByteBuf buf = Unpooled.compositeBuffer(Integer.MAX_VALUE);
+        for (int offset = 0; offset < bytes.length; offset += 3) {
+            buf.addComponent(true, Unpooled.wrappedBuffer(bytes, offset, Math.min(3, bytes.length - offset)));
+        }
+
+        final ByteBufDataInput in = new ByteBufDataInput(buf);
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(expected.readLine(), in.readLine());
+        }
+        assertNull(in.readLine());
+        buf.release();
+    }
+
+    @Test
+    public void testOverflow() throws IOException {
+        final ByteBuf buf = Unpooled.buffer(6, 6);
+        final ByteBufDataOutput out = new ByteBufDataOutput(buf);
+        out.writeInt(1);
+        assertThrows(IOException.class, () -> out.writeLong(2));
+        assertThrows(IOException.class, () -> out.writeUTF("abc"));
+        assertEquals(4, buf.writerIndex());
+    }
+
+    @Test
+    public void testUnderflow() throws IOException {
+        final ByteBufDataInput in = new ByteBufDataInput(Unpooled.wrappedBuffer(new byte[] { 0, 0, 0, 1, 0, 5 }));
+        assertEquals(1, in.readInt());
+        assertThrows(EOFException.class, () -> in.readLong());
+        assertThrows(EOFException.class, () -> in.readUTF());
+    }
+
+    private static void assertRoundTrip(final ByteBuf buf) throws IOException {
+        try (NormalizedNodeDataOutput out = ByteBufNormalizedNodeStreams.newDataOutput(buf)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+
+        final NormalizedNodeDataInput in = ByteBufNormalizedNodeStreams.newDataInput(buf);
+        assertEquals(TEST_CONTAINER, in.readNormalizedNode());
+        assertEquals(TEST_CONTAINER, in.readNormalizedNode());
+        assertFalse(buf.isReadable());
+    }
+
+    private static byte[] writeStream() throws IOException {
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.current().newDataOutput(bado)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+        return bado.toByteArray();
+    }
+}
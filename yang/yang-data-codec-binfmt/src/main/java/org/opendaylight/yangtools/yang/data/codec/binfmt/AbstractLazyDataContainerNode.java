@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+/**
+ * Lazily-decoded {@link DataContainerNode}s.
+ */
+abstract class AbstractLazyDataContainerNode<I extends PathArgument>
+        extends AbstractLazyNode<I, PathArgument, DataContainerChild> implements DataContainerNode<I> {
+    static final class Container extends AbstractLazyDataContainerNode<NodeIdentifier> implements ContainerNode {
+        Container(final NodeIdentifier identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+            super(identifier, body, dictionary);
+        }
+
+        @Override
+        ContainerNode toEager() {
+            return Builders.containerBuilder().withNodeIdentifier(getIdentifier()).withValue(eagerBody()).build();
+        }
+    }
+
+    static final class Choice extends AbstractLazyDataContainerNode<NodeIdentifier> implements ChoiceNode {
+        Choice(final NodeIdentifier identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+            super(identifier, body, dictionary);
+        }
+
+        @Override
+        ChoiceNode toEager() {
+            return Builders.choiceBuilder().withNodeIdentifier(getIdentifier()).withValue(eagerBody()).build();
+        }
+    }
+
+    static final class Augmentation extends AbstractLazyDataContainerNode<AugmentationIdentifier>
+            implements AugmentationNode {
+        Augmentation(final AugmentationIdentifier identifier, final ByteBuffer body,
+                final MagnesiumDictionary dictionary) {
+            super(identifier, body, dictionary);
+        }
+
+        @Override
+        AugmentationNode toEager() {
+            return Builders.augmentationBuilder().withNodeIdentifier(getIdentifier()).withValue(eagerBody()).build();
+        }
+    }
+
+    static final class MapEntry extends AbstractLazyDataContainerNode<NodeIdentifierWithPredicates>
+            implements MapEntryNode {
+        MapEntry(final NodeIdentifierWithPredicates identifier, final ByteBuffer body,
+                final MagnesiumDictionary dictionary) {
+            super(identifier, body, dictionary);
+        }
+
+        @Override
+        MapEntryNode toEager() {
+            return Builders.mapEntryBuilder().withNodeIdentifier(getIdentifier()).withValue(eagerBody()).build();
+        }
+    }
+
+    AbstractLazyDataContainerNode(final I identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+        super(identifier, body, dictionary);
+    }
+
+    @Override
+    public final Collection<@NonNull DataContainerChild> body() {
+        return children().values();
+    }
+
+    @Override
+    public final DataContainerChild childByArg(final PathArgument child) {
+        return children().get(child);
+    }
+
+    @Override
+    public final int size() {
+        return children().size();
+    }
+
+    final @NonNull Collection<DataContainerChild> eagerBody() {
+        return eagerChildren(body());
+    }
+}
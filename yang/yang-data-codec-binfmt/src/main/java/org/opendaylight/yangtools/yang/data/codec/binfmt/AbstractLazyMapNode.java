@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UserMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+
+/**
+ * Lazily-decoded {@link MapNode}s. Entries are decoded as {@link AbstractLazyDataContainerNode.MapEntry}, hence
+ * a lookup of a single entry does not decode its siblings' contents.
+ */
+abstract class AbstractLazyMapNode extends AbstractLazyNode<NodeIdentifier, NodeIdentifierWithPredicates, MapEntryNode>
+        implements MapNode {
+    static final class System extends AbstractLazyMapNode implements SystemMapNode {
+        System(final NodeIdentifier identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+            super(identifier, body, dictionary);
+        }
+
+        @Override
+        SystemMapNode toEager() {
+            return Builders.mapBuilder().withNodeIdentifier(getIdentifier()).withValue(eagerBody()).build();
+        }
+    }
+
+    static final class User extends AbstractLazyMapNode implements UserMapNode {
+        User(final NodeIdentifier identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+            super(identifier, body, dictionary);
+        }
+
+        @Override
+        public MapEntryNode getChild(final int position) {
+            return children().values().asList().get(position);
+        }
+
+        @Override
+        UserMapNode toEager() {
+            return Builders.orderedMapBuilder().withNodeIdentifier(getIdentifier()).withValue(eagerBody()).build();
+        }
+    }
+
+    AbstractLazyMapNode(final NodeIdentifier identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+        super(identifier, body, dictionary);
+    }
+
+    @Override
+    public final Map<NodeIdentifierWithPredicates, MapEntryNode> asMap() {
+        return children();
+    }
+
+    @Override
+    public final MapEntryNode childByArg(final NodeIdentifierWithPredicates child) {
+        return children().get(child);
+    }
+
+    final @NonNull Collection<MapEntryNode> eagerBody() {
+        return eagerChildren(children().values());
+    }
+}
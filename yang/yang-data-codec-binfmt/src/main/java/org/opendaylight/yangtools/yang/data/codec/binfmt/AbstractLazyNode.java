@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Base class for {@link NormalizedNode}s backed by a {@link MagnesiumSizedDataInput} subtree body. Immediate children
+ * are decoded on first access, deeper subtrees remain encoded until they are accessed.
+ *
+ * <p>
+ * Equality and hash code are defined by the eagerly-decoded equivalent of this node, hence using these methods
+ * results in the entire subtree being decoded.
+ *
+ * @param <I> identifier type
+ * @param <K> child identifier type
+ * @param <V> child node type
+ */
+abstract class AbstractLazyNode<I extends PathArgument, K extends PathArgument, V extends NormalizedNode>
+        implements NormalizedNode {
+    private final @NonNull I identifier;
+    private final @NonNull ByteBuffer body;
+    private final @NonNull MagnesiumDictionary dictionary;
+
+    private volatile ImmutableMap<K, V> children;
+
+    AbstractLazyNode(final I identifier, final ByteBuffer body, final MagnesiumDictionary dictionary) {
+        this.identifier = requireNonNull(identifier);
+        this.body = requireNonNull(body);
+        this.dictionary = requireNonNull(dictionary);
+    }
+
+    @Override
+    public final I getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public final int hashCode() {
+        return toEager().hashCode();
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        return this == obj || toEager().equals(obj instanceof AbstractLazyNode
+            ? ((AbstractLazyNode<?, ?, ?>) obj).toEager() : obj);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("size", body.remaining())
+            .toString();
+    }
+
+    final @NonNull ImmutableMap<K, V> children() {
+        final ImmutableMap<K, V> existing = children;
+        return existing != null ? existing : loadChildren();
+    }
+
+    /**
+     * Return the eager equivalent of this node, i.e. an immutable node with all lazy descendants decoded.
+     *
+     * @return An eagerly-decoded node
+     */
+    abstract @NonNull NormalizedNode toEager();
+
+    static final <T extends NormalizedNode> @NonNull Collection<T> eagerChildren(final Collection<T> children) {
+        return Collections2.transform(children, AbstractLazyNode::eagerChild);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends NormalizedNode> T eagerChild(final T node) {
+        return node instanceof AbstractLazyNode ? (T) ((AbstractLazyNode<?, ?, ?>) node).toEager() : node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized @NonNull ImmutableMap<K, V> loadChildren() {
+        ImmutableMap<K, V> ret = children;
+        if (ret == null) {
+            try {
+                ret = (ImmutableMap<K, V>) MagnesiumSizedDataInput.readLazyChildren(body.duplicate(), dictionary,
+                    identifier);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to decode children of " + identifier, e);
+            }
+            children = ret;
+        }
+        return ret;
+    }
+}
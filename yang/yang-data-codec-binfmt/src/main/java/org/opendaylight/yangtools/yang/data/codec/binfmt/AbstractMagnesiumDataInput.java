@@ -72,12 +72,20 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         super(input);
     }
 
+    AbstractMagnesiumDataInput(final DataInput input, final MagnesiumDictionary dictionary) {
+        super(input);
+        codedAugments.addAll(dictionary.augments);
+        codedNodeIdentifiers.addAll(dictionary.nodeIdentifiers);
+        codedModules.addAll(dictionary.modules);
+        codedStrings.addAll(dictionary.strings);
+    }
+
     @Override
     public final void streamNormalizedNode(final NormalizedNodeStreamWriter writer) throws IOException {
         streamNormalizedNode(requireNonNull(writer), null, input.readByte());
     }
 
-    private void streamNormalizedNode(final NormalizedNodeStreamWriter writer, final PathArgument parent,
+    final void streamNormalizedNode(final NormalizedNodeStreamWriter writer, final PathArgument parent,
             final byte nodeHeader) throws IOException {
         switch (nodeHeader & MagnesiumNode.TYPE_MASK) {
             case MagnesiumNode.NODE_LEAF:
@@ -239,6 +247,14 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
 
     private void streamMapEntry(final NormalizedNodeStreamWriter writer, final PathArgument parent,
             final byte nodeHeader) throws IOException {
+        final NodeIdentifierWithPredicates identifier = decodeMapEntryIdentifier(nodeHeader, parent);
+        LOG.trace("Streaming map entry node {}", identifier);
+        writer.startMapEntryNode(identifier, UNKNOWN_SIZE);
+        commonStreamContainer(writer, identifier);
+    }
+
+    final @NonNull NodeIdentifierWithPredicates decodeMapEntryIdentifier(final byte nodeHeader,
+            final PathArgument parent) throws IOException {
         final NodeIdentifier nodeId = decodeNodeIdentifier(nodeHeader, parent);
 
         final int size;
@@ -261,20 +277,78 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
                         + nodeHeader);
         }
 
-        final NodeIdentifierWithPredicates identifier = readNodeIdentifierWithPredicates(nodeId.getNodeType(), size);
-        LOG.trace("Streaming map entry node {}", identifier);
-        writer.startMapEntryNode(identifier, UNKNOWN_SIZE);
-        commonStreamContainer(writer, identifier);
+        return readNodeIdentifierWithPredicates(nodeId.getNodeType(), size);
     }
 
     private void commonStreamContainer(final NormalizedNodeStreamWriter writer, final PathArgument parent)
             throws IOException {
+        enterSubtree();
         for (byte nodeType = input.readByte(); nodeType != MagnesiumNode.NODE_END; nodeType = input.readByte()) {
             streamNormalizedNode(writer, parent, nodeType);
         }
+        exitSubtree();
         writer.endNode();
     }
 
+    /**
+     * Invoked when the header of a node terminated by {@link MagnesiumNode#NODE_END} has been read, before its body
+     * is read. Default implementation does nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void enterSubtree() throws IOException {
+        // No-op
+    }
+
+    /**
+     * Invoked when the body of a node terminated by {@link MagnesiumNode#NODE_END} has been read, including the
+     * terminating {@link MagnesiumNode#NODE_END}. Default implementation does nothing.
+     */
+    void exitSubtree() {
+        // No-op
+    }
+
+    /**
+     * Return a mark of the current state of coding dictionaries. Since codes are assigned sequentially, this is just
+     * the number of entries in each of them.
+     *
+     * @return A dictionary mark
+     */
+    final int[] markDictionary() {
+        return new int[] {
+            codedAugments.size(), codedNodeIdentifiers.size(), codedModules.size(), codedStrings.size()
+        };
+    }
+
+    /**
+     * Reset coding dictionaries to the state captured by {@link #markDictionary()}, forgetting any definitions made
+     * since then.
+     *
+     * @param mark Dictionary mark
+     */
+    final void resetDictionary(final int[] mark) {
+        truncate(codedAugments, mark[0]);
+        truncate(codedNodeIdentifiers, mark[1]);
+        truncate(codedModules, mark[2]);
+        truncate(codedStrings, mark[3]);
+    }
+
+    /**
+     * Return an immutable snapshot of current state of coding dictionaries.
+     *
+     * @return A dictionary snapshot
+     */
+    final @NonNull MagnesiumDictionary saveDictionary() {
+        return new MagnesiumDictionary(codedAugments, codedNodeIdentifiers, codedModules, codedStrings);
+    }
+
+    private static void truncate(final List<?> list, final int size) {
+        final int current = list.size();
+        if (current > size) {
+            list.subList(size, current).clear();
+        }
+    }
+
     private @NonNull NodeIdentifier decodeNodeIdentifier() throws IOException {
         final QNameModule module = decodeQNameModule();
         final String localName = readRefString();
@@ -294,7 +368,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         return decodeNodeIdentifier(nodeHeader, null);
     }
 
-    private NodeIdentifier decodeNodeIdentifier(final byte nodeHeader, final PathArgument parent) throws IOException {
+    final NodeIdentifier decodeNodeIdentifier(final byte nodeHeader, final PathArgument parent) throws IOException {
         final int index;
         switch (nodeHeader & MagnesiumNode.ADDR_MASK) {
             case MagnesiumNode.ADDR_DEFINE:
@@ -322,7 +396,7 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
         }
     }
 
-    private AugmentationIdentifier decodeAugmentationIdentifier(final byte nodeHeader) throws IOException {
+    final AugmentationIdentifier decodeAugmentationIdentifier(final byte nodeHeader) throws IOException {
         final int index;
         switch (nodeHeader & MagnesiumNode.ADDR_MASK) {
             case MagnesiumNode.ADDR_DEFINE:
@@ -640,6 +714,10 @@ abstract class AbstractMagnesiumDataInput extends AbstractNormalizedNodeDataInpu
 
     private @NonNull String readByteString(final int size) throws IOException {
         if (size > 0) {
+            if (input instanceof StringDataInput) {
+                // Decode directly from the backing storage
+                return ((StringDataInput) input).readString(size, StandardCharsets.UTF_8);
+            }
             final byte[] bytes = new byte[size];
             input.readFully(bytes);
             return new String(bytes, StandardCharsets.UTF_8);
@@ -16,6 +16,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
@@ -68,14 +69,80 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
      */
     private final Deque<Object> stack = new ArrayDeque<>();
 
+    /**
+     * A coding map, assigning sequential codes to values. When definitions are scoped, it also keeps an undo log of
+     * defined values, so that it can be reset to a previous size in time proportional to the number of values defined
+     * since then.
+     */
+    private static final class CodeMap<T> {
+        private final Map<T, Integer> codes = new HashMap<>();
+        private final List<T> log;
+
+        CodeMap(final boolean scoped) {
+            log = scoped ? new ArrayList<>() : null;
+        }
+
+        Integer get(final T value) {
+            return codes.get(value);
+        }
+
+        Integer define(final T value) {
+            final Integer prev = codes.putIfAbsent(value, codes.size());
+            if (prev == null && log != null) {
+                log.add(value);
+            }
+            return prev;
+        }
+
+        int size() {
+            return codes.size();
+        }
+
+        void reset(final int size) {
+            for (int i = log.size() - 1; i >= size; --i) {
+                codes.remove(log.remove(i));
+            }
+        }
+    }
+
     // Coding maps
-    private final Map<AugmentationIdentifier, Integer> aidCodeMap = new HashMap<>();
-    private final Map<QNameModule, Integer> moduleCodeMap = new HashMap<>();
-    private final Map<String, Integer> stringCodeMap = new HashMap<>();
-    private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
+    private final CodeMap<AugmentationIdentifier> aidCodeMap;
+    private final CodeMap<QNameModule> moduleCodeMap;
+    private final CodeMap<String> stringCodeMap;
+    private final CodeMap<QName> qnameCodeMap;
 
     AbstractMagnesiumDataOutput(final DataOutput output) {
+        this(output, false);
+    }
+
+    /**
+     * Construct a new instance.
+     *
+     * @param output Output to write to
+     * @param scoped {@code true} if definitions are going to be retracted through {@link #resetDictionary(int[])}
+     */
+    AbstractMagnesiumDataOutput(final DataOutput output, final boolean scoped) {
         super(output);
+        aidCodeMap = new CodeMap<>(scoped);
+        moduleCodeMap = new CodeMap<>(scoped);
+        stringCodeMap = new CodeMap<>(scoped);
+        qnameCodeMap = new CodeMap<>(scoped);
+    }
+
+    AbstractMagnesiumDataOutput(final DataOutput output, final MagnesiumDictionary dictionary) {
+        this(output, false);
+        seed(aidCodeMap, dictionary.augments);
+        seed(moduleCodeMap, dictionary.modules);
+        seed(stringCodeMap, dictionary.strings);
+        for (NodeIdentifier nodeId : dictionary.nodeIdentifiers) {
+            qnameCodeMap.define(nodeId.getNodeType());
+        }
+    }
+
+    private static <T> void seed(final CodeMap<T> map, final List<T> values) {
+        for (T value : values) {
+            map.define(value);
+        }
     }
 
     @Override
@@ -126,6 +193,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     @Override
     public final void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
         startInheritedNode(MagnesiumNode.NODE_LIST_ENTRY, name);
+        enterSubtree();
     }
 
     @Override
@@ -150,6 +218,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
         }
 
         writePredicates(identifier);
+        enterSubtree();
     }
 
     @Override
@@ -166,7 +235,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     public final void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
         final Integer code = aidCodeMap.get(identifier);
         if (code == null) {
-            aidCodeMap.put(identifier, aidCodeMap.size());
+            aidCodeMap.define(identifier);
             output.writeByte(MagnesiumNode.NODE_AUGMENTATION | MagnesiumNode.ADDR_DEFINE);
             final Set<QName> qnames = identifier.getPossibleChildNames();
             output.writeInt(qnames.size());
@@ -177,6 +246,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
             writeNodeType(MagnesiumNode.NODE_AUGMENTATION, code);
         }
         stack.push(identifier);
+        enterSubtree();
     }
 
     @Override
@@ -203,9 +273,54 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     public final void endNode() throws IOException {
         if (stack.pop() instanceof PathArgument) {
             output.writeByte(MagnesiumNode.NODE_END);
+            exitSubtree();
         }
     }
 
+    /**
+     * Invoked when the header of a node terminated by {@link MagnesiumNode#NODE_END} has been written, before its body
+     * is written. Default implementation does nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void enterSubtree() throws IOException {
+        // No-op
+    }
+
+    /**
+     * Invoked when the body of a node terminated by {@link MagnesiumNode#NODE_END} has been written, including the
+     * terminating {@link MagnesiumNode#NODE_END}. Default implementation does nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void exitSubtree() throws IOException {
+        // No-op
+    }
+
+    /**
+     * Return a mark of the current state of coding dictionaries. Since codes are assigned sequentially, this is just
+     * the number of entries in each of them.
+     *
+     * @return A dictionary mark
+     */
+    final int[] markDictionary() {
+        return new int[] { aidCodeMap.size(), moduleCodeMap.size(), stringCodeMap.size(), qnameCodeMap.size() };
+    }
+
+    /**
+     * Reset coding dictionaries to the state captured by {@link #markDictionary()}, forgetting any definitions made
+     * since then. This takes time proportional to the number of forgotten definitions. It can only be invoked on
+     * instances constructed with scoped definitions.
+     *
+     * @param mark Dictionary mark
+     */
+    final void resetDictionary(final int[] mark) {
+        aidCodeMap.reset(mark[0]);
+        moduleCodeMap.reset(mark[1]);
+        stringCodeMap.reset(mark[2]);
+        qnameCodeMap.reset(mark[3]);
+    }
+
     @Override
     public final void scalarValue(final Object value) throws IOException {
         if (KEY_LEAF_STATE.equals(stack.peek())) {
@@ -570,6 +685,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     private void startQNameNode(final byte type, final PathArgument name) throws IOException {
         writeQNameNode(type, name.getNodeType());
         stack.push(name);
+        enterSubtree();
     }
 
     // Start a simple node, which is not terminated through END_NODE and encode its QName
@@ -604,7 +720,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
     // Encode a QName using lookup tables, resuling either in a reference to an existing entry, or emitting two
     // String values.
     private void encodeQName(final @NonNull QName qname) throws IOException {
-        final Integer prev = qnameCodeMap.put(qname, qnameCodeMap.size());
+        final Integer prev = qnameCodeMap.define(qname);
         if (prev != null) {
             throw new IOException("Internal coding error: attempted to re-encode " + qname + "%s already encoded as "
                     + prev);
@@ -613,7 +729,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
         final QNameModule module = qname.getModule();
         final Integer code = moduleCodeMap.get(module);
         if (code == null) {
-            moduleCodeMap.put(module, moduleCodeMap.size());
+            moduleCodeMap.define(module);
             encodeString(module.getNamespace().toString());
             final Optional<Revision> rev = module.getRevision();
             if (rev.isPresent()) {
@@ -634,7 +750,7 @@ abstract class AbstractMagnesiumDataOutput extends AbstractNormalizedNodeDataOut
         if (code != null) {
             writeRef(code);
         } else {
-            stringCodeMap.put(str, stringCodeMap.size());
+            stringCodeMap.define(str);
             writeValue(str);
         }
     }
@@ -51,6 +51,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
             output.writeByte(TokenTypes.SIGNATURE_MARKER);
             output.writeShort(streamVersion());
             headerWritten = true;
+            writeHeaderExtension();
         }
     }
 
@@ -206,6 +207,16 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
 
     abstract short streamVersion();
 
+    /**
+     * Write any version-specific data which immediately follows the stream version. Default implementation does
+     * nothing.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void writeHeaderExtension() throws IOException {
+        // No-op by default
+    }
+
     abstract void writeQNameInternal(@NonNull QName qname) throws IOException;
 
     abstract void writePathArgumentInternal(PathArgument pathArgument) throws IOException;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Inflater;
+
+/**
+ * An {@link InputStream} decoding {@link BlockCompression} framing. Blocks are decompressed one at a time as data is
+ * consumed, hence memory usage is bounded by the block size.
+ */
+final class BlockCompressedInputStream extends InputStream {
+    private final DataInputStream in;
+
+    private Inflater inflater;
+    private byte[] compressed;
+    private byte[] block;
+    private int blockSize;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    BlockCompressedInputStream(final InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        return ensureData() ? block[position++] & 0xFF : -1;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if ((off | len | b.length - (len + off) | off + len) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+
+        final int count = Math.min(len, limit - position);
+        System.arraycopy(block, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+            inflater = null;
+        }
+        eof = true;
+        in.close();
+    }
+
+    private boolean ensureData() throws IOException {
+        while (position == limit) {
+            if (eof) {
+                return false;
+            }
+            if (block == null) {
+                readHeader();
+            }
+            readBlock();
+        }
+        return true;
+    }
+
+    private void readHeader() throws IOException {
+        final int magic = in.readInt();
+        if (magic != BlockCompression.MAGIC) {
+            throw new InvalidNormalizedNodeStreamException("Invalid compressed stream magic " + Integer.toHexString(
+                magic));
+        }
+        final byte version = in.readByte();
+        if (version != BlockCompression.VERSION) {
+            throw new InvalidNormalizedNodeStreamException("Unsupported compressed stream version " + version);
+        }
+        // Validates the codec, DEFLATE is the only one we have
+        NormalizedNodeStreamCompression.forCodec(in.readByte());
+        blockSize = in.readInt();
+        // Check the size before we allocate any buffers
+        if (blockSize <= 0 || blockSize > NormalizedNodeStreamCompression.MAX_BLOCK_SIZE) {
+            throw new InvalidNormalizedNodeStreamException("Invalid block size " + blockSize);
+        }
+
+        block = new byte[blockSize];
+        compressed = new byte[blockSize];
+        inflater = new Inflater(true);
+    }
+
+    private void readBlock() throws IOException {
+        final int compressedLength = in.readInt();
+        if (compressedLength == BlockCompression.END) {
+            eof = true;
+            return;
+        }
+        final int uncompressedLength = in.readInt();
+        if (uncompressedLength <= 0 || uncompressedLength > blockSize || compressedLength < 0
+                || compressedLength > uncompressedLength) {
+            throw new InvalidNormalizedNodeStreamException("Invalid block lengths " + compressedLength + "/"
+                + uncompressedLength);
+        }
+
+        in.readFully(compressed, 0, compressedLength);
+        BlockCompression.inflate(inflater, compressed, compressedLength, block, uncompressedLength);
+        position = 0;
+        limit = uncompressedLength;
+    }
+}
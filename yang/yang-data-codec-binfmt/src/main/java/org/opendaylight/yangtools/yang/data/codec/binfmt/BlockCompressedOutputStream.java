@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An {@link OutputStream} producing {@link BlockCompression} framing. Blocks are either compressed on the calling
+ * thread, or submitted to an {@link Executor}, in which case they are written out in submission order as they
+ * complete.
+ */
+final class BlockCompressedOutputStream extends OutputStream {
+    private static final class Block {
+        final int length;
+        final CompletableFuture<byte[]> compressed;
+
+        Block(final int length, final CompletableFuture<byte[]> compressed) {
+            this.length = length;
+            this.compressed = compressed;
+        }
+    }
+
+    private final Deque<Block> pending = new ArrayDeque<>();
+    private final DataOutputStream out;
+    private final @Nullable Executor executor;
+    private final int maxPending;
+    private final byte codec;
+    private final int level;
+
+    private byte[] buffer;
+    private int count;
+    private boolean headerWritten;
+    private boolean closed;
+
+    BlockCompressedOutputStream(final OutputStream out, final byte codec, final int blockSize, final int level,
+            final @Nullable Executor executor) {
+        this.out = new DataOutputStream(requireNonNull(out));
+        this.codec = codec;
+        this.level = level;
+        this.executor = executor;
+        // Keep a couple of blocks per available processor in flight, so that workers do not starve
+        maxPending = executor == null ? 0 : 2 * Runtime.getRuntime().availableProcessors();
+        buffer = new byte[blockSize];
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (count == buffer.length) {
+            submitBlock();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if ((off | len | b.length - (len + off) | off + len) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int offset = off;
+        int remaining = len;
+        while (remaining != 0) {
+            if (count == buffer.length) {
+                submitBlock();
+            }
+            final int chunk = Math.min(remaining, buffer.length - count);
+            System.arraycopy(b, offset, buffer, count, chunk);
+            count += chunk;
+            offset += chunk;
+            remaining -= chunk;
+        }
+    }
+
+    /**
+     * Flush any buffered data as a (potentially short) block and wait for all pending blocks to be written out.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (count != 0) {
+            submitBlock();
+        }
+        while (!pending.isEmpty()) {
+            writeBlock(pending.removeFirst());
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                flush();
+                ensureHeaderWritten();
+                out.writeInt(BlockCompression.END);
+            } finally {
+                closed = true;
+                out.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+    }
+
+    private void ensureHeaderWritten() throws IOException {
+        if (!headerWritten) {
+            out.writeInt(BlockCompression.MAGIC);
+            out.writeByte(BlockCompression.VERSION);
+            out.writeByte(codec);
+            out.writeInt(buffer.length);
+            headerWritten = true;
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        final int length = count;
+        if (executor == null) {
+            writeBlock(length, BlockCompression.deflate(buffer, length, level));
+            count = 0;
+            return;
+        }
+
+        while (pending.size() >= maxPending) {
+            writeBlock(pending.removeFirst());
+        }
+
+        // The buffer is handed off to the compressing task, hence we need a fresh one
+        final byte[] bytes = buffer;
+        pending.addLast(new Block(length,
+            CompletableFuture.supplyAsync(() -> BlockCompression.deflate(bytes, length, level), executor)));
+        buffer = new byte[bytes.length];
+        count = 0;
+    }
+
+    private void writeBlock(final Block block) throws IOException {
+        final byte[] compressed;
+        try {
+            compressed = block.compressed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for compression")
+                .initCause(e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress block", e);
+        }
+        writeBlock(block.length, compressed);
+    }
+
+    private void writeBlock(final int length, final byte[] compressed) throws IOException {
+        ensureHeaderWritten();
+        out.writeInt(compressed.length);
+        out.writeInt(length);
+        out.write(compressed);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Constants and block codecs shared by {@link BlockCompressedOutputStream} and {@link BlockCompressedInputStream}.
+ * The framing is:
+ * <pre>
+ *   header := MAGIC (int) VERSION (byte) codec (byte) blockSize (int)
+ *   block  := compressedLength (int) uncompressedLength (int) data (compressedLength bytes)
+ *   stream := header block* END (int, zero)
+ * </pre>
+ * A block whose compressed length equals its uncompressed length is stored verbatim.
+ */
+final class BlockCompression {
+    // "NNZ" followed by a zero byte
+    static final int MAGIC = 0x4E4E5A00;
+    static final byte VERSION = 1;
+    static final int CODEC_DEFLATE = 1;
+
+    static final int END = 0;
+
+    private BlockCompression() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Compress a block. If the block does not compress, the returned array is a copy of the input.
+     *
+     * @param bytes Block bytes
+     * @param length Block length
+     * @param level Compression level
+     * @return Compressed block
+     */
+    static byte[] deflate(final byte[] bytes, final int length, final int level) {
+        final Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(bytes, 0, length);
+            deflater.finish();
+
+            // Anything at or beyond the input length is useless, as we would store the block verbatim
+            final byte[] out = new byte[length];
+            int size = 0;
+            while (!deflater.finished() && size < length) {
+                size += deflater.deflate(out, size, length - size);
+            }
+            return deflater.finished() && size < length ? Arrays.copyOf(out, size) : Arrays.copyOf(bytes, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompress a block.
+     *
+     * @param inflater Inflater to use
+     * @param compressed Compressed bytes
+     * @param compressedLength Compressed length
+     * @param out Output buffer, must be at least {@code uncompressedLength} bytes
+     * @param uncompressedLength Uncompressed length
+     * @throws IOException if the block does not decompress to {@code uncompressedLength} bytes
+     */
+    static void inflate(final Inflater inflater, final byte[] compressed, final int compressedLength,
+            final byte[] out, final int uncompressedLength) throws IOException {
+        if (compressedLength == uncompressedLength) {
+            System.arraycopy(compressed, 0, out, 0, uncompressedLength);
+            return;
+        }
+
+        inflater.reset();
+        inflater.setInput(compressed, 0, compressedLength);
+        int size = 0;
+        try {
+            while (size < uncompressedLength && !inflater.finished()) {
+                final int inflated = inflater.inflate(out, size, uncompressedLength - size);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                size += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new InvalidNormalizedNodeStreamException("Corrupted compressed block", e);
+        }
+        if (size != uncompressedLength || !inflater.finished()) {
+            throw new InvalidNormalizedNodeStreamException("Compressed block inflated to " + size + " bytes, expected "
+                + uncompressedLength);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataInput} reading directly from a {@link ByteBuffer}, which may be a heap, direct or memory-mapped buffer.
+ * Reads advance the buffer's position. Strings are decoded in bulk: heap buffers are decoded straight from their
+ * backing array, while direct and memory-mapped buffers are first copied into a temporary array, as {@link String}
+ * cannot be constructed from off-heap memory.
+ */
+final class ByteBufferDataInput implements StringDataInput {
+    private final @NonNull ByteBuffer buffer;
+
+    ByteBufferDataInput(final ByteBuffer buffer) {
+        // DataInput is big-endian
+        checkArgument(buffer.order() == ByteOrder.BIG_ENDIAN, "Buffer %s is not big-endian", buffer);
+        this.buffer = buffer;
+    }
+
+    @NonNull ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void readFully(final byte[] b) throws IOException {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void readFully(final byte[] b, final int off, final int len) throws IOException {
+        ensure(len);
+        buffer.get(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public int skipBytes(final int n) {
+        final int skipped = Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensure(Byte.BYTES);
+        return buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        ensure(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return Short.toUnsignedInt(readShort());
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        ensure(Character.BYTES);
+        return buffer.getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensure(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        ensure(Float.BYTES);
+        return buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        ensure(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    @Override
+    public String readLine() {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+
+        // Same semantics as DataInputStream.readLine(): bytes are mapped to chars directly and a line is terminated
+        // by '\n', '\r', '\r\n' or the end of input
+        final StringBuilder sb = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            final int ch = Byte.toUnsignedInt(buffer.get());
+            if (ch == '\n') {
+                break;
+            }
+            if (ch == '\r') {
+                if (buffer.hasRemaining() && buffer.get(buffer.position()) == '\n') {
+                    buffer.get();
+                }
+                break;
+            }
+            sb.append((char) ch);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        final int start = buffer.position();
+        final int length = readUnsignedShort();
+        ensure(length);
+
+        // Modified UTF-8 is the same as US-ASCII as long as there are no zeroes and no bytes with high bit set, which
+        // is the overwhelmingly common case
+        final int offset = buffer.position();
+        for (int i = 0; i < length; ++i) {
+            final byte b = buffer.get(offset + i);
+            if (b <= 0) {
+                // Rewind and take the slow path
+                buffer.position(start);
+                return DataInputStream.readUTF(this);
+            }
+        }
+        return readString(length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The bytes are decoded straight from the backing array of heap buffers, other buffers need to be copied to a
+     * temporary array first.
+     */
+    @Override
+    public String readString(final int length, final Charset charset) throws IOException {
+        ensure(length);
+        final String str;
+        if (buffer.hasArray()) {
+            str = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, charset);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            str = new String(bytes, charset);
+        }
+        return str;
+    }
+
+    private void ensure(final int length) throws EOFException {
+        if (buffer.remaining() < length) {
+            throw new EOFException("Need " + length + " bytes, only " + buffer.remaining() + " remain");
+        }
+    }
+}
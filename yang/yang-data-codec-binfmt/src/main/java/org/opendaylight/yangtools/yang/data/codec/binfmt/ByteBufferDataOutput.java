@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataOutput} writing directly into a {@link ByteBuffer}, which may be a heap, direct or memory-mapped buffer.
+ * Writes advance the buffer's position. Attempts to write past the buffer's limit result in an {@link IOException},
+ * leaving the buffer's position unchanged.
+ */
+final class ByteBufferDataOutput implements DataOutput {
+    private final @NonNull ByteBuffer buffer;
+
+    ByteBufferDataOutput(final ByteBuffer buffer) {
+        // DataOutput is big-endian
+        checkArgument(buffer.order() == ByteOrder.BIG_ENDIAN, "Buffer %s is not big-endian", buffer);
+        this.buffer = buffer;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) throws IOException {
+        writeByte(b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensure(len);
+        buffer.put(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeBoolean(final boolean v) throws IOException {
+        writeByte(v ? 1 : 0);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeByte(final int v) throws IOException {
+        ensure(Byte.BYTES);
+        buffer.put((byte) v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeShort(final int v) throws IOException {
+        ensure(Short.BYTES);
+        buffer.putShort((short) v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChar(final int v) throws IOException {
+        ensure(Character.BYTES);
+        buffer.putChar((char) v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeInt(final int v) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeLong(final long v) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeFloat(final float v) throws IOException {
+        ensure(Float.BYTES);
+        buffer.putFloat(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeDouble(final double v) throws IOException {
+        ensure(Double.BYTES);
+        buffer.putDouble(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeBytes(final String s) throws IOException {
+        final int length = s.length();
+        ensure(length);
+        for (int i = 0; i < length; ++i) {
+            buffer.put((byte) s.charAt(i));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChars(final String s) throws IOException {
+        final int length = s.length();
+        ensure(length * Character.BYTES);
+        for (int i = 0; i < length; ++i) {
+            buffer.putChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeUTF(final String s) throws IOException {
+        final int length = s.length();
+        int encodedLength = 0;
+        for (int i = 0; i < length; ++i) {
+            encodedLength += utfLength(s.charAt(i));
+        }
+        if (encodedLength > 65535) {
+            throw new UTFDataFormatException("Encoded string too long: " + encodedLength + " bytes");
+        }
+
+        ensure(Short.BYTES + encodedLength);
+        buffer.putShort((short) encodedLength);
+        if (encodedLength == length) {
+            // Fast path: US-ASCII only
+            for (int i = 0; i < length; ++i) {
+                buffer.put((byte) s.charAt(i));
+            }
+            return;
+        }
+
+        for (int i = 0; i < length; ++i) {
+            final char ch = s.charAt(i);
+            switch (utfLength(ch)) {
+                case 1:
+                    buffer.put((byte) ch);
+                    break;
+                case 2:
+                    buffer.put((byte) (0xC0 | ch >> 6 & 0x1F)).put((byte) (0x80 | ch & 0x3F));
+                    break;
+                default:
+                    buffer.put((byte) (0xE0 | ch >> 12 & 0x0F)).put((byte) (0x80 | ch >> 6 & 0x3F))
+                        .put((byte) (0x80 | ch & 0x3F));
+            }
+        }
+    }
+
+    // Length of a character in modified UTF-8, as specified in DataInput
+    private static int utfLength(final char ch) {
+        if (ch != 0 && ch < 0x80) {
+            return 1;
+        }
+        return ch < 0x800 ? 2 : 3;
+    }
+
+    private void ensure(final int length) throws IOException {
+        if (buffer.remaining() < length) {
+            throw new IOException("Need " + length + " bytes, only " + buffer.remaining() + " remain");
+        }
+    }
+}
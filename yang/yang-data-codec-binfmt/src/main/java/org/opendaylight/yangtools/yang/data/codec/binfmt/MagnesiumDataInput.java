@@ -16,6 +16,10 @@ final class MagnesiumDataInput extends AbstractMagnesiumDataInput {
         super(input);
     }
 
+    MagnesiumDataInput(final DataInput input, final MagnesiumDictionary dictionary) {
+        super(input, dictionary);
+    }
+
     @Override
     public NormalizedNodeStreamVersion getVersion() {
         return NormalizedNodeStreamVersion.MAGNESIUM;
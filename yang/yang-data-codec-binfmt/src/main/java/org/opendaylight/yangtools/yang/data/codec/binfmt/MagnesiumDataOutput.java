@@ -10,15 +10,31 @@ package org.opendaylight.yangtools.yang.data.codec.binfmt;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.math.BigInteger;
+import org.eclipse.jdt.annotation.Nullable;
 
 final class MagnesiumDataOutput extends AbstractMagnesiumDataOutput {
+    private final @Nullable NormalizedNodeStreamDictionary dictionary;
+
     MagnesiumDataOutput(final DataOutput output) {
         super(output);
+        dictionary = null;
+    }
+
+    MagnesiumDataOutput(final DataOutput output, final NormalizedNodeStreamDictionary dictionary) {
+        super(output, dictionary.dictionary());
+        this.dictionary = dictionary;
     }
 
     @Override
     short streamVersion() {
-        return TokenTypes.MAGNESIUM_VERSION;
+        return dictionary == null ? TokenTypes.MAGNESIUM_VERSION : TokenTypes.MAGNESIUM_DICTIONARY_VERSION;
+    }
+
+    @Override
+    void writeHeaderExtension() throws IOException {
+        if (dictionary != null) {
+            output.writeLong(dictionary.fingerprint());
+        }
     }
 
     @Override
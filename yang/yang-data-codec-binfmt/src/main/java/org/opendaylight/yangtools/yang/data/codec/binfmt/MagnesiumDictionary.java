@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+
+/**
+ * An immutable snapshot of {@link AbstractMagnesiumDataInput}'s coding dictionaries, allowing a stream to be decoded
+ * starting at an arbitrary subtree.
+ */
+final class MagnesiumDictionary {
+    final @NonNull ImmutableList<AugmentationIdentifier> augments;
+    final @NonNull ImmutableList<NodeIdentifier> nodeIdentifiers;
+    final @NonNull ImmutableList<QNameModule> modules;
+    final @NonNull ImmutableList<String> strings;
+
+    MagnesiumDictionary(final List<AugmentationIdentifier> augments, final List<NodeIdentifier> nodeIdentifiers,
+            final List<QNameModule> modules, final List<String> strings) {
+        this.augments = ImmutableList.copyOf(augments);
+        this.nodeIdentifiers = ImmutableList.copyOf(nodeIdentifiers);
+        this.modules = ImmutableList.copyOf(modules);
+        this.strings = ImmutableList.copyOf(strings);
+    }
+
+    boolean hasSizes(final int[] mark) {
+        return augments.size() == mark[0] && nodeIdentifiers.size() == mark[1] && modules.size() == mark[2]
+            && strings.size() == mark[3];
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.DataInput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ReusableImmutableNormalizedNodeStreamWriter;
+
+/**
+ * Reader for {@link TokenTypes#MAGNESIUM_SIZED_VERSION} streams. When reading from a {@link ByteBuffer}, this reader
+ * can also produce lazily-decoded nodes.
+ */
+final class MagnesiumSizedDataInput extends AbstractMagnesiumDataInput {
+    private final Deque<int[]> marks = new ArrayDeque<>();
+
+    // Last dictionary snapshot handed out to a lazy node. We are only taking snapshots between nodes at the same level,
+    // where the dictionary can only grow, hence equal sizes imply equal contents.
+    private MagnesiumDictionary lastDictionary;
+
+    MagnesiumSizedDataInput(final DataInput input) {
+        super(input);
+    }
+
+    private MagnesiumSizedDataInput(final ByteBuffer body, final MagnesiumDictionary dictionary) {
+        super(new ByteBufferDataInput(body), dictionary);
+        lastDictionary = dictionary;
+    }
+
+    @Override
+    public NormalizedNodeStreamVersion getVersion() {
+        return NormalizedNodeStreamVersion.MAGNESIUM_SIZED;
+    }
+
+    @Override
+    public NormalizedNode readLazyNormalizedNode() throws IOException {
+        return input instanceof ByteBufferDataInput ? readLazyNode(input.readByte(), null) : readNormalizedNode();
+    }
+
+    @Override
+    BigInteger readBigInteger() throws IOException {
+        throw new InvalidNormalizedNodeStreamException("BigInteger coding is not supported");
+    }
+
+    @Override
+    void enterSubtree() throws IOException {
+        final int length = input.readInt();
+        if (length < 1) {
+            throw new InvalidNormalizedNodeStreamException("Invalid subtree length " + length);
+        }
+        marks.push(markDictionary());
+    }
+
+    @Override
+    void exitSubtree() {
+        resetDictionary(marks.pop());
+    }
+
+    /**
+     * Read the children of an encoded subtree. Children which are containers, choices, augmentations, maps or map
+     * entries are returned as lazily-decoded nodes, all others are decoded eagerly.
+     *
+     * @param body Subtree body, including the terminating {@link MagnesiumNode#NODE_END}
+     * @param dictionary Coding dictionary at the start of the body
+     * @param parent Identifier of the node owning the body
+     * @return Children of the subtree, in encounter order
+     * @throws IOException if the body cannot be decoded
+     */
+    static @NonNull ImmutableMap<PathArgument, NormalizedNode> readLazyChildren(final ByteBuffer body,
+            final MagnesiumDictionary dictionary, final PathArgument parent) throws IOException {
+        final MagnesiumSizedDataInput in = new MagnesiumSizedDataInput(body, dictionary);
+        final Map<PathArgument, NormalizedNode> children = new LinkedHashMap<>();
+        for (byte header = in.readByte(); header != MagnesiumNode.NODE_END; header = in.readByte()) {
+            final NormalizedNode child = in.readLazyNode(header, parent);
+            children.put(child.getIdentifier(), child);
+        }
+        return ImmutableMap.copyOf(children);
+    }
+
+    private @NonNull NormalizedNode readLazyNode(final byte header, final PathArgument parent) throws IOException {
+        // Note: argument evaluation order matters here, as the body needs to be read after the identifier
+        switch (header & MagnesiumNode.TYPE_MASK) {
+            case MagnesiumNode.NODE_CONTAINER:
+                return new AbstractLazyDataContainerNode.Container(decodeNodeIdentifier(header, null), readBody(),
+                    lazyDictionary());
+            case MagnesiumNode.NODE_CHOICE:
+                return new AbstractLazyDataContainerNode.Choice(decodeNodeIdentifier(header, null), readBody(),
+                    lazyDictionary());
+            case MagnesiumNode.NODE_AUGMENTATION:
+                return new AbstractLazyDataContainerNode.Augmentation(decodeAugmentationIdentifier(header),
+                    readBody(), lazyDictionary());
+            case MagnesiumNode.NODE_MAP_ENTRY:
+                return new AbstractLazyDataContainerNode.MapEntry(decodeMapEntryIdentifier(header, parent),
+                    readBody(), lazyDictionary());
+            case MagnesiumNode.NODE_MAP:
+                return new AbstractLazyMapNode.System(decodeNodeIdentifier(header, null), readBody(),
+                    lazyDictionary());
+            case MagnesiumNode.NODE_MAP_ORDERED:
+                return new AbstractLazyMapNode.User(decodeNodeIdentifier(header, null), readBody(), lazyDictionary());
+            default:
+                // Everything else is either simple or not worth the indirection
+                final ReusableImmutableNormalizedNodeStreamWriter receiver =
+                    ReusableImmutableNormalizedNodeStreamWriter.create();
+                streamNormalizedNode(receiver, parent, header);
+                return receiver.getResult();
+        }
+    }
+
+    private @NonNull ByteBuffer readBody() throws IOException {
+        final int length = input.readInt();
+        final ByteBuffer buffer = ((ByteBufferDataInput) input).buffer();
+        if (length < 1 || length > buffer.remaining()) {
+            throw new InvalidNormalizedNodeStreamException("Invalid subtree length " + length);
+        }
+
+        final int position = buffer.position();
+        final ByteBuffer body = buffer.slice().limit(length);
+        buffer.position(position + length);
+        return body;
+    }
+
+    private @NonNull MagnesiumDictionary lazyDictionary() {
+        final MagnesiumDictionary last = lastDictionary;
+        if (last != null && last.hasSizes(markDictionary())) {
+            return last;
+        }
+        final MagnesiumDictionary dictionary = saveDictionary();
+        lastDictionary = dictionary;
+        return dictionary;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * NormalizedNodeOutputStreamWriter which emits subtree lengths, so that a reader can skip over subtrees.
+ */
+final class MagnesiumSizedDataOutput extends AbstractMagnesiumDataOutput {
+    private final Deque<int[]> marks = new ArrayDeque<>();
+    private final SubtreeDataOutput subtrees;
+
+    MagnesiumSizedDataOutput(final DataOutput output) {
+        this(new SubtreeDataOutput(output));
+    }
+
+    private MagnesiumSizedDataOutput(final SubtreeDataOutput subtrees) {
+        super(subtrees, true);
+        this.subtrees = subtrees;
+    }
+
+    @Override
+    short streamVersion() {
+        return TokenTypes.MAGNESIUM_SIZED_VERSION;
+    }
+
+    @Override
+    void writeValue(final BigInteger value) throws IOException {
+        throw new IOException("BigInteger values are not supported");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        subtrees.flush();
+    }
+
+    @Override
+    void enterSubtree() {
+        marks.push(markDictionary());
+        subtrees.startSubtree();
+    }
+
+    @Override
+    void exitSubtree() throws IOException {
+        subtrees.endSubtree();
+        // Definitions made within the subtree are not visible outside of it
+        resetDictionary(marks.pop());
+    }
+}
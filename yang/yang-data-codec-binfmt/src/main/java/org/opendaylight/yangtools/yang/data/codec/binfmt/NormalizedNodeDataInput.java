@@ -7,9 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.binfmt;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import java.io.DataInput;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName.QNameAwareDataInput;
@@ -66,6 +69,25 @@ public interface NormalizedNodeDataInput extends QNameAwareDataInput {
         }
     }
 
+    /**
+     * Read a normalized node from the reader, deferring decoding of its subtrees until they are accessed. This is
+     * only possible if this input reads from a {@link ByteBuffer} and the stream was written using
+     * {@link NormalizedNodeStreamVersion#MAGNESIUM_SIZED}. In that case containers, choices, augmentations, maps and
+     * map entries are returned as views of the encoded data, which index and decode their immediate children on first
+     * access. Otherwise this method is equivalent to {@link #readNormalizedNode()}.
+     *
+     * <p>
+     * The returned node may refer to the buffer this input reads from, hence its contents must not be modified while
+     * the node is in use. Nodes returned from this method compare equal to eagerly-decoded nodes with the same
+     * contents, but not necessarily vice versa.
+     *
+     * @return Next node from the stream
+     * @throws IOException if an error occurs
+     */
+    default NormalizedNode readLazyNormalizedNode() throws IOException {
+        return readNormalizedNode();
+    }
+
     YangInstanceIdentifier readYangInstanceIdentifier() throws IOException;
 
     PathArgument readPathArgument() throws IOException;
@@ -100,6 +122,39 @@ public interface NormalizedNodeDataInput extends QNameAwareDataInput {
         return new VersionedNormalizedNodeDataInput(input).delegate();
     }
 
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads directly from the given buffer, which can be
+     * a heap, direct or memory-mapped buffer. Data is consumed from the buffer's current position, which is advanced
+     * as data is read. This method first reads and validates that the buffer contains a valid NormalizedNode stream.
+     *
+     * @param buffer the ByteBuffer to read from
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws IllegalArgumentException if {@code buffer} is not in big-endian byte order
+     * @throws InvalidNormalizedNodeStreamException if the stream version is not supported
+     * @throws IOException if an error occurs reading from the input
+     */
+    static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull ByteBuffer buffer) throws IOException {
+        return newDataInput(new ByteBufferDataInput(buffer));
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given input, which may have been
+     * written using a {@link NormalizedNodeStreamDictionary}. Streams written without a dictionary are read as if by
+     * {@link #newDataInput(DataInput)}.
+     *
+     * @param input the DataInput to read from
+     * @param dictionary the dictionary to use
+     * @return a new {@link NormalizedNodeDataInput} instance
+     * @throws InvalidNormalizedNodeStreamException if the stream version is not supported or the stream was written
+     *                                              with a different dictionary
+     * @throws IOException if an error occurs reading from the input
+     */
+    @Beta
+    static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull DataInput input,
+            final @NonNull NormalizedNodeStreamDictionary dictionary) throws IOException {
+        return new VersionedNormalizedNodeDataInput(input, requireNonNull(dictionary)).delegate();
+    }
+
     /**
      * Creates a new {@link NormalizedNodeDataInput} instance that reads from the given input. This method does not
      * perform any initial validation of the input stream.
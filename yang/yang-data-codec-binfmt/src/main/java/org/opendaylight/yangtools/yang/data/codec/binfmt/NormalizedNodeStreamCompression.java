@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Block-framed compression of NormalizedNode streams. A compressed stream is meant to be layered between a
+ * {@link NormalizedNodeDataOutput} and its destination, for example
+ * <pre>
+ *   try (DataOutputStream compressed = new DataOutputStream(
+ *           NormalizedNodeStreamCompression.DEFLATE.newOutputStream(fileStream));
+ *        NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.current().newDataOutput(compressed)) {
+ *       out.writeNormalizedNode(node);
+ *   }
+ * </pre>
+ * and read back using {@link #newInputStream(InputStream)}. Note that closing a {@link NormalizedNodeDataOutput} only
+ * flushes it: the compressing stream needs to be closed explicitly, as that is what writes out the last block and
+ * terminates the framing.
+ *
+ * <p>
+ * The framing is versioned and self-describing: it starts with a header identifying the framing version, codec and
+ * block size, followed by a sequence of independently-compressed blocks, each prefixed by its compressed and
+ * uncompressed lengths, and is terminated by an empty block. Independent blocks allow large streams to be compressed
+ * in parallel on the writer side, and decompressed incrementally with bounded memory on the reader side.
+ */
+@Beta
+public enum NormalizedNodeStreamCompression {
+    /**
+     * DEFLATE compression, as implemented by {@link Deflater}. Blocks which do not compress are stored verbatim.
+     */
+    DEFLATE(BlockCompression.CODEC_DEFLATE);
+
+    /**
+     * Default uncompressed block size, 256KiB.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+    /**
+     * Maximum uncompressed block size, 16MiB. Readers reject streams declaring a larger block size, as they need to
+     * allocate buffers of that size.
+     */
+    public static final int MAX_BLOCK_SIZE = 16 * 1024 * 1024;
+
+    private final byte codec;
+
+    NormalizedNodeStreamCompression(final int codec) {
+        this.codec = (byte) codec;
+    }
+
+    /**
+     * Create a new compressing stream with {@link #DEFAULT_BLOCK_SIZE}, default compression level and no parallelism.
+     *
+     * @param out Destination stream
+     * @return A new compressing stream
+     * @throws NullPointerException if {@code out} is null
+     */
+    public @NonNull OutputStream newOutputStream(final OutputStream out) {
+        return newOutputStream(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION, null);
+    }
+
+    /**
+     * Create a new compressing stream. If an {@link Executor} is specified, blocks are compressed asynchronously
+     * using it, with a bounded number of blocks being in-flight at any given time. Closing the returned stream
+     * finishes the framing and closes {@code out}.
+     *
+     * @param out Destination stream
+     * @param blockSize Uncompressed block size
+     * @param level Compression level, as understood by {@link Deflater#setLevel(int)}
+     * @param executor Executor to use for compressing blocks, {@code null} to compress on the calling thread
+     * @return A new compressing stream
+     * @throws NullPointerException if {@code out} is null
+     * @throws IllegalArgumentException if {@code blockSize} is not positive or is greater than
+     *                                  {@link #MAX_BLOCK_SIZE}, or if {@code level} is not valid
+     */
+    public @NonNull OutputStream newOutputStream(final OutputStream out, final int blockSize, final int level,
+            final @Nullable Executor executor) {
+        checkArgument(blockSize > 0 && blockSize <= MAX_BLOCK_SIZE, "Invalid block size %s", blockSize);
+        checkArgument(level >= Deflater.DEFAULT_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+            "Invalid compression level %s", level);
+        return new BlockCompressedOutputStream(requireNonNull(out), codec, blockSize, level, executor);
+    }
+
+    /**
+     * Create a new decompressing stream. The codec is determined from the stream header, which is read on first
+     * access. Closing the returned stream closes {@code in}.
+     *
+     * @param in Source stream
+     * @return A new decompressing stream
+     * @throws NullPointerException if {@code in} is null
+     */
+    public static @NonNull InputStream newInputStream(final InputStream in) {
+        return new BlockCompressedInputStream(requireNonNull(in));
+    }
+
+    static @NonNull NormalizedNodeStreamCompression forCodec(final byte codec) throws IOException {
+        for (NormalizedNodeStreamCompression compression : values()) {
+            if (compression.codec == codec) {
+                return compression;
+            }
+        }
+        throw new InvalidNormalizedNodeStreamException("Unsupported compression codec " + codec);
+    }
+}
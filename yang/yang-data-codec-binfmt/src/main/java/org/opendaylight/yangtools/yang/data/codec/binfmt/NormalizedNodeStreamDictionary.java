@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationTarget;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+import org.opendaylight.yangtools.yang.model.api.RpcDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A coding dictionary shared between a {@link NormalizedNodeDataOutput} and a {@link NormalizedNodeDataInput}. It
+ * pre-seeds the stream's lookup tables with all modules, node names and augmentation identifiers defined by an
+ * {@link EffectiveModelContext}, so that even the first occurrence of a schema-defined identifier is encoded as
+ * a compact reference. This is useful for small messages, where the identifier definitions would otherwise dominate
+ * stream size.
+ *
+ * <p>
+ * Both ends of a stream need to use an identical dictionary, which is ensured by deriving it from the same model
+ * context. Streams carry the dictionary's {@link #fingerprint()}, so that a mismatch is detected by the reader. Since
+ * constructing a dictionary requires a full walk of the model, instances should be cached alongside the model context.
+ */
+@Beta
+public final class NormalizedNodeStreamDictionary implements Immutable {
+    private static final Comparator<AugmentationIdentifier> AID_COMPARATOR = (first, second) -> {
+        final Iterator<QName> it = new TreeSet<>(second.getPossibleChildNames()).iterator();
+        for (QName qname : new TreeSet<>(first.getPossibleChildNames())) {
+            if (!it.hasNext()) {
+                return 1;
+            }
+            final int cmp = qname.compareTo(it.next());
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return it.hasNext() ? -1 : 0;
+    };
+
+    private final @NonNull MagnesiumDictionary dictionary;
+    private final long fingerprint;
+
+    private NormalizedNodeStreamDictionary(final MagnesiumDictionary dictionary, final long fingerprint) {
+        this.dictionary = dictionary;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Create a dictionary covering all identifiers defined by a model context.
+     *
+     * @param context Model context
+     * @return A new dictionary
+     * @throws NullPointerException if {@code context} is null
+     */
+    public static @NonNull NormalizedNodeStreamDictionary of(final EffectiveModelContext context) {
+        final Set<QNameModule> modules = new TreeSet<>();
+        final Set<QName> qnames = new TreeSet<>();
+        final Set<AugmentationIdentifier> augments = new TreeSet<>(AID_COMPARATOR);
+
+        for (Module module : context.getModules()) {
+            modules.add(module.getQNameModule());
+            for (IdentitySchemaNode identity : module.getIdentities()) {
+                qnames.add(identity.getQName());
+            }
+        }
+        qnames.add(SchemaContext.NAME);
+        collectChildren(context, qnames, augments);
+        for (RpcDefinition rpc : context.getOperations()) {
+            collectOperation(rpc, qnames, augments);
+        }
+
+        // Modules referenced from QNames, for example through augmentations, need to be covered, too
+        for (AugmentationIdentifier aid : augments) {
+            qnames.addAll(aid.getPossibleChildNames());
+        }
+        for (QName qname : qnames) {
+            modules.add(qname.getModule());
+        }
+
+        // Assign codes in iteration order and fingerprint the result, so that a mismatch between peers is detected
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final Map<QNameModule, Integer> moduleCodes = new HashMap<>();
+        for (QNameModule module : modules) {
+            moduleCodes.put(module, moduleCodes.size());
+            hasher.putString(module.getNamespace().toString(), UTF_8).putByte((byte) 0)
+                .putString(module.getRevision().map(Object::toString).orElse(""), UTF_8).putByte((byte) 0);
+        }
+        final Map<QName, Integer> qnameCodes = new HashMap<>();
+        final List<NodeIdentifier> nodeIdentifiers = new ArrayList<>(qnames.size());
+        for (QName qname : qnames) {
+            qnameCodes.put(qname, qnameCodes.size());
+            nodeIdentifiers.add(NodeIdentifier.create(qname));
+            hasher.putInt(moduleCodes.get(qname.getModule())).putString(qname.getLocalName(), UTF_8)
+                .putByte((byte) 0);
+        }
+        for (AugmentationIdentifier aid : augments) {
+            final Set<QName> childNames = new TreeSet<>(aid.getPossibleChildNames());
+            hasher.putInt(childNames.size());
+            for (QName qname : childNames) {
+                hasher.putInt(qnameCodes.get(qname));
+            }
+        }
+
+        return new NormalizedNodeStreamDictionary(new MagnesiumDictionary(ImmutableList.copyOf(augments),
+            nodeIdentifiers, ImmutableList.copyOf(modules), ImmutableList.of()), hasher.hash().asLong());
+    }
+
+    /**
+     * Return the fingerprint of this dictionary. Two dictionaries with the same fingerprint are interchangeable.
+     *
+     * @return Dictionary fingerprint
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    @NonNull MagnesiumDictionary dictionary() {
+        return dictionary;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("fingerprint", Long.toHexString(fingerprint))
+            .add("modules", dictionary.modules.size())
+            .add("identifiers", dictionary.nodeIdentifiers.size())
+            .add("augmentations", dictionary.augments.size())
+            .toString();
+    }
+
+    private static void collectChildren(final DataNodeContainer container, final Set<QName> qnames,
+            final Set<AugmentationIdentifier> augments) {
+        for (DataSchemaNode child : container.getChildNodes()) {
+            qnames.add(child.getQName());
+            collectNode(child, qnames, augments);
+        }
+        collectContainer(container, qnames, augments);
+    }
+
+    private static void collectNode(final DataSchemaNode node, final Set<QName> qnames,
+            final Set<AugmentationIdentifier> augments) {
+        if (node instanceof DataNodeContainer) {
+            collectChildren((DataNodeContainer) node, qnames, augments);
+        } else if (node instanceof ChoiceSchemaNode) {
+            // Cases do not appear in data, hence we only collect their children
+            for (CaseSchemaNode caseNode : ((ChoiceSchemaNode) node).getCases()) {
+                collectChildren(caseNode, qnames, augments);
+            }
+            collectContainer(node, qnames, augments);
+        }
+    }
+
+    private static void collectContainer(final Object container, final Set<QName> qnames,
+            final Set<AugmentationIdentifier> augments) {
+        if (container instanceof AugmentationTarget) {
+            for (AugmentationSchemaNode augment : ((AugmentationTarget) container).getAvailableAugmentations()) {
+                augments.add(DataSchemaContextNode.augmentationIdentifierFrom(augment));
+            }
+        }
+        if (container instanceof ActionNodeContainer) {
+            for (ActionDefinition action : ((ActionNodeContainer) container).getActions()) {
+                collectOperation(action, qnames, augments);
+            }
+        }
+        if (container instanceof NotificationNodeContainer) {
+            for (NotificationDefinition notif : ((NotificationNodeContainer) container).getNotifications()) {
+                qnames.add(notif.getQName());
+                collectChildren(notif, qnames, augments);
+            }
+        }
+    }
+
+    private static void collectOperation(final OperationDefinition operation, final Set<QName> qnames,
+            final Set<AugmentationIdentifier> augments) {
+        qnames.add(operation.getQName());
+        qnames.add(operation.getInput().getQName());
+        collectChildren(operation.getInput(), qnames, augments);
+        qnames.add(operation.getOutput().getQName());
+        collectChildren(operation.getOutput(), qnames, augments);
+    }
+}
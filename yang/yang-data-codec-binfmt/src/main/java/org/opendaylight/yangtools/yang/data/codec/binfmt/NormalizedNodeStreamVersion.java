@@ -7,9 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.binfmt;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import java.io.DataOutput;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.opendaylight.yangtools.yang.common.Uint64;
 import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
@@ -75,6 +78,29 @@ public enum NormalizedNodeStreamVersion {
         public NormalizedNodeDataOutput newDataOutput(final DataOutput output) {
             return new MagnesiumDataOutput(output);
         }
+
+        @Override
+        public NormalizedNodeDataOutput newDataOutput(final DataOutput output,
+                final NormalizedNodeStreamDictionary dictionary) {
+            return new MagnesiumDataOutput(output, requireNonNull(dictionary));
+        }
+    },
+    /**
+     * Variant of {@link #MAGNESIUM}, which prefixes each subtree with its encoded length and keeps identifiers defined
+     * within a subtree local to it. This allows {@link NormalizedNodeDataInput#readLazyNormalizedNode()} to skip over
+     * subtrees and decode them only when they are accessed.
+     *
+     * <p>
+     * The stream is considerably larger and more expensive to produce: each subtree carries a 4-byte length and, more
+     * importantly, identifiers first used within a subtree are defined again in each of its siblings, for example in
+     * each entry of a list. Trees dominated by list entries therefore produce noticeably larger streams than
+     * {@link #MAGNESIUM}.
+     */
+    MAGNESIUM_SIZED {
+        @Override
+        public NormalizedNodeDataOutput newDataOutput(final DataOutput output) {
+            return new MagnesiumSizedDataOutput(output);
+        }
     };
 
     /**
@@ -96,4 +122,36 @@ public enum NormalizedNodeStreamVersion {
      * @throws UnsupportedOperationException if this version cannot be created in this runtime
      */
     public abstract NormalizedNodeDataOutput newDataOutput(DataOutput output);
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output, using a shared
+     * dictionary. The resulting stream can only be read by {@link NormalizedNodeDataInput#newDataInput(DataInput,
+     * NormalizedNodeStreamDictionary)} with a matching dictionary. Default implementation throws
+     * {@link UnsupportedOperationException}.
+     *
+     * @param output the DataOutput to write to
+     * @param dictionary the dictionary to use
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if any argument is null
+     * @throws UnsupportedOperationException if this version does not support dictionaries
+     */
+    public NormalizedNodeDataOutput newDataOutput(final DataOutput output,
+            final NormalizedNodeStreamDictionary dictionary) {
+        throw new UnsupportedOperationException(this + " does not support dictionaries");
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes directly into the given buffer, which can be
+     * a heap, direct or memory-mapped buffer. Data is written at the buffer's current position, which is advanced as
+     * data is written. Attempts to write past the buffer's limit result in an {@link java.io.IOException}.
+     *
+     * @param buffer the ByteBuffer to write to
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     * @throws NullPointerException if {@code buffer} is null
+     * @throws IllegalArgumentException if {@code buffer} is not in big-endian byte order
+     * @throws UnsupportedOperationException if this version cannot be created in this runtime
+     */
+    public final NormalizedNodeDataOutput newDataOutput(final ByteBuffer buffer) {
+        return newDataOutput(new ByteBufferDataOutput(buffer));
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A {@link MapEntryNode} whose contents are stored in serialized form in a region of a (direct) {@link ByteBuffer},
+ * which is typically shared with other entries. All data access is forwarded to a materialized entry, which is cached
+ * as long as the garbage collector allows.
+ *
+ * <p>
+ * {@link #hashCode()} is derived from the identifier alone and does not require the entry to be materialized.
+ * {@link #equals(Object)} considers only other {@link OffHeapMapEntryNode}s, comparing their identifiers first and
+ * their materialized contents only if those match. An instance is never equal to a {@link MapEntryNode} of a different
+ * implementation, just as immutable {@link MapEntryNode}s are never equal to an instance of this class. Use
+ * {@link #materialize()} to compare contents with other implementations.
+ */
+final class OffHeapMapEntryNode implements MapEntryNode {
+    private static final SoftReference<MapEntryNode> NOT_MATERIALIZED = new SoftReference<>(null);
+
+    private final @NonNull NodeIdentifierWithPredicates identifier;
+    private final @NonNull ByteBuffer slab;
+    private final int offset;
+    private final int length;
+
+    private volatile SoftReference<MapEntryNode> materialized = NOT_MATERIALIZED;
+
+    OffHeapMapEntryNode(final NodeIdentifierWithPredicates identifier, final ByteBuffer slab, final int offset,
+            final int length) {
+        this.identifier = requireNonNull(identifier);
+        this.slab = requireNonNull(slab);
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public NodeIdentifierWithPredicates getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public Collection<@NonNull DataContainerChild> body() {
+        return materialize().body();
+    }
+
+    @Override
+    public DataContainerChild childByArg(final PathArgument child) {
+        return materialize().childByArg(child);
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public int hashCode() {
+        return identifier.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OffHeapMapEntryNode)) {
+            return false;
+        }
+        final OffHeapMapEntryNode other = (OffHeapMapEntryNode) obj;
+        return identifier.equals(other.identifier) && materialize().equals(other.materialize());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("size", length)
+            .toString();
+    }
+
+    @VisibleForTesting
+    @NonNull ByteBuffer slab() {
+        return slab;
+    }
+
+    @NonNull MapEntryNode materialize() {
+        final MapEntryNode existing = materialized.get();
+        if (existing != null) {
+            return existing;
+        }
+
+        // Concurrent materialization is benign: both threads decode equal entries and one of them ends up cached
+        final MapEntryNode entry = decode();
+        materialized = new SoftReference<>(entry);
+        return entry;
+    }
+
+    private @NonNull MapEntryNode decode() {
+        final ByteBuffer buffer = slab.duplicate().limit(offset + length).position(offset);
+        final NormalizedNode node;
+        try {
+            node = NormalizedNodeDataInput.newDataInput(buffer).readNormalizedNode();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to materialize " + identifier, e);
+        }
+        if (!(node instanceof MapEntryNode)) {
+            throw new IllegalStateException("Unexpected node " + node + " materialized for " + identifier);
+        }
+        return (MapEntryNode) node;
+    }
+}
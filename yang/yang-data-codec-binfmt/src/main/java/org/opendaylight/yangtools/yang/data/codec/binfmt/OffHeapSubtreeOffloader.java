@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.SubtreeOffloader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link SubtreeOffloader} which serializes list entries using a {@link NormalizedNodeStreamVersion} and stores
+ * the result in direct {@link ByteBuffer}s. The original entry is not retained: offloaded entries are decoded when
+ * they are accessed and the result is cached via a {@link java.lang.ref.SoftReference}, so that the garbage collector
+ * can reclaim it under memory pressure.
+ *
+ * <p>
+ * Serialized entries are appended to slabs of configurable size, each of them a single direct buffer, so that direct
+ * memory is reserved once per slab rather than once per entry. Entries larger than a slab get a buffer of their own.
+ * A slab is released only once all entries stored in it are unreachable, hence a few long-lived entries can retain
+ * a slab whose other entries have been removed or replaced.
+ *
+ * <p>
+ * Each offloaded entry retains a small on-heap footprint, consisting of its identifier and its location in a slab.
+ * Entries whose serialized form is smaller than a configurable threshold are not worth this overhead and are kept on
+ * heap.
+ *
+ * <p>
+ * Use {@link DataTreeConfiguration.Builder#setSubtreeOffloader(SubtreeOffloader)} to enable this offloader.
+ */
+@Beta
+public final class OffHeapSubtreeOffloader implements SubtreeOffloader {
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapSubtreeOffloader.class);
+
+    /**
+     * Default value of {@link #getMinimumSize()}.
+     */
+    public static final int DEFAULT_MINIMUM_SIZE = 512;
+    /**
+     * Default value of {@link #getSlabSize()}, 1MiB.
+     */
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+    private final @NonNull NormalizedNodeStreamVersion version;
+    private final int minimumSize;
+    private final int slabSize;
+
+    // Slab currently being filled and its read-only view handed out to entries
+    @GuardedBy("this")
+    private ByteBuffer slab;
+    @GuardedBy("this")
+    private ByteBuffer slabView;
+
+    private OffHeapSubtreeOffloader(final NormalizedNodeStreamVersion version, final int minimumSize,
+            final int slabSize) {
+        this.version = requireNonNull(version);
+        this.minimumSize = minimumSize;
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Create an offloader using {@link NormalizedNodeStreamVersion#current()}, {@link #DEFAULT_MINIMUM_SIZE} and
+     * {@link #DEFAULT_SLAB_SIZE}.
+     *
+     * @return An offloader
+     */
+    public static @NonNull OffHeapSubtreeOffloader of() {
+        return of(NormalizedNodeStreamVersion.current(), DEFAULT_MINIMUM_SIZE);
+    }
+
+    /**
+     * Create an offloader using specified stream version, minimum entry size and {@link #DEFAULT_SLAB_SIZE}.
+     *
+     * @param version Stream version to use
+     * @param minimumSize Minimum size of serialized form for an entry to be offloaded, in bytes
+     * @return An offloader
+     * @throws NullPointerException if {@code version} is null
+     * @throws IllegalArgumentException if {@code minimumSize} is negative
+     */
+    public static @NonNull OffHeapSubtreeOffloader of(final NormalizedNodeStreamVersion version,
+            final int minimumSize) {
+        return of(version, minimumSize, DEFAULT_SLAB_SIZE);
+    }
+
+    /**
+     * Create an offloader using specified stream version, minimum entry size and slab size.
+     *
+     * @param version Stream version to use
+     * @param minimumSize Minimum size of serialized form for an entry to be offloaded, in bytes
+     * @param slabSize Size of direct buffers holding serialized entries, in bytes
+     * @return An offloader
+     * @throws NullPointerException if {@code version} is null
+     * @throws IllegalArgumentException if {@code minimumSize} is negative or {@code slabSize} is not positive
+     */
+    public static @NonNull OffHeapSubtreeOffloader of(final NormalizedNodeStreamVersion version,
+            final int minimumSize, final int slabSize) {
+        checkArgument(minimumSize >= 0, "Invalid minimum size %s", minimumSize);
+        checkArgument(slabSize > 0, "Invalid slab size %s", slabSize);
+        return new OffHeapSubtreeOffloader(version, minimumSize, slabSize);
+    }
+
+    public @NonNull NormalizedNodeStreamVersion getVersion() {
+        return version;
+    }
+
+    public int getMinimumSize() {
+        return minimumSize;
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    @Override
+    public MapEntryNode offload(final MapEntryNode entry) {
+        if (entry instanceof OffHeapMapEntryNode) {
+            return entry;
+        }
+
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = version.newDataOutput(bado)) {
+            out.writeNormalizedNode(entry);
+        } catch (IOException e) {
+            LOG.debug("Failed to serialize {}, keeping it on heap", entry.getIdentifier(), e);
+            return entry;
+        }
+
+        final byte[] bytes = bado.toByteArray();
+        if (bytes.length < minimumSize) {
+            return entry;
+        }
+
+        if (bytes.length > slabSize) {
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            return new OffHeapMapEntryNode(entry.getIdentifier(), buffer.asReadOnlyBuffer(), 0, bytes.length);
+        }
+        return store(entry, bytes);
+    }
+
+    private synchronized @NonNull OffHeapMapEntryNode store(final MapEntryNode entry, final byte[] bytes) {
+        if (slab == null || slab.remaining() < bytes.length) {
+            slab = ByteBuffer.allocateDirect(slabSize);
+            slabView = slab.asReadOnlyBuffer();
+        }
+        final int offset = slab.position();
+        slab.put(bytes);
+        return new OffHeapMapEntryNode(entry.getIdentifier(), slabView, offset, bytes.length);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("version", version).add("minimumSize", minimumSize)
+            .add("slabSize", slabSize).toString();
+    }
+}
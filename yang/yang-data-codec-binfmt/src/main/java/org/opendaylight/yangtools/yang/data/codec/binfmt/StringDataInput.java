@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataInput} which can decode a sequence of bytes into a {@link String} straight from its backing storage.
+ * {@link NormalizedNodeDataInput}s reading from such an input use this to decode byte-encoded strings, instead of
+ * reading them into a freshly-allocated {@code byte[]} first.
+ */
+@Beta
+public interface StringDataInput extends DataInput {
+    /**
+     * Read a String of specified length in bytes, encoded using specified charset.
+     *
+     * @param length Encoded length
+     * @param charset Charset to use
+     * @return A String
+     * @throws IOException if the input does not contain enough data
+     */
+    @NonNull String readString(int length, @NonNull Charset charset) throws IOException;
+}
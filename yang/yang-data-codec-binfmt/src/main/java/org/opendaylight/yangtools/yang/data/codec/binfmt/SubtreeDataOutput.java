@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataOutput} which can buffer nested subtrees, so they can be emitted prefixed with their length. Writes go
+ * to the innermost open subtree, or to the backing output if there is no open subtree. Subtree buffers are reused.
+ */
+final class SubtreeDataOutput implements DataOutput {
+    private static final class Subtree {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+    }
+
+    private final List<Subtree> subtrees = new ArrayList<>();
+    private final @NonNull DataOutput output;
+
+    private DataOutput current;
+    private int depth;
+
+    SubtreeDataOutput(final DataOutput output) {
+        this.output = requireNonNull(output);
+        current = output;
+    }
+
+    /**
+     * Start buffering a new subtree.
+     */
+    void startSubtree() {
+        final Subtree subtree;
+        if (depth == subtrees.size()) {
+            subtree = new Subtree();
+            subtrees.add(subtree);
+        } else {
+            subtree = subtrees.get(depth);
+        }
+        depth++;
+        current = subtree.output;
+    }
+
+    /**
+     * Finish buffering the innermost subtree and emit it, prefixed by its length, to its parent.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void endSubtree() throws IOException {
+        checkState(depth != 0, "No subtree is open");
+        final ByteArrayOutputStream bytes = subtrees.get(--depth).bytes;
+        current = depth == 0 ? output : subtrees.get(depth - 1).output;
+        current.writeInt(bytes.size());
+        if (current instanceof DataOutputStream) {
+            // Parent is a subtree, hence we can avoid a copy
+            bytes.writeTo((DataOutputStream) current);
+        } else {
+            current.write(bytes.toByteArray());
+        }
+        bytes.reset();
+    }
+
+    /**
+     * Flush the backing output, if it is an {@link OutputStream}.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    void flush() throws IOException {
+        if (output instanceof OutputStream) {
+            ((OutputStream) output).flush();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final int b) throws IOException {
+        current.write(b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b) throws IOException {
+        current.write(b);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        current.write(b, off, len);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeBoolean(final boolean v) throws IOException {
+        current.writeBoolean(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeByte(final int v) throws IOException {
+        current.writeByte(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeShort(final int v) throws IOException {
+        current.writeShort(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChar(final int v) throws IOException {
+        current.writeChar(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeInt(final int v) throws IOException {
+        current.writeInt(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeLong(final long v) throws IOException {
+        current.writeLong(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeFloat(final float v) throws IOException {
+        current.writeFloat(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeDouble(final double v) throws IOException {
+        current.writeDouble(v);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeBytes(final String s) throws IOException {
+        current.writeBytes(s);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeChars(final String s) throws IOException {
+        current.writeChars(s);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void writeUTF(final String s) throws IOException {
+        current.writeUTF(s);
+    }
+}
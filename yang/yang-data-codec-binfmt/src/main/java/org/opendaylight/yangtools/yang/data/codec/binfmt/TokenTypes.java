@@ -28,6 +28,18 @@ final class TokenTypes {
      * present.
      */
     static final short MAGNESIUM_VERSION = 4;
+    /**
+     * Magnesium version with subtree lengths. Structurally matches {@link #MAGNESIUM_VERSION}, but each node
+     * terminated by {@link MagnesiumNode#NODE_END} has its body prefixed with its length and any dictionary definitions
+     * made within the body are local to it. This allows a reader to skip over subtrees without decoding them.
+     */
+    static final short MAGNESIUM_SIZED_VERSION = 5;
+    /**
+     * Magnesium version with a shared dictionary. Structurally matches {@link #MAGNESIUM_VERSION}, but the header is
+     * followed by the fingerprint of a {@link NormalizedNodeStreamDictionary}, whose contents are used to pre-seed the
+     * lookup tables.
+     */
+    static final short MAGNESIUM_DICTIONARY_VERSION = 6;
 
     private TokenTypes() {
         // Utility class
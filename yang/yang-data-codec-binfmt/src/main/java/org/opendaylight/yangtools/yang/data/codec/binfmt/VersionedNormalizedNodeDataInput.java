@@ -11,13 +11,21 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.DataInput;
 import java.io.IOException;
+import org.eclipse.jdt.annotation.Nullable;
 
 final class VersionedNormalizedNodeDataInput extends ForwardingNormalizedNodeDataInput {
+    private final @Nullable NormalizedNodeStreamDictionary dictionary;
+
     private DataInput input;
     private NormalizedNodeDataInput delegate;
 
     VersionedNormalizedNodeDataInput(final DataInput input) {
+        this(input, null);
+    }
+
+    VersionedNormalizedNodeDataInput(final DataInput input, final @Nullable NormalizedNodeStreamDictionary dictionary) {
         this.input = requireNonNull(input);
+        this.dictionary = dictionary;
     }
 
     @Override
@@ -46,6 +54,19 @@ final class VersionedNormalizedNodeDataInput extends ForwardingNormalizedNodeDat
             case TokenTypes.MAGNESIUM_VERSION:
                 ret = new MagnesiumDataInput(input);
                 break;
+            case TokenTypes.MAGNESIUM_SIZED_VERSION:
+                ret = new MagnesiumSizedDataInput(input);
+                break;
+            case TokenTypes.MAGNESIUM_DICTIONARY_VERSION:
+                final long fingerprint = input.readLong();
+                if (dictionary == null) {
+                    throw defunct("Stream requires dictionary %016x", fingerprint);
+                }
+                if (fingerprint != dictionary.fingerprint()) {
+                    throw defunct("Stream requires dictionary %016x, %s does not match", fingerprint, dictionary);
+                }
+                ret = new MagnesiumDataInput(input, dictionary.dictionary());
+                break;
             default:
                 throw defunct("Unhandled stream version %s", version);
         }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.base.Strings;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class ByteBufferDataInputOutputTest {
+    private static final NormalizedNode TEST_CONTAINER = TestModel.createTestContainer(Uint64::valueOf);
+
+    @Test
+    public void testHeapBufferRoundTrip() throws IOException {
+        assertRoundTrip(ByteBuffer.allocate(65536));
+    }
+
+    @Test
+    public void testDirectBufferRoundTrip() throws IOException {
+        assertRoundTrip(ByteBuffer.allocateDirect(65536));
+    }
+
+    @Test
+    public void testCompatibleWithStreams() throws IOException {
+        // Written to a stream, read from a buffer
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bado)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bado.toByteArray().length);
+        direct.put(bado.toByteArray()).flip();
+        assertEquals(TEST_CONTAINER, NormalizedNodeDataInput.newDataInput(direct).readNormalizedNode());
+
+        // Written to a buffer, read from a stream
+        final ByteBuffer buffer = ByteBuffer.allocate(65536);
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(buffer)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+        assertEquals(TEST_CONTAINER, NormalizedNodeDataInput.newDataInput(
+            ByteStreams.newDataInput(Arrays.copyOf(buffer.array(), buffer.position()))).readNormalizedNode());
+    }
+
+    @Test
+    public void testUTF() throws IOException {
+        final String[] strings = { "", "ascii", "nul\0byte", "é€😀", Strings.repeat("x", 65535) };
+
+        final ByteBuffer buffer = ByteBuffer.allocate(262144);
+        final ByteBufferDataOutput out = new ByteBufferDataOutput(buffer);
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        for (String str : strings) {
+            out.writeUTF(str);
+            bado.writeUTF(str);
+        }
+
+        // Encoding matches DataOutputStream
+        final ByteBuffer expected = ByteBuffer.wrap(bado.toByteArray());
+        assertEquals(expected, buffer.duplicate().flip());
+
+        final ByteBufferDataInput in = new ByteBufferDataInput(buffer.flip());
+        for (String str : strings) {
+            assertEquals(str, in.readUTF());
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testReadLine() throws IOException {
+        final byte[] bytes = "first\nsecond\r\nthird\rlast".getBytes(StandardCharsets.US_ASCII);
+        final DataInputStream expected = new DataInputStream(new ByteArrayInputStream(bytes));
+        final ByteBufferDataInput in = new ByteBufferDataInput(ByteBuffer.wrap(bytes));
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(expected.readLine(), in.readLine());
+        }
+        assertNull(in.readLine());
+    }
+
+    @Test
+    public void testOverflow() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(6);
+        final ByteBufferDataOutput out = new ByteBufferDataOutput(buffer);
+        out.writeInt(1);
+        assertThrows(IOException.class, () -> out.writeLong(2));
+        assertThrows(IOException.class, () -> out.writeUTF("abc"));
+        assertEquals(4, buffer.position());
+    }
+
+    @Test
+    public void testUnderflow() throws IOException {
+        final ByteBufferDataInput in = new ByteBufferDataInput(ByteBuffer.wrap(new byte[] { 0, 0, 0, 1, 0, 5 }));
+        assertEquals(1, in.readInt());
+        assertThrows(EOFException.class, () -> in.readLong());
+        assertThrows(EOFException.class, () -> in.readUTF());
+    }
+
+    @Test
+    public void testLittleEndianRejected() {
+        final ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        assertThrows(IllegalArgumentException.class, () -> NormalizedNodeDataInput.newDataInput(buffer));
+        assertThrows(IllegalArgumentException.class,
+            () -> NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(buffer));
+    }
+
+    private static void assertRoundTrip(final ByteBuffer buffer) throws IOException {
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(buffer)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+
+        buffer.flip();
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(buffer);
+        assertEquals(TEST_CONTAINER, in.readNormalizedNode());
+        assertEquals(TEST_CONTAINER, in.readNormalizedNode());
+        assertFalse(buffer.hasRemaining());
+    }
+}
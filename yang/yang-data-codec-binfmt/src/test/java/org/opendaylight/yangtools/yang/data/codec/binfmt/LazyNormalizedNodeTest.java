@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class LazyNormalizedNodeTest {
+    private static final ContainerNode TEST_CONTAINER = TestModel.createTestContainer(Uint64::valueOf);
+
+    @Test
+    public void testEagerRoundTrip() throws IOException {
+        final byte[] bytes = write(TEST_CONTAINER);
+        assertEquals(TEST_CONTAINER,
+            NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes)).readNormalizedNode());
+        assertEquals(TEST_CONTAINER, NormalizedNodeDataInput.newDataInput(ByteBuffer.wrap(bytes)).readNormalizedNode());
+    }
+
+    @Test
+    public void testLazyRoundTrip() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(write(TEST_CONTAINER, TEST_CONTAINER));
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(buffer);
+
+        final NormalizedNode first = in.readLazyNormalizedNode();
+        assertTrue(first instanceof AbstractLazyNode);
+        final NormalizedNode second = in.readLazyNormalizedNode();
+        assertTrue(second instanceof AbstractLazyNode);
+        assertFalse(buffer.hasRemaining());
+
+        assertEquals(first, TEST_CONTAINER);
+        assertEquals(second, TEST_CONTAINER);
+        assertEquals(TEST_CONTAINER, ((AbstractLazyNode<?, ?, ?>) first).toEager());
+        assertEquals(TEST_CONTAINER.hashCode(), second.hashCode());
+    }
+
+    @Test
+    public void testLazyChildLookup() throws IOException {
+        final ContainerNode lazy = (ContainerNode) NormalizedNodeDataInput.newDataInput(
+            ByteBuffer.wrap(write(TEST_CONTAINER))).readLazyNormalizedNode();
+        assertEquals(TEST_CONTAINER.size(), lazy.size());
+
+        final NodeIdentifier outerListId = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+        final MapNode outerList = (MapNode) lazy.childByArg(outerListId);
+        assertTrue(outerList instanceof AbstractLazyMapNode.System);
+
+        final NodeIdentifierWithPredicates entryId = NodeIdentifierWithPredicates.of(TestModel.OUTER_LIST_QNAME,
+            TestModel.ID_QNAME, 1);
+        final MapEntryNode entry = outerList.childByArg(entryId);
+        assertTrue(entry instanceof AbstractLazyDataContainerNode.MapEntry);
+        assertEquals(entry, ((MapNode) TEST_CONTAINER.childByArg(outerListId)).childByArg(entryId));
+
+        // Leaves are decoded eagerly
+        final NormalizedNode leaf = lazy.childByArg(new NodeIdentifier(TestModel.DESC_QNAME));
+        assertNotNull(leaf);
+        assertFalse(leaf instanceof AbstractLazyNode);
+        assertEquals(TEST_CONTAINER.childByArg(new NodeIdentifier(TestModel.DESC_QNAME)), leaf);
+    }
+
+    @Test
+    public void testScopedDictionary() throws IOException {
+        // Sibling subtrees using the same names, each of which has to be defined in each sibling
+        final QName foo = QName.create("urn:foo", "foo");
+        final QName bar = QName.create(foo, "bar");
+        final QName baz = QName.create("urn:baz", "baz");
+        final ContainerNode container = Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(foo))
+            .withChild(ImmutableNodes.mapNodeBuilder(bar)
+                .withChild(ImmutableNodes.mapEntryBuilder(bar, baz, "one")
+                    .withChild(ImmutableNodes.leafNode(baz, "one")).build())
+                .withChild(ImmutableNodes.mapEntryBuilder(bar, baz, "two")
+                    .withChild(ImmutableNodes.leafNode(baz, "two")).build())
+                .build())
+            .withChild(ImmutableNodes.leafNode(baz, "three"))
+            .build();
+
+        final byte[] bytes = write(container);
+        assertEquals(container, NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes))
+            .readNormalizedNode());
+
+        final NormalizedNode lazy = NormalizedNodeDataInput.newDataInput(ByteBuffer.wrap(bytes))
+            .readLazyNormalizedNode();
+        assertEquals(lazy, container);
+    }
+
+    @Test
+    public void testNotLazy() throws IOException {
+        final byte[] bytes = write(TEST_CONTAINER);
+
+        // Not a ByteBuffer
+        final NormalizedNode stream = NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes))
+            .readLazyNormalizedNode();
+        assertFalse(stream instanceof AbstractLazyNode);
+        assertEquals(TEST_CONTAINER, stream);
+
+        // Not a sized stream
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bado)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+        final NormalizedNode magnesium = NormalizedNodeDataInput.newDataInput(ByteBuffer.wrap(bado.toByteArray()))
+            .readLazyNormalizedNode();
+        assertTrue(magnesium instanceof ContainerNode);
+        assertFalse(magnesium instanceof AbstractLazyNode);
+        assertEquals(TEST_CONTAINER, magnesium);
+    }
+
+    private static byte[] write(final NormalizedNode... nodes) throws IOException {
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.MAGNESIUM_SIZED.newDataOutput(bado)) {
+            for (NormalizedNode node : nodes) {
+                out.writeNormalizedNode(node);
+            }
+        }
+        return bado.toByteArray();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class NormalizedNodeStreamCompressionTest {
+    private static final NormalizedNode TEST_CONTAINER = TestModel.createTestContainer(Uint64::valueOf);
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writeContainer(NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos));
+        final byte[] compressed = bos.toByteArray();
+
+        assertTrue(compressed.length < plainStream().length);
+        assertEquals(TEST_CONTAINER, readContainer(compressed));
+    }
+
+    @Test
+    public void testDocumentedUsage() throws IOException {
+        final ByteArrayOutputStream fileStream = new ByteArrayOutputStream();
+        try (DataOutputStream compressed = new DataOutputStream(
+                NormalizedNodeStreamCompression.DEFLATE.newOutputStream(fileStream));
+             NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.current().newDataOutput(compressed)) {
+            out.writeNormalizedNode(TEST_CONTAINER);
+        }
+
+        assertEquals(TEST_CONTAINER, readContainer(fileStream.toByteArray()));
+    }
+
+    @Test
+    public void testParallelRoundTrip() throws IOException, InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            writeContainer(NormalizedNodeStreamCompression.DEFLATE.newOutputStream(sequential, 64,
+                Deflater.BEST_SPEED, null));
+            final ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+            writeContainer(NormalizedNodeStreamCompression.DEFLATE.newOutputStream(parallel, 64,
+                Deflater.BEST_SPEED, executor));
+
+            // Blocks are independent, hence parallel compression results in the same stream
+            assertArrayEquals(sequential.toByteArray(), parallel.toByteArray());
+            assertEquals(TEST_CONTAINER, readContainer(parallel.toByteArray()));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testIncompressible() throws IOException {
+        final byte[] random = new byte[10000];
+        new Random(0).nextBytes(random);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (OutputStream out = NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos, 4096,
+                Deflater.BEST_COMPRESSION, null)) {
+            out.write(random);
+        }
+
+        // Header, three stored blocks and the end marker
+        assertEquals(10 + 3 * 8 + random.length + 4, bos.size());
+        try (InputStream in = NormalizedNodeStreamCompression.newInputStream(
+                new ByteArrayInputStream(bos.toByteArray()))) {
+            assertArrayEquals(random, ByteStreams.toByteArray(in));
+        }
+    }
+
+    @Test
+    public void testEmpty() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos).close();
+        try (InputStream in = NormalizedNodeStreamCompression.newInputStream(
+                new ByteArrayInputStream(bos.toByteArray()))) {
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class,
+            () -> NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos, 0, Deflater.BEST_SPEED, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos, 1024, 10, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos,
+                NormalizedNodeStreamCompression.MAX_BLOCK_SIZE + 1, Deflater.BEST_SPEED, null));
+    }
+
+    @Test
+    public void testOversizedBlock() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (DataOutputStream dos = new DataOutputStream(bos)) {
+            dos.writeInt(BlockCompression.MAGIC);
+            dos.writeByte(BlockCompression.VERSION);
+            dos.writeByte(BlockCompression.CODEC_DEFLATE);
+            dos.writeInt(Integer.MAX_VALUE);
+        }
+
+        final InputStream in = NormalizedNodeStreamCompression.newInputStream(
+            new ByteArrayInputStream(bos.toByteArray()));
+        assertThrows(InvalidNormalizedNodeStreamException.class, in::read);
+    }
+
+    @Test
+    public void testInvalidMagic() throws IOException {
+        final InputStream in = NormalizedNodeStreamCompression.newInputStream(new ByteArrayInputStream(plainStream()));
+        assertThrows(InvalidNormalizedNodeStreamException.class, in::read);
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writeContainer(NormalizedNodeStreamCompression.DEFLATE.newOutputStream(bos));
+        final byte[] bytes = bos.toByteArray();
+
+        final InputStream in = NormalizedNodeStreamCompression.newInputStream(
+            new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 20)));
+        assertThrows(EOFException.class, () -> ByteStreams.toByteArray(in));
+    }
+
+    private static void writeContainer(final OutputStream os) throws IOException {
+        try (DataOutputStream dos = new DataOutputStream(os)) {
+            try (NormalizedNodeDataOutput out = NormalizedNodeStreamVersion.current().newDataOutput(dos)) {
+                out.writeNormalizedNode(TEST_CONTAINER);
+            }
+        }
+    }
+
+    private static NormalizedNode readContainer(final byte[] bytes) throws IOException {
+        try (DataInputStream dis = new DataInputStream(NormalizedNodeStreamCompression.newInputStream(
+                new ByteArrayInputStream(bytes)))) {
+            return NormalizedNodeDataInput.newDataInput(dis).readNormalizedNode();
+        }
+    }
+
+    private static byte[] plainStream() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writeContainer(bos);
+        return bos.toByteArray();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class NormalizedNodeStreamDictionaryTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:params:xml:ns:yang:dictionary", "root");
+    private static final QName ENTRY = QName.create(ROOT, "entry");
+    private static final QName ID = QName.create(ROOT, "id");
+    private static final QName KIND = QName.create(ROOT, "kind");
+    private static final QName TYPE = QName.create(ROOT, "type");
+    private static final QName DERIVED = QName.create(ROOT, "derived");
+    private static final QName EXTRA = QName.create(ROOT, "extra");
+    private static final QName EVENT = QName.create(ROOT, "event");
+    private static final QName SEVERITY = QName.create(ROOT, "severity");
+
+    private static final ContainerNode ROOT_NODE = Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(ROOT))
+        .withChild(ImmutableNodes.mapNodeBuilder(ENTRY)
+            .withChild(ImmutableNodes.mapEntryBuilder(ENTRY, ID, Uint32.ONE)
+                .withChild(Builders.choiceBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(KIND))
+                    .withChild(ImmutableNodes.leafNode(TYPE, DERIVED))
+                    .build())
+                .build())
+            .build())
+        .withChild(Builders.augmentationBuilder()
+            .withNodeIdentifier(new AugmentationIdentifier(ImmutableSet.of(EXTRA)))
+            .withChild(ImmutableNodes.leafNode(EXTRA, "extra"))
+            .build())
+        .build();
+    private static final ContainerNode EVENT_NODE = Builders.containerBuilder()
+        .withNodeIdentifier(new NodeIdentifier(EVENT))
+        .withChild(ImmutableNodes.leafNode(SEVERITY, Uint8.valueOf(3)))
+        .build();
+
+    private static NormalizedNodeStreamDictionary DICTIONARY;
+
+    @BeforeClass
+    public static void beforeClass() {
+        DICTIONARY = NormalizedNodeStreamDictionary.of(YangParserTestUtils.parseYangResource("/dictionary.yang"));
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        DICTIONARY = null;
+    }
+
+    @Test
+    public void testDeterministic() {
+        final NormalizedNodeStreamDictionary other = NormalizedNodeStreamDictionary.of(
+            YangParserTestUtils.parseYangResource("/dictionary.yang"));
+        assertEquals(DICTIONARY.fingerprint(), other.fingerprint());
+        assertEquals(DICTIONARY.dictionary().nodeIdentifiers, other.dictionary().nodeIdentifiers);
+        assertEquals(DICTIONARY.dictionary().augments, other.dictionary().augments);
+        assertTrue(DICTIONARY.dictionary().augments.contains(new AugmentationIdentifier(ImmutableSet.of(EXTRA))));
+
+        final NormalizedNodeStreamDictionary different = NormalizedNodeStreamDictionary.of(
+            YangParserTestUtils.parseYangResource("/offload.yang"));
+        assertNotEquals(DICTIONARY.fingerprint(), different.fingerprint());
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        assertRoundTrip(ROOT_NODE);
+        assertRoundTrip(EVENT_NODE);
+    }
+
+    @Test
+    public void testSmallerStream() throws IOException {
+        final byte[] plain = write(null, EVENT_NODE);
+        final byte[] shared = write(DICTIONARY, EVENT_NODE);
+        assertTrue("Expected " + shared.length + " < " + plain.length, shared.length < plain.length);
+    }
+
+    @Test
+    public void testPlainStreamWithDictionary() throws IOException {
+        assertEquals(ROOT_NODE, NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(write(null, ROOT_NODE)),
+            DICTIONARY).readNormalizedNode());
+    }
+
+    @Test
+    public void testMissingDictionary() throws IOException {
+        final byte[] bytes = write(DICTIONARY, ROOT_NODE);
+        final InvalidNormalizedNodeStreamException ex = assertThrows(InvalidNormalizedNodeStreamException.class,
+            () -> NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes)));
+        assertTrue(ex.getMessage().startsWith("Stream requires dictionary "));
+    }
+
+    @Test
+    public void testMismatchedDictionary() throws IOException {
+        final byte[] bytes = write(DICTIONARY, ROOT_NODE);
+        final NormalizedNodeStreamDictionary other = NormalizedNodeStreamDictionary.of(
+            YangParserTestUtils.parseYangResource("/offload.yang"));
+        assertThrows(InvalidNormalizedNodeStreamException.class,
+            () -> NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes), other));
+    }
+
+    @Test
+    public void testUnsupportedVersion() {
+        assertThrows(UnsupportedOperationException.class,
+            () -> NormalizedNodeStreamVersion.SODIUM_SR1.newDataOutput(ByteStreams.newDataOutput(), DICTIONARY));
+    }
+
+    private static void assertRoundTrip(final NormalizedNode node) throws IOException {
+        final byte[] bytes = write(DICTIONARY, node);
+        assertEquals(node, NormalizedNodeDataInput.newDataInput(ByteStreams.newDataInput(bytes), DICTIONARY)
+            .readNormalizedNode());
+    }
+
+    private static byte[] write(final NormalizedNodeStreamDictionary dictionary, final NormalizedNode node)
+            throws IOException {
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = dictionary == null
+                ? NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bado)
+                    : NormalizedNodeStreamVersion.MAGNESIUM.newDataOutput(bado, dictionary)) {
+            out.writeNormalizedNode(node);
+        }
+        return bado.toByteArray();
+    }
+}
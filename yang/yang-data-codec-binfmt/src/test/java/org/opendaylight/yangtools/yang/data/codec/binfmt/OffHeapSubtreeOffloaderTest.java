@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.leafNode;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import com.google.common.base.Strings;
+import java.util.Optional;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class OffHeapSubtreeOffloaderTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:params:xml:ns:yang:offload", "root");
+    private static final QName ENTRY = QName.create(ROOT, "entry");
+    private static final QName ID = QName.create(ROOT, "id");
+    private static final QName PAYLOAD = QName.create(ROOT, "payload");
+    private static final QName COUNTER = QName.create(ROOT, "counter");
+    private static final YangInstanceIdentifier ENTRY_PATH = YangInstanceIdentifier.create(
+        NodeIdentifier.create(ROOT), NodeIdentifier.create(ENTRY));
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = YangParserTestUtils.parseYangResource("/offload.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Test
+    public void testInvalidMinimumSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapSubtreeOffloader.of(NormalizedNodeStreamVersion.MAGNESIUM, -1));
+    }
+
+    @Test
+    public void testInvalidSlabSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> OffHeapSubtreeOffloader.of(NormalizedNodeStreamVersion.MAGNESIUM, 0, 0));
+    }
+
+    @Test
+    public void testSmallEntryStaysOnHeap() {
+        final MapEntryNode entry = entry(1, "small");
+        assertSame(entry, OffHeapSubtreeOffloader.of().offload(entry));
+    }
+
+    @Test
+    public void testOffload() {
+        final MapEntryNode entry = entry(1, Strings.repeat("x", 1024));
+        final MapEntryNode offloaded = OffHeapSubtreeOffloader.of().offload(entry);
+        assertTrue(offloaded instanceof OffHeapMapEntryNode);
+        assertEquals(entry.getIdentifier(), offloaded.getIdentifier());
+        assertEquals(entry.body(), offloaded.body());
+        assertEquals(entry.childByArg(NodeIdentifier.create(PAYLOAD)),
+            offloaded.childByArg(NodeIdentifier.create(PAYLOAD)));
+        assertEquals(entry, ((OffHeapMapEntryNode) offloaded).materialize());
+
+        // Equality is symmetric: offloaded entries are equal only to other offloaded entries
+        assertNotEquals(entry, offloaded);
+        assertNotEquals(offloaded, entry);
+        assertEquals(entry.getIdentifier().hashCode(), offloaded.hashCode());
+
+        final MapEntryNode other = OffHeapSubtreeOffloader.of().offload(entry);
+        assertEquals(offloaded, other);
+        assertEquals(other, offloaded);
+        assertEquals(offloaded.hashCode(), other.hashCode());
+        assertNotEquals(offloaded, OffHeapSubtreeOffloader.of().offload(entry(1, Strings.repeat("y", 1024))));
+        assertNotEquals(offloaded, OffHeapSubtreeOffloader.of().offload(entry(2, Strings.repeat("x", 1024))));
+
+        // Already offloaded entries are not offloaded again
+        assertSame(offloaded, OffHeapSubtreeOffloader.of().offload(offloaded));
+    }
+
+    @Test
+    public void testSlabs() {
+        // Slabs fit two entries, the third entry needs a new slab and the last one does not fit into any slab
+        final OffHeapSubtreeOffloader offloader = OffHeapSubtreeOffloader.of(NormalizedNodeStreamVersion.MAGNESIUM,
+            0, 2500);
+        final MapEntryNode first = entry(1, Strings.repeat("a", 1024));
+        final MapEntryNode second = entry(2, Strings.repeat("b", 1024));
+        final MapEntryNode third = entry(3, Strings.repeat("c", 1024));
+        final MapEntryNode large = entry(4, Strings.repeat("d", 4096));
+
+        final OffHeapMapEntryNode firstOff = (OffHeapMapEntryNode) offloader.offload(first);
+        final OffHeapMapEntryNode secondOff = (OffHeapMapEntryNode) offloader.offload(second);
+        final OffHeapMapEntryNode thirdOff = (OffHeapMapEntryNode) offloader.offload(third);
+        final OffHeapMapEntryNode largeOff = (OffHeapMapEntryNode) offloader.offload(large);
+
+        assertSame(firstOff.slab(), secondOff.slab());
+        assertNotSame(firstOff.slab(), thirdOff.slab());
+        assertNotSame(thirdOff.slab(), largeOff.slab());
+        assertTrue(largeOff.slab().capacity() > 2500);
+
+        assertEquals(first, firstOff.materialize());
+        assertEquals(second, secondOff.materialize());
+        assertEquals(third, thirdOff.materialize());
+        assertEquals(large, largeOff.materialize());
+    }
+
+    @Test
+    public void testDataTreeOffload() throws DataValidationFailedException {
+        final DataTree dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL
+            .copyBuilder()
+            .setSubtreeOffloader(OffHeapSubtreeOffloader.of(NormalizedNodeStreamVersion.MAGNESIUM, 0))
+            .build(), SCHEMA_CONTEXT);
+
+        final MapEntryNode entry = entry(1, "payload");
+        final YangInstanceIdentifier path = ENTRY_PATH.node(entry.getIdentifier());
+
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ENTRY_PATH.getParent(), ImmutableNodes.containerNode(ROOT));
+        mod.write(ENTRY_PATH, mapNodeBuilder(ENTRY).build());
+        mod.write(path, entry);
+        commit(dataTree, mod);
+
+        final NormalizedNode stored = dataTree.takeSnapshot().readNode(path).orElseThrow();
+        assertTrue(stored instanceof OffHeapMapEntryNode);
+        assertEquals(entry, ((OffHeapMapEntryNode) stored).materialize());
+
+        // Modifying the entry materializes it
+        mod = dataTree.takeSnapshot().newModification();
+        mod.merge(path.node(COUNTER), leafNode(COUNTER, Uint32.TEN));
+        commit(dataTree, mod);
+
+        assertEquals(Optional.of(mapEntryBuilder(ENTRY, ID, Uint32.ONE)
+            .withChild(leafNode(PAYLOAD, "payload"))
+            .withChild(leafNode(COUNTER, Uint32.TEN))
+            .build()), dataTree.takeSnapshot().readNode(path));
+    }
+
+    private static MapEntryNode entry(final int id, final String payload) {
+        return mapEntryBuilder(ENTRY, ID, Uint32.valueOf(id)).withChild(leafNode(PAYLOAD, payload))
+            .build();
+    }
+
+    private static void commit(final DataTree dataTree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+}
@@ -7,9 +7,16 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.gson;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BinaryStringCodec;
@@ -17,11 +24,13 @@ import org.opendaylight.yangtools.yang.data.impl.codec.BitsStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.LazyCodecCache;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
@@ -48,8 +57,25 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
  */
 @Beta
 public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
-    JSONCodecFactory(final @NonNull EffectiveModelContext context, final @NonNull CodecCache<JSONCodec<?>> cache) {
+    // "module-name:local-name" member names, so that we do not look up the module and concatenate strings each time
+    // a node from a different namespace is emitted. These are Strings, as JsonWriter escapes and encodes member names
+    // on each write.
+    private final ConcurrentMap<QName, String> prefixedMemberNames = new ConcurrentHashMap<>();
+    private final @NonNull PatternEngine patternEngine;
+
+    JSONCodecFactory(final @NonNull EffectiveModelContext context, final @NonNull CodecCache<JSONCodec<?>> cache,
+            final @NonNull PatternEngine patternEngine) {
         super(context, cache);
+        this.patternEngine = requireNonNull(patternEngine);
+    }
+
+    /**
+     * Return the {@link PatternEngine} used to check values of {@code string} types with {@code pattern} restrictions.
+     *
+     * @return A PatternEngine
+     */
+    public final @NonNull PatternEngine getPatternEngine() {
+        return patternEngine;
     }
 
     @Override
@@ -109,7 +135,7 @@ public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>
 
     @Override
     protected final JSONCodec<?> stringCodec(final StringTypeDefinition type) {
-        return new QuotedJSONCodec<>(StringStringCodec.from(type));
+        return new QuotedJSONCodec<>(StringStringCodec.from(type, patternEngine));
     }
 
     @Override
@@ -134,7 +160,7 @@ public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>
 
     @Override
     protected final JSONCodec<?> unionCodec(final UnionTypeDefinition type, final List<JSONCodec<?>> codecs) {
-        return UnionJSONCodec.create(type, codecs);
+        return UnionJSONCodec.create(type, codecs, patternEngine);
     }
 
     @Override
@@ -145,6 +171,25 @@ public abstract class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>
     @Override
     protected abstract JSONCodec<?> instanceIdentifierCodec(InstanceIdentifierTypeDefinition type);
 
+    /**
+     * Return the JSON member name of a node prefixed with the name of its module, i.e. {@code module-name:local-name}.
+     *
+     * @param qname Node QName
+     * @return Prefixed member name
+     * @throws IllegalArgumentException if the module corresponding to the QName cannot be found
+     */
+    final @NonNull String prefixedMemberName(final QName qname) {
+        final String existing = prefixedMemberNames.get(qname);
+        return existing != null ? existing : prefixedMemberNames.computeIfAbsent(qname, this::createPrefixedMemberName);
+    }
+
+    private @NonNull String createPrefixedMemberName(final QName qname) {
+        final QNameModule module = qname.getModule();
+        final Optional<String> moduleName = getEffectiveModelContext().findModule(module).map(Module::getName);
+        checkArgument(moduleName.isPresent(), "Could not find module for namespace %s", module);
+        return moduleName.get() + ':' + qname.getLocalName();
+    }
+
     // Returns a one-off factory for the purposes of normalizing an anydata tree.
     //
     // FIXME: 7.0.0: this is really ugly, as we should be able to tell if the new context is the same as ours and
@@ -14,17 +14,30 @@ import com.google.common.annotations.Beta;
 import com.google.common.base.Stopwatch;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
+import java.util.stream.Collectors;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
+import org.opendaylight.yangtools.yang.data.util.codec.ConcurrentCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.LazyCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.NoopCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.PrecomputedCodecCache;
-import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.stmt.DataTreeAwareEffectiveStatement;
@@ -46,8 +59,9 @@ public enum JSONCodecFactorySupplier {
      */
     RFC7951() {
         @Override
-        JSONCodecFactory createFactory(final EffectiveModelContext context, final CodecCache<JSONCodec<?>> cache) {
-            return new RFC7951JSONCodecFactory(context, cache);
+        JSONCodecFactory createFactory(final EffectiveModelContext context, final CodecCache<JSONCodec<?>> cache,
+                final PatternEngine patternEngine) {
+            return new RFC7951JSONCodecFactory(context, cache, patternEngine);
         }
     },
     /**
@@ -55,14 +69,28 @@ public enum JSONCodecFactorySupplier {
      */
     DRAFT_LHOTKA_NETMOD_YANG_JSON_02() {
         @Override
-        JSONCodecFactory createFactory(final EffectiveModelContext context, final CodecCache<JSONCodec<?>> cache) {
-            return new Lhotka02JSONCodecFactory(context, cache);
+        JSONCodecFactory createFactory(final EffectiveModelContext context, final CodecCache<JSONCodec<?>> cache,
+                final PatternEngine patternEngine) {
+            return new Lhotka02JSONCodecFactory(context, cache, patternEngine);
         }
     };
 
     private static final Logger LOG = LoggerFactory.getLogger(JSONCodecFactorySupplier.class);
 
-    private static final class EagerCacheLoader extends CacheLoader<EffectiveModelContext, JSONCodecFactory> {
+    /**
+     * A pre-computed factory along with the statistics of its pre-computation.
+     */
+    private static final class Precomputed {
+        final @NonNull JSONCodecFactory factory;
+        final @NonNull PrecomputedCodecStats stats;
+
+        Precomputed(final JSONCodecFactory factory, final PrecomputedCodecStats stats) {
+            this.factory = requireNonNull(factory);
+            this.stats = requireNonNull(stats);
+        }
+    }
+
+    private static final class EagerCacheLoader extends CacheLoader<EffectiveModelContext, Precomputed> {
         private final BiFunction<EffectiveModelContext, CodecCache<JSONCodec<?>>, JSONCodecFactory> factorySupplier;
 
         EagerCacheLoader(final BiFunction<EffectiveModelContext,
@@ -71,7 +99,7 @@ public enum JSONCodecFactorySupplier {
         }
 
         @Override
-        public JSONCodecFactory load(final EffectiveModelContext key) {
+        public Precomputed load(final EffectiveModelContext key) {
             final Stopwatch sw = Stopwatch.createStarted();
             final LazyCodecCache<JSONCodec<?>> lazyCache = new LazyCodecCache<>();
             final JSONCodecFactory lazy = factorySupplier.apply(key, lazyCache);
@@ -87,7 +115,42 @@ public enum JSONCodecFactorySupplier {
             final PrecomputedCodecCache<JSONCodec<?>> cache = lazyCache.toPrecomputed();
             LOG.debug("{} leaf nodes resulted in {} simple and {} complex codecs in {}", visitedLeaves,
                 cache.simpleSize(), cache.complexSize(), sw);
-            return factorySupplier.apply(key, cache);
+            return precomputed(key, cache, sw, visitedLeaves);
+        }
+
+        ListenableFuture<Precomputed> loadAsync(final EffectiveModelContext key, final Executor executor) {
+            final Stopwatch sw = Stopwatch.createStarted();
+            final LongAdder visitedLeaves = new LongAdder();
+
+            // Modules are independent of each other, hence we can precompute them in parallel, each with its own
+            // lazy cache, and merge the results afterwards. We never wait for the executor, so that this works even
+            // with a single thread.
+            final List<ListenableFuture<LazyCodecCache<JSONCodec<?>>>> moduleCaches =
+                key.getModuleStatements().values().stream()
+                    .map(module -> Futures.submit(() -> {
+                        final LazyCodecCache<JSONCodec<?>> moduleCache = new LazyCodecCache<>();
+                        visitedLeaves.add(codecsForChildren(factorySupplier.apply(key, moduleCache),
+                            SchemaInferenceStack.of(key), module));
+                        return moduleCache;
+                    }, executor))
+                    .collect(Collectors.toList());
+
+            return Futures.transform(Futures.allAsList(moduleCaches), caches -> {
+                final LazyCodecCache<JSONCodec<?>> lazyCache = new LazyCodecCache<>();
+                caches.forEach(lazyCache::putAll);
+                sw.stop();
+
+                final PrecomputedCodecCache<JSONCodec<?>> cache = lazyCache.toPrecomputed();
+                LOG.debug("{} leaf nodes in {} modules resulted in {} simple and {} complex codecs in {}",
+                    visitedLeaves.sum(), caches.size(), cache.simpleSize(), cache.complexSize(), sw);
+                return precomputed(key, cache, sw, visitedLeaves.intValue());
+            }, MoreExecutors.directExecutor());
+        }
+
+        private Precomputed precomputed(final EffectiveModelContext key,
+                final PrecomputedCodecCache<JSONCodec<?>> cache, final Stopwatch sw, final int visitedLeaves) {
+            return new Precomputed(factorySupplier.apply(key, cache), new PrecomputedCodecStats(sw.elapsed(),
+                visitedLeaves, cache.simpleSize(), cache.complexSize()));
         }
 
         private static int codecsForChildren(final JSONCodecFactory lazy, final SchemaInferenceStack stack,
@@ -110,18 +173,26 @@ public enum JSONCodecFactorySupplier {
         }
     }
 
-    // Weak keys to retire the entry when SchemaContext goes away
-    private final LoadingCache<EffectiveModelContext, JSONCodecFactory> precomputed;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Enum constants are serialized by name")
+    private final EagerCacheLoader eagerLoader = new EagerCacheLoader(this::createFactory);
+
+    // Weak keys to retire the entry when SchemaContext goes away, statistics to report warm-up effectiveness
+    private final LoadingCache<EffectiveModelContext, Precomputed> precomputed;
+
+    // Warm-ups in progress, so that concurrent requests for the same context share the work
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Enum constants are serialized by name")
+    private final ConcurrentMap<EffectiveModelContext, ListenableFuture<JSONCodecFactory>> warmUps =
+        new ConcurrentHashMap<>();
 
     // Weak keys to retire the entry when SchemaContext goes away and to force identity-based lookup
     private final LoadingCache<EffectiveModelContext, JSONCodecFactory> shared;
 
     JSONCodecFactorySupplier() {
-        precomputed = CacheBuilder.newBuilder().weakKeys().build(new EagerCacheLoader(this::createFactory));
+        precomputed = CacheBuilder.newBuilder().weakKeys().recordStats().build(eagerLoader);
         shared = CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<EffectiveModelContext, JSONCodecFactory>() {
             @Override
             public JSONCodecFactory load(final EffectiveModelContext key) {
-                return createFactory(key, new SharedCodecCache<>());
+                return createFactory(key, new ConcurrentCodecCache<>());
             }
         });
     }
@@ -148,7 +219,7 @@ public enum JSONCodecFactorySupplier {
      * @throws NullPointerException if context is null
      */
     public @NonNull JSONCodecFactory getPrecomputed(final @NonNull EffectiveModelContext context) {
-        return verifyNotNull(precomputed.getUnchecked(context));
+        return verifyNotNull(precomputed.getUnchecked(context)).factory;
     }
 
     /**
@@ -163,17 +234,114 @@ public enum JSONCodecFactorySupplier {
      * @throws NullPointerException if context is null
      */
     public @NonNull Optional<JSONCodecFactory> getPrecomputedIfAvailable(final @NonNull EffectiveModelContext context) {
-        return Optional.ofNullable(precomputed.getIfPresent(context));
+        final Precomputed ret = precomputed.getIfPresent(context);
+        return ret != null ? Optional.of(ret.factory) : Optional.empty();
+    }
+
+    /**
+     * Start pre-computing a thread-safe, eagerly-caching {@link JSONCodecFactory} for a SchemaContext in the
+     * background. This method is meant to be invoked as soon as a new EffectiveModelContext becomes available, so that
+     * the pre-computation cost is not incurred by the first request which needs it. Until it completes,
+     * {@link #getPrecomputedOrShared(EffectiveModelContext)} will fall back to a lazily-caching factory.
+     *
+     * <p>
+     * The pre-computation is performed on the specified executor, with individual modules being processed as separate
+     * tasks, so that they run in parallel if the executor allows it. If the factory is already available, this method
+     * returns a completed future. If a warm-up of the same context is already in progress, this method returns its
+     * future and does not use the specified executor.
+     *
+     * @param context SchemaContext instance
+     * @param executor Executor on which to perform the pre-computation
+     * @return A future completing with the result of {@link #getPrecomputed(EffectiveModelContext)}
+     * @throws NullPointerException if any argument is null
+     */
+    public @NonNull ListenableFuture<JSONCodecFactory> warmUp(final @NonNull EffectiveModelContext context,
+            final @NonNull Executor executor) {
+        requireNonNull(executor);
+        // Note: asMap() lookup does not affect statistics
+        final ConcurrentMap<EffectiveModelContext, Precomputed> map = precomputed.asMap();
+        final Precomputed existing = map.get(requireNonNull(context));
+        if (existing != null) {
+            return Futures.immediateFuture(existing.factory);
+        }
+
+        final SettableFuture<JSONCodecFactory> future = SettableFuture.create();
+        final ListenableFuture<JSONCodecFactory> running = warmUps.putIfAbsent(context, future);
+        if (running != null) {
+            return Futures.nonCancellationPropagating(running);
+        }
+
+        // A warm-up may have completed since we have checked, in which case we must not repeat it
+        final Precomputed completed = map.get(context);
+        if (completed != null) {
+            warmUps.remove(context, future);
+            future.set(completed.factory);
+            return future;
+        }
+
+        future.addListener(() -> warmUps.remove(context, future), MoreExecutors.directExecutor());
+        future.setFuture(Futures.transform(eagerLoader.loadAsync(context, executor), loaded -> {
+            final Precomputed raced = map.putIfAbsent(context, loaded);
+            return (raced != null ? raced : loaded).factory;
+        }, MoreExecutors.directExecutor()));
+        return Futures.nonCancellationPropagating(future);
+    }
+
+    /**
+     * Get a thread-safe {@link JSONCodecFactory} for a SchemaContext, preferring the eagerly-caching implementation.
+     * If it is not available, for example because {@link #warmUp(EffectiveModelContext, Executor)} has not completed
+     * yet, this method returns the lazily-caching implementation, as would be returned by
+     * {@link #getShared(EffectiveModelContext)}. This method never blocks on pre-computation.
+     *
+     * @param context SchemaContext instance
+     * @return A sharable {@link JSONCodecFactory}
+     * @throws NullPointerException if context is null
+     */
+    public @NonNull JSONCodecFactory getPrecomputedOrShared(final @NonNull EffectiveModelContext context) {
+        final Precomputed ret = precomputed.getIfPresent(context);
+        return ret != null ? ret.factory : getShared(context);
+    }
+
+    /**
+     * Return statistics of lookups of eagerly-caching factories, one per SchemaContext. These are not statistics of
+     * the codecs cached by the factories: hit and miss counts reflect how often a pre-computed factory was available
+     * when requested through {@link #getPrecomputed(EffectiveModelContext)},
+     * {@link #getPrecomputedIfAvailable(EffectiveModelContext)} or
+     * {@link #getPrecomputedOrShared(EffectiveModelContext)}. Load counts and times reflect factories pre-computed
+     * by {@link #getPrecomputed(EffectiveModelContext)}, but not those pre-computed by
+     * {@link #warmUp(EffectiveModelContext, Executor)}. Statistics of the codecs held by a particular factory are
+     * reported by {@link #getPrecomputedCodecStats(EffectiveModelContext)}.
+     *
+     * @return Current statistics snapshot
+     */
+    public @NonNull CacheStats getPrecomputedFactoryStats() {
+        return precomputed.stats();
+    }
+
+    /**
+     * Return statistics of the eagerly-caching factory for a SchemaContext, if it is available. These report the number
+     * of codecs the factory holds and how long it took to pre-compute them.
+     *
+     * @param context SchemaContext instance
+     * @return Statistics of the pre-computed factory, or empty if it is not available
+     * @throws NullPointerException if context is null
+     */
+    public @NonNull Optional<PrecomputedCodecStats> getPrecomputedCodecStats(
+            final @NonNull EffectiveModelContext context) {
+        // Note: asMap() lookup does not affect statistics
+        final Precomputed ret = precomputed.asMap().get(requireNonNull(context));
+        return ret != null ? Optional.of(ret.stats) : Optional.empty();
     }
 
     /**
      * Get a thread-safe, lazily-caching {@link JSONCodecFactory} for a SchemaContext. This method can, and will,
-     * return the same instance as long as the associated EffectiveModelContext is present or the factory is not
-     * invalidated by memory pressure. Returned object can be safely used by multiple threads concurrently.
+     * return the same instance as long as the associated EffectiveModelContext is present. Returned object can be
+     * safely used by multiple threads concurrently.
      *
      * <p>
-     * Choosing this implementation is a safe default, as it will not incur prohibitive blocking, nor will it tie up
-     * memory in face of pressure.
+     * Choosing this implementation is a safe default, as it will not incur prohibitive blocking and its memory
+     * footprint is proportional to the part of the SchemaContext actually in use. Codecs, once created, are retained
+     * for the lifetime of the factory rather than being released under memory pressure.
      *
      * @param context SchemaContext instance
      * @return A sharable {@link JSONCodecFactory}
@@ -200,6 +368,21 @@ public enum JSONCodecFactorySupplier {
         return createFactory(context, new LazyCodecCache<>());
     }
 
+    /**
+     * Create a new thread-unsafe, lazily-caching {@link JSONCodecFactory} for a SchemaContext, which uses specified
+     * {@link PatternEngine} to check {@code pattern} restrictions. This is the same as
+     * {@link #createLazy(EffectiveModelContext)} in all other respects.
+     *
+     * @param context SchemaContext instance
+     * @param patternEngine PatternEngine to use
+     * @return A non-sharable {@link JSONCodecFactory}
+     * @throws NullPointerException if any argument is null
+     */
+    public @NonNull JSONCodecFactory createLazy(final @NonNull EffectiveModelContext context,
+            final @NonNull PatternEngine patternEngine) {
+        return createFactory(context, new LazyCodecCache<>(), patternEngine);
+    }
+
     /**
      * Create a simplistic, thread-safe {@link JSONCodecFactory} for a {@link EffectiveModelContext}. This method will
      * return distinct objects every time it is invoked. Returned object may be use from multiple threads concurrently.
@@ -217,5 +400,26 @@ public enum JSONCodecFactorySupplier {
         return createFactory(context, NoopCodecCache.getInstance());
     }
 
-    abstract @NonNull JSONCodecFactory createFactory(EffectiveModelContext context, CodecCache<JSONCodec<?>> cache);
+    /**
+     * Create a simplistic, thread-safe {@link JSONCodecFactory} for a {@link EffectiveModelContext}, which uses
+     * specified {@link PatternEngine} to check {@code pattern} restrictions. This is the same as
+     * {@link #createSimple(EffectiveModelContext)} in all other respects.
+     *
+     * @param context SchemaContext instance
+     * @param patternEngine PatternEngine to use
+     * @return A non-sharable {@link JSONCodecFactory}
+     * @throws NullPointerException if any argument is null
+     */
+    public @NonNull JSONCodecFactory createSimple(final @NonNull EffectiveModelContext context,
+            final @NonNull PatternEngine patternEngine) {
+        return createFactory(context, NoopCodecCache.getInstance(), patternEngine);
+    }
+
+    final @NonNull JSONCodecFactory createFactory(final EffectiveModelContext context,
+            final CodecCache<JSONCodec<?>> cache) {
+        return createFactory(context, cache, PatternEngine.JAVA_REGEX);
+    }
+
+    abstract @NonNull JSONCodecFactory createFactory(EffectiveModelContext context, CodecCache<JSONCodec<?>> cache,
+        PatternEngine patternEngine);
 }
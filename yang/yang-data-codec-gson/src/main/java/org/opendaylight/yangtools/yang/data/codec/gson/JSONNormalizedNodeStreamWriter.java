@@ -274,8 +274,8 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     @Override
     public void startLeafNode(final NodeIdentifier name) throws IOException {
         tracker.startLeafNode(name);
-        context.emittingChild(codecs.getEffectiveModelContext(), writer);
-        context.writeChildJsonIdentifier(codecs.getEffectiveModelContext(), writer, name.getNodeType());
+        context.emittingChild(codecs, writer);
+        context.writeChildJsonIdentifier(codecs, writer, name.getNodeType());
     }
 
     @Override
@@ -287,7 +287,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     @Override
     public void startLeafSetEntryNode(final NodeWithValue<?> name) throws IOException {
         tracker.startLeafSetEntryNode(name);
-        context.emittingChild(codecs.getEffectiveModelContext(), writer);
+        context.emittingChild(codecs, writer);
     }
 
     @Override
@@ -355,8 +355,8 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     public final boolean startAnydataNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
         if (NormalizedAnydata.class.isAssignableFrom(objectModel)) {
             tracker.startAnydataNode(name);
-            context.emittingChild(codecs.getEffectiveModelContext(), writer);
-            context.writeChildJsonIdentifier(codecs.getEffectiveModelContext(), writer, name.getNodeType());
+            context.emittingChild(codecs, writer);
+            context.writeChildJsonIdentifier(codecs, writer, name.getNodeType());
             return true;
         }
 
@@ -375,8 +375,8 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     public final boolean startAnyxmlNode(final NodeIdentifier name, final Class<?> objectModel) throws IOException {
         if (DOMSource.class.isAssignableFrom(objectModel)) {
             tracker.startAnyxmlNode(name);
-            context.emittingChild(codecs.getEffectiveModelContext(), writer);
-            context.writeChildJsonIdentifier(codecs.getEffectiveModelContext(), writer, name.getNodeType());
+            context.emittingChild(codecs, writer);
+            context.writeChildJsonIdentifier(codecs, writer, name.getNodeType());
             return true;
         }
         return false;
@@ -385,7 +385,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     @Override
     public final void endNode() throws IOException {
         tracker.endNode();
-        context = context.endNode(codecs.getEffectiveModelContext(), writer);
+        context = context.endNode(codecs, writer);
     }
 
     @Override
@@ -398,7 +398,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
             throw new IOException("Unexpected root context " + context);
         }
 
-        context.endNode(codecs.getEffectiveModelContext(), writer);
+        context.endNode(codecs, writer);
         writer.close();
     }
 
@@ -12,7 +12,6 @@ import static java.util.Objects.requireNonNull;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
-import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 
 /**
  * A single recursion level of {@link JSONNormalizedNodeStreamWriter} representing
@@ -24,8 +23,8 @@ final class JSONStreamWriterListContext extends JSONStreamWriterQNameContext {
     }
 
     @Override
-    protected void emitStart(final EffectiveModelContext schema, final JsonWriter writer) throws IOException {
-        writeMyJsonIdentifier(schema, writer, getQName());
+    protected void emitStart(final JSONCodecFactory codecs, final JsonWriter writer) throws IOException {
+        writeMyJsonIdentifier(codecs, writer, getQName());
         writer.beginArray();
     }
 
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.gson.stream.JsonReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.util.AbstractDocumentSubscriber;
+
+/**
+ * A {@link java.util.concurrent.Flow.Subscriber} collecting a complete UTF-8 encoded JSON document and feeding it to
+ * a {@link JsonParserStream} once it has been received. The document is not parsed while it arrives, but asynchronous
+ * frontends do not need to dedicate a thread to receiving it, for example:
+ * <pre>
+ *   final NormalizedNodeResult result = new NormalizedNodeResult();
+ *   final JsonDocumentSubscriber subscriber = JsonDocumentSubscriber.create(
+ *       JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), codecs, inference),
+ *       executor, maxSize);
+ *   publisher.subscribe(subscriber);
+ *   subscriber.completion().thenRun(() -&gt; process(result.getResult()));
+ * </pre>
+ */
+@Beta
+public final class JsonDocumentSubscriber extends AbstractDocumentSubscriber {
+    private final @NonNull JsonParserStream parser;
+
+    private JsonDocumentSubscriber(final JsonParserStream parser, final Executor executor, final int maxSize) {
+        super(executor, maxSize);
+        this.parser = requireNonNull(parser);
+    }
+
+    /**
+     * Create a new subscriber.
+     *
+     * @param parser parser to which the document should be fed
+     * @param executor executor on which the document is parsed
+     * @param maxSize maximum document size, in bytes
+     * @return A new subscriber
+     * @throws IllegalArgumentException if {@code maxSize} is negative or larger than {@link #MAX_SIZE}
+     */
+    public static @NonNull JsonDocumentSubscriber create(final @NonNull JsonParserStream parser,
+            final @NonNull Executor executor, final int maxSize) {
+        return new JsonDocumentSubscriber(parser, executor, maxSize);
+    }
+
+    @Override
+    protected void parse(final InputStream input) {
+        parser.parse(new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+    }
+}
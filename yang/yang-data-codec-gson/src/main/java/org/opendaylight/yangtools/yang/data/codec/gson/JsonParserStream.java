@@ -12,10 +12,12 @@ import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.Closeable;
 import java.io.EOFException;
@@ -30,14 +32,19 @@ import java.util.Map.Entry;
 import java.util.Set;
 import javax.xml.transform.dom.DOMSource;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.ImmutableMapTemplate;
 import org.opendaylight.yangtools.util.xml.UntrustedXML;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.AnyXmlNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema.ChildReusePolicy;
+import org.opendaylight.yangtools.yang.data.util.KeyedListEntryStart;
+import org.opendaylight.yangtools.yang.data.util.LeafListEntryNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
@@ -45,11 +52,16 @@ import org.opendaylight.yangtools.yang.data.util.MultipleEntryDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.model.api.AnyxmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerLike;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.EffectiveStatementInference;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
@@ -64,6 +76,20 @@ import org.w3c.dom.Text;
 /**
  * This class parses JSON elements from a GSON JsonReader. It disallows multiple elements of the same name unlike the
  * default GSON JsonParser.
+ *
+ * <p>
+ * By default the entire input is first read into an intermediate {@link AbstractNodeDataWithSchema} tree, which is
+ * then replayed into the {@link NormalizedNodeStreamWriter}. Parsers created via {@link #createStreaming} instead
+ * emit events as soon as the corresponding tokens are read, buffering only what the writer contract requires:
+ * <ul>
+ *   <li>children of an augmentation or a choice, which are emitted when their parent object ends, as their enclosing
+ *       AugmentationNode/ChoiceNode has to be emitted in one piece and JSON allows them to be interleaved with other
+ *       siblings</li>
+ *   <li>children of a keyed list entry which precede its last key leaf, as the entry cannot be started before its
+ *       identifier is known</li>
+ * </ul>
+ * Peak memory of a streaming parser is therefore proportional to the largest such buffered subtree, not to the size
+ * of the input.
  */
 @Beta
 public final class JsonParserStream implements Closeable, Flushable {
@@ -77,15 +103,17 @@ public final class JsonParserStream implements Closeable, Flushable {
 
     private final SchemaInferenceStack stack;
 
-    // TODO: consider class specialization to remove this field
+    // TODO: consider class specialization to remove these fields
     private final boolean lenient;
+    private final boolean streaming;
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final JSONCodecFactory codecs,
-            final SchemaInferenceStack stack, final boolean lenient) {
+            final SchemaInferenceStack stack, final boolean lenient, final boolean streaming) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.stack = requireNonNull(stack);
         this.lenient = lenient;
+        this.streaming = streaming;
 
         if (!stack.isEmpty()) {
             final EffectiveStatement<?, ?> parent = stack.currentStatement();
@@ -114,7 +142,7 @@ public final class JsonParserStream implements Closeable, Flushable {
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
         return new JsonParserStream(writer, codecFactory,
-            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), false);
+            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), false, false);
     }
 
     /**
@@ -129,7 +157,8 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull EffectiveStatementInference parentNode) {
-        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), false);
+        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), false,
+            false);
     }
 
     /**
@@ -151,7 +180,7 @@ public final class JsonParserStream implements Closeable, Flushable {
     public static @NonNull JsonParserStream createLenient(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
         return new JsonParserStream(writer, codecFactory,
-            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), true);
+            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), true, false);
     }
 
     /**
@@ -172,7 +201,51 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream createLenient(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull EffectiveStatementInference parentNode) {
-        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), true);
+        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), true,
+            false);
+    }
+
+    /**
+     * Create a new streaming {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the top of the SchemaContext associated
+     * with the specified codec factory.
+     *
+     * <p>
+     * Returned parser will emit events to the writer while the JSON input is being read, as outlined in the class
+     * documentation. If the input fails to parse, the writer may have already seen some of its events.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @param lenient {@code true} if JSON elements referring to unknown constructs should be silently ignored
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory, final boolean lenient) {
+        return new JsonParserStream(writer, codecFactory,
+            SchemaInferenceStack.of(codecFactory.getEffectiveModelContext()), lenient, true);
+    }
+
+    /**
+     * Create a new streaming {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the specified parent node.
+     *
+     * <p>
+     * Returned parser will emit events to the writer while the JSON input is being read, as outlined in the class
+     * documentation. If the input fails to parse, the writer may have already seen some of its events.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @param parentNode Logical root node
+     * @param lenient {@code true} if JSON elements referring to unknown constructs should be silently ignored
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory, final @NonNull EffectiveStatementInference parentNode,
+            final boolean lenient) {
+        return new JsonParserStream(writer, codecFactory, SchemaInferenceStack.ofInference(parentNode), lenient,
+            true);
     }
 
     public JsonParserStream parse(final JsonReader reader) {
@@ -182,8 +255,13 @@ public final class JsonParserStream implements Closeable, Flushable {
         reader.setLenient(true);
         boolean isEmpty = true;
         try {
-            reader.peek();
+            final JsonToken token = reader.peek();
             isEmpty = false;
+            if (streaming && token == JsonToken.BEGIN_OBJECT) {
+                streamObject(reader, parentNode, null);
+                return this;
+            }
+
             final CompositeNodeDataWithSchema<?> compositeNodeDataWithSchema =
                     new CompositeNodeDataWithSchema<>(parentNode);
             read(reader, compositeNodeDataWithSchema);
@@ -299,40 +377,13 @@ public final class JsonParserStream implements Closeable, Flushable {
                 }
                 while (in.hasNext()) {
                     final String jsonElementName = in.nextName();
-                    final DataSchemaNode parentSchema = parent.getSchema();
-                    final Entry<String, XMLNamespace> namespaceAndName =
-                        resolveNamespace(jsonElementName, parentSchema);
-                    final String localName = namespaceAndName.getKey();
-                    final XMLNamespace namespace = namespaceAndName.getValue();
-                    if (lenient && (localName == null || namespace == null)) {
-                        LOG.debug("Schema node with name {} was not found under {}", localName,
-                            parentSchema.getQName());
-                        in.skipValue();
-                        continue;
-                    }
-                    addNamespace(namespace);
-                    if (!namesakes.add(jsonElementName)) {
-                        throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
-                    }
-
                     final Deque<DataSchemaNode> childDataSchemaNodes =
-                            ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName,
-                                getCurrentNamespace());
-                    checkState(!childDataSchemaNodes.isEmpty(),
-                        "Schema for node with name %s and namespace %s does not exist at %s",
-                        localName, getCurrentNamespace(), parentSchema);
-
-                    final QName qname = childDataSchemaNodes.peekLast().getQName();
-                    final AbstractNodeDataWithSchema<?> newChild = ((CompositeNodeDataWithSchema<?>) parent)
-                            .addChild(childDataSchemaNodes, ChildReusePolicy.NOOP);
-                    if (newChild instanceof AnyXmlNodeDataWithSchema) {
-                        readAnyXmlValue(in, (AnyXmlNodeDataWithSchema) newChild, jsonElementName);
-                    } else {
-                        stack.enterDataTree(qname);
-                        read(in, newChild);
-                        stack.exit();
+                        enterChild(in, jsonElementName, parent.getSchema(), namesakes);
+                    if (childDataSchemaNodes != null) {
+                        readChild(in, (CompositeNodeDataWithSchema<?>) parent, childDataSchemaNodes,
+                            jsonElementName);
+                        removeNamespace();
                     }
-                    removeNamespace();
                 }
                 in.endObject();
                 return;
@@ -341,6 +392,211 @@ public final class JsonParserStream implements Closeable, Flushable {
         }
     }
 
+    /**
+     * Resolve a JSON member name to the schema nodes leading to it from its parent. If the member is resolved, its
+     * namespace is pushed and the caller is responsible for invoking {@link #removeNamespace()} once it is done with
+     * its value.
+     *
+     * @return Schema nodes leading to the child, or {@code null} if the member is unknown and its value has been
+     *         skipped as per lenient parsing
+     */
+    private @Nullable Deque<DataSchemaNode> enterChild(final JsonReader in, final String jsonElementName,
+            final DataSchemaNode parentSchema, final Set<String> namesakes) throws IOException {
+        final Entry<String, XMLNamespace> namespaceAndName = resolveNamespace(jsonElementName, parentSchema);
+        final String localName = namespaceAndName.getKey();
+        final XMLNamespace namespace = namespaceAndName.getValue();
+        if (lenient && (localName == null || namespace == null)) {
+            LOG.debug("Schema node with name {} was not found under {}", localName, parentSchema.getQName());
+            in.skipValue();
+            return null;
+        }
+        addNamespace(namespace);
+        if (!namesakes.add(jsonElementName)) {
+            throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
+        }
+
+        final Deque<DataSchemaNode> childDataSchemaNodes =
+                ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName, getCurrentNamespace());
+        checkState(!childDataSchemaNodes.isEmpty(),
+            "Schema for node with name %s and namespace %s does not exist at %s",
+            localName, getCurrentNamespace(), parentSchema);
+        return childDataSchemaNodes;
+    }
+
+    private void readChild(final JsonReader in, final CompositeNodeDataWithSchema<?> parent,
+            final Deque<DataSchemaNode> childDataSchemaNodes, final String jsonElementName) throws IOException {
+        final QName qname = childDataSchemaNodes.peekLast().getQName();
+        final AbstractNodeDataWithSchema<?> newChild = parent.addChild(childDataSchemaNodes, ChildReusePolicy.NOOP);
+        if (newChild instanceof AnyXmlNodeDataWithSchema) {
+            readAnyXmlValue(in, (AnyXmlNodeDataWithSchema) newChild, jsonElementName);
+        } else {
+            stack.enterDataTree(qname);
+            read(in, newChild);
+            stack.exit();
+        }
+    }
+
+    /**
+     * Stream the members of a JSON object directly into the writer. Members which cannot be emitted immediately are
+     * read into a {@link CompositeNodeDataWithSchema} and emitted when the object ends.
+     *
+     * @param in JSON input, positioned at the start of the object
+     * @param parentSchema Schema node corresponding to the object
+     * @param keyed Tracker of a keyed list entry's identifier, or {@code null} if the writer is already positioned
+     *              inside the node corresponding to the object
+     */
+    private void streamObject(final JsonReader in, final DataSchemaNode parentSchema,
+            final @Nullable KeyedListEntryStart keyed) throws IOException {
+        final Set<String> namesakes = new HashSet<>();
+        CompositeNodeDataWithSchema<?> deferred = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final Deque<DataSchemaNode> childDataSchemaNodes = enterChild(in, jsonElementName, parentSchema,
+                namesakes);
+            if (childDataSchemaNodes == null) {
+                continue;
+            }
+
+            final DataSchemaNode childSchema = childDataSchemaNodes.peekLast();
+            final boolean direct = ParserStreamUtils.isDirectChild(parentSchema, childDataSchemaNodes);
+            if (direct && keyed != null && keyed.isPendingKey(childSchema)) {
+                final LeafNodeDataWithSchema key = new LeafNodeDataWithSchema((LeafSchemaNode) childSchema);
+                stack.enterDataTree(childSchema.getQName());
+                read(in, key);
+                stack.exit();
+                keyed.addKey(writer, key);
+            } else if (direct && (keyed == null || keyed.isStarted()) && canStream(childSchema, in.peek())) {
+                streamChild(in, childSchema, jsonElementName);
+            } else {
+                if (deferred == null) {
+                    deferred = new CompositeNodeDataWithSchema<>(parentSchema);
+                }
+                readChild(in, deferred, childDataSchemaNodes, jsonElementName);
+            }
+            removeNamespace();
+        }
+        in.endObject();
+
+        if (keyed != null && !keyed.isStarted()) {
+            // Missing keys are reported here, just as they would be by ListEntryNodeDataWithSchema
+            keyed.start(writer);
+        }
+        if (deferred != null) {
+            deferred.write(writer);
+        }
+    }
+
+    /**
+     * Check whether a child can be streamed directly. Anything else is routed through the buffered path, which also
+     * takes care of reporting malformed input.
+     */
+    private static boolean canStream(final DataSchemaNode childSchema, final JsonToken token) {
+        if (childSchema instanceof LeafSchemaNode || childSchema instanceof AnyxmlSchemaNode) {
+            return true;
+        } else if (childSchema instanceof ContainerLike) {
+            return token == JsonToken.BEGIN_OBJECT;
+        } else if (childSchema instanceof ListSchemaNode) {
+            return token == JsonToken.BEGIN_ARRAY || token == JsonToken.BEGIN_OBJECT;
+        } else if (childSchema instanceof LeafListSchemaNode) {
+            return token == JsonToken.BEGIN_ARRAY;
+        } else {
+            return false;
+        }
+    }
+
+    private void streamChild(final JsonReader in, final DataSchemaNode childSchema, final String jsonElementName)
+            throws IOException {
+        if (childSchema instanceof AnyxmlSchemaNode) {
+            final AnyXmlNodeDataWithSchema anyxml = new AnyXmlNodeDataWithSchema((AnyxmlSchemaNode) childSchema);
+            readAnyXmlValue(in, anyxml, jsonElementName);
+            anyxml.write(writer);
+            return;
+        }
+
+        stack.enterDataTree(childSchema.getQName());
+        if (childSchema instanceof LeafSchemaNode) {
+            final LeafNodeDataWithSchema leaf = new LeafNodeDataWithSchema((LeafSchemaNode) childSchema);
+            read(in, leaf);
+            leaf.write(writer);
+        } else if (childSchema instanceof ContainerLike) {
+            writer.nextDataSchemaNode(childSchema);
+            writer.startContainerNode(NodeIdentifier.create(childSchema.getQName()),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            streamObject(in, childSchema, null);
+            writer.endNode();
+        } else if (childSchema instanceof ListSchemaNode) {
+            streamList(in, (ListSchemaNode) childSchema);
+        } else {
+            streamLeafList(in, (LeafListSchemaNode) childSchema);
+        }
+        stack.exit();
+    }
+
+    private void streamList(final JsonReader in, final ListSchemaNode schema) throws IOException {
+        final NodeIdentifier identifier = NodeIdentifier.create(schema.getQName());
+        final ImmutableMapTemplate<QName> predicateTemplate;
+        writer.nextDataSchemaNode(schema);
+        if (schema.getKeyDefinition().isEmpty()) {
+            predicateTemplate = null;
+            writer.startUnkeyedList(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            predicateTemplate = ImmutableMapTemplate.ordered(schema.getKeyDefinition());
+            if (schema.isUserOrdered()) {
+                writer.startOrderedMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            } else {
+                writer.startMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            }
+        }
+
+        if (in.peek() == JsonToken.BEGIN_ARRAY) {
+            in.beginArray();
+            while (in.hasNext()) {
+                streamListEntry(in, schema, identifier, predicateTemplate);
+            }
+            in.endArray();
+        } else {
+            // A single entry without the wrapping array, see read()
+            streamListEntry(in, schema, identifier, predicateTemplate);
+        }
+        writer.endNode();
+    }
+
+    private void streamListEntry(final JsonReader in, final ListSchemaNode schema, final NodeIdentifier identifier,
+            final @Nullable ImmutableMapTemplate<QName> predicateTemplate) throws IOException {
+        final JsonToken token = in.peek();
+        checkArgument(token == JsonToken.BEGIN_OBJECT, "Unexpected %s in list %s", token, schema.getQName());
+
+        if (predicateTemplate == null) {
+            writer.nextDataSchemaNode(schema);
+            writer.startUnkeyedListItem(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            streamObject(in, schema, null);
+        } else {
+            streamObject(in, schema, new KeyedListEntryStart(schema, predicateTemplate, ImmutableMap.of()));
+        }
+        writer.endNode();
+    }
+
+    private void streamLeafList(final JsonReader in, final LeafListSchemaNode schema) throws IOException {
+        final NodeIdentifier identifier = NodeIdentifier.create(schema.getQName());
+        writer.nextDataSchemaNode(schema);
+        if (schema.isUserOrdered()) {
+            writer.startOrderedLeafSet(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startLeafSet(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+
+        in.beginArray();
+        while (in.hasNext()) {
+            final LeafListEntryNodeDataWithSchema entry = new LeafListEntryNodeDataWithSchema(schema);
+            read(in, entry);
+            entry.write(writer);
+        }
+        in.endArray();
+        writer.endNode();
+    }
+
     private static boolean isArray(final AbstractNodeDataWithSchema<?> parent) {
         return parent instanceof ListNodeDataWithSchema || parent instanceof LeafListNodeDataWithSchema;
     }
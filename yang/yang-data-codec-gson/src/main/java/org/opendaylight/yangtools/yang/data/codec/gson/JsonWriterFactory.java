@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 
 import com.google.common.annotations.Beta;
 import com.google.gson.stream.JsonWriter;
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
@@ -43,4 +44,30 @@ public final class JsonWriterFactory {
         jsonWriter.setIndent(indent);
         return jsonWriter;
     }
+
+    /**
+     * Create a new JsonWriter, which writes UTF-8 encoded output to the specified output stream. This is equivalent to
+     * wrapping the stream in an {@link java.io.OutputStreamWriter}, except characters are encoded into an internal
+     * buffer without going through a {@link java.nio.charset.CharsetEncoder} and without locking. The JsonWriter still
+     * formats names and values as character data, hence only the final encoding step is affected. Flushing or closing
+     * the JsonWriter flushes or closes the output stream, respectively.
+     *
+     * @param stream Output stream
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createJsonWriter(final OutputStream stream) {
+        return createJsonWriter(new Utf8OutputStreamWriter(stream));
+    }
+
+    /**
+     * Create a new JsonWriter, which writes UTF-8 encoded output to the specified output stream. See
+     * {@link #createJsonWriter(OutputStream)} for details.
+     *
+     * @param stream Output stream
+     * @param indentSize size of the indent
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createJsonWriter(final OutputStream stream, final int indentSize) {
+        return createJsonWriter(new Utf8OutputStreamWriter(stream), indentSize);
+    }
 }
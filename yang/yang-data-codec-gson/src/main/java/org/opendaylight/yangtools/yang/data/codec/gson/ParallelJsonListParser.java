@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Throwables;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UserMapNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.EffectiveStatementInference;
+
+/**
+ * A parser for bulk JSON input consisting of a single, potentially very large, keyed list, which parses the list
+ * entries concurrently. The input is the JSON object of the list's parent, as understood by {@link JsonParserStream},
+ * with the list as its only member, for example:
+ * <pre>
+ *   {
+ *     "module:list": [
+ *       { "key": 1, ... },
+ *       { "key": 2, ... },
+ *       ...
+ *     ]
+ *   }
+ * </pre>
+ *
+ * <p>
+ * The calling thread splits the entries into chunks of configured size without interpreting them. Each chunk is then
+ * parsed by a {@link JsonParserStream} on the supplied {@link Executor} and the results are assembled into a single
+ * {@link MapNode}, preserving entry order for {@code ordered-by user} lists. At most a configured number of chunks is
+ * in flight at any time: once that limit is reached, the calling thread waits for the oldest chunk to be parsed before
+ * it reads any further input.
+ *
+ * <p>
+ * Unlike the sequential parser, which silently keeps the last of the entries with the same key, this parser rejects
+ * input containing duplicate keys, as entries with the same key may end up in different chunks.
+ *
+ * <p>
+ * The {@link JSONCodecFactory} is shared by all chunks, hence it needs to be thread-safe, such as those returned by
+ * {@link JSONCodecFactorySupplier#getPrecomputed(org.opendaylight.yangtools.yang.model.api.EffectiveModelContext)}
+ * and {@link JSONCodecFactorySupplier#getShared(org.opendaylight.yangtools.yang.model.api.EffectiveModelContext)}.
+ * Instances of this class are immutable and can be reused.
+ */
+@Beta
+public final class ParallelJsonListParser {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_MAX_PENDING_CHUNKS = 16;
+
+    private final @NonNull JSONCodecFactory codecs;
+    private final @NonNull EffectiveStatementInference parentNode;
+    private final @NonNull Executor executor;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+
+    private ParallelJsonListParser(final JSONCodecFactory codecs, final EffectiveStatementInference parentNode,
+            final Executor executor, final int chunkSize, final int maxPendingChunks) {
+        this.codecs = requireNonNull(codecs);
+        this.parentNode = requireNonNull(parentNode);
+        this.executor = requireNonNull(executor);
+        checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+        this.chunkSize = chunkSize;
+        checkArgument(maxPendingChunks > 0, "Invalid maximum pending chunks %s", maxPendingChunks);
+        this.maxPendingChunks = maxPendingChunks;
+    }
+
+    /**
+     * Create a new parser using {@link #DEFAULT_CHUNK_SIZE} and {@link #DEFAULT_MAX_PENDING_CHUNKS}.
+     *
+     * @param codecFactory thread-safe JSON codec factory
+     * @param parentNode inference of the list's parent
+     * @param executor executor on which chunks are parsed
+     * @return A new parser
+     */
+    public static @NonNull ParallelJsonListParser create(final @NonNull JSONCodecFactory codecFactory,
+            final @NonNull EffectiveStatementInference parentNode, final @NonNull Executor executor) {
+        return create(codecFactory, parentNode, executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a new parser using {@link #DEFAULT_MAX_PENDING_CHUNKS}.
+     *
+     * @param codecFactory thread-safe JSON codec factory
+     * @param parentNode inference of the list's parent
+     * @param executor executor on which chunks are parsed
+     * @param chunkSize number of list entries parsed in one go
+     * @return A new parser
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive
+     */
+    public static @NonNull ParallelJsonListParser create(final @NonNull JSONCodecFactory codecFactory,
+            final @NonNull EffectiveStatementInference parentNode, final @NonNull Executor executor,
+            final int chunkSize) {
+        return create(codecFactory, parentNode, executor, chunkSize, DEFAULT_MAX_PENDING_CHUNKS);
+    }
+
+    /**
+     * Create a new parser.
+     *
+     * @param codecFactory thread-safe JSON codec factory
+     * @param parentNode inference of the list's parent
+     * @param executor executor on which chunks are parsed
+     * @param chunkSize number of list entries parsed in one go
+     * @param maxPendingChunks maximum number of chunks submitted to the executor and not yet assembled
+     * @return A new parser
+     * @throws IllegalArgumentException if {@code chunkSize} or {@code maxPendingChunks} is not positive
+     */
+    public static @NonNull ParallelJsonListParser create(final @NonNull JSONCodecFactory codecFactory,
+            final @NonNull EffectiveStatementInference parentNode, final @NonNull Executor executor,
+            final int chunkSize, final int maxPendingChunks) {
+        return new ParallelJsonListParser(codecFactory, parentNode, executor, chunkSize, maxPendingChunks);
+    }
+
+    /**
+     * Parse a list from the specified reader.
+     *
+     * @param reader input reader
+     * @return Parsed list
+     * @throws IOException if the reader reports it or the calling thread is interrupted
+     * @throws JsonSyntaxException if the input is not a JSON object with a single member or it contains duplicate
+     *                             keys
+     * @throws IllegalArgumentException if the member is not a keyed list
+     */
+    public @NonNull MapNode parse(final Reader reader) throws IOException {
+        final Deque<Future<MapNode>> pending = new ArrayDeque<>();
+        try {
+            return new Splitter(reader, pending).split();
+        } finally {
+            for (Future<MapNode> chunk : pending) {
+                chunk.cancel(false);
+            }
+        }
+    }
+
+    MapNode parseChunk(final String chunk) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(result), codecs, parentNode, false)
+            .parse(new JsonReader(new StringReader(chunk)));
+        return extractList(result.getResult());
+    }
+
+    private static MapNode extractList(final NormalizedNode node) {
+        if (node instanceof MapNode) {
+            return (MapNode) node;
+        }
+        if (node instanceof AugmentationNode) {
+            // The list is introduced by an augmentation
+            for (DataContainerChild child : ((AugmentationNode) node).body()) {
+                if (child instanceof MapNode) {
+                    return (MapNode) child;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Input does not describe a keyed list, but " + node);
+    }
+
+    static MapNode getChunk(final Future<MapNode> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for list entries")
+                .initCause(e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Failed to parse list entries", e);
+        }
+    }
+
+    /**
+     * Assembler of parsed chunks, which are added in input order.
+     */
+    private static final class Assembler {
+        private MapNode first;
+        private CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder;
+
+        void add(final MapNode chunk) {
+            if (first == null) {
+                first = chunk;
+                return;
+            }
+
+            if (builder == null) {
+                if (first instanceof UserMapNode) {
+                    builder = Builders.orderedMapBuilder().withNodeIdentifier(first.getIdentifier())
+                        .withValue(first.body());
+                } else {
+                    builder = Builders.mapBuilder((SystemMapNode) first);
+                }
+            }
+            for (MapEntryNode entry : chunk.body()) {
+                builder.withChild(entry);
+            }
+        }
+
+        MapNode build(final int entries) {
+            final MapNode list = builder == null ? first : builder.build();
+
+            // Entries with the same key replace each other, hence any duplicates show up as missing entries
+            final int size = list.size();
+            if (size != entries) {
+                throw new JsonSyntaxException(String.format("Duplicate keys of list \"%s\" in JSON input: %s entries "
+                    + "resolve to %s distinct keys", list.getIdentifier().getNodeType(), entries, size));
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Lexical splitter of the input into chunks. It only understands enough of JSON syntax to find list entry
+     * boundaries, everything else is left to {@link JsonParserStream}.
+     */
+    private final class Splitter {
+        private final Assembler assembler = new Assembler();
+        private final char[] buf = new char[8192];
+        private final Deque<Future<MapNode>> pending;
+        private final Reader reader;
+
+        private StringBuilder chunk;
+        private String prefix;
+        private int entries;
+        private int count;
+        private int pos;
+        private int limit;
+
+        Splitter(final Reader reader, final Deque<Future<MapNode>> pending) {
+            this.reader = requireNonNull(reader);
+            this.pending = requireNonNull(pending);
+        }
+
+        MapNode split() throws IOException {
+            expect('{');
+            final StringBuilder sb = new StringBuilder().append('{');
+            skipWhitespace();
+            if (peek() != '"') {
+                throw syntaxError("member name");
+            }
+            copyString(sb);
+            skipWhitespace();
+            expect(':');
+            prefix = sb.append(":[").toString();
+            newChunk();
+
+            skipWhitespace();
+            if (peek() == '[') {
+                next();
+                skipWhitespace();
+                if (peek() == ']') {
+                    next();
+                } else {
+                    while (true) {
+                        copyEntry();
+                        skipWhitespace();
+                        final int ch = next();
+                        if (ch == ']') {
+                            break;
+                        }
+                        if (ch != ',') {
+                            throw syntaxError("',' or ']'");
+                        }
+                        skipWhitespace();
+                    }
+                }
+            } else {
+                // Single entry not enclosed in an array
+                copyEntry();
+            }
+
+            expect('}');
+            skipWhitespace();
+            if (peek() != -1) {
+                throw new JsonSyntaxException("Trailing content after list, or list is not the only member");
+            }
+
+            if (count != 0 || entries == 0) {
+                submitChunk();
+            }
+            while (!pending.isEmpty()) {
+                assembler.add(getChunk(pending.remove()));
+            }
+            return assembler.build(entries);
+        }
+
+        private void newChunk() {
+            chunk = new StringBuilder(prefix);
+            count = 0;
+        }
+
+        private void copyEntry() throws IOException {
+            if (peek() != '{') {
+                throw syntaxError("list entry");
+            }
+            if (count != 0) {
+                chunk.append(',');
+            }
+            copyValue(chunk);
+            entries++;
+            if (++count == chunkSize) {
+                submitChunk();
+                newChunk();
+            }
+        }
+
+        private void submitChunk() throws IOException {
+            // Wait for the oldest chunk if there are too many in flight, so that we do not buffer unbounded input
+            while (pending.size() >= maxPendingChunks) {
+                assembler.add(getChunk(pending.remove()));
+            }
+
+            final String str = chunk.append("]}").toString();
+            final FutureTask<MapNode> task = new FutureTask<>(() -> parseChunk(str));
+            pending.add(task);
+            executor.execute(task);
+        }
+
+        // Copy a single JSON value, tracking only nesting and string boundaries
+        private void copyValue(final StringBuilder sb) throws IOException {
+            int depth = 0;
+            do {
+                final int ch = peek();
+                switch (ch) {
+                    case -1:
+                        throw syntaxError("value");
+                    case '"':
+                        copyString(sb);
+                        break;
+                    case '{':
+                    case '[':
+                        depth++;
+                        sb.append((char) next());
+                        break;
+                    case '}':
+                    case ']':
+                        if (depth == 0) {
+                            return;
+                        }
+                        depth--;
+                        sb.append((char) next());
+                        break;
+                    case ',':
+                        if (depth == 0) {
+                            return;
+                        }
+                        sb.append((char) next());
+                        break;
+                    default:
+                        if (depth == 0 && isWhitespace(ch)) {
+                            return;
+                        }
+                        sb.append((char) next());
+                }
+            } while (depth != 0);
+        }
+
+        private void copyString(final StringBuilder sb) throws IOException {
+            sb.append((char) next());
+            while (true) {
+                final int ch = next();
+                if (ch == -1) {
+                    throw syntaxError("end of string");
+                }
+                sb.append((char) ch);
+                if (ch == '"') {
+                    return;
+                }
+                if (ch == '\\') {
+                    final int escaped = next();
+                    if (escaped == -1) {
+                        throw syntaxError("end of string");
+                    }
+                    sb.append((char) escaped);
+                }
+            }
+        }
+
+        private void expect(final char expected) throws IOException {
+            skipWhitespace();
+            if (next() != expected) {
+                throw syntaxError("'" + expected + "'");
+            }
+        }
+
+        private void skipWhitespace() throws IOException {
+            while (isWhitespace(peek())) {
+                pos++;
+            }
+        }
+
+        private int peek() throws IOException {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            return buf[pos];
+        }
+
+        private int next() throws IOException {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            return buf[pos++];
+        }
+
+        private boolean fill() throws IOException {
+            final int read = reader.read(buf);
+            if (read <= 0) {
+                return false;
+            }
+            pos = 0;
+            limit = read;
+            return true;
+        }
+
+        private JsonSyntaxException syntaxError(final String expected) {
+            return new JsonSyntaxException("Expected " + expected + " while splitting list input");
+        }
+    }
+
+    static boolean isWhitespace(final int ch) {
+        return ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t';
+    }
+}
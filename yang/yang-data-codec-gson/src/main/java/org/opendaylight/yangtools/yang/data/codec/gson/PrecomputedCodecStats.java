@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+
+/**
+ * Statistics of a pre-computed {@link JSONCodecFactory}, as reported by
+ * {@link JSONCodecFactorySupplier#getPrecomputedCodecStats(EffectiveModelContext)}.
+ */
+@Beta
+public final class PrecomputedCodecStats implements Immutable {
+    private final @NonNull Duration buildTime;
+    private final int leafCount;
+    private final int simpleCodecCount;
+    private final int complexCodecCount;
+
+    PrecomputedCodecStats(final Duration buildTime, final int leafCount, final int simpleCodecCount,
+            final int complexCodecCount) {
+        this.buildTime = requireNonNull(buildTime);
+        this.leafCount = leafCount;
+        this.simpleCodecCount = simpleCodecCount;
+        this.complexCodecCount = complexCodecCount;
+    }
+
+    /**
+     * Return the wall-clock time it took to pre-compute the factory. For factories pre-computed by
+     * {@link JSONCodecFactorySupplier#warmUp(EffectiveModelContext, Executor)} this includes the time the module tasks
+     * spent waiting for the executor.
+     *
+     * @return Time taken to pre-compute the factory
+     */
+    public @NonNull Duration getBuildTime() {
+        return buildTime;
+    }
+
+    /**
+     * Return the number of typed leaf nodes visited while pre-computing the factory.
+     *
+     * @return Number of visited leaf nodes
+     */
+    public int getLeafCount() {
+        return leafCount;
+    }
+
+    /**
+     * Return the number of cached codecs, which are shared by all nodes of the same type.
+     *
+     * @return Number of simple codecs
+     */
+    public int getSimpleCodecCount() {
+        return simpleCodecCount;
+    }
+
+    /**
+     * Return the number of cached codecs, which are bound to a particular schema node, such as those of leafref and
+     * identityref types.
+     *
+     * @return Number of complex codecs
+     */
+    public int getComplexCodecCount() {
+        return complexCodecCount;
+    }
+
+    /**
+     * Return the total number of cached codecs.
+     *
+     * @return Number of cached codecs
+     */
+    public int getCodecCount() {
+        return simpleCodecCount + complexCodecCount;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("buildTime", buildTime).add("leaves", leafCount)
+            .add("simpleCodecs", simpleCodecCount).add("complexCodecs", complexCodecCount).toString();
+    }
+}
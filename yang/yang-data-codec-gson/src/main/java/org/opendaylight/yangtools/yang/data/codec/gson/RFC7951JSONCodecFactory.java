@@ -9,6 +9,7 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.type.InstanceIdentifierTypeDefinition;
@@ -16,8 +17,9 @@ import org.opendaylight.yangtools.yang.model.api.type.InstanceIdentifierTypeDefi
 final class RFC7951JSONCodecFactory extends JSONCodecFactory {
     private final RFC7951JSONInstanceIdentifierCodec iidCodec;
 
-    RFC7951JSONCodecFactory(final EffectiveModelContext context, final CodecCache<JSONCodec<?>> cache) {
-        super(context, cache);
+    RFC7951JSONCodecFactory(final EffectiveModelContext context, final CodecCache<JSONCodec<?>> cache,
+            final PatternEngine patternEngine) {
+        super(context, cache, patternEngine);
         iidCodec = new RFC7951JSONInstanceIdentifierCodec(context, this);
     }
 
@@ -28,7 +30,7 @@ final class RFC7951JSONCodecFactory extends JSONCodecFactory {
 
     @Override
     JSONCodecFactory rebaseTo(final EffectiveModelContext newSchemaContext, final CodecCache<JSONCodec<?>> newCache) {
-        return new RFC7951JSONCodecFactory(newSchemaContext, newCache);
+        return new RFC7951JSONCodecFactory(newSchemaContext, newCache, getPatternEngine());
     }
 
     @Override
@@ -15,6 +15,8 @@ import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.List;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
+import org.opendaylight.yangtools.yang.data.impl.codec.UnionMemberDispatcher;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,8 +30,8 @@ import org.slf4j.LoggerFactory;
  */
 abstract class UnionJSONCodec<T> implements JSONCodec<T> {
     private static final class Diverse extends UnionJSONCodec<Object> {
-        Diverse(final List<JSONCodec<?>> codecs) {
-            super(codecs);
+        Diverse(final UnionMemberDispatcher dispatcher, final List<JSONCodec<?>> codecs) {
+            super(dispatcher, codecs);
         }
 
         @Override
@@ -41,8 +43,9 @@ abstract class UnionJSONCodec<T> implements JSONCodec<T> {
     private static final class SingleType<T> extends UnionJSONCodec<T> {
         private final Class<T> dataClass;
 
-        SingleType(final Class<T> dataClass, final List<JSONCodec<?>> codecs) {
-            super(codecs);
+        SingleType(final Class<T> dataClass, final UnionMemberDispatcher dispatcher,
+                final List<JSONCodec<?>> codecs) {
+            super(dispatcher, codecs);
             this.dataClass = requireNonNull(dataClass);
         }
 
@@ -54,33 +57,48 @@ abstract class UnionJSONCodec<T> implements JSONCodec<T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(UnionJSONCodec.class);
 
+    private final UnionMemberDispatcher dispatcher;
     private final ImmutableList<JSONCodec<?>> codecs;
 
-    UnionJSONCodec(final List<JSONCodec<?>> codecs) {
+    UnionJSONCodec(final UnionMemberDispatcher dispatcher, final List<JSONCodec<?>> codecs) {
+        this.dispatcher = requireNonNull(dispatcher);
         this.codecs = ImmutableList.copyOf(codecs);
+        verify(dispatcher.size() == this.codecs.size(), "Mismatched dispatcher %s and codecs %s", dispatcher, codecs);
     }
 
-    static UnionJSONCodec<?> create(final UnionTypeDefinition type, final List<JSONCodec<?>> codecs) {
+    static UnionJSONCodec<?> create(final UnionTypeDefinition type, final List<JSONCodec<?>> codecs,
+            final PatternEngine patternEngine) {
         final Iterator<JSONCodec<?>> it = codecs.iterator();
         verify(it.hasNext(), "Union %s has no subtypes", type);
+        final UnionMemberDispatcher dispatcher = UnionMemberDispatcher.of(type, patternEngine);
 
         Class<?> dataClass = it.next().getDataType();
         while (it.hasNext()) {
             final Class<?> next = it.next().getDataType();
             if (!dataClass.equals(next)) {
                 LOG.debug("Type {} has diverse data classes: {} and {}", type, dataClass, next);
-                return new Diverse(codecs);
+                return new Diverse(dispatcher, codecs);
             }
         }
 
         LOG.debug("Type {} has single data class {}", type, dataClass);
-        return new SingleType<>(dataClass, codecs);
+        return new SingleType<>(dataClass, dispatcher, codecs);
     }
 
     @Override
     @SuppressWarnings("checkstyle:illegalCatch")
     public final T parseValue(final Object ctx, final String str) {
-        for (JSONCodec<?> codec : codecs) {
+        for (int i = 0; i < codecs.size(); ++i) {
+            final JSONCodec<?> codec = codecs.get(i);
+            if (!dispatcher.mayAccept(i, str)) {
+                LOG.trace("Codec {} cannot accept input '{}', skipping it", codec, str);
+                continue;
+            }
+            if (dispatcher.isVerbatim(i)) {
+                // The dispatcher has performed all the checks, there is nothing left to parse
+                return getDataType().cast(str);
+            }
+
             final Object ret;
             try {
                 ret = codec.parseValue(ctx, str);
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.checkFromToIndex;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * A {@link Writer} encoding characters to UTF-8 directly into a byte buffer, which is handed to an
+ * {@link OutputStream} whenever it fills up. Unlike {@link java.io.OutputStreamWriter} it does not go through
+ * a {@link java.nio.charset.CharsetEncoder} and does not synchronize. It replaces only the encoding step behind a
+ * {@link com.google.gson.stream.JsonWriter}, which still produces its output as characters. Unpaired surrogates are
+ * encoded as {@code '?'}, just as {@link java.io.OutputStreamWriter} would do. This class is NOT thread-safe.
+ */
+final class Utf8OutputStreamWriter extends Writer {
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    // Worst case size of a single encoded character
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final OutputStream out;
+    private final byte[] buf;
+
+    private int pos;
+    // High surrogate seen at the end of the previous write, waiting for its low surrogate
+    private char highSurrogate;
+
+    Utf8OutputStreamWriter(final OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    Utf8OutputStreamWriter(final OutputStream out, final int bufferSize) {
+        checkArgument(bufferSize >= MAX_CHAR_BYTES, "Buffer size %s is too small", bufferSize);
+        this.out = requireNonNull(out);
+        buf = new byte[bufferSize];
+    }
+
+    @Override
+    public void write(final int ch) throws IOException {
+        encode((char) ch);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        checkFromIndexSize(off, len, cbuf.length);
+        encode(CharBuffer.wrap(cbuf), off, off + len);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        checkFromIndexSize(off, len, str.length());
+        encode(str, off, off + len);
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) throws IOException {
+        final CharSequence seq = csq != null ? csq : "null";
+        encode(seq, 0, seq.length());
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+        final CharSequence seq = csq != null ? csq : "null";
+        checkFromToIndex(start, end, seq.length());
+        encode(seq, start, end);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            ensureCapacity();
+            buf[pos++] = '?';
+        }
+        flushBuffer();
+        out.close();
+    }
+
+    private void encode(final CharSequence seq, final int start, final int end) throws IOException {
+        int idx = start;
+        while (idx < end) {
+            // Fast path for runs of ASCII characters
+            final int limit = Math.min(end, idx + buf.length - pos);
+            while (idx < limit && highSurrogate == 0) {
+                final char ch = seq.charAt(idx);
+                if (ch >= 0x80) {
+                    break;
+                }
+                buf[pos++] = (byte) ch;
+                idx++;
+            }
+            if (idx < end) {
+                encode(seq.charAt(idx++));
+            }
+        }
+    }
+
+    private void encode(final char ch) throws IOException {
+        ensureCapacity();
+
+        if (highSurrogate != 0) {
+            final char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(ch)) {
+                final int codePoint = Character.toCodePoint(high, ch);
+                buf[pos++] = (byte) (0xF0 | codePoint >> 18);
+                buf[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buf[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buf[pos++] = (byte) (0x80 | codePoint & 0x3F);
+                return;
+            }
+
+            buf[pos++] = '?';
+            ensureCapacity();
+        }
+
+        if (ch < 0x80) {
+            buf[pos++] = (byte) ch;
+        } else if (ch < 0x800) {
+            buf[pos++] = (byte) (0xC0 | ch >> 6);
+            buf[pos++] = (byte) (0x80 | ch & 0x3F);
+        } else if (Character.isHighSurrogate(ch)) {
+            highSurrogate = ch;
+        } else if (Character.isLowSurrogate(ch)) {
+            buf[pos++] = '?';
+        } else {
+            buf[pos++] = (byte) (0xE0 | ch >> 12);
+            buf[pos++] = (byte) (0x80 | ch >> 6 & 0x3F);
+            buf[pos++] = (byte) (0x80 | ch & 0x3F);
+        }
+    }
+
+    private void ensureCapacity() throws IOException {
+        if (buf.length - pos < MAX_CHAR_BYTES) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos != 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.normalizedNodesToJsonString;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class JSONCodecFactorySupplierTest {
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        // Fresh context, so it cannot have been precomputed by other tests
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResourceDirectory("/complexjson/yang");
+        final JSONCodecFactorySupplier supplier = JSONCodecFactorySupplier.RFC7951;
+        final CacheStats before = supplier.getPrecomputedFactoryStats();
+
+        // Not warmed up yet, we should get the shared factory
+        final JSONCodecFactory shared = supplier.getShared(context);
+        assertSame(shared, supplier.getPrecomputedOrShared(context));
+        assertEquals(Optional.empty(), supplier.getPrecomputedCodecStats(context));
+
+        // Module tasks must not wait for each other, or a single-threaded executor would deadlock
+        final ListenableFuture<JSONCodecFactory> future = supplier.warmUp(context, executor);
+        final JSONCodecFactory precomputed = future.get();
+        assertNotSame(shared, precomputed);
+        assertSame(precomputed, supplier.getPrecomputedOrShared(context));
+        assertSame(precomputed, supplier.getPrecomputed(context));
+
+        // Subsequent warm-ups complete immediately
+        final ListenableFuture<JSONCodecFactory> again = supplier.warmUp(context, executor);
+        assertTrue(again.isDone());
+        assertSame(precomputed, again.get());
+
+        final CacheStats stats = supplier.getPrecomputedFactoryStats().minus(before);
+        assertTrue(stats.hitCount() >= 2);
+        assertTrue(stats.missCount() >= 1);
+
+        final PrecomputedCodecStats codecStats = supplier.getPrecomputedCodecStats(context).orElseThrow();
+        assertTrue(codecStats.getLeafCount() > 0);
+        assertTrue(codecStats.getSimpleCodecCount() > 0);
+        assertEquals(codecStats.getSimpleCodecCount() + codecStats.getComplexCodecCount(), codecStats.getCodecCount());
+        assertFalse(codecStats.getBuildTime().isNegative());
+
+        // Codecs precomputed in parallel need to cover everything the parser needs
+        final String inputJson = loadTextFile("/complexjson/complex-json.json");
+        assertEquals(parse(context, shared, inputJson), parse(context, precomputed, inputJson));
+    }
+
+    @Test
+    public void testConcurrentWarmUp() throws Exception {
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResourceDirectory("/complexjson/yang");
+        final JSONCodecFactorySupplier supplier = JSONCodecFactorySupplier.RFC7951;
+
+        final Deque<Runnable> tasks = new ArrayDeque<>();
+        final ListenableFuture<JSONCodecFactory> first = supplier.warmUp(context, tasks::add);
+        final int submitted = tasks.size();
+        assertTrue(submitted > 0);
+
+        // The second warm-up joins the first one instead of submitting its own tasks
+        final ListenableFuture<JSONCodecFactory> second = supplier.warmUp(context, tasks::add);
+        assertEquals(submitted, tasks.size());
+        assertFalse(second.isDone());
+
+        // Cancelling one of the futures does not affect the other
+        assertTrue(second.cancel(false));
+        tasks.forEach(Runnable::run);
+        assertTrue(first.isDone());
+        assertSame(first.get(), supplier.getPrecomputed(context));
+    }
+
+    @Test
+    public void testPrecomputedSharedTypes() throws Exception {
+        // Fully-shared types, such as 'empty', are not cached, but still need to be available
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResourceDirectory("/complexjson/yang");
+        final JSONCodecFactorySupplier supplier = JSONCodecFactorySupplier.DRAFT_LHOTKA_NETMOD_YANG_JSON_02;
+        final String inputJson = loadTextFile("/complexjson/complex-json.json");
+        assertEquals(parse(context, supplier.createLazy(context), inputJson),
+            parse(context, supplier.getPrecomputed(context), inputJson));
+    }
+
+    // Anyxml values are DOMSources, which do not implement equals(), hence compare their serialized form
+    private static JsonElement parse(final EffectiveModelContext context, final JSONCodecFactory codecs,
+            final String inputJson) throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), codecs)
+            .parse(new JsonReader(new StringReader(inputJson)));
+        return new JsonParser().parse(normalizedNodesToJsonString(result.getResult(), context, SchemaPath.ROOT));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.normalizedNodesToJsonString;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow.Subscription;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class JsonDocumentSubscriberTest extends AbstractComplexJsonTest {
+    private static final int MAX_SIZE = 1024 * 1024;
+
+    private static final class TestSubscription implements Subscription {
+        boolean cancelled;
+        long requested;
+
+        @Override
+        public void request(final long count) {
+            requested += count;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    @Test
+    public void testChunkedInput() throws IOException, URISyntaxException, InterruptedException, ExecutionException {
+        final String inputJson = loadTextFile("/complexjson/complex-json.json");
+        final NormalizedNodeResult expected = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(expected), lhotkaCodecFactory)
+            .parse(new JsonReader(new StringReader(inputJson)));
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final JsonDocumentSubscriber subscriber = JsonDocumentSubscriber.create(
+            JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), lhotkaCodecFactory),
+            Runnable::run, MAX_SIZE);
+        final TestSubscription subscription = new TestSubscription();
+        subscriber.onSubscribe(subscription);
+
+        final byte[] bytes = inputJson.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < bytes.length; offset += 7) {
+            // The publisher is never asked for more than it has been allowed to deliver
+            assertTrue(subscription.requested > offset / 7);
+            subscriber.onNext(ByteBuffer.wrap(bytes, offset, Math.min(7, bytes.length - offset)));
+        }
+        final CompletableFuture<?> completion = subscriber.completion().toCompletableFuture();
+        assertFalse(completion.isDone());
+
+        subscriber.onComplete();
+        completion.get();
+        assertNotNull(result.getResult());
+
+        // Anyxml values are DOMSources, which do not implement equals(), hence compare their serialized form
+        assertEquals(toJson(expected.getResult()), toJson(result.getResult()));
+    }
+
+    @Test
+    public void testBatchedDemand() {
+        final JsonDocumentSubscriber subscriber = JsonDocumentSubscriber.create(
+            JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()),
+                lhotkaCodecFactory), Runnable::run, MAX_SIZE);
+        final TestSubscription subscription = new TestSubscription();
+        subscriber.onSubscribe(subscription);
+        assertEquals(16, subscription.requested);
+
+        // Demand is replenished once half of the batch has been delivered
+        for (int i = 0; i < 7; ++i) {
+            subscriber.onNext(ByteBuffer.wrap(new byte[1]));
+        }
+        assertEquals(16, subscription.requested);
+        subscriber.onNext(ByteBuffer.wrap(new byte[1]));
+        assertEquals(24, subscription.requested);
+        assertFalse(subscription.cancelled);
+    }
+
+    @Test
+    public void testMaxSize() {
+        final JsonDocumentSubscriber subscriber = JsonDocumentSubscriber.create(
+            JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()),
+                lhotkaCodecFactory), Runnable::run, 8);
+        final TestSubscription subscription = new TestSubscription();
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(ByteBuffer.wrap(new byte[5]));
+        subscriber.onNext(ByteBuffer.wrap(new byte[5]));
+        assertTrue(subscription.cancelled);
+
+        final ExecutionException ex = assertThrows(ExecutionException.class,
+            () -> subscriber.completion().toCompletableFuture().get());
+        assertTrue(ex.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testPublisherError() {
+        final JsonDocumentSubscriber subscriber = JsonDocumentSubscriber.create(
+            JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()),
+                lhotkaCodecFactory), Runnable::run, MAX_SIZE);
+        subscriber.onSubscribe(new TestSubscription());
+        final IOException cause = new IOException("connection reset");
+        subscriber.onError(cause);
+
+        final ExecutionException ex = assertThrows(ExecutionException.class,
+            () -> subscriber.completion().toCompletableFuture().get());
+        assertEquals(cause, ex.getCause());
+    }
+
+    @Test
+    public void testMalformedInput() {
+        final JsonDocumentSubscriber subscriber = JsonDocumentSubscriber.create(
+            JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()),
+                lhotkaCodecFactory), Runnable::run, MAX_SIZE);
+        subscriber.onSubscribe(new TestSubscription());
+        subscriber.onNext(ByteBuffer.wrap("{\"complexjson:cont1\":".getBytes(StandardCharsets.UTF_8)));
+        subscriber.onComplete();
+
+        assertThrows(ExecutionException.class, () -> subscriber.completion().toCompletableFuture().get());
+    }
+
+    private static JsonElement toJson(final NormalizedNode node) throws IOException {
+        return new JsonParser().parse(normalizedNodesToJsonString(node, schemaContext, SchemaPath.ROOT));
+    }
+}
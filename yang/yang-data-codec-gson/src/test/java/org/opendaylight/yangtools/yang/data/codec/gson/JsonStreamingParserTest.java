@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.normalizedNodesToJsonString;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+
+/**
+ * Verify that {@link JsonParserStream#createStreaming(NormalizedNodeStreamWriter, JSONCodecFactory, boolean)} produces
+ * the same results as the buffering parser.
+ */
+public class JsonStreamingParserTest extends AbstractComplexJsonTest {
+    @Test
+    public void testComplexJson() throws IOException, URISyntaxException {
+        // Contains keyed list entry with a key after other leaves and augmentation leaves interleaved with others
+        assertSameResult("/complexjson/complex-json.json");
+    }
+
+    @Test
+    public void testKeyedList() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/keyed-list-node-in-container.json");
+    }
+
+    @Test
+    public void testUnkeyedList() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/unkeyed-node-in-container.json");
+    }
+
+    @Test
+    public void testLeafList() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/leaflist-node-in-container.json");
+    }
+
+    @Test
+    public void testChoice() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/choice-node-in-container.json");
+        assertSameResult("/complexjson/choice-node-augmentation-in-container.json");
+        assertSameResult("/complexjson/multiple-choice-augmentation-in-container.json");
+    }
+
+    @Test
+    public void testCaseAugmentation() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/case-node-augmentation-in-choice-in-container.json");
+        assertSameResult("/complexjson/case-node-external-augmentation-in-choice-in-container.json");
+    }
+
+    @Test
+    public void testAnyxml() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/anyxml-node-with-simple-value-in-container.json");
+        assertSameResult("/complexjson/anyxml-node-with-composite-value-in-container.json");
+    }
+
+    @Test
+    public void testEmptyType() throws IOException, URISyntaxException {
+        assertSameResult("/complexjson/type-empty.json");
+    }
+
+    @Test
+    public void testListItemWithoutArray() throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile("/complexjson/keyed-list-restconf-behaviour.json");
+        final Inference inference = Inference.ofDataTreePath(schemaContext, CONT_1);
+
+        final NormalizedNodeResult expected = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(expected), lhotkaCodecFactory, inference)
+            .parse(new JsonReader(new StringReader(inputJson)));
+
+        final NormalizedNodeResult actual = new NormalizedNodeResult();
+        JsonParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(actual), lhotkaCodecFactory,
+            inference, false).parse(new JsonReader(new StringReader(inputJson)));
+
+        assertNotNull(actual.getResult());
+        assertEquals(expected.getResult(), actual.getResult());
+    }
+
+    @Test
+    public void testSkipNotExistingElement() throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile("/complexjson/not-existing-element.json");
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(result), lhotkaCodecFactory, true)
+            .parse(new JsonReader(new StringReader(inputJson)));
+        assertNotNull(result.getResult());
+    }
+
+    @Test
+    public void testNotExistingElement() throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile("/complexjson/not-existing-element.json");
+        final JsonParserStream parser = JsonParserStream.createStreaming(
+            ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()), lhotkaCodecFactory, false);
+        final JsonReader reader = new JsonReader(new StringReader(inputJson));
+        assertThrows(IllegalStateException.class, () -> parser.parse(reader));
+    }
+
+    private static void assertSameResult(final String resource) throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile(resource);
+        final NormalizedNode expected = parse(JsonParserStream::create, inputJson);
+        assertNotNull(expected);
+        final NormalizedNode actual = parse((writer, codecs) -> JsonParserStream.createStreaming(writer, codecs,
+            false), inputJson);
+
+        // Anyxml values are DOMSources, which do not implement equals(), hence compare their serialized form
+        assertEquals(toJson(expected), toJson(actual));
+    }
+
+    private static JsonElement toJson(final NormalizedNode node) throws IOException {
+        return new JsonParser().parse(normalizedNodesToJsonString(node, schemaContext, SchemaPath.ROOT));
+    }
+
+    @FunctionalInterface
+    private interface ParserFactory {
+        JsonParserStream create(NormalizedNodeStreamWriter writer, JSONCodecFactory codecFactory);
+    }
+
+    private static NormalizedNode parse(final ParserFactory factory, final String inputJson) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        factory.create(ImmutableNormalizedNodeStreamWriter.from(result), lhotkaCodecFactory)
+            .parse(new JsonReader(new StringReader(inputJson)));
+        return result.getResult();
+    }
+}
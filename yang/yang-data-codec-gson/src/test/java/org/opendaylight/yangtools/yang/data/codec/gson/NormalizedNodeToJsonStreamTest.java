@@ -23,11 +23,14 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
@@ -289,6 +292,24 @@ public class NormalizedNodeToJsonStreamTest extends AbstractComplexJsonTest {
         assertNotNull(cont2);
     }
 
+    @Test
+    public void outputStreamWriterTest() throws IOException {
+        for (NormalizedNode node : List.of(TestingNormalizedNodeStructuresCreator.leafListNodeInContainerMultiline(),
+                TestingNormalizedNodeStructuresCreator.keyedListNodeInContainer(),
+                TestingNormalizedNodeStructuresCreator.leafNodeViaAugmentationInContainer(),
+                TestingNormalizedNodeStructuresCreator.choiceNodeAugmentationInContainer(),
+                TestingNormalizedNodeStructuresCreator.unkeyedNodeInContainer())) {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            final NormalizedNodeStreamWriter jsonStream = JSONNormalizedNodeStreamWriter.createExclusiveWriter(
+                lhotkaCodecFactory, SchemaPath.ROOT, null, JsonWriterFactory.createJsonWriter(bos, 2));
+            try (NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(jsonStream)) {
+                nodeWriter.write(node);
+            }
+
+            assertEquals(normalizedNodeToJsonStreamTransformation(node), bos.toString(StandardCharsets.UTF_8));
+        }
+    }
+
     private static String normalizedNodeToJsonStreamTransformation(final NormalizedNode inputStructure)
             throws IOException {
         final Writer writer = new StringWriter();
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+
+public class ParallelJsonListParserTest extends AbstractComplexJsonTest {
+    private ExecutorService executor;
+    private ParallelJsonListParser parser;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+        parser = ParallelJsonListParser.create(lhotkaCodecFactory, Inference.ofDataTreePath(schemaContext, CONT_1),
+            executor, 64);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLargeList() throws IOException {
+        final StringBuilder sb = new StringBuilder("{ \"complexjson:lst11\" : [");
+        for (int i = 0; i < 1000; ++i) {
+            if (i != 0) {
+                sb.append(",\n");
+            }
+            sb.append("{\"key111\":\"k").append(i).append("\",\"lf111\":\"a \\\"[{,}]\\\"\",\"lf113\":\"x\"}");
+        }
+        final String inputJson = sb.append("] }").toString();
+
+        final MapNode result = parser.parse(new StringReader(inputJson));
+        assertEquals(1000, result.size());
+        assertEquals(parseSequential(inputJson), result);
+    }
+
+    @Test
+    public void testEmptyList() throws IOException {
+        final String inputJson = "{\"complexjson:lst11\":[]}";
+        assertEquals(parseSequential(inputJson), parser.parse(new StringReader(inputJson)));
+    }
+
+    @Test
+    public void testListItemWithoutArray() throws IOException, URISyntaxException {
+        final String inputJson = loadTextFile("/complexjson/keyed-list-restconf-behaviour.json");
+        final MapNode result = parser.parse(new StringReader(inputJson));
+        assertEquals(1, result.size());
+        assertEquals(parseSequential(inputJson), result);
+    }
+
+    @Test
+    public void testTrailingMember() {
+        final StringReader reader = new StringReader(
+            "{\"complexjson:lst11\":[{\"key111\":\"k\",\"lf111\":\"a\"}],\"complexjson:lf12\":\"x\"}");
+        assertThrows(JsonSyntaxException.class, () -> parser.parse(reader));
+    }
+
+    @Test
+    public void testDuplicateKeys() {
+        final StringBuilder sb = new StringBuilder("{\"complexjson:lst11\":[");
+        for (int i = 0; i < 100; ++i) {
+            sb.append("{\"key111\":\"k").append(i).append("\",\"lf111\":\"a\"},");
+        }
+        final StringReader reader = new StringReader(sb.append("{\"key111\":\"k5\",\"lf111\":\"a\"}]}").toString());
+        final JsonSyntaxException ex = assertThrows(JsonSyntaxException.class, () -> parser.parse(reader));
+        assertThat(ex.getMessage(), containsString("101 entries resolve to 100 distinct keys"));
+    }
+
+    @Test
+    public void testBoundedPendingChunks() throws IOException {
+        final StringBuilder sb = new StringBuilder("{\"complexjson:lst11\":[");
+        for (int i = 0; i < 500; ++i) {
+            if (i != 0) {
+                sb.append(',');
+            }
+            sb.append("{\"key111\":\"k").append(i).append("\",\"lf111\":\"a\"}");
+        }
+        final String inputJson = sb.append("]}").toString();
+
+        final ParallelJsonListParser bounded = ParallelJsonListParser.create(lhotkaCodecFactory,
+            Inference.ofDataTreePath(schemaContext, CONT_1), executor, 16, 1);
+        assertEquals(parseSequential(inputJson), bounded.parse(new StringReader(inputJson)));
+    }
+
+    private static NormalizedNode parseSequential(final String inputJson) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        JsonParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), lhotkaCodecFactory,
+            Inference.ofDataTreePath(schemaContext, CONT_1)).parse(new JsonReader(new StringReader(inputJson)));
+        return result.getResult();
+    }
+}
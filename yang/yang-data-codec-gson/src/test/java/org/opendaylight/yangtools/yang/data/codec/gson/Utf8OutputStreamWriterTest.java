@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class Utf8OutputStreamWriterTest {
+    private static final char HIGH = (char) 0xD83D;
+    private static final char LOW = (char) 0xDE00;
+    // ASCII, 2-byte, 3-byte and 4-byte (surrogate pair) sequences, including boundary code points. U+FFFF is spliced
+    // in, as a literal one would end the input of checkstyle's lexer.
+    private static final String TEXT = "ascii, áčš € 😀 𐀀 ߿ࠀ" + (char) 0xFFFF + " end";
+
+    @Test
+    public void testString() throws IOException {
+        for (int bufferSize : new int[] { 4, 5, 7, 16, Utf8OutputStreamWriter.DEFAULT_BUFFER_SIZE }) {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bos, bufferSize)) {
+                writer.write(TEXT);
+            }
+            assertArrayEquals(TEXT.getBytes(StandardCharsets.UTF_8), bos.toByteArray());
+        }
+    }
+
+    @Test
+    public void testCharArrayAndAppend() throws IOException {
+        final String padded = "<" + TEXT + ">";
+        for (int bufferSize : new int[] { 4, 5, 7, 16, Utf8OutputStreamWriter.DEFAULT_BUFFER_SIZE }) {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bos, bufferSize)) {
+                writer.write(padded.toCharArray(), 1, TEXT.length());
+                writer.append(new StringBuilder(padded), 1, TEXT.length() + 1);
+                writer.append(null);
+            }
+            assertEquals(TEXT + TEXT + "null", bos.toString(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testSingleCharacters() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bos, 4)) {
+            for (int i = 0; i < TEXT.length(); ++i) {
+                writer.write(TEXT.charAt(i));
+            }
+        }
+        assertArrayEquals(TEXT.getBytes(StandardCharsets.UTF_8), bos.toByteArray());
+    }
+
+    @Test
+    public void testSurrogatePairSplitAcrossWrites() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bos)) {
+            writer.write("a" + HIGH);
+            writer.write(new char[] { LOW, 'b' });
+        }
+        assertEquals("a😀b", bos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bos)) {
+            writer.write(new String(new char[] { LOW, 'a', HIGH, 'b', HIGH }));
+        }
+        assertEquals("?a?b?", bos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testFlush() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Utf8OutputStreamWriter writer = new Utf8OutputStreamWriter(bos);
+        writer.write("abc");
+        assertEquals(0, bos.size());
+        writer.flush();
+        assertEquals("abc", bos.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Strings;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterators;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.SystemMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UserMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveStatementInference;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+
+/**
+ * A parser for bulk XML input consisting of a container holding a single, potentially very large, keyed list, which
+ * parses the list entries concurrently. The input is the container element, as understood by {@link XmlParserStream},
+ * whose children are all entries of the same list, for example:
+ * <pre>
+ *   &lt;container xmlns="urn:example"&gt;
+ *     &lt;list&gt;&lt;key&gt;1&lt;/key&gt;...&lt;/list&gt;
+ *     &lt;list&gt;&lt;key&gt;2&lt;/key&gt;...&lt;/list&gt;
+ *     ...
+ *   &lt;/container&gt;
+ * </pre>
+ *
+ * <p>
+ * The calling thread splits the entries into chunks of configured size, each wrapped in a copy of the container
+ * element with its namespace declarations. Each chunk is then parsed by an {@link XmlParserStream} on the supplied
+ * {@link Executor} and the results are assembled into a single {@link MapNode}, preserving entry order for
+ * {@code ordered-by user} lists. The container itself is not part of the result, which is what
+ * {@code ParallelJsonListParser} produces for the equivalent JSON input. Prefixes declared outside of the container,
+ * which are referenced by QName-valued content of the entries, are resolved as they were in the original document. At
+ * most a configured number of chunks is in flight at any time: once that limit is reached, the calling thread waits
+ * for the oldest chunk to be parsed before it reads any further input.
+ *
+ * <p>
+ * Unlike the sequential parser, which silently keeps the last of the entries with the same key, this parser rejects
+ * input containing duplicate keys, as entries with the same key may end up in different chunks.
+ *
+ * <p>
+ * The {@link XmlCodecFactory} is shared by all chunks, hence it needs to be thread-safe. Instances of this class are
+ * immutable and can be reused.
+ */
+@Beta
+public final class ParallelXmlListParser {
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_MAX_PENDING_CHUNKS = 16;
+
+    private final @NonNull XmlCodecFactory codecs;
+    private final @NonNull EffectiveStatementInference parentNode;
+    private final @NonNull Executor executor;
+    private final @NonNull XmlNameTable names;
+    private final int chunkSize;
+    private final int maxPendingChunks;
+    private final boolean strictParsing;
+
+    private ParallelXmlListParser(final XmlCodecFactory codecs, final EffectiveStatementInference parentNode,
+            final Executor executor, final int chunkSize, final int maxPendingChunks, final boolean strictParsing) {
+        this.codecs = requireNonNull(codecs);
+        this.parentNode = requireNonNull(parentNode);
+        this.executor = requireNonNull(executor);
+        checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+        this.chunkSize = chunkSize;
+        checkArgument(maxPendingChunks > 0, "Invalid maximum pending chunks %s", maxPendingChunks);
+        this.maxPendingChunks = maxPendingChunks;
+        this.strictParsing = strictParsing;
+        names = XmlNameTable.forContext(parentNode.getEffectiveModelContext());
+    }
+
+    /**
+     * Create a new strict parser using {@link #DEFAULT_CHUNK_SIZE} and {@link #DEFAULT_MAX_PENDING_CHUNKS}.
+     *
+     * @param codecs thread-safe XML codec factory
+     * @param parentNode inference of the container holding the list
+     * @param executor executor on which chunks are parsed
+     * @return A new parser
+     */
+    public static @NonNull ParallelXmlListParser create(final @NonNull XmlCodecFactory codecs,
+            final @NonNull EffectiveStatementInference parentNode, final @NonNull Executor executor) {
+        return create(codecs, parentNode, executor, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Create a new strict parser using {@link #DEFAULT_MAX_PENDING_CHUNKS}.
+     *
+     * @param codecs thread-safe XML codec factory
+     * @param parentNode inference of the container holding the list
+     * @param executor executor on which chunks are parsed
+     * @param chunkSize number of list entries parsed in one go
+     * @return A new parser
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive
+     */
+    public static @NonNull ParallelXmlListParser create(final @NonNull XmlCodecFactory codecs,
+            final @NonNull EffectiveStatementInference parentNode, final @NonNull Executor executor,
+            final int chunkSize) {
+        return create(codecs, parentNode, executor, chunkSize, DEFAULT_MAX_PENDING_CHUNKS, true);
+    }
+
+    /**
+     * Create a new parser.
+     *
+     * @param codecs thread-safe XML codec factory
+     * @param parentNode inference of the container holding the list
+     * @param executor executor on which chunks are parsed
+     * @param chunkSize number of list entries parsed in one go
+     * @param maxPendingChunks maximum number of chunks submitted to the executor and not yet assembled
+     * @param strictParsing parsing mode, as understood by
+     *                      {@link XmlParserStream#create(NormalizedNodeStreamWriter, XmlCodecFactory,
+     *                      EffectiveStatementInference, boolean)}
+     * @return A new parser
+     * @throws IllegalArgumentException if {@code chunkSize} or {@code maxPendingChunks} is not positive
+     */
+    public static @NonNull ParallelXmlListParser create(final @NonNull XmlCodecFactory codecs,
+            final @NonNull EffectiveStatementInference parentNode, final @NonNull Executor executor,
+            final int chunkSize, final int maxPendingChunks, final boolean strictParsing) {
+        return new ParallelXmlListParser(codecs, parentNode, executor, chunkSize, maxPendingChunks, strictParsing);
+    }
+
+    /**
+     * Parse the list held by a container from the specified reader. The reader must be positioned at the start of the
+     * document or at the container element and is left positioned at the end of the container element. An empty
+     * container results in an empty list, provided the container's schema defines exactly one keyed list.
+     *
+     * @param reader input reader
+     * @return Parsed list
+     * @throws XMLStreamException if the input cannot be parsed, does not consist only of list entries, contains
+     *                            duplicate keys or the calling thread is interrupted
+     * @throws IllegalArgumentException if the input does not describe a container with a keyed list
+     */
+    public @NonNull MapNode parse(final XMLStreamReader reader) throws XMLStreamException {
+        final Deque<Future<NormalizedNode>> pending = new ArrayDeque<>();
+        try {
+            return split(reader, pending);
+        } finally {
+            for (Future<NormalizedNode> chunk : pending) {
+                chunk.cancel(false);
+            }
+        }
+    }
+
+    private MapNode split(final XMLStreamReader reader, final Deque<Future<NormalizedNode>> pending)
+            throws XMLStreamException {
+        if (reader.getEventType() != XMLStreamConstants.START_ELEMENT) {
+            reader.nextTag();
+        }
+        final Chunk root = new Chunk(reader);
+        final Assembler assembler = new Assembler();
+
+        String listNamespace = null;
+        String listName = null;
+        Chunk chunk = null;
+        int entries = 0;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            final String namespace = Strings.nullToEmpty(reader.getNamespaceURI());
+            final String localName = reader.getLocalName();
+            if (listName == null) {
+                listNamespace = namespace;
+                listName = localName;
+            } else if (!listName.equals(localName) || !listNamespace.equals(namespace)) {
+                throw new XMLStreamException("Element " + localName + " is not an entry of list " + listName,
+                    reader.getLocation());
+            }
+
+            if (chunk == null) {
+                chunk = root.copy();
+            }
+            chunk.copyElement(reader);
+            entries++;
+            if (chunk.count == chunkSize) {
+                submitChunk(pending, assembler, chunk);
+                chunk = null;
+            }
+        }
+
+        if (entries == 0) {
+            return emptyList();
+        }
+        if (chunk != null) {
+            submitChunk(pending, assembler, chunk);
+        }
+        while (!pending.isEmpty()) {
+            assembler.add(getChunk(pending.remove()));
+        }
+        return assembler.build(entries);
+    }
+
+    // An empty container does not tell us which list it holds, hence we need to find it in the schema
+    private MapNode emptyList() {
+        final List<? extends EffectiveStatement<?, ?>> path = parentNode.statementPath();
+        checkArgument(!path.isEmpty(), "Cannot determine list held by %s", parentNode);
+        final EffectiveStatement<?, ?> container = path.get(path.size() - 1);
+        checkArgument(container instanceof DataNodeContainer, "Cannot determine list held by %s", container);
+
+        ListSchemaNode list = null;
+        for (DataSchemaNode child : ((DataNodeContainer) container).getChildNodes()) {
+            if (child instanceof ListSchemaNode && !((ListSchemaNode) child).getKeyDefinition().isEmpty()) {
+                checkArgument(list == null, "Container %s holds multiple keyed lists", container);
+                list = (ListSchemaNode) child;
+            }
+        }
+        if (list == null) {
+            throw new IllegalArgumentException("Container " + container + " does not hold a keyed list");
+        }
+
+        final NodeIdentifier listId = NodeIdentifier.create(list.getQName());
+        return list.isUserOrdered() ? Builders.orderedMapBuilder().withNodeIdentifier(listId).build()
+            : Builders.mapBuilder().withNodeIdentifier(listId).build();
+    }
+
+    private void submitChunk(final Deque<Future<NormalizedNode>> pending, final Assembler assembler,
+            final Chunk chunk) throws XMLStreamException {
+        // Wait for the oldest chunk if there are too many in flight, so that we do not buffer unbounded input
+        while (pending.size() >= maxPendingChunks) {
+            assembler.add(getChunk(pending.remove()));
+        }
+
+        final byte[] bytes = chunk.finish();
+        final Map<String, String> inherited = chunk.inherited;
+        final FutureTask<NormalizedNode> task = new FutureTask<>(() -> {
+            final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(bytes));
+            final NormalizedNodeResult result = new NormalizedNodeResult();
+            XmlParserStream.createStreaming(ImmutableNormalizedNodeStreamWriter.from(result), codecs, parentNode,
+                strictParsing).parse(inherited.isEmpty() ? reader : new InheritingStreamReader(reader, inherited));
+            return result.getResult();
+        });
+        pending.add(task);
+        executor.execute(task);
+    }
+
+    static MapNode findList(final NormalizedNode chunk) {
+        checkArgument(chunk instanceof ContainerNode, "Input does not describe a container, but %s", chunk);
+        for (DataContainerChild child : ((ContainerNode) chunk).body()) {
+            if (child instanceof MapNode) {
+                return (MapNode) child;
+            }
+            if (child instanceof AugmentationNode) {
+                // The list is introduced by an augmentation
+                for (DataContainerChild augChild : ((AugmentationNode) child).body()) {
+                    if (augChild instanceof MapNode) {
+                        return (MapNode) augChild;
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Container " + chunk + " does not contain a keyed list");
+    }
+
+    private static NormalizedNode getChunk(final Future<NormalizedNode> chunk) throws XMLStreamException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new XMLStreamException("Interrupted while waiting for list entries", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            Throwables.throwIfInstanceOf(cause, XMLStreamException.class);
+            Throwables.throwIfUnchecked(cause);
+            throw new XMLStreamException("Failed to parse list entries", e);
+        }
+    }
+
+    /**
+     * Assembler of parsed chunks, which are added in input order.
+     */
+    private static final class Assembler {
+        private MapNode first;
+        private CollectionNodeBuilder<MapEntryNode, ? extends MapNode> builder;
+
+        void add(final NormalizedNode chunk) {
+            final MapNode list = findList(chunk);
+            if (first == null) {
+                first = list;
+                return;
+            }
+
+            if (builder == null) {
+                if (first instanceof UserMapNode) {
+                    builder = Builders.orderedMapBuilder().withNodeIdentifier(first.getIdentifier())
+                        .withValue(first.body());
+                } else {
+                    builder = Builders.mapBuilder((SystemMapNode) first);
+                }
+            }
+            for (MapEntryNode entry : list.body()) {
+                builder.withChild(entry);
+            }
+        }
+
+        MapNode build(final int entries) throws XMLStreamException {
+            final MapNode list = builder == null ? first : builder.build();
+
+            // Entries with the same key replace each other, hence any duplicates show up as missing entries
+            final int size = list.size();
+            if (size != entries) {
+                throw new XMLStreamException(String.format("Duplicate keys of list \"%s\" in XML input: %s entries "
+                    + "resolve to %s distinct keys", list.getIdentifier().getNodeType(), entries, size));
+            }
+            return list;
+        }
+    }
+
+    /**
+     * A reader of a single chunk, which resolves prefixes not declared in the chunk to the bindings inherited from
+     * the original document.
+     */
+    private static final class InheritingStreamReader extends StreamReaderDelegate {
+        private final Map<String, String> inherited;
+
+        InheritingStreamReader(final XMLStreamReader reader, final Map<String, String> inherited) {
+            super(reader);
+            this.inherited = requireNonNull(inherited);
+        }
+
+        @Override
+        public String getNamespaceURI(final String prefix) {
+            return inherit(prefix, super.getNamespaceURI(prefix));
+        }
+
+        @Override
+        public NamespaceContext getNamespaceContext() {
+            final NamespaceContext context = super.getNamespaceContext();
+            return new NamespaceContext() {
+                @Override
+                public String getNamespaceURI(final String prefix) {
+                    return inherit(prefix, context.getNamespaceURI(prefix));
+                }
+
+                @Override
+                public String getPrefix(final String namespaceURI) {
+                    final String prefix = context.getPrefix(namespaceURI);
+                    if (prefix != null) {
+                        return prefix;
+                    }
+                    for (Entry<String, String> entry : inherited.entrySet()) {
+                        if (entry.getValue().equals(namespaceURI)
+                                && Strings.isNullOrEmpty(context.getNamespaceURI(entry.getKey()))) {
+                            return entry.getKey();
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public Iterator<String> getPrefixes(final String namespaceURI) {
+                    final String prefix = getPrefix(namespaceURI);
+                    return prefix != null ? Iterators.singletonIterator(prefix) : Collections.emptyIterator();
+                }
+            };
+        }
+
+        private String inherit(final String prefix, final String namespaceURI) {
+            if (Strings.isNullOrEmpty(namespaceURI)) {
+                final String inheritedURI = inherited.get(prefix);
+                if (inheritedURI != null) {
+                    return inheritedURI;
+                }
+            }
+            return namespaceURI;
+        }
+    }
+
+    /**
+     * A chunk of input being assembled, consisting of a copy of the container element and some of its children.
+     */
+    private final class Chunk {
+        private final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        private final Utf8XMLStreamWriter writer = new Utf8XMLStreamWriter(bos, names);
+        private final String prefix;
+        private final String localName;
+        private final String namespace;
+        private final String[] nsPrefixes;
+        private final String[] nsUris;
+        private final String[] attributes;
+
+        // Bindings of prefixes declared outside of the container, which may be referenced by QName-valued content
+        final Map<String, String> inherited;
+        int count;
+
+        // Record the container element the reader is positioned at
+        Chunk(final XMLStreamReader reader) {
+            prefix = Strings.nullToEmpty(reader.getPrefix());
+            localName = reader.getLocalName();
+            namespace = Strings.nullToEmpty(reader.getNamespaceURI());
+
+            final int nsCount = reader.getNamespaceCount();
+            nsPrefixes = new String[nsCount];
+            nsUris = new String[nsCount];
+            for (int i = 0; i < nsCount; ++i) {
+                nsPrefixes[i] = reader.getNamespacePrefix(i);
+                nsUris[i] = reader.getNamespaceURI(i);
+            }
+
+            final int attrCount = reader.getAttributeCount();
+            attributes = new String[attrCount * 4];
+            for (int i = 0; i < attrCount; ++i) {
+                attributes[i * 4] = reader.getAttributePrefix(i);
+                attributes[i * 4 + 1] = reader.getAttributeNamespace(i);
+                attributes[i * 4 + 2] = reader.getAttributeLocalName(i);
+                attributes[i * 4 + 3] = reader.getAttributeValue(i);
+            }
+
+            inherited = new HashMap<>();
+            for (int i = 0; i < attrCount; ++i) {
+                inheritPrefixes(reader, attributes[i * 4 + 3]);
+            }
+        }
+
+        private Chunk(final Chunk template) throws XMLStreamException {
+            prefix = template.prefix;
+            localName = template.localName;
+            namespace = template.namespace;
+            nsPrefixes = template.nsPrefixes;
+            nsUris = template.nsUris;
+            attributes = template.attributes;
+            inherited = new HashMap<>(template.inherited);
+
+            writer.writeStartElement(prefix, localName, namespace);
+            for (int i = 0; i < nsPrefixes.length; ++i) {
+                writer.writeNamespace(nsPrefixes[i], nsUris[i]);
+            }
+            for (int i = 0; i < attributes.length; i += 4) {
+                writer.writeAttribute(attributes[i], attributes[i + 1], attributes[i + 2], attributes[i + 3]);
+            }
+        }
+
+        Chunk copy() throws XMLStreamException {
+            return new Chunk(this);
+        }
+
+        // Copy the element the reader is positioned at, leaving the reader at its end
+        void copyElement(final XMLStreamReader reader) throws XMLStreamException {
+            int depth = 0;
+            while (true) {
+                switch (reader.getEventType()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        copyStartElement(reader);
+                        depth++;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        writer.writeEndElement();
+                        if (--depth == 0) {
+                            count++;
+                            return;
+                        }
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.SPACE:
+                        final char[] text = reader.getTextCharacters();
+                        final int start = reader.getTextStart();
+                        final int length = reader.getTextLength();
+                        inheritPrefixes(reader, CharBuffer.wrap(text, start, length));
+                        writer.writeCharacters(text, start, length);
+                        break;
+                    case XMLStreamConstants.CDATA:
+                        final String data = reader.getText();
+                        inheritPrefixes(reader, data);
+                        writer.writeCData(data);
+                        break;
+                    case XMLStreamConstants.ENTITY_REFERENCE:
+                        writer.writeEntityRef(reader.getLocalName());
+                        break;
+                    default:
+                        // Comments and processing instructions are not relevant
+                        break;
+                }
+                reader.next();
+            }
+        }
+
+        byte[] finish() throws XMLStreamException {
+            writer.writeEndDocument();
+            writer.flush();
+            return bos.toByteArray();
+        }
+
+        private void copyStartElement(final XMLStreamReader reader) throws XMLStreamException {
+            writer.writeStartElement(Strings.nullToEmpty(reader.getPrefix()), reader.getLocalName(),
+                Strings.nullToEmpty(reader.getNamespaceURI()));
+            for (int i = 0, nsCount = reader.getNamespaceCount(); i < nsCount; ++i) {
+                writer.writeNamespace(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+            }
+            for (int i = 0, attrCount = reader.getAttributeCount(); i < attrCount; ++i) {
+                final String value = reader.getAttributeValue(i);
+                inheritPrefixes(reader, value);
+                writer.writeAttribute(reader.getAttributePrefix(i), reader.getAttributeNamespace(i),
+                    reader.getAttributeLocalName(i), value);
+            }
+        }
+
+        // Record bindings of anything looking like a prefix in text, which is not declared in this chunk. Since all
+        // declarations inside the container are copied, the reader resolves such prefixes to bindings declared by
+        // the container's ancestors, hence they are the same throughout the container.
+        private void inheritPrefixes(final XMLStreamReader reader, final CharSequence text) {
+            final int length = text.length();
+            for (int i = 0; i < length; ++i) {
+                if (text.charAt(i) == ':') {
+                    int begin = i;
+                    while (begin > 0 && isPrefixChar(text.charAt(begin - 1))) {
+                        begin--;
+                    }
+                    if (begin != i) {
+                        inheritPrefix(reader, text.subSequence(begin, i).toString());
+                    }
+                }
+            }
+        }
+
+        private void inheritPrefix(final XMLStreamReader reader, final String candidate) {
+            if (!inherited.containsKey(candidate) && writer.getNamespaceURI(candidate).isEmpty()) {
+                final String uri = reader.getNamespaceURI(candidate);
+                if (!Strings.isNullOrEmpty(uri)) {
+                    inherited.put(candidate, uri);
+                }
+            }
+        }
+    }
+
+    static boolean isPrefixChar(final char ch) {
+        return Character.isLetterOrDigit(ch) || ch == '_' || ch == '-' || ch == '.';
+    }
+}
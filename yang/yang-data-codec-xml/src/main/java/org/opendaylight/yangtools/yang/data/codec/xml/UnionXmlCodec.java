@@ -16,14 +16,16 @@ import java.util.List;
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
+import org.opendaylight.yangtools.yang.data.impl.codec.UnionMemberDispatcher;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 abstract class UnionXmlCodec<T> implements XmlCodec<T> {
     private static final class Diverse extends UnionXmlCodec<Object> {
-        Diverse(final List<XmlCodec<?>> codecs) {
-            super(codecs);
+        Diverse(final UnionMemberDispatcher dispatcher, final List<XmlCodec<?>> codecs) {
+            super(dispatcher, codecs);
         }
 
         @Override
@@ -35,8 +37,9 @@ abstract class UnionXmlCodec<T> implements XmlCodec<T> {
     private static final class SingleType<T> extends UnionXmlCodec<T> {
         private final Class<T> dataClass;
 
-        SingleType(final Class<T> dataClass, final List<XmlCodec<?>> codecs) {
-            super(codecs);
+        SingleType(final Class<T> dataClass, final UnionMemberDispatcher dispatcher,
+                final List<XmlCodec<?>> codecs) {
+            super(dispatcher, codecs);
             this.dataClass = requireNonNull(dataClass);
         }
 
@@ -48,33 +51,48 @@ abstract class UnionXmlCodec<T> implements XmlCodec<T> {
 
     private static final Logger LOG = LoggerFactory.getLogger(UnionXmlCodec.class);
 
+    private final UnionMemberDispatcher dispatcher;
     private final ImmutableList<XmlCodec<?>> codecs;
 
-    UnionXmlCodec(final List<XmlCodec<?>> codecs) {
+    UnionXmlCodec(final UnionMemberDispatcher dispatcher, final List<XmlCodec<?>> codecs) {
+        this.dispatcher = requireNonNull(dispatcher);
         this.codecs = ImmutableList.copyOf(codecs);
+        verify(dispatcher.size() == this.codecs.size(), "Mismatched dispatcher %s and codecs %s", dispatcher, codecs);
     }
 
-    static UnionXmlCodec<?> create(final UnionTypeDefinition type, final List<XmlCodec<?>> codecs) {
+    static UnionXmlCodec<?> create(final UnionTypeDefinition type, final List<XmlCodec<?>> codecs,
+            final PatternEngine patternEngine) {
         final Iterator<XmlCodec<?>> it = codecs.iterator();
         verify(it.hasNext(), "Union %s has no subtypes", type);
+        final UnionMemberDispatcher dispatcher = UnionMemberDispatcher.of(type, patternEngine);
 
         Class<?> dataClass = it.next().getDataType();
         while (it.hasNext()) {
             final Class<?> next = it.next().getDataType();
             if (!dataClass.equals(next)) {
                 LOG.debug("Type {} has diverse data classes: {} and {}", type, dataClass, next);
-                return new Diverse(codecs);
+                return new Diverse(dispatcher, codecs);
             }
         }
 
         LOG.debug("Type {} has single data class {}", type, dataClass);
-        return new SingleType<>(dataClass, codecs);
+        return new SingleType<>(dataClass, dispatcher, codecs);
     }
 
     @Override
     @SuppressWarnings("checkstyle:illegalCatch")
     public final T parseValue(final NamespaceContext ctx, final String str) {
-        for (XmlCodec<?> codec : codecs) {
+        for (int i = 0; i < codecs.size(); ++i) {
+            final XmlCodec<?> codec = codecs.get(i);
+            if (!dispatcher.mayAccept(i, str)) {
+                LOG.trace("Codec {} cannot accept input '{}', skipping it", codec, str);
+                continue;
+            }
+            if (dispatcher.isVerbatim(i)) {
+                // The dispatcher has performed all the checks, there is nothing left to parse
+                return getDataType().cast(str);
+            }
+
             final Object ret;
             try {
                 ret = codec.parseValue(ctx, str);
@@ -0,0 +1,695 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * An {@link XMLStreamWriter} which writes UTF-8 encoded XML directly into a byte buffer, which is handed to an
+ * {@link OutputStream} whenever it fills up. Element names and default namespace declarations known to the associated
+ * {@link XmlNameTable} are written in their pre-encoded form, everything else is encoded as it is written.
+ *
+ * <p>
+ * This writer is namespace-repairing in that it emits a namespace declaration for any element or attribute whose
+ * namespace is not bound in the current scope, while ignoring explicit declarations which would bind a prefix to
+ * the namespace it is already bound to by the current element. Elements without any content are written as empty
+ * elements. As mandated by {@link XMLStreamWriter#close()}, closing this writer does not close the underlying stream.
+ * This class is NOT thread-safe.
+ *
+ * <p>
+ * Carriage returns are written as character references, so that they are not normalized away by the reader. The same
+ * goes for tabs and newlines in attribute values. Characters which are not allowed in XML 1.0, such as control
+ * characters other than whitespace, are rejected with an {@link XMLStreamException}.
+ *
+ * <p>
+ * The hot path is {@link StreamWriterFacade} writing schema-defined nodes: elements in the default namespace, their
+ * default namespace declarations and text, which are served from the name table. The rest of the
+ * {@link XMLStreamWriter} contract is implemented as well, as the same instance receives anyxml and anydata content
+ * forwarded event by event, which may use prefixes, comments, processing instructions and CDATA sections, and
+ * {@link ParallelXmlListParser} copies arbitrary list entries through it. Prefixes used by values, such as
+ * identityrefs and instance identifiers, are still assigned by {@link RandomPrefix}.
+ */
+final class Utf8XMLStreamWriter implements XMLStreamWriter, NamespaceContext {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    // Worst-case size of a single written character, which is "&quot;"
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int INITIAL_DEPTH = 16;
+
+    private static final byte[] AMP = ascii("&amp;");
+    private static final byte[] LT = ascii("&lt;");
+    private static final byte[] GT = ascii("&gt;");
+    private static final byte[] CR = ascii("&#xD;");
+    // Marker for characters which cannot appear in an XML 1.0 document, not even as character references
+    private static final byte[] ILLEGAL = new byte[0];
+
+    private static final byte[][] NO_ESCAPES = new byte[128][];
+    private static final byte[][] TEXT_ESCAPES = new byte[128][];
+    private static final byte[][] ATTRIBUTE_ESCAPES = new byte[128][];
+
+    static {
+        for (char ch = 0; ch < 0x20; ++ch) {
+            if (ch != '\t' && ch != '\n' && ch != '\r') {
+                NO_ESCAPES[ch] = ILLEGAL;
+                TEXT_ESCAPES[ch] = ILLEGAL;
+                ATTRIBUTE_ESCAPES[ch] = ILLEGAL;
+            }
+        }
+
+        TEXT_ESCAPES['&'] = AMP;
+        TEXT_ESCAPES['<'] = LT;
+        TEXT_ESCAPES['>'] = GT;
+        // Escape carriage return, as the reader would normalize it to a newline
+        TEXT_ESCAPES['\r'] = CR;
+
+        ATTRIBUTE_ESCAPES['&'] = AMP;
+        ATTRIBUTE_ESCAPES['<'] = LT;
+        ATTRIBUTE_ESCAPES['>'] = GT;
+        ATTRIBUTE_ESCAPES['"'] = ascii("&quot;");
+        // Escape whitespace which would otherwise be normalized by the reader
+        ATTRIBUTE_ESCAPES['\t'] = ascii("&#x9;");
+        ATTRIBUTE_ESCAPES['\n'] = ascii("&#xA;");
+        ATTRIBUTE_ESCAPES['\r'] = CR;
+    }
+
+    private final @NonNull OutputStream out;
+    private final @NonNull XmlNameTable names;
+    private final byte[] buf;
+    private int pos;
+
+    // Encoded "prefix:localName" element names. Unlike local names these depend on prefixes bound in this document,
+    // hence they cannot be part of the shared XmlNameTable.
+    private final Map<String, Map<String, byte[]>> prefixedNames = new HashMap<>();
+
+    // Names of open elements as they appear in end tags and the binding count at the time each of them was started
+    private byte[][] elements = new byte[INITIAL_DEPTH][];
+    private int[] scopes = new int[INITIAL_DEPTH];
+    private int depth;
+
+    // In-scope namespace bindings, innermost last. Default namespace is bound to an empty prefix.
+    private String[] bindingPrefixes = new String[INITIAL_DEPTH];
+    private String[] bindingUris = new String[INITIAL_DEPTH];
+    private int bindingCount;
+
+    private NamespaceContext rootContext;
+    private boolean startTagOpen;
+    private boolean emptyElement;
+    private int prefixCounter;
+
+    Utf8XMLStreamWriter(final OutputStream out, final XmlNameTable names) {
+        this.out = requireNonNull(out);
+        this.names = requireNonNull(names);
+        buf = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    static byte @NonNull [] encodeName(final String name) {
+        return name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte @NonNull [] encodeDefaultNamespace(final String namespace) {
+        final StringBuilder sb = new StringBuilder(namespace.length() + 9).append(" xmlns=\"");
+        for (int i = 0; i < namespace.length(); ++i) {
+            final char ch = namespace.charAt(i);
+            final byte[] escape = ch < 0x80 ? ATTRIBUTE_ESCAPES[ch] : null;
+            if (escape != null) {
+                sb.append(new String(escape, StandardCharsets.US_ASCII));
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.append('"').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void writeStartElement(final String localName) throws XMLStreamException {
+        openElement(nameBytes(localName), false);
+    }
+
+    @Override
+    public void writeStartElement(final String namespaceURI, final String localName) throws XMLStreamException {
+        writeStartElement(elementPrefix(namespaceURI), localName, namespaceURI);
+    }
+
+    @Override
+    public void writeStartElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+        startElement(prefix, localName, namespaceURI, false);
+    }
+
+    @Override
+    public void writeEmptyElement(final String localName) throws XMLStreamException {
+        openElement(nameBytes(localName), true);
+    }
+
+    @Override
+    public void writeEmptyElement(final String namespaceURI, final String localName) throws XMLStreamException {
+        writeEmptyElement(elementPrefix(namespaceURI), localName, namespaceURI);
+    }
+
+    @Override
+    public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI)
+            throws XMLStreamException {
+        startElement(prefix, localName, namespaceURI, true);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        if (startTagOpen && !emptyElement) {
+            // No content: turn the element into an empty element
+            startTagOpen = false;
+            writeByte('/');
+            writeByte('>');
+            popElement();
+            return;
+        }
+
+        closeStartTag();
+        if (depth == 0) {
+            throw new XMLStreamException("No open element to end");
+        }
+        writeByte('<');
+        writeByte('/');
+        writeBytes(elements[depth - 1]);
+        writeByte('>');
+        popElement();
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        closeStartTag();
+        while (depth != 0) {
+            writeEndElement();
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        flush();
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        flushBuffer();
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new XMLStreamException("Failed to flush output", e);
+        }
+    }
+
+    @Override
+    public void writeAttribute(final String localName, final String value) throws XMLStreamException {
+        checkStartTag();
+        writeByte(' ');
+        writeEncoded(localName, NO_ESCAPES);
+        writeAttributeValue(value);
+    }
+
+    @Override
+    public void writeAttribute(final String prefix, final String namespaceURI, final String localName,
+            final String value) throws XMLStreamException {
+        checkStartTag();
+        if (namespaceURI == null || namespaceURI.isEmpty()) {
+            writeAttribute(localName, value);
+            return;
+        }
+
+        final String attrPrefix;
+        if (prefix == null || prefix.isEmpty()) {
+            attrPrefix = attributePrefix(namespaceURI);
+        } else {
+            if (!namespaceURI.equals(getNamespaceURI(prefix))) {
+                declareNamespace(prefix, namespaceURI);
+            }
+            attrPrefix = prefix;
+        }
+
+        writeByte(' ');
+        writeEncoded(attrPrefix, NO_ESCAPES);
+        writeByte(':');
+        writeEncoded(localName, NO_ESCAPES);
+        writeAttributeValue(value);
+    }
+
+    @Override
+    public void writeAttribute(final String namespaceURI, final String localName, final String value)
+            throws XMLStreamException {
+        writeAttribute(null, namespaceURI, localName, value);
+    }
+
+    @Override
+    public void writeNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+        if (prefix == null || prefix.isEmpty() || XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+            writeDefaultNamespace(namespaceURI);
+        } else {
+            checkStartTag();
+            declareNamespace(prefix, nullToEmpty(namespaceURI));
+        }
+    }
+
+    @Override
+    public void writeDefaultNamespace(final String namespaceURI) throws XMLStreamException {
+        checkStartTag();
+        declareNamespace(XMLConstants.DEFAULT_NS_PREFIX, nullToEmpty(namespaceURI));
+    }
+
+    @Override
+    public void writeComment(final String data) throws XMLStreamException {
+        closeStartTag();
+        writeEncoded("<!--", NO_ESCAPES);
+        writeEncoded(data, NO_ESCAPES);
+        writeEncoded("-->", NO_ESCAPES);
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target) throws XMLStreamException {
+        writeProcessingInstruction(target, null);
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target, final String data) throws XMLStreamException {
+        closeStartTag();
+        writeByte('<');
+        writeByte('?');
+        writeEncoded(target, NO_ESCAPES);
+        if (data != null) {
+            writeByte(' ');
+            writeEncoded(data, NO_ESCAPES);
+        }
+        writeByte('?');
+        writeByte('>');
+    }
+
+    @Override
+    public void writeCData(final String data) throws XMLStreamException {
+        closeStartTag();
+        writeEncoded("<![CDATA[", NO_ESCAPES);
+        // A CDATA section cannot contain its terminator, hence we split it across two sections
+        writeEncoded(data.replace("]]>", "]]]]><![CDATA[>"), NO_ESCAPES);
+        writeEncoded("]]>", NO_ESCAPES);
+    }
+
+    @Override
+    public void writeDTD(final String dtd) throws XMLStreamException {
+        closeStartTag();
+        writeEncoded(dtd, NO_ESCAPES);
+    }
+
+    @Override
+    public void writeEntityRef(final String name) throws XMLStreamException {
+        closeStartTag();
+        writeByte('&');
+        writeEncoded(name, NO_ESCAPES);
+        writeByte(';');
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        writeStartDocument("1.0");
+    }
+
+    @Override
+    public void writeStartDocument(final String version) throws XMLStreamException {
+        writeStartDocument(StandardCharsets.UTF_8.name(), version);
+    }
+
+    @Override
+    public void writeStartDocument(final String encoding, final String version) throws XMLStreamException {
+        if (!StandardCharsets.UTF_8.name().equalsIgnoreCase(encoding)) {
+            throw new XMLStreamException("Unsupported encoding " + encoding);
+        }
+        writeEncoded("<?xml version=\"", NO_ESCAPES);
+        writeEncoded(version, NO_ESCAPES);
+        writeEncoded("\" encoding=\"UTF-8\"?>", NO_ESCAPES);
+    }
+
+    @Override
+    public void writeCharacters(final String text) throws XMLStreamException {
+        closeStartTag();
+        writeEncoded(text, TEXT_ESCAPES);
+    }
+
+    @Override
+    public void writeCharacters(final char[] text, final int start, final int len) throws XMLStreamException {
+        closeStartTag();
+        writeEncoded(CharBuffer.wrap(text, start, len), TEXT_ESCAPES);
+    }
+
+    @Override
+    public String getPrefix(final String uri) {
+        final String namespace = nullToEmpty(uri);
+        for (int i = bindingCount - 1; i >= 0; --i) {
+            final String prefix = bindingPrefixes[i];
+            if (namespace.equals(bindingUris[i]) && isInnermostBinding(prefix, i)) {
+                return prefix;
+            }
+        }
+
+        switch (namespace) {
+            case XMLConstants.XML_NS_URI:
+                return XMLConstants.XML_NS_PREFIX;
+            case XMLConstants.XMLNS_ATTRIBUTE_NS_URI:
+                return XMLConstants.XMLNS_ATTRIBUTE;
+            default:
+                if (rootContext != null) {
+                    final String prefix = rootContext.getPrefix(namespace);
+                    if (prefix != null && namespace.equals(getNamespaceURI(prefix))) {
+                        return prefix;
+                    }
+                }
+                return namespace.isEmpty() && getNamespaceURI(XMLConstants.DEFAULT_NS_PREFIX).isEmpty()
+                    ? XMLConstants.DEFAULT_NS_PREFIX : null;
+        }
+    }
+
+    @Override
+    public String getNamespaceURI(final String prefix) {
+        requireNonNull(prefix);
+        for (int i = bindingCount - 1; i >= 0; --i) {
+            if (prefix.equals(bindingPrefixes[i])) {
+                return bindingUris[i];
+            }
+        }
+
+        switch (prefix) {
+            case XMLConstants.XML_NS_PREFIX:
+                return XMLConstants.XML_NS_URI;
+            case XMLConstants.XMLNS_ATTRIBUTE:
+                return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+            default:
+                if (rootContext != null) {
+                    final String uri = rootContext.getNamespaceURI(prefix);
+                    if (uri != null) {
+                        return uri;
+                    }
+                }
+                return XMLConstants.NULL_NS_URI;
+        }
+    }
+
+    @Override
+    public Iterator<String> getPrefixes(final String namespaceURI) {
+        final String namespace = nullToEmpty(namespaceURI);
+        final List<String> ret = new ArrayList<>();
+        for (int i = bindingCount - 1; i >= 0; --i) {
+            final String prefix = bindingPrefixes[i];
+            if (namespace.equals(bindingUris[i]) && isInnermostBinding(prefix, i)) {
+                ret.add(prefix);
+            }
+        }
+        return ret.iterator();
+    }
+
+    @Override
+    public void setPrefix(final String prefix, final String uri) {
+        bind(requireNonNull(prefix), nullToEmpty(uri));
+    }
+
+    @Override
+    public void setDefaultNamespace(final String uri) {
+        bind(XMLConstants.DEFAULT_NS_PREFIX, nullToEmpty(uri));
+    }
+
+    @Override
+    public void setNamespaceContext(final NamespaceContext context) throws XMLStreamException {
+        if (depth != 0) {
+            throw new XMLStreamException("Namespace context can only be set before the first element");
+        }
+        rootContext = context;
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return this;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+
+    private void startElement(final String prefix, final String localName, final String namespaceURI,
+            final boolean empty) throws XMLStreamException {
+        final String namespace = nullToEmpty(namespaceURI);
+        final String elementPrefix = nullToEmpty(prefix);
+        openElement(elementPrefix.isEmpty() ? nameBytes(localName) : prefixedNameBytes(elementPrefix, localName),
+            empty);
+        if (!namespace.equals(getNamespaceURI(elementPrefix))) {
+            declareNamespace(elementPrefix, namespace);
+        }
+    }
+
+    private void openElement(final byte[] name, final boolean empty) throws XMLStreamException {
+        closeStartTag();
+        if (depth == elements.length) {
+            elements = Arrays.copyOf(elements, depth * 2);
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        elements[depth] = name;
+        scopes[depth] = bindingCount;
+        depth++;
+
+        writeByte('<');
+        writeBytes(name);
+        startTagOpen = true;
+        emptyElement = empty;
+    }
+
+    private void closeStartTag() throws XMLStreamException {
+        if (startTagOpen) {
+            startTagOpen = false;
+            if (emptyElement) {
+                writeByte('/');
+                writeByte('>');
+                popElement();
+            } else {
+                writeByte('>');
+            }
+        }
+    }
+
+    private void popElement() {
+        depth--;
+        elements[depth] = null;
+        final int scope = scopes[depth];
+        Arrays.fill(bindingPrefixes, scope, bindingCount, null);
+        Arrays.fill(bindingUris, scope, bindingCount, null);
+        bindingCount = scope;
+    }
+
+    private void checkStartTag() throws XMLStreamException {
+        if (!startTagOpen) {
+            throw new XMLStreamException("Attributes and namespaces can only be written in a start tag");
+        }
+    }
+
+    private String elementPrefix(final String namespaceURI) {
+        final String prefix = getPrefix(nullToEmpty(namespaceURI));
+        // Unbound namespaces will be declared as the default namespace
+        return prefix != null ? prefix : XMLConstants.DEFAULT_NS_PREFIX;
+    }
+
+    private String attributePrefix(final String namespaceURI) throws XMLStreamException {
+        // Unprefixed attributes are not in the default namespace, hence we need a non-empty prefix
+        for (int i = bindingCount - 1; i >= 0; --i) {
+            final String prefix = bindingPrefixes[i];
+            if (!prefix.isEmpty() && namespaceURI.equals(bindingUris[i]) && isInnermostBinding(prefix, i)) {
+                return prefix;
+            }
+        }
+
+        final String existing = getPrefix(namespaceURI);
+        if (existing != null && !existing.isEmpty()) {
+            return existing;
+        }
+
+        String prefix;
+        do {
+            prefix = "ns" + prefixCounter++;
+        } while (!getNamespaceURI(prefix).isEmpty());
+        declareNamespace(prefix, namespaceURI);
+        return prefix;
+    }
+
+    private void declareNamespace(final String prefix, final String namespaceURI) throws XMLStreamException {
+        for (int i = scopes[depth - 1]; i < bindingCount; ++i) {
+            if (prefix.equals(bindingPrefixes[i])) {
+                if (namespaceURI.equals(bindingUris[i])) {
+                    // Already declared by this element
+                    return;
+                }
+                throw new XMLStreamException("Prefix '" + prefix + "' is already bound to " + bindingUris[i]);
+            }
+        }
+
+        bind(prefix, namespaceURI);
+        if (prefix.isEmpty()) {
+            final byte[] declaration = names.defaultNamespace(namespaceURI);
+            if (declaration != null) {
+                writeBytes(declaration);
+            } else {
+                writeEncoded(" xmlns", NO_ESCAPES);
+                writeAttributeValue(namespaceURI);
+            }
+        } else {
+            writeEncoded(" xmlns:", NO_ESCAPES);
+            writeEncoded(prefix, NO_ESCAPES);
+            writeAttributeValue(namespaceURI);
+        }
+    }
+
+    private void bind(final String prefix, final String namespaceURI) {
+        if (bindingCount == bindingPrefixes.length) {
+            bindingPrefixes = Arrays.copyOf(bindingPrefixes, bindingCount * 2);
+            bindingUris = Arrays.copyOf(bindingUris, bindingCount * 2);
+        }
+        bindingPrefixes[bindingCount] = prefix;
+        bindingUris[bindingCount] = namespaceURI;
+        bindingCount++;
+    }
+
+    private boolean isInnermostBinding(final String prefix, final int index) {
+        for (int i = index + 1; i < bindingCount; ++i) {
+            if (prefix.equals(bindingPrefixes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] nameBytes(final String localName) {
+        final byte[] known = names.name(localName);
+        return known != null ? known : encodeName(localName);
+    }
+
+    private byte[] prefixedNameBytes(final String prefix, final String localName) {
+        Map<String, byte[]> byLocalName = prefixedNames.get(prefix);
+        if (byLocalName == null) {
+            byLocalName = new HashMap<>();
+            prefixedNames.put(prefix, byLocalName);
+        }
+        byte[] ret = byLocalName.get(localName);
+        if (ret == null) {
+            ret = encodeName(prefix + ':' + localName);
+            byLocalName.put(localName, ret);
+        }
+        return ret;
+    }
+
+    private void writeAttributeValue(final String value) throws XMLStreamException {
+        writeByte('=');
+        writeByte('"');
+        writeEncoded(value, ATTRIBUTE_ESCAPES);
+        writeByte('"');
+    }
+
+    private void writeEncoded(final CharSequence str, final byte[][] escapes) throws XMLStreamException {
+        final int len = str.length();
+        for (int i = 0; i < len; ++i) {
+            if (buf.length - pos < MAX_CHAR_BYTES) {
+                flushBuffer();
+            }
+
+            final char ch = str.charAt(i);
+            if (ch < 0x80) {
+                final byte[] escape = escapes[ch];
+                if (escape == null) {
+                    buf[pos++] = (byte) ch;
+                } else {
+                    if (escape == ILLEGAL) {
+                        throw illegalCharacter(ch);
+                    }
+                    System.arraycopy(escape, 0, buf, pos, escape.length);
+                    pos += escape.length;
+                }
+            } else if (ch < 0x800) {
+                buf[pos++] = (byte) (0xC0 | ch >> 6);
+                buf[pos++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isSurrogate(ch)) {
+                if (Character.isHighSurrogate(ch) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(ch, str.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | codePoint >> 18);
+                    buf[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buf[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buf[pos++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    // Unpaired surrogate, cannot be encoded
+                    buf[pos++] = '?';
+                }
+            } else {
+                if (ch >= 0xFFFE) {
+                    throw illegalCharacter(ch);
+                }
+                buf[pos++] = (byte) (0xE0 | ch >> 12);
+                buf[pos++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                buf[pos++] = (byte) (0x80 | ch & 0x3F);
+            }
+        }
+    }
+
+    private void writeByte(final char ch) throws XMLStreamException {
+        if (pos == buf.length) {
+            flushBuffer();
+        }
+        buf[pos++] = (byte) ch;
+    }
+
+    private void writeBytes(final byte[] bytes) throws XMLStreamException {
+        if (bytes.length > buf.length - pos) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                try {
+                    out.write(bytes);
+                } catch (IOException e) {
+                    throw new XMLStreamException("Failed to write output", e);
+                }
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void flushBuffer() throws XMLStreamException {
+        if (pos != 0) {
+            try {
+                out.write(buf, 0, pos);
+            } catch (IOException e) {
+                throw new XMLStreamException("Failed to write output", e);
+            }
+            pos = 0;
+        }
+    }
+
+    private static XMLStreamException illegalCharacter(final char ch) {
+        return new XMLStreamException(String.format("Character 0x%04X is not allowed in XML", (int) ch));
+    }
+
+    private static String nullToEmpty(final String str) {
+        return str != null ? str : "";
+    }
+
+    private static byte[] ascii(final String str) {
+        return str.getBytes(StandardCharsets.US_ASCII);
+    }
+}
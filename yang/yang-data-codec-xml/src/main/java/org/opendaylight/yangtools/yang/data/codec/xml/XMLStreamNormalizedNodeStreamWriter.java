@@ -9,10 +9,12 @@ package org.opendaylight.yangtools.yang.data.codec.xml;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.ClassToInstanceMap;
 import com.google.common.collect.ImmutableClassToInstanceMap;
 import com.google.common.collect.ImmutableMap;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -88,6 +90,38 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
             NormalizedNodeStreamWriterStack.of(inference));
     }
 
+    /**
+     * Create a new writer with the specified context as its root, which writes UTF-8 encoded XML directly to an
+     * {@link OutputStream}, without going through a {@link javax.xml.stream.XMLOutputFactory}-provided
+     * {@link XMLStreamWriter}. Element names and default namespace declarations are taken from tables precomputed
+     * once for each {@link EffectiveModelContext} and are written as pre-encoded bytes. Closing the returned writer
+     * flushes, but does not close, the stream.
+     *
+     * @param stream Output {@link OutputStream}
+     * @param context Associated {@link EffectiveModelContext}.
+     * @return A new {@link NormalizedNodeStreamWriter}
+     */
+    @Beta
+    public static @NonNull NormalizedNodeStreamWriter create(final OutputStream stream,
+            final EffectiveModelContext context) {
+        return create(new Utf8XMLStreamWriter(stream, XmlNameTable.forContext(context)), context);
+    }
+
+    /**
+     * Create a new writer with the specified context and rooted at the specified node, which writes UTF-8 encoded
+     * XML directly to an {@link OutputStream}. See {@link #create(OutputStream, EffectiveModelContext)} for details.
+     *
+     * @param stream Output {@link OutputStream}
+     * @param inference root node inference
+     * @return A new {@link NormalizedNodeStreamWriter}
+     */
+    @Beta
+    public static @NonNull NormalizedNodeStreamWriter create(final OutputStream stream,
+            final EffectiveStatementInference inference) {
+        return create(new Utf8XMLStreamWriter(stream,
+            XmlNameTable.forContext(inference.getEffectiveModelContext())), inference);
+    }
+
     /**
      * Create a new writer with the specified context and rooted in the specified schema path.
      *
@@ -21,9 +21,10 @@ import org.opendaylight.yangtools.yang.data.impl.codec.BitsStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.PatternEngine;
 import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
-import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
+import org.opendaylight.yangtools.yang.data.util.codec.ConcurrentCodecCache;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
@@ -51,10 +52,12 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
 @Beta
 public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
     private final MountPointContext mountCtx;
+    private final PatternEngine patternEngine;
 
-    private XmlCodecFactory(final MountPointContext mountCtx) {
-        super(mountCtx.getEffectiveModelContext(), new SharedCodecCache<>());
+    private XmlCodecFactory(final MountPointContext mountCtx, final PatternEngine patternEngine) {
+        super(mountCtx.getEffectiveModelContext(), new ConcurrentCodecCache<>());
         this.mountCtx = requireNonNull(mountCtx);
+        this.patternEngine = requireNonNull(patternEngine);
     }
 
     MountPointContext mountPointContext() {
@@ -68,7 +71,19 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
      * @return A codec factory instance.
      */
     public static XmlCodecFactory create(final MountPointContext context) {
-        return new XmlCodecFactory(context);
+        return create(context, PatternEngine.JAVA_REGEX);
+    }
+
+    /**
+     * Instantiate a new codec factory attached to a particular context, which uses specified {@link PatternEngine} to
+     * check {@code pattern} restrictions.
+     *
+     * @param context MountPointContext to which the factory should be bound
+     * @param patternEngine PatternEngine to use
+     * @return A codec factory instance.
+     */
+    public static XmlCodecFactory create(final MountPointContext context, final PatternEngine patternEngine) {
+        return new XmlCodecFactory(context, patternEngine);
     }
 
     /**
@@ -81,6 +96,18 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
         return create(new EmptyMountPointContext(context));
     }
 
+    /**
+     * Instantiate a new codec factory attached to a particular context, which uses specified {@link PatternEngine} to
+     * check {@code pattern} restrictions.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @param patternEngine PatternEngine to use
+     * @return A codec factory instance.
+     */
+    public static XmlCodecFactory create(final EffectiveModelContext context, final PatternEngine patternEngine) {
+        return create(new EmptyMountPointContext(context), patternEngine);
+    }
+
     @Override
     protected XmlCodec<?> binaryCodec(final BinaryTypeDefinition type) {
         return new QuotedXmlCodec<>(BinaryStringCodec.from(type));
@@ -143,7 +170,7 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
     @Override
     protected XmlCodec<?> stringCodec(final StringTypeDefinition type) {
-        return new QuotedXmlCodec<>(StringStringCodec.from(type));
+        return new QuotedXmlCodec<>(StringStringCodec.from(type, patternEngine));
     }
 
     @Override
@@ -168,7 +195,7 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
     @Override
     protected XmlCodec<?> unionCodec(final UnionTypeDefinition type, final List<XmlCodec<?>> codecs) {
-        return UnionXmlCodec.create(type, codecs);
+        return UnionXmlCodec.create(type, codecs, patternEngine);
     }
 
     @Override
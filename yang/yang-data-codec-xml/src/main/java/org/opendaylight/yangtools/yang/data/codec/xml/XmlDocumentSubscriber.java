@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.concurrent.Executor;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.data.util.AbstractDocumentSubscriber;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link java.util.concurrent.Flow.Subscriber} collecting a complete XML document and feeding it to
+ * a {@link XmlParserStream} once it has been received. The document is not parsed while it arrives, but asynchronous
+ * frontends do not need to dedicate a thread to receiving it, for example:
+ * <pre>
+ *   final NormalizedNodeResult result = new NormalizedNodeResult();
+ *   final XmlDocumentSubscriber subscriber = XmlDocumentSubscriber.create(
+ *       XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), inference),
+ *       executor, maxSize);
+ *   publisher.subscribe(subscriber);
+ *   subscriber.completion().thenRun(() -&gt; process(result.getResult()));
+ * </pre>
+ * The document encoding is detected from its content, as usual for XML.
+ */
+@Beta
+public final class XmlDocumentSubscriber extends AbstractDocumentSubscriber {
+    private final @NonNull XmlParserStream parser;
+
+    private XmlDocumentSubscriber(final XmlParserStream parser, final Executor executor, final int maxSize) {
+        super(executor, maxSize);
+        this.parser = requireNonNull(parser);
+    }
+
+    /**
+     * Create a new subscriber.
+     *
+     * @param parser parser to which the document should be fed
+     * @param executor executor on which the document is parsed
+     * @param maxSize maximum document size, in bytes
+     * @return A new subscriber
+     * @throws IllegalArgumentException if {@code maxSize} is negative or larger than {@link #MAX_SIZE}
+     */
+    public static @NonNull XmlDocumentSubscriber create(final @NonNull XmlParserStream parser,
+            final @NonNull Executor executor, final int maxSize) {
+        return new XmlDocumentSubscriber(parser, executor, maxSize);
+    }
+
+    @Override
+    protected void parse(final InputStream input) throws XMLStreamException, URISyntaxException, IOException,
+            SAXException {
+        final XMLStreamReader reader = UntrustedXML.createXMLStreamReader(input);
+        try {
+            parser.parse(reader);
+        } finally {
+            reader.close();
+        }
+    }
+}
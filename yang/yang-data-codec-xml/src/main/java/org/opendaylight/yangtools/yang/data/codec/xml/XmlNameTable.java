@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaTreeAwareEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaTreeEffectiveStatement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pre-encoded UTF-8 forms of element names and default namespace declarations of a particular
+ * {@link EffectiveModelContext}, as used by {@link Utf8XMLStreamWriter}. Tables are computed once per context and
+ * shared by all writers. Names which are not part of the schema tree, such as those of anyxml content, are not
+ * present and need to be encoded by the caller. The same goes for prefixed names, as prefixes are bound by each
+ * document, hence {@link Utf8XMLStreamWriter} caches those itself.
+ */
+final class XmlNameTable {
+    private static final Logger LOG = LoggerFactory.getLogger(XmlNameTable.class);
+
+    // Weak keys to retire the entry when EffectiveModelContext goes away and to force identity-based lookup
+    private static final LoadingCache<EffectiveModelContext, XmlNameTable> TABLES = CacheBuilder.newBuilder()
+        .weakKeys().build(new CacheLoader<EffectiveModelContext, XmlNameTable>() {
+            @Override
+            public XmlNameTable load(final EffectiveModelContext key) {
+                return new XmlNameTable(key);
+            }
+        });
+
+    static final @NonNull XmlNameTable EMPTY = new XmlNameTable(ImmutableMap.of(), ImmutableMap.of());
+
+    private final ImmutableMap<String, byte[]> names;
+    private final ImmutableMap<String, byte[]> defaultNamespaces;
+
+    private XmlNameTable(final ImmutableMap<String, byte[]> names,
+            final ImmutableMap<String, byte[]> defaultNamespaces) {
+        this.names = names;
+        this.defaultNamespaces = defaultNamespaces;
+    }
+
+    private XmlNameTable(final EffectiveModelContext context) {
+        final Stopwatch sw = Stopwatch.createStarted();
+        final Map<String, byte[]> tmpNames = new HashMap<>();
+        final Map<String, byte[]> tmpNamespaces = new HashMap<>();
+        for (ModuleEffectiveStatement module : context.getModuleStatements().values()) {
+            final String namespace = module.localQNameModule().getNamespace().toString();
+            tmpNamespaces.computeIfAbsent(namespace, Utf8XMLStreamWriter::encodeDefaultNamespace);
+            addChildren(tmpNames, module);
+        }
+        names = ImmutableMap.copyOf(tmpNames);
+        defaultNamespaces = ImmutableMap.copyOf(tmpNamespaces);
+        LOG.debug("Encoded {} names and {} namespaces in {}", names.size(), defaultNamespaces.size(), sw);
+    }
+
+    static @NonNull XmlNameTable forContext(final EffectiveModelContext context) {
+        return TABLES.getUnchecked(context);
+    }
+
+    /**
+     * Return the UTF-8 encoding of an element local name.
+     *
+     * @param localName Element local name
+     * @return Encoded name, or null if the name is not known
+     */
+    byte @Nullable [] name(final String localName) {
+        return names.get(localName);
+    }
+
+    /**
+     * Return the UTF-8 encoding of a default namespace declaration, i.e. {@code  xmlns="namespace"}, including
+     * the leading space.
+     *
+     * @param namespace Namespace URI
+     * @return Encoded declaration, or null if the namespace is not known
+     */
+    byte @Nullable [] defaultNamespace(final String namespace) {
+        return defaultNamespaces.get(namespace);
+    }
+
+    private static void addChildren(final Map<String, byte[]> tmpNames,
+            final SchemaTreeAwareEffectiveStatement<?, ?> parent) {
+        final Map<QName, SchemaTreeEffectiveStatement<?>> schemaTree =
+            parent.getAll(SchemaTreeAwareEffectiveStatement.Namespace.class);
+        for (SchemaTreeEffectiveStatement<?> child : schemaTree.values()) {
+            tmpNames.computeIfAbsent(child.argument().getLocalName(), Utf8XMLStreamWriter::encodeName);
+            if (child instanceof SchemaTreeAwareEffectiveStatement) {
+                addChildren(tmpNames, (SchemaTreeAwareEffectiveStatement<?, ?>) child);
+            }
+        }
+    }
+}
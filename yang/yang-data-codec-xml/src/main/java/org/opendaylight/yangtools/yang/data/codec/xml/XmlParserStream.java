@@ -41,6 +41,8 @@ import javax.xml.transform.TransformerFactoryConfigurationError;
 import javax.xml.transform.dom.DOMResult;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stax.StAXSource;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.rfc7952.data.api.StreamWriterMetadataExtension;
 import org.opendaylight.yangtools.rfc7952.model.api.AnnotationSchemaNode;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContext;
 import org.opendaylight.yangtools.rfc8528.data.api.MountPointContextFactory;
@@ -49,9 +51,11 @@ import org.opendaylight.yangtools.rfc8528.data.api.YangLibraryConstants;
 import org.opendaylight.yangtools.rfc8528.data.api.YangLibraryConstants.ContainerName;
 import org.opendaylight.yangtools.rfc8528.model.api.MountPointSchemaNode;
 import org.opendaylight.yangtools.rfc8528.model.api.SchemaMountConstants;
+import org.opendaylight.yangtools.util.ImmutableMapTemplate;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.util.AbstractMountPointDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
@@ -60,6 +64,7 @@ import org.opendaylight.yangtools.yang.data.util.AnydataNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.CompositeNodeDataWithSchema.ChildReusePolicy;
 import org.opendaylight.yangtools.yang.data.util.ContainerNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.KeyedListEntryStart;
 import org.opendaylight.yangtools.yang.data.util.LeafListEntryNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.LeafNodeDataWithSchema;
@@ -103,6 +108,19 @@ import org.xml.sax.SAXException;
  * particular SchemaContext and are expected to either be fully decoded, or contain a String value. Handling of such
  * annotations is at the discretion of the user encountering it: preferred way of handling is to either filter or
  * normalize them to proper QNames/values when encountered. This caveat will be removed in a future version.
+ *
+ * <p>
+ * By default the entire XML source is first read into an intermediate {@link AbstractNodeDataWithSchema} tree, which
+ * is then replayed into the {@link NormalizedNodeStreamWriter}. Instances created via
+ * {@link #createStreaming(NormalizedNodeStreamWriter, XmlCodecFactory, EffectiveStatementInference, boolean)} instead
+ * emit events as soon as the corresponding elements are read. They buffer only key leaves preceding the last key of a
+ * map entry, individual leaf and anyxml values, and children of augmentations and choices, which are emitted once
+ * their parent element ends. Nodes which can host a mount point are read in their entirety before being emitted.
+ *
+ * <p>
+ * RFC7950 allows entries of a list or a leaf-list to be interleaved with other sibling elements. A streaming parser
+ * cannot emit such a list as a single node and rejects such input with an {@link XMLStreamException}, unless the list
+ * is part of an augmentation or a choice.
  */
 @Beta
 public final class XmlParserStream implements Closeable, Flushable {
@@ -144,13 +162,15 @@ public final class XmlParserStream implements Closeable, Flushable {
     private final XmlCodecFactory codecs;
     private final DataSchemaNode parentNode;
     private final boolean strictParsing;
+    private final boolean streaming;
 
     private XmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
-            final SchemaInferenceStack stack, final boolean strictParsing) {
+            final SchemaInferenceStack stack, final boolean strictParsing, final boolean streaming) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.stack = requireNonNull(stack);
         this.strictParsing = strictParsing;
+        this.streaming = streaming;
 
         if (!stack.isEmpty()) {
             final EffectiveStatement<?, ?> stmt = stack.currentStatement();
@@ -193,7 +213,8 @@ public final class XmlParserStream implements Closeable, Flushable {
      */
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
             final EffectiveStatementInference parentNode, final boolean strictParsing) {
-        return new XmlParserStream(writer, codecs, SchemaInferenceStack.ofInference(parentNode), strictParsing);
+        return new XmlParserStream(writer, codecs, SchemaInferenceStack.ofInference(parentNode), strictParsing,
+            false);
     }
 
     /**
@@ -266,6 +287,27 @@ public final class XmlParserStream implements Closeable, Flushable {
         return create(writer, XmlCodecFactory.create(mountCtx), parentNode, strictParsing);
     }
 
+    /**
+     * Construct a new streaming {@link XmlParserStream}, which emits events into the writer while the XML source is
+     * being read, as outlined in the class documentation. If the source fails to parse, the writer may have already
+     * seen some of its events.
+     *
+     * @param writer Output writer
+     * @param codecs Shared codecs
+     * @param parentNode Parent root node
+     * @param strictParsing parsing mode
+     *            if set to true, the parser will throw an exception if it encounters unknown child nodes
+     *            (nodes, that are not defined in the provided SchemaContext) in containers and lists
+     *            if set to false, the parser will skip unknown child nodes
+     * @return A new stream instance
+     */
+    @Beta
+    public static XmlParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final XmlCodecFactory codecs, final EffectiveStatementInference parentNode, final boolean strictParsing) {
+        return new XmlParserStream(writer, codecs, SchemaInferenceStack.ofInference(parentNode), strictParsing,
+            true);
+    }
+
     /**
      * This method parses the XML source and emits node events into a NormalizedNodeStreamWriter based on the
      * YANG-modeled data contained in the XML source.
@@ -287,6 +329,11 @@ public final class XmlParserStream implements Closeable, Flushable {
             IOException, SAXException {
         if (reader.hasNext()) {
             reader.nextTag();
+            if (streaming && isStreamable(parentNode)) {
+                streamChild(reader, parentNode, reader.getLocalName());
+                return this;
+            }
+
             final AbstractNodeDataWithSchema<?> nodeDataWithSchema;
             if (parentNode instanceof ContainerLike) {
                 nodeDataWithSchema = new ContainerNodeDataWithSchema((ContainerLike) parentNode);
@@ -583,6 +630,245 @@ public final class XmlParserStream implements Closeable, Flushable {
         }
     }
 
+    /**
+     * Stream the children of the element the reader is positioned at. This mirrors the composite part of
+     * {@link #read(XMLStreamReader, AbstractNodeDataWithSchema, String)}, except children are emitted directly where
+     * possible. Children which have to be buffered are read into a {@link CompositeNodeDataWithSchema}, which is
+     * emitted when the element ends.
+     *
+     * @param in StAX reader, positioned at the start of the element
+     * @param parentSchema Schema node corresponding to the element
+     * @param rootElement Local name of the root element
+     * @param keyed Tracker of a keyed list entry's identifier, or {@code null} if the writer is already positioned
+     *              inside the node corresponding to the element
+     */
+    private void streamChildren(final XMLStreamReader in, final DataSchemaNode parentSchema, final String rootElement,
+            final @Nullable KeyedListEntryStart keyed) throws XMLStreamException, IOException {
+        CompositeNodeDataWithSchema<?> deferred = null;
+
+        switch (in.nextTag()) {
+            case XMLStreamConstants.START_ELEMENT:
+                final Set<Entry<String, String>> namesakes = new HashSet<>();
+                final Set<QName> streamedLists = new HashSet<>();
+                while (in.hasNext()) {
+                    final String xmlElementName = in.getLocalName();
+
+                    final String parentSchemaName = parentSchema.getQName().getLocalName();
+                    if (parentSchemaName.equals(xmlElementName)
+                            && in.getEventType() == XMLStreamConstants.END_ELEMENT) {
+                        if (isNextEndDocument(in)) {
+                            break;
+                        }
+
+                        if (!isAtElement(in)) {
+                            in.nextTag();
+                        }
+                        break;
+                    }
+
+                    if (in.isEndElement() && rootElement.equals(xmlElementName)) {
+                        break;
+                    }
+
+                    final String elementNS = in.getNamespaceURI();
+                    final boolean added = namesakes.add(new SimpleImmutableEntry<>(elementNS, xmlElementName));
+
+                    final XMLNamespace nsUri;
+                    try {
+                        nsUri = rawXmlNamespace(elementNS).getNamespace();
+                    } catch (IllegalArgumentException e) {
+                        throw new XMLStreamException("Failed to convert namespace " + xmlElementName, in.getLocation(),
+                            e);
+                    }
+
+                    final Deque<DataSchemaNode> childDataSchemaNodes =
+                            ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, xmlElementName, nsUri);
+                    if (childDataSchemaNodes.isEmpty()) {
+                        // Mount-capable nodes are never streamed, hence this cannot be mount point data
+                        if (strictParsing) {
+                            throw new XMLStreamException(String.format(
+                                "Schema for node with name %s and namespace %s does not exist in parent %s",
+                                xmlElementName, elementNS, parentSchema), in.getLocation());
+                        }
+
+                        LOG.debug("Skipping unknown node ns=\"{}\" localName=\"{}\" in parent {}", elementNS,
+                            xmlElementName, parentSchema);
+                        skipUnknownNode(in);
+                        continue;
+                    }
+
+                    final boolean elementList = isElementList(childDataSchemaNodes);
+                    if (!added && !elementList) {
+                        throw new XMLStreamException(String.format(
+                            "Duplicate element \"%s\" in namespace \"%s\" with parent \"%s\" in XML input",
+                            xmlElementName, elementNS, parentSchema), in.getLocation());
+                    }
+
+                    final DataSchemaNode childSchema = childDataSchemaNodes.peekLast();
+                    final QName qname = childSchema.getQName();
+                    final boolean direct = ParserStreamUtils.isDirectChild(parentSchema, childDataSchemaNodes);
+                    stack.enterDataTree(qname);
+                    if (direct && keyed != null && keyed.isPendingKey(childSchema)) {
+                        final LeafNodeDataWithSchema key = new LeafNodeDataWithSchema((LeafSchemaNode) childSchema);
+                        read(in, key, rootElement);
+                        keyed.addKey(writer, key);
+                    } else if (direct && added && (keyed == null || keyed.isStarted()) && isStreamable(childSchema)) {
+                        if (elementList) {
+                            streamedLists.add(qname);
+                        }
+                        streamChild(in, childSchema, rootElement);
+                    } else if (streamedLists.contains(qname)) {
+                        throw new XMLStreamException(String.format(
+                            "Entries of \"%s\" in namespace \"%s\" with parent \"%s\" are interleaved with other "
+                                + "elements, which is not supported by a streaming parser", xmlElementName, elementNS,
+                                parentSchema), in.getLocation());
+                    } else {
+                        if (deferred == null) {
+                            deferred = new CompositeNodeDataWithSchema<>(parentSchema);
+                        }
+                        read(in, deferred.addChild(childDataSchemaNodes,
+                            elementList ? ChildReusePolicy.REUSE : ChildReusePolicy.NOOP), rootElement);
+                    }
+                    stack.exit();
+                }
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                if (isNextEndDocument(in)) {
+                    break;
+                }
+
+                if (!isAtElement(in)) {
+                    in.nextTag();
+                }
+                break;
+            default:
+                break;
+        }
+
+        if (keyed != null && !keyed.isStarted()) {
+            // Missing keys are reported here, just as they would be by ListEntryNodeDataWithSchema
+            keyed.start(writer);
+        }
+        if (deferred != null) {
+            deferred.write(writer);
+        }
+    }
+
+    // Return true if the node corresponding to specified schema can be emitted without being buffered first.
+    private static boolean isStreamable(final DataSchemaNode schema) {
+        if (schema instanceof ContainerSchemaNode) {
+            return MountPointSchemaNode.streamAll((ContainerSchemaNode) schema).findFirst().isEmpty();
+        } else if (schema instanceof ListSchemaNode) {
+            return MountPointSchemaNode.streamAll((ListSchemaNode) schema).findFirst().isEmpty();
+        }
+        return schema instanceof ContainerLike || schema instanceof LeafListSchemaNode
+            || schema instanceof LeafSchemaNode || schema instanceof AnyxmlSchemaNode
+            || schema instanceof AnydataSchemaNode;
+    }
+
+    private void streamChild(final XMLStreamReader in, final DataSchemaNode schema, final String rootElement)
+            throws XMLStreamException, IOException {
+        if (schema instanceof ContainerLike) {
+            writer.nextDataSchemaNode(schema);
+            writer.startContainerNode(NodeIdentifier.create(schema.getQName()),
+                NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            writeMetadata(getElementAttributes(in));
+            streamChildren(in, schema, rootElement, null);
+            writer.endNode();
+        } else if (schema instanceof ListSchemaNode) {
+            streamList(in, (ListSchemaNode) schema, rootElement);
+        } else if (schema instanceof LeafListSchemaNode) {
+            streamLeafList(in, (LeafListSchemaNode) schema, rootElement);
+        } else {
+            final AbstractNodeDataWithSchema<?> simple;
+            if (schema instanceof LeafSchemaNode) {
+                simple = new LeafNodeDataWithSchema((LeafSchemaNode) schema);
+            } else if (schema instanceof AnyxmlSchemaNode) {
+                simple = new AnyXmlNodeDataWithSchema((AnyxmlSchemaNode) schema);
+            } else {
+                simple = new AnydataNodeDataWithSchema((AnydataSchemaNode) schema);
+            }
+            read(in, simple, rootElement);
+            simple.write(writer);
+        }
+    }
+
+    private void streamList(final XMLStreamReader in, final ListSchemaNode schema, final String rootElement)
+            throws XMLStreamException, IOException {
+        final QName qname = schema.getQName();
+        final NodeIdentifier identifier = NodeIdentifier.create(qname);
+        final ImmutableMapTemplate<QName> predicateTemplate;
+        writer.nextDataSchemaNode(schema);
+        if (schema.getKeyDefinition().isEmpty()) {
+            predicateTemplate = null;
+            writer.startUnkeyedList(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            predicateTemplate = ImmutableMapTemplate.ordered(schema.getKeyDefinition());
+            if (schema.isUserOrdered()) {
+                writer.startOrderedMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            } else {
+                writer.startMapNode(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+            }
+        }
+
+        String xmlElementName = in.getLocalName();
+        while (xmlElementName.equals(qname.getLocalName())) {
+            if (predicateTemplate == null) {
+                // Note: ListEntryNodeDataWithSchema does not emit metadata for unkeyed list items either
+                writer.nextDataSchemaNode(schema);
+                writer.startUnkeyedListItem(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+                streamChildren(in, schema, rootElement, null);
+            } else {
+                streamChildren(in, schema, rootElement,
+                    new KeyedListEntryStart(schema, predicateTemplate, getElementAttributes(in)));
+            }
+            writer.endNode();
+
+            if (in.getEventType() == XMLStreamConstants.END_DOCUMENT
+                    || in.getEventType() == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+            xmlElementName = in.getLocalName();
+        }
+        writer.endNode();
+    }
+
+    private void streamLeafList(final XMLStreamReader in, final LeafListSchemaNode schema, final String rootElement)
+            throws XMLStreamException, IOException {
+        final QName qname = schema.getQName();
+        final NodeIdentifier identifier = NodeIdentifier.create(qname);
+        writer.nextDataSchemaNode(schema);
+        if (schema.isUserOrdered()) {
+            writer.startOrderedLeafSet(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        } else {
+            writer.startLeafSet(identifier, NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        }
+
+        String xmlElementName = in.getLocalName();
+        while (xmlElementName.equals(qname.getLocalName())) {
+            final LeafListEntryNodeDataWithSchema entry = new LeafListEntryNodeDataWithSchema(schema);
+            read(in, entry, rootElement);
+            entry.write(writer);
+
+            if (in.getEventType() == XMLStreamConstants.END_DOCUMENT
+                    || in.getEventType() == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+            xmlElementName = in.getLocalName();
+        }
+        writer.endNode();
+    }
+
+    private void writeMetadata(final ImmutableMap<QName, Object> attributes) throws IOException {
+        if (!attributes.isEmpty()) {
+            final StreamWriterMetadataExtension metaWriter = writer.getExtensions()
+                .getInstance(StreamWriterMetadataExtension.class);
+            if (metaWriter != null) {
+                metaWriter.metadata(attributes);
+            }
+        }
+    }
+
     // Return true if schema represents a construct which uses multiple sibling elements to represent its content. The
     // siblings MAY be interleaved as per RFC7950.
     private static boolean isElementList(final Deque<DataSchemaNode> childDataSchemaNodes) {
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.xml.sax.SAXException;
+
+public class ParallelXmlListParserTest {
+    private static final QName OUTER_CONTAINER = QName.create("baz-namespace", "outer-container");
+    private static final QName MY_CONTAINER_1 = QName.create(OUTER_CONTAINER, "my-container-1");
+    private static final QName MY_KEYED_LIST = QName.create(OUTER_CONTAINER, "my-keyed-list");
+    private static final QName ENTRIES = QName.create("urn:parallel", "entries");
+    private static final QName ENTRY = QName.create(ENTRIES, "entry");
+
+    private static EffectiveModelContext schemaContext;
+    private static Inference myContainer1Schema;
+    private static EffectiveModelContext parallelContext;
+    private static Inference entriesSchema;
+
+    private ExecutorService executor;
+    private ParallelXmlListParser parser;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        myContainer1Schema = Inference.ofDataTreePath(schemaContext, OUTER_CONTAINER, MY_CONTAINER_1);
+        parallelContext = YangParserTestUtils.parseYangResource("/parallel/parallel.yang");
+        entriesSchema = Inference.ofDataTreePath(parallelContext, ENTRIES);
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+        myContainer1Schema = null;
+        parallelContext = null;
+        entriesSchema = null;
+    }
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+        parser = ParallelXmlListParser.create(XmlCodecFactory.create(schemaContext), myContainer1Schema, executor,
+            64);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testLargeList() throws Exception {
+        final StringBuilder sb = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<b:my-container-1 xmlns:b=\"baz-namespace\">\n");
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("  <b:my-keyed-list>\n")
+                .append("    <b:my-key-leaf>key").append(i).append("</b:my-key-leaf>\n")
+                .append("    <!-- comment -->\n")
+                .append("    <b:my-leaf-in-list-1>a &amp; b</b:my-leaf-in-list-1>\n")
+                .append("    <my-leaf-in-list-2 xmlns=\"baz-namespace\"><![CDATA[<c>]]></my-leaf-in-list-2>\n")
+                .append("  </b:my-keyed-list>\n");
+        }
+        final String input = sb.append("</b:my-container-1>\n").toString();
+
+        final MapNode result = parser.parse(reader(input));
+        assertEquals(1000, result.size());
+        assertEquals(parseSequential(input), result);
+    }
+
+    @Test
+    public void testEmptyContainer() throws Exception {
+        final MapNode result = parser.parse(reader("<my-container-1 xmlns=\"baz-namespace\"/>"));
+        assertEquals(new NodeIdentifier(MY_KEYED_LIST), result.getIdentifier());
+        assertEquals(0, result.size());
+    }
+
+    @Test
+    public void testMixedChildren() throws XMLStreamException {
+        final XMLStreamReader reader = reader("<my-container-1 xmlns=\"baz-namespace\">"
+            + "<my-keyed-list><my-key-leaf>a</my-key-leaf></my-keyed-list>"
+            + "<my-leaf-1>value1</my-leaf-1>"
+            + "</my-container-1>");
+        assertThrows(XMLStreamException.class, () -> parser.parse(reader));
+    }
+
+    @Test
+    public void testAncestorNamespace() throws Exception {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; ++i) {
+            sb.append("<entry><name>").append(i).append("</name><kind>p:kind-one</kind></entry>");
+        }
+        final String entries = sb.toString();
+
+        // The prefix is declared on an ancestor of the container
+        final XMLStreamReader reader = reader("<data xmlns:p=\"urn:parallel\"><entries xmlns=\"urn:parallel\">"
+            + entries + "</entries></data>");
+        reader.nextTag();
+        reader.nextTag();
+        final ParallelXmlListParser entriesParser = ParallelXmlListParser.create(
+            XmlCodecFactory.create(parallelContext), entriesSchema, executor, 64, 2, true);
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), entriesSchema)
+            .parse(reader("<entries xmlns=\"urn:parallel\" xmlns:p=\"urn:parallel\">" + entries + "</entries>"));
+        assertEquals(((ContainerNode) result.getResult()).childByArg(new NodeIdentifier(ENTRY)),
+            entriesParser.parse(reader));
+    }
+
+    @Test
+    public void testDuplicateKeys() throws XMLStreamException {
+        final StringBuilder sb = new StringBuilder("<my-container-1 xmlns=\"baz-namespace\">");
+        for (int i = 0; i < 100; ++i) {
+            sb.append("<my-keyed-list><my-key-leaf>key").append(i).append("</my-key-leaf></my-keyed-list>");
+        }
+        final XMLStreamReader reader = reader(sb
+            .append("<my-keyed-list><my-key-leaf>key5</my-key-leaf></my-keyed-list>")
+            .append("</my-container-1>").toString());
+        final XMLStreamException ex = assertThrows(XMLStreamException.class, () -> parser.parse(reader));
+        assertThat(ex.getMessage(), containsString("101 entries resolve to 100 distinct keys"));
+    }
+
+    @Test
+    public void testNonStrictParsing() throws Exception {
+        final StringBuilder sb = new StringBuilder("<my-container-1 xmlns=\"baz-namespace\">");
+        for (int i = 0; i < 100; ++i) {
+            sb.append("<my-keyed-list><my-key-leaf>key").append(i)
+                .append("</my-key-leaf><unknown-leaf>value</unknown-leaf></my-keyed-list>");
+        }
+        final String input = sb.append("</my-container-1>").toString();
+
+        final XMLStreamReader strictReader = reader(input);
+        assertThrows(XMLStreamException.class, () -> parser.parse(strictReader));
+
+        final ParallelXmlListParser lenient = ParallelXmlListParser.create(XmlCodecFactory.create(schemaContext),
+            myContainer1Schema, executor, 64, 1, false);
+        assertEquals(parseSequential(input.replace("<unknown-leaf>value</unknown-leaf>", "")),
+            lenient.parse(reader(input)));
+    }
+
+    private static XMLStreamReader reader(final String input) throws XMLStreamException {
+        return UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static NormalizedNode parseSequential(final String input) throws XMLStreamException, URISyntaxException,
+            IOException, SAXException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), myContainer1Schema)
+            .parse(reader(input));
+        return ((ContainerNode) result.getResult()).childByArg(new NodeIdentifier(MY_KEYED_LIST));
+    }
+}
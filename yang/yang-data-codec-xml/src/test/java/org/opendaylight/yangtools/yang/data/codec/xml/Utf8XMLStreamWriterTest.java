@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+public class Utf8XMLStreamWriterTest {
+    private static final QName OUTER_CONTAINER = QName.create("baz-namespace", "outer-container");
+
+    private static EffectiveModelContext schemaContext;
+    private static Inference outerContainerSchema;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        outerContainerSchema = Inference.ofDataTreePath(schemaContext, OUTER_CONTAINER);
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+        outerContainerSchema = null;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final NormalizedNode expected = parse(Utf8XMLStreamWriterTest.class.getResourceAsStream("/baz.xml"));
+        assertNotNull(expected);
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+                XMLStreamNormalizedNodeStreamWriter.create(bos, schemaContext))) {
+            writer.write(expected);
+        }
+
+        assertEquals(expected, parse(new ByteArrayInputStream(bos.toByteArray())));
+    }
+
+    @Test
+    public void testEncoding() throws XMLStreamException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Utf8XMLStreamWriter writer = new Utf8XMLStreamWriter(bos, XmlNameTable.EMPTY);
+        writer.writeStartElement("", "root", "urn:a");
+        writer.writeDefaultNamespace("urn:a");
+        writer.writeStartElement("", "text", "urn:a");
+        writer.writeCharacters("a<b>&c á€😀");
+        writer.writeEndElement();
+        writer.writeStartElement("", "empty", "urn:a");
+        writer.writeEndElement();
+        writer.writeStartElement("", "other", "urn:b");
+        writer.writeDefaultNamespace("urn:b");
+        writer.writeAttribute("p", "urn:c", "attr", "\"\n<");
+        writer.writeAttribute("urn:d", "attr", "x");
+        writer.writeEmptyElement("x", "child", "urn:x");
+        writer.writeNamespace("x", "urn:x");
+        writer.writeEndDocument();
+        writer.close();
+
+        assertEquals("<root xmlns=\"urn:a\"><text>a&lt;b&gt;&amp;c á€😀</text><empty/>"
+            + "<other xmlns=\"urn:b\" xmlns:p=\"urn:c\" p:attr=\"&quot;&#xA;&lt;\" xmlns:ns0=\"urn:d\" ns0:attr=\"x\">"
+            + "<x:child xmlns:x=\"urn:x\"/></other></root>", bos.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWhitespaceRoundTrip() throws Exception {
+        final String text = "a\r\nb\rc\td\ne ";
+        final String attr = " a\r\nb\rc\td\ne ";
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Utf8XMLStreamWriter writer = new Utf8XMLStreamWriter(bos, XmlNameTable.EMPTY);
+        writer.writeStartElement("", "root", "urn:a");
+        writer.writeAttribute("attr", attr);
+        writer.writeCharacters(text);
+        writer.writeEndDocument();
+        writer.close();
+
+        final Element root = UntrustedXML.newDocumentBuilder().parse(new ByteArrayInputStream(bos.toByteArray()))
+            .getDocumentElement();
+        assertEquals(text, root.getTextContent());
+        assertEquals(attr, root.getAttribute("attr"));
+    }
+
+    @Test
+    public void testPrefixedRoundTrip() throws Exception {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Utf8XMLStreamWriter writer = new Utf8XMLStreamWriter(bos, XmlNameTable.EMPTY);
+        writer.writeStartElement("x", "root", "urn:x");
+        writer.writeStartElement("urn:x", "child");
+        writer.writeEndElement();
+        writer.writeStartElement("urn:x", "child");
+        writer.writeCharacters("value");
+        writer.writeEndDocument();
+        writer.close();
+
+        assertEquals("<x:root xmlns:x=\"urn:x\"><x:child/><x:child>value</x:child></x:root>",
+            bos.toString(StandardCharsets.UTF_8));
+
+        final Element root = UntrustedXML.newDocumentBuilder().parse(new ByteArrayInputStream(bos.toByteArray()))
+            .getDocumentElement();
+        assertEquals("urn:x", root.getNamespaceURI());
+        assertEquals("root", root.getLocalName());
+        assertEquals(2, root.getElementsByTagNameNS("urn:x", "child").getLength());
+    }
+
+    @Test
+    public void testIllegalCharacters() throws XMLStreamException {
+        final Utf8XMLStreamWriter writer = new Utf8XMLStreamWriter(new ByteArrayOutputStream(), XmlNameTable.EMPTY);
+        writer.writeStartElement("", "root", "urn:a");
+        assertThrows(XMLStreamException.class, () -> writer.writeAttribute("attr", "a" + (char) 0x01));
+        assertThrows(XMLStreamException.class, () -> writer.writeCharacters("a" + (char) 0x00));
+        assertThrows(XMLStreamException.class, () -> writer.writeCharacters(new char[] { 'a', 0x1F }, 0, 2));
+        assertThrows(XMLStreamException.class, () -> writer.writeCharacters("a" + (char) 0xFFFE));
+        assertThrows(XMLStreamException.class, () -> writer.writeComment("a" + (char) 0x0B));
+    }
+
+    @Test
+    public void testConflictingPrefix() throws XMLStreamException {
+        final Utf8XMLStreamWriter writer = new Utf8XMLStreamWriter(new ByteArrayOutputStream(), XmlNameTable.EMPTY);
+        writer.writeStartElement("x", "root", "urn:x");
+        assertThrows(XMLStreamException.class, () -> writer.writeNamespace("x", "urn:y"));
+    }
+
+    private static NormalizedNode parse(final InputStream is) throws XMLStreamException, URISyntaxException,
+            IOException, SAXException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+        XmlParserStream.create(writer, outerContainerSchema).parse(UntrustedXML.createXMLStreamReader(is));
+        return result.getResult();
+    }
+}
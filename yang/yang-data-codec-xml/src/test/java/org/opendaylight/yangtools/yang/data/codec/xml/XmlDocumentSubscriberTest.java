@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow.Subscription;
+import javax.xml.stream.XMLStreamException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class XmlDocumentSubscriberTest {
+    private static final int MAX_SIZE = 1024 * 1024;
+    private static final QName OUTER_CONTAINER = QName.create("baz-namespace", "outer-container");
+
+    private static EffectiveModelContext schemaContext;
+    private static Inference outerContainerSchema;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        outerContainerSchema = Inference.ofDataTreePath(schemaContext, OUTER_CONTAINER);
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+        outerContainerSchema = null;
+    }
+
+    @Test
+    public void testChunkedInput() throws Exception {
+        final byte[] bytes = XmlDocumentSubscriberTest.class.getResourceAsStream("/baz.xml").readAllBytes();
+        final NormalizedNodeResult expected = new NormalizedNodeResult();
+        XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(expected), outerContainerSchema)
+            .parse(UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(bytes)));
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final XmlDocumentSubscriber subscriber = XmlDocumentSubscriber.create(
+            XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result), outerContainerSchema),
+            Runnable::run, MAX_SIZE);
+        subscriber.onSubscribe(new NoopSubscription());
+        for (int offset = 0; offset < bytes.length; offset += 13) {
+            subscriber.onNext(ByteBuffer.wrap(bytes, offset, Math.min(13, bytes.length - offset)));
+        }
+        subscriber.onComplete();
+
+        subscriber.completion().toCompletableFuture().get();
+        assertNotNull(result.getResult());
+        assertEquals(expected.getResult(), result.getResult());
+    }
+
+    @Test
+    public void testMalformedInput() {
+        final XmlDocumentSubscriber subscriber = XmlDocumentSubscriber.create(
+            XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(new NormalizedNodeResult()),
+                outerContainerSchema), Runnable::run, MAX_SIZE);
+        subscriber.onSubscribe(new NoopSubscription());
+        subscriber.onNext(ByteBuffer.wrap("<outer-container xmlns=\"baz-namespace\"><my-container-1>"
+            .getBytes(StandardCharsets.UTF_8)));
+        subscriber.onComplete();
+
+        final ExecutionException ex = assertThrows(ExecutionException.class,
+            () -> subscriber.completion().toCompletableFuture().get());
+        assertTrue(ex.getCause() instanceof XMLStreamException);
+    }
+
+    private static final class NoopSubscription implements Subscription {
+        @Override
+        public void request(final long count) {
+            // No-op
+        }
+
+        @Override
+        public void cancel() {
+            // No-op
+        }
+    }
+}
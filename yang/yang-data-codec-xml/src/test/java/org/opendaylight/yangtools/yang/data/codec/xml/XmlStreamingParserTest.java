@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaInferenceStack.Inference;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.xml.sax.SAXException;
+
+public class XmlStreamingParserTest {
+    private static final QName OUTER_CONTAINER = QName.create("baz-namespace", "outer-container");
+
+    private static EffectiveModelContext schemaContext;
+    private static XmlCodecFactory codecs;
+    private static Inference outerContainerSchema;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        codecs = XmlCodecFactory.create(schemaContext);
+        outerContainerSchema = Inference.ofDataTreePath(schemaContext, OUTER_CONTAINER);
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+        codecs = null;
+        outerContainerSchema = null;
+    }
+
+    @Test
+    public void testComplexXml() throws Exception {
+        final NormalizedNode expected = parse(false, XmlStreamingParserTest.class.getResourceAsStream("/baz.xml"));
+        assertNotNull(expected);
+        assertEquals(expected, parse(true, XmlStreamingParserTest.class.getResourceAsStream("/baz.xml")));
+    }
+
+    @Test
+    public void testKeyAfterOtherLeaves() throws Exception {
+        final String xml = "<outer-container xmlns=\"baz-namespace\"><my-container-1>"
+            + "<my-keyed-list><my-leaf-in-list-1>one</my-leaf-in-list-1><my-key-leaf>a</my-key-leaf>"
+            + "<my-leaf-in-list-2>two</my-leaf-in-list-2></my-keyed-list>"
+            + "<my-keyed-list><my-key-leaf>b</my-key-leaf></my-keyed-list>"
+            + "</my-container-1><my-container-3><my-doubly-keyed-list>"
+            + "<my-second-key-leaf>second</my-second-key-leaf><my-leaf-in-list-3>three</my-leaf-in-list-3>"
+            + "<my-first-key-leaf>first</my-first-key-leaf>"
+            + "</my-doubly-keyed-list></my-container-3></outer-container>";
+
+        assertEquals(parse(false, xml), parse(true, xml));
+    }
+
+    @Test
+    public void testMissingKey() {
+        final String xml = "<outer-container xmlns=\"baz-namespace\"><my-container-1>"
+            + "<my-keyed-list><my-leaf-in-list-1>one</my-leaf-in-list-1></my-keyed-list>"
+            + "</my-container-1></outer-container>";
+
+        assertThrows(IllegalArgumentException.class, () -> parse(true, xml));
+    }
+
+    @Test
+    public void testInterleavedListEntries() throws Exception {
+        final String xml = "<outer-container xmlns=\"baz-namespace\"><my-container-1>"
+            + "<my-keyed-list><my-key-leaf>a</my-key-leaf></my-keyed-list>"
+            + "<my-leaf-1>value1</my-leaf-1>"
+            + "<my-keyed-list><my-key-leaf>b</my-key-leaf></my-keyed-list>"
+            + "</my-container-1></outer-container>";
+
+        // Valid input, which the buffering parser accepts ...
+        assertNotNull(parse(false, xml));
+
+        // ... but the streaming one cannot handle
+        final XMLStreamException ex = assertThrows(XMLStreamException.class, () -> parse(true, xml));
+        assertThat(ex.getMessage(), containsString("are interleaved with other elements"));
+    }
+
+    private static NormalizedNode parse(final boolean streaming, final String xml) throws XMLStreamException,
+            URISyntaxException, IOException, SAXException {
+        return parse(streaming, new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static NormalizedNode parse(final boolean streaming, final InputStream is) throws XMLStreamException,
+            URISyntaxException, IOException, SAXException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result);
+        final XmlParserStream parser = streaming
+            ? XmlParserStream.createStreaming(writer, codecs, outerContainerSchema, true)
+                : XmlParserStream.create(writer, codecs, outerContainerSchema, true);
+        parser.parse(UntrustedXML.createXMLStreamReader(is));
+        return result.getResult();
+    }
+}
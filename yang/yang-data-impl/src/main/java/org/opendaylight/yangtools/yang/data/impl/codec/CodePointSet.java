@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of Unicode code points, represented as a sorted array of disjoint, non-adjacent inclusive ranges.
+ */
+final class CodePointSet {
+    static final CodePointSet EMPTY = new CodePointSet(new int[0]);
+    static final CodePointSet ALL = range(0, Character.MAX_CODE_POINT);
+
+    // lower0, upper0, lower1, upper1, ...
+    private final int[] ranges;
+
+    private CodePointSet(final int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    static CodePointSet of(final int codePoint) {
+        return range(codePoint, codePoint);
+    }
+
+    static CodePointSet of(final int... codePoints) {
+        final Builder builder = new Builder();
+        for (int codePoint : codePoints) {
+            builder.add(codePoint, codePoint);
+        }
+        return builder.build();
+    }
+
+    static CodePointSet range(final int lower, final int upper) {
+        return new CodePointSet(new int[] { lower, upper });
+    }
+
+    boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    int rangeCount() {
+        return ranges.length / 2;
+    }
+
+    int lower(final int range) {
+        return ranges[range * 2];
+    }
+
+    int upper(final int range) {
+        return ranges[range * 2 + 1];
+    }
+
+    boolean contains(final int codePoint) {
+        int low = 0;
+        int high = rangeCount() - 1;
+        while (low <= high) {
+            final int mid = low + high >>> 1;
+            if (codePoint < lower(mid)) {
+                high = mid - 1;
+            } else if (codePoint > upper(mid)) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    CodePointSet union(final CodePointSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        return new Builder().addAll(this).addAll(other).build();
+    }
+
+    CodePointSet complement() {
+        final Builder builder = new Builder();
+        int next = 0;
+        for (int i = 0; i < rangeCount(); ++i) {
+            if (lower(i) > next) {
+                builder.add(next, lower(i) - 1);
+            }
+            next = upper(i) + 1;
+        }
+        if (next <= Character.MAX_CODE_POINT) {
+            builder.add(next, Character.MAX_CODE_POINT);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof CodePointSet && Arrays.equals(ranges, ((CodePointSet) obj).ranges);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < rangeCount(); ++i) {
+            sb.append(String.format("\\x{%X}", lower(i)));
+            if (upper(i) != lower(i)) {
+                sb.append(String.format("-\\x{%X}", upper(i)));
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Builder of {@link CodePointSet}s. Ranges may be added in any order and may overlap.
+     */
+    static final class Builder {
+        private int[] ranges = new int[16];
+        private int size;
+
+        Builder add(final int lower, final int upper) {
+            if (size == ranges.length) {
+                ranges = Arrays.copyOf(ranges, size * 2);
+            }
+            ranges[size++] = lower;
+            ranges[size++] = upper;
+            return this;
+        }
+
+        Builder addAll(final CodePointSet set) {
+            for (int i = 0; i < set.rangeCount(); ++i) {
+                add(set.lower(i), set.upper(i));
+            }
+            return this;
+        }
+
+        CodePointSet build() {
+            final int count = size / 2;
+            if (count == 0) {
+                return EMPTY;
+            }
+
+            // Sort ranges by their lower bound. Both bounds fit into 21 bits, hence we can pack them into a long.
+            final long[] packed = new long[count];
+            for (int i = 0; i < count; ++i) {
+                packed[i] = (long) ranges[i * 2] << 32 | ranges[i * 2 + 1];
+            }
+            Arrays.sort(packed);
+
+            final int[] merged = new int[size];
+            int length = 0;
+            for (long range : packed) {
+                final int lower = (int) (range >>> 32);
+                final int upper = (int) range;
+                if (length != 0 && lower <= merged[length - 1] + 1) {
+                    merged[length - 1] = Math.max(merged[length - 1], upper);
+                } else {
+                    merged[length++] = lower;
+                    merged[length++] = upper;
+                }
+            }
+            return new CodePointSet(Arrays.copyOf(merged, length));
+        }
+    }
+}
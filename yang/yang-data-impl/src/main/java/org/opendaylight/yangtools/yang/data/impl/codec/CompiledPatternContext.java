@@ -24,27 +24,38 @@ final class CompiledPatternContext {
     CompiledPatternContext(final PatternConstraint yangConstraint) {
         this.constraint = requireNonNull(yangConstraint);
         pattern = Pattern.compile(yangConstraint.getJavaPatternString());
+        invert = isInverted(yangConstraint);
+    }
 
-        final Optional<ModifierKind> optModifier = yangConstraint.getModifier();
-        if (optModifier.isPresent()) {
-            final ModifierKind modifier = optModifier.get();
-            switch (modifier) {
-                case INVERT_MATCH:
-                    invert = true;
-                    break;
-                default:
-                    throw new IllegalStateException("Unhandled modifier " + modifier);
-            }
-        } else {
-            invert = false;
-        }
+    boolean matches(final String str) {
+        return pattern.matcher(str).matches() != invert;
     }
 
     void validate(final String str) {
-        if (pattern.matcher(str).matches() == invert) {
-            throw new YangInvalidValueException(ErrorType.PROTOCOL, constraint,
-                "Value '" + str + "' " + (invert ? "matches" : "does not match") + " regular expression '"
-                        + constraint.getRegularExpressionString() + "'");
+        if (!matches(str)) {
+            throw mismatch(constraint, invert, str);
+        }
+    }
+
+    static boolean isInverted(final PatternConstraint constraint) {
+        final Optional<ModifierKind> optModifier = constraint.getModifier();
+        if (optModifier.isEmpty()) {
+            return false;
         }
+
+        final ModifierKind modifier = optModifier.get();
+        switch (modifier) {
+            case INVERT_MATCH:
+                return true;
+            default:
+                throw new IllegalStateException("Unhandled modifier " + modifier);
+        }
+    }
+
+    static YangInvalidValueException mismatch(final PatternConstraint constraint, final boolean invert,
+            final String str) {
+        return new YangInvalidValueException(ErrorType.PROTOCOL, constraint,
+            "Value '" + str + "' " + (invert ? "matches" : "does not match") + " regular expression '"
+                    + constraint.getRegularExpressionString() + "'");
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+
+/**
+ * A set of {@link PatternConstraint}s compiled into a single deterministic automaton. Each pattern is compiled into
+ * its own DFA, these are then combined into their product, so that all patterns, including their modifiers, are
+ * evaluated in a single pass over the input, taking time linear in the length of the input regardless of how the
+ * patterns look. The product's states are tagged with the index of the first pattern which is not satisfied, so that
+ * we can report it without re-evaluating the patterns.
+ */
+final class PatternAutomaton {
+    private static final int SATISFIED = -1;
+
+    private final ImmutableList<PatternConstraint> constraints;
+    private final boolean[] inverts;
+    private final RegexDfa dfa;
+
+    private PatternAutomaton(final ImmutableList<PatternConstraint> constraints, final boolean[] inverts,
+            final RegexDfa dfa) {
+        this.constraints = requireNonNull(constraints);
+        this.inverts = requireNonNull(inverts);
+        this.dfa = requireNonNull(dfa);
+    }
+
+    /**
+     * Compile a set of patterns into an automaton.
+     *
+     * @param constraints Patterns to compile
+     * @return A PatternAutomaton
+     * @throws IllegalArgumentException if {@code constraints} is empty
+     * @throws UnsupportedRegexException if any of the patterns cannot be compiled
+     */
+    static PatternAutomaton compile(final List<PatternConstraint> constraints) throws UnsupportedRegexException {
+        checkArgument(!constraints.isEmpty(), "At least one pattern is required");
+        final ImmutableList<PatternConstraint> list = ImmutableList.copyOf(constraints);
+        final boolean[] inverts = new boolean[list.size()];
+        final List<RegexDfa> dfas = new ArrayList<>(list.size());
+        for (int i = 0; i < inverts.length; ++i) {
+            final PatternConstraint constraint = list.get(i);
+            inverts[i] = CompiledPatternContext.isInverted(constraint);
+            dfas.add(RegexNfa.of(RegexParser.parse(constraint.getJavaPatternString())).toDfa());
+        }
+
+        return new PatternAutomaton(list, inverts, RegexDfa.product(dfas, tags -> {
+            for (int i = 0; i < tags.length; ++i) {
+                // Component tag is 1 for matching states, 0 otherwise
+                if (tags[i] == 1 == inverts[i]) {
+                    return i;
+                }
+            }
+            return SATISFIED;
+        }));
+    }
+
+    boolean matches(final String str) {
+        return dfa.run(str) == SATISFIED;
+    }
+
+    void validate(final String str) {
+        final int failed = dfa.run(str);
+        if (failed != SATISFIED) {
+            throw CompiledPatternContext.mismatch(constraints.get(failed), inverts[failed], str);
+        }
+    }
+
+    int stateCount() {
+        return dfa.stateCount();
+    }
+}
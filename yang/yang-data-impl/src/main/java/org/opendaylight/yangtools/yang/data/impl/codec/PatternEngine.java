@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Implementation strategy used to check values against {@code pattern} restrictions of {@code string} types.
+ */
+@Beta
+public enum PatternEngine {
+    /**
+     * Each pattern is compiled to a {@link java.util.regex.Pattern} and checked separately. This is the default.
+     */
+    JAVA_REGEX,
+    /**
+     * All patterns of a type, including their modifiers, are compiled into a single deterministic automaton, which
+     * checks a value in a single pass, in time linear to its length. Compiling the automaton is more expensive than
+     * compiling the corresponding {@link java.util.regex.Pattern}s and its size grows with the complexity of the
+     * patterns. Types whose patterns use constructs which cannot be expressed as a finite automaton, or result in
+     * an automaton which is too large, fall back to {@link #JAVA_REGEX}.
+     */
+    AUTOMATON;
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * A deterministic finite automaton over Unicode code points. Each state carries an integer tag, which is reported
+ * back once the input has been consumed, hence a single automaton can report more than a plain match/no-match.
+ *
+ * <p>
+ * The alphabet is partitioned into intervals of code points which are indistinguishable to the automaton, each
+ * interval being mapped to an input class. Transitions are kept in a dense table indexed by state and input class,
+ * hence matching a string takes a single table lookup per code point.
+ */
+final class RegexDfa {
+    // Upper bound on the size of the transition table, in entries
+    private static final int MAX_TABLE_SIZE = 1 << 18;
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * Incremental builder of a transition table.
+     */
+    static final class TableBuilder {
+        private final int classCount;
+        private int[] table;
+        private int[] tags;
+        private int stateCount;
+
+        TableBuilder(final int classCount) {
+            this.classCount = classCount;
+            table = new int[classCount * 16];
+            tags = new int[16];
+        }
+
+        int addState(final int tag) throws UnsupportedRegexException {
+            if ((long) (stateCount + 1) * classCount > MAX_TABLE_SIZE) {
+                throw new UnsupportedRegexException("Automaton exceeds " + MAX_TABLE_SIZE + " transitions");
+            }
+            if (stateCount == tags.length) {
+                tags = Arrays.copyOf(tags, stateCount * 2);
+                table = Arrays.copyOf(table, stateCount * 2 * classCount);
+            }
+            tags[stateCount] = tag;
+            return stateCount++;
+        }
+
+        void setTarget(final int state, final int cls, final int target) {
+            table[state * classCount + cls] = target;
+        }
+
+        RegexDfa build(final int[] starts, final int[] intervalClasses, final int start) {
+            return new RegexDfa(starts, intervalClasses, classCount, Arrays.copyOf(table, stateCount * classCount),
+                Arrays.copyOf(tags, stateCount), start);
+        }
+    }
+
+    // Lookup key for state tuples and signatures
+    private static final class Key {
+        private final int[] values;
+        private final int hashCode;
+
+        Key(final int[] values) {
+            this.values = values;
+            hashCode = Arrays.hashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && Arrays.equals(values, ((Key) obj).values);
+        }
+    }
+
+    // Sorted starts of code point intervals and their corresponding input classes
+    private final int[] starts;
+    private final int[] intervalClasses;
+    // Input classes for the ASCII range, which is by far the most common
+    private final int[] asciiClasses = new int[ASCII_SIZE];
+    private final int classCount;
+    private final int[] table;
+    private final int[] tags;
+    // States which transition only to themselves, we can stop as soon as we reach one
+    private final boolean[] sinks;
+    private final int start;
+
+    private RegexDfa(final int[] starts, final int[] intervalClasses, final int classCount, final int[] table,
+            final int[] tags, final int start) {
+        this.starts = starts;
+        this.intervalClasses = intervalClasses;
+        this.classCount = classCount;
+        this.table = table;
+        this.tags = tags;
+        this.start = start;
+
+        for (int cp = 0; cp < ASCII_SIZE; ++cp) {
+            asciiClasses[cp] = intervalClasses[RegexNfa.intervalOf(starts, cp)];
+        }
+
+        sinks = new boolean[tags.length];
+        for (int state = 0; state < tags.length; ++state) {
+            boolean sink = true;
+            for (int cls = 0; cls < classCount; ++cls) {
+                if (table[state * classCount + cls] != state) {
+                    sink = false;
+                    break;
+                }
+            }
+            sinks[state] = sink;
+        }
+    }
+
+    int stateCount() {
+        return tags.length;
+    }
+
+    int classCount() {
+        return classCount;
+    }
+
+    /**
+     * Run this automaton on a string.
+     *
+     * @param str input string
+     * @return Tag of the state in which the automaton ended
+     */
+    int run(final String str) {
+        int state = start;
+        int offset = 0;
+        final int length = str.length();
+        while (offset < length && !sinks[state]) {
+            final char ch = str.charAt(offset);
+            final int cls;
+            if (ch < ASCII_SIZE) {
+                cls = asciiClasses[ch];
+                offset++;
+            } else {
+                final int cp = str.codePointAt(offset);
+                cls = classOf(cp);
+                offset += Character.charCount(cp);
+            }
+            state = table[state * classCount + cls];
+        }
+        return tags[state];
+    }
+
+    private int classOf(final int codePoint) {
+        return intervalClasses[RegexNfa.intervalOf(starts, codePoint)];
+    }
+
+    /**
+     * Return an equivalent automaton with the smallest number of states and input classes. States are considered
+     * equivalent when they have the same tag and their transitions lead to equivalent states.
+     *
+     * @return Minimized automaton
+     */
+    RegexDfa minimize() {
+        final int stateCount = tags.length;
+
+        // Moore's algorithm: start with partitioning by tags and refine until stable
+        int[] partition = new int[stateCount];
+        int blockCount = assignBlocks(partition, state -> new Key(new int[] { tags[state] }));
+        while (true) {
+            final int[] current = partition;
+            final int[] refined = new int[stateCount];
+            final int refinedCount = assignBlocks(refined, state -> {
+                final int[] signature = new int[classCount + 1];
+                signature[0] = current[state];
+                for (int cls = 0; cls < classCount; ++cls) {
+                    signature[cls + 1] = current[table[state * classCount + cls]];
+                }
+                return new Key(signature);
+            });
+            partition = refined;
+            if (refinedCount == blockCount) {
+                break;
+            }
+            blockCount = refinedCount;
+        }
+        final int[] blocks = partition;
+
+        // Pick a representative of each block
+        final int[] representatives = new int[blockCount];
+        for (int state = stateCount - 1; state >= 0; --state) {
+            representatives[blocks[state]] = state;
+        }
+
+        // Merge input classes which lead to equivalent states from all states
+        final int[] classMap = new int[classCount];
+        final int newClassCount = assignBlocks(classMap, classCount, cls -> {
+            final int[] column = new int[representatives.length];
+            for (int block = 0; block < representatives.length; ++block) {
+                column[block] = blocks[table[representatives[block] * classCount + cls]];
+            }
+            return new Key(column);
+        });
+
+        final int[] newTags = new int[blockCount];
+        final int[] newTable = new int[blockCount * newClassCount];
+        for (int block = 0; block < blockCount; ++block) {
+            final int state = representatives[block];
+            newTags[block] = tags[state];
+            for (int cls = 0; cls < classCount; ++cls) {
+                newTable[block * newClassCount + classMap[cls]] = blocks[table[state * classCount + cls]];
+            }
+        }
+
+        // Coalesce adjacent intervals mapping to the same input class
+        final List<Integer> newStarts = new ArrayList<>();
+        final List<Integer> newIntervalClasses = new ArrayList<>();
+        for (int i = 0; i < starts.length; ++i) {
+            final int cls = classMap[intervalClasses[i]];
+            if (newIntervalClasses.isEmpty() || newIntervalClasses.get(newIntervalClasses.size() - 1) != cls) {
+                newStarts.add(starts[i]);
+                newIntervalClasses.add(cls);
+            }
+        }
+
+        return new RegexDfa(newStarts.stream().mapToInt(Integer::intValue).toArray(),
+            newIntervalClasses.stream().mapToInt(Integer::intValue).toArray(), newClassCount, newTable, newTags,
+            blocks[start]);
+    }
+
+    /**
+     * Construct the product of a number of automata, i.e. an automaton which runs all of them in lockstep. Tags of
+     * the product's states are computed from the tags of corresponding component states.
+     *
+     * @param components Component automata
+     * @param tagFunction Function computing a product tag from component tags
+     * @return Minimized product automaton
+     * @throws UnsupportedRegexException if the product would be too large
+     */
+    static RegexDfa product(final List<RegexDfa> components, final ToIntFunction<int[]> tagFunction)
+            throws UnsupportedRegexException {
+        final int count = components.size();
+
+        // Intervals of the product are the intersections of intervals of all components
+        final CodePointSet.Builder builder = new CodePointSet.Builder();
+        for (RegexDfa component : components) {
+            for (int cp : component.starts) {
+                builder.add(cp, cp);
+            }
+        }
+        final CodePointSet points = builder.build();
+        final List<Integer> startList = new ArrayList<>();
+        for (int i = 0; i < points.rangeCount(); ++i) {
+            for (int cp = points.lower(i); cp <= points.upper(i); ++cp) {
+                startList.add(cp);
+            }
+        }
+        final int[] productStarts = startList.stream().mapToInt(Integer::intValue).toArray();
+
+        // Intervals mapping to the same combination of component input classes form a single input class
+        final int[] intervalClasses = new int[productStarts.length];
+        final Map<Key, Integer> classes = new HashMap<>();
+        final List<int[]> classTuples = new ArrayList<>();
+        for (int interval = 0; interval < productStarts.length; ++interval) {
+            final int[] tuple = new int[count];
+            for (int i = 0; i < count; ++i) {
+                tuple[i] = components.get(i).classOf(productStarts[interval]);
+            }
+            final Integer existing = classes.putIfAbsent(new Key(tuple), classTuples.size());
+            if (existing != null) {
+                intervalClasses[interval] = existing;
+            } else {
+                intervalClasses[interval] = classTuples.size();
+                classTuples.add(tuple);
+            }
+        }
+        final int classCount = classTuples.size();
+
+        final TableBuilder table = new TableBuilder(classCount);
+        final Map<Key, Integer> productStates = new HashMap<>();
+        final List<int[]> pending = new ArrayList<>();
+
+        final int[] initial = new int[count];
+        for (int i = 0; i < count; ++i) {
+            initial[i] = components.get(i).start;
+        }
+        productStates.put(new Key(initial), table.addState(tagFunction.applyAsInt(tagsOf(components, initial))));
+        pending.add(initial);
+
+        for (int productState = 0; productState < pending.size(); ++productState) {
+            final int[] current = pending.get(productState);
+            for (int cls = 0; cls < classCount; ++cls) {
+                final int[] next = new int[count];
+                for (int i = 0; i < count; ++i) {
+                    final RegexDfa component = components.get(i);
+                    next[i] = component.table[current[i] * component.classCount + classTuples.get(cls)[i]];
+                }
+
+                final Key key = new Key(next);
+                Integer target = productStates.get(key);
+                if (target == null) {
+                    target = table.addState(tagFunction.applyAsInt(tagsOf(components, next)));
+                    productStates.put(key, target);
+                    pending.add(next);
+                }
+                table.setTarget(productState, cls, target);
+            }
+        }
+
+        return table.build(productStarts, intervalClasses, 0).minimize();
+    }
+
+    private static int[] tagsOf(final List<RegexDfa> components, final int[] states) {
+        final int[] ret = new int[states.length];
+        for (int i = 0; i < states.length; ++i) {
+            ret[i] = components.get(i).tags[states[i]];
+        }
+        return ret;
+    }
+
+    private int assignBlocks(final int[] blocks, final IntFunction<Key> keyFunction) {
+        return assignBlocks(blocks, tags.length, keyFunction);
+    }
+
+    private static int assignBlocks(final int[] blocks, final int size,
+            final IntFunction<Key> keyFunction) {
+        final Map<Key, Integer> keys = new HashMap<>();
+        for (int i = 0; i < size; ++i) {
+            final Integer existing = keys.putIfAbsent(keyFunction.apply(i), keys.size());
+            blocks[i] = existing != null ? existing : keys.size() - 1;
+        }
+        return keys.size();
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A non-deterministic finite automaton over Unicode code points, built by Thompson's construction. It is used only
+ * as an intermediate step towards a {@link RegexDfa}.
+ */
+final class RegexNfa {
+    private static final int MAX_STATES = 1 << 16;
+
+    private static final class Transition {
+        final CodePointSet set;
+        final int target;
+
+        Transition(final CodePointSet set, final int target) {
+            this.set = set;
+            this.target = target;
+        }
+    }
+
+    private final List<List<Integer>> epsilons = new ArrayList<>();
+    private final List<List<Transition>> transitions = new ArrayList<>();
+    private final int start;
+    private final int accept;
+
+    private RegexNfa(final RegexParser.Node node) throws UnsupportedRegexException {
+        start = newState();
+        accept = node.build(this, start);
+    }
+
+    static RegexNfa of(final RegexParser.Node node) throws UnsupportedRegexException {
+        return new RegexNfa(node);
+    }
+
+    int newState() throws UnsupportedRegexException {
+        final int ret = epsilons.size();
+        if (ret == MAX_STATES) {
+            throw new UnsupportedRegexException("Expression requires more than " + MAX_STATES + " NFA states");
+        }
+        epsilons.add(new ArrayList<>(1));
+        transitions.add(new ArrayList<>(1));
+        return ret;
+    }
+
+    void addEpsilon(final int from, final int to) {
+        if (from != to) {
+            epsilons.get(from).add(to);
+        }
+    }
+
+    void addTransition(final int from, final CodePointSet set, final int to) {
+        if (!set.isEmpty()) {
+            transitions.get(from).add(new Transition(set, to));
+        }
+    }
+
+    /**
+     * Convert this automaton into an equivalent minimal {@link RegexDfa} using the subset construction. Accepting
+     * states are tagged with {@code 1}, all others with {@code 0}.
+     *
+     * @return A {@link RegexDfa}
+     * @throws UnsupportedRegexException if the resulting automaton would be too large
+     */
+    RegexDfa toDfa() throws UnsupportedRegexException {
+        // Partition the alphabet into intervals which are not split by any transition
+        final int[] starts = intervalStarts();
+
+        // Number all transitions and find out which of them cover each interval
+        final List<int[]> edges = new ArrayList<>();
+        final BitSet[] coverage = new BitSet[starts.length];
+        Arrays.setAll(coverage, i -> new BitSet());
+        for (int state = 0; state < transitions.size(); ++state) {
+            for (Transition transition : transitions.get(state)) {
+                final int edge = edges.size();
+                edges.add(new int[] { state, transition.target });
+
+                final CodePointSet set = transition.set;
+                for (int i = 0; i < set.rangeCount(); ++i) {
+                    final int last = intervalOf(starts, set.upper(i));
+                    for (int interval = intervalOf(starts, set.lower(i)); interval <= last; ++interval) {
+                        coverage[interval].set(edge);
+                    }
+                }
+            }
+        }
+
+        // Intervals covered by the same transitions are indistinguishable, hence they form a single input class. For
+        // each class we remember the (source, target) pairs of its transitions.
+        final int[] intervalClasses = new int[starts.length];
+        final Map<BitSet, Integer> classes = new HashMap<>();
+        final List<int[]> classMoves = new ArrayList<>();
+        for (int interval = 0; interval < starts.length; ++interval) {
+            final BitSet covered = coverage[interval];
+            Integer cls = classes.get(covered);
+            if (cls == null) {
+                cls = classMoves.size();
+                classes.put(covered, cls);
+
+                final int[] pairs = new int[covered.cardinality() * 2];
+                int offset = 0;
+                for (int edge = covered.nextSetBit(0); edge >= 0; edge = covered.nextSetBit(edge + 1)) {
+                    pairs[offset++] = edges.get(edge)[0];
+                    pairs[offset++] = edges.get(edge)[1];
+                }
+                classMoves.add(pairs);
+            }
+            intervalClasses[interval] = cls;
+        }
+
+        final int classCount = classMoves.size();
+        final Map<BitSet, Integer> dfaStates = new HashMap<>();
+        final List<BitSet> pending = new ArrayList<>();
+        final RegexDfa.TableBuilder table = new RegexDfa.TableBuilder(classCount);
+
+        // Dead state is always 0
+        final BitSet dead = new BitSet();
+        dfaStates.put(dead, table.addState(0));
+        pending.add(dead);
+
+        final BitSet initial = closure(singleton(start));
+        final int initialState = table.addState(initial.get(accept) ? 1 : 0);
+        dfaStates.put(initial, initialState);
+        pending.add(initial);
+
+        for (int dfaState = 0; dfaState < pending.size(); ++dfaState) {
+            final BitSet current = pending.get(dfaState);
+            // Many classes typically lead to the same set, cache closures
+            final Map<BitSet, Integer> closures = new HashMap<>();
+            for (int cls = 0; cls < classCount; ++cls) {
+                final BitSet move = new BitSet();
+                final int[] pairs = classMoves.get(cls);
+                for (int i = 0; i < pairs.length; i += 2) {
+                    if (current.get(pairs[i])) {
+                        move.set(pairs[i + 1]);
+                    }
+                }
+
+                Integer target = closures.get(move);
+                if (target == null) {
+                    final BitSet closure = closure(move);
+                    target = dfaStates.get(closure);
+                    if (target == null) {
+                        target = table.addState(closure.get(accept) ? 1 : 0);
+                        dfaStates.put(closure, target);
+                        pending.add(closure);
+                    }
+                    closures.put(move, target);
+                }
+                table.setTarget(dfaState, cls, target);
+            }
+        }
+
+        return table.build(starts, intervalClasses, initialState).minimize();
+    }
+
+    private int[] intervalStarts() {
+        final CodePointSet.Builder builder = new CodePointSet.Builder().add(0, 0);
+        for (List<Transition> list : transitions) {
+            for (Transition transition : list) {
+                final CodePointSet set = transition.set;
+                for (int i = 0; i < set.rangeCount(); ++i) {
+                    builder.add(set.lower(i), set.lower(i));
+                    if (set.upper(i) != Character.MAX_CODE_POINT) {
+                        builder.add(set.upper(i) + 1, set.upper(i) + 1);
+                    }
+                }
+            }
+        }
+
+        // Adjacent points get merged into ranges, expand them back
+        final CodePointSet points = builder.build();
+        int count = 0;
+        for (int i = 0; i < points.rangeCount(); ++i) {
+            count += points.upper(i) - points.lower(i) + 1;
+        }
+        final int[] ret = new int[count];
+        int offset = 0;
+        for (int i = 0; i < points.rangeCount(); ++i) {
+            for (int cp = points.lower(i); cp <= points.upper(i); ++cp) {
+                ret[offset++] = cp;
+            }
+        }
+        return ret;
+    }
+
+    static int intervalOf(final int[] starts, final int codePoint) {
+        final int idx = Arrays.binarySearch(starts, codePoint);
+        return idx >= 0 ? idx : -idx - 2;
+    }
+
+    private static BitSet singleton(final int state) {
+        final BitSet ret = new BitSet();
+        ret.set(state);
+        return ret;
+    }
+
+    private BitSet closure(final BitSet states) {
+        final BitSet ret = (BitSet) states.clone();
+        final Deque<Integer> queue = new ArrayDeque<>();
+        states.stream().forEach(queue::add);
+        while (!queue.isEmpty()) {
+            for (int next : epsilons.get(queue.pop())) {
+                if (!ret.get(next)) {
+                    ret.set(next);
+                    queue.push(next);
+                }
+            }
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,621 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.Character.UnicodeBlock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Parser of the regular expressions produced by {@link
+ * org.opendaylight.yangtools.yang.model.api.type.PatternConstraint#getJavaPatternString()}. It understands the subset
+ * of {@link java.util.regex.Pattern} syntax which corresponds to XSD regular expressions, i.e. it has no support for
+ * back-references, look-around, anchors other than the implied ones, possessive quantifiers, nested character classes
+ * and similar. Supported constructs are interpreted the same way {@link java.util.regex.Pattern} interprets them,
+ * anything else results in an {@link UnsupportedRegexException}.
+ */
+final class RegexParser {
+    /**
+     * A node in the parsed expression tree.
+     */
+    abstract static class Node {
+        /**
+         * Add the transitions matching this node to an NFA.
+         *
+         * @param nfa NFA being built
+         * @param start state from which the matching should start
+         * @return state in which the matching ends
+         * @throws UnsupportedRegexException if the NFA becomes too large
+         */
+        abstract int build(RegexNfa nfa, int start) throws UnsupportedRegexException;
+    }
+
+    private static final class CharacterNode extends Node {
+        private final CodePointSet set;
+
+        CharacterNode(final CodePointSet set) {
+            this.set = requireNonNull(set);
+        }
+
+        @Override
+        int build(final RegexNfa nfa, final int start) throws UnsupportedRegexException {
+            final int end = nfa.newState();
+            nfa.addTransition(start, set, end);
+            return end;
+        }
+    }
+
+    private static final class ConcatNode extends Node {
+        private final ImmutableList<Node> nodes;
+
+        ConcatNode(final List<Node> nodes) {
+            this.nodes = ImmutableList.copyOf(nodes);
+        }
+
+        @Override
+        int build(final RegexNfa nfa, final int start) throws UnsupportedRegexException {
+            int current = start;
+            for (Node node : nodes) {
+                current = node.build(nfa, current);
+            }
+            return current;
+        }
+    }
+
+    private static final class AlternationNode extends Node {
+        private final ImmutableList<Node> nodes;
+
+        AlternationNode(final List<Node> nodes) {
+            this.nodes = ImmutableList.copyOf(nodes);
+        }
+
+        @Override
+        int build(final RegexNfa nfa, final int start) throws UnsupportedRegexException {
+            final int end = nfa.newState();
+            for (Node node : nodes) {
+                final int branch = nfa.newState();
+                nfa.addEpsilon(start, branch);
+                nfa.addEpsilon(node.build(nfa, branch), end);
+            }
+            return end;
+        }
+    }
+
+    private static final class RepeatNode extends Node {
+        private final Node node;
+        private final int min;
+        // -1 means unbounded
+        private final int max;
+
+        RepeatNode(final Node node, final int min, final int max) {
+            this.node = requireNonNull(node);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        int build(final RegexNfa nfa, final int start) throws UnsupportedRegexException {
+            int current = start;
+            for (int i = 0; i < min; ++i) {
+                current = node.build(nfa, current);
+            }
+
+            if (max == -1) {
+                final int loop = nfa.newState();
+                nfa.addEpsilon(current, loop);
+                nfa.addEpsilon(node.build(nfa, loop), loop);
+                return loop;
+            }
+
+            final int end = nfa.newState();
+            for (int i = min; i < max; ++i) {
+                nfa.addEpsilon(current, end);
+                current = node.build(nfa, current);
+            }
+            nfa.addEpsilon(current, end);
+            return end;
+        }
+    }
+
+    // Bounded repetitions are expanded, hence we need a sane upper bound
+    private static final int MAX_REPEAT = 1000;
+
+    // Predefined character classes, as defined by java.util.regex.Pattern without UNICODE_CHARACTER_CLASS
+    private static final CodePointSet DIGIT = CodePointSet.range('0', '9');
+    private static final CodePointSet SPACE = CodePointSet.of(' ', '\t', '\n', 0x0B, '\f', '\r');
+    private static final CodePointSet WORD = new CodePointSet.Builder().add('a', 'z').add('A', 'Z').add('_', '_')
+        .add('0', '9').build();
+    // '.' without DOTALL does not match line terminators
+    private static final CodePointSet DOT = CodePointSet.of('\n', '\r', 0x85, 0x2028, 0x2029).complement();
+
+    // General categories, as understood by java.util.regex.Pattern
+    private static final ImmutableMap<String, Integer> CATEGORIES = ImmutableMap.<String, Integer>builder()
+        .put("Cn", 1 << Character.UNASSIGNED)
+        .put("Lu", 1 << Character.UPPERCASE_LETTER)
+        .put("Ll", 1 << Character.LOWERCASE_LETTER)
+        .put("Lt", 1 << Character.TITLECASE_LETTER)
+        .put("Lm", 1 << Character.MODIFIER_LETTER)
+        .put("Lo", 1 << Character.OTHER_LETTER)
+        .put("Mn", 1 << Character.NON_SPACING_MARK)
+        .put("Me", 1 << Character.ENCLOSING_MARK)
+        .put("Mc", 1 << Character.COMBINING_SPACING_MARK)
+        .put("Nd", 1 << Character.DECIMAL_DIGIT_NUMBER)
+        .put("Nl", 1 << Character.LETTER_NUMBER)
+        .put("No", 1 << Character.OTHER_NUMBER)
+        .put("Zs", 1 << Character.SPACE_SEPARATOR)
+        .put("Zl", 1 << Character.LINE_SEPARATOR)
+        .put("Zp", 1 << Character.PARAGRAPH_SEPARATOR)
+        .put("Cc", 1 << Character.CONTROL)
+        .put("Cf", 1 << Character.FORMAT)
+        .put("Co", 1 << Character.PRIVATE_USE)
+        .put("Cs", 1 << Character.SURROGATE)
+        .put("Pd", 1 << Character.DASH_PUNCTUATION)
+        .put("Ps", 1 << Character.START_PUNCTUATION)
+        .put("Pe", 1 << Character.END_PUNCTUATION)
+        .put("Pc", 1 << Character.CONNECTOR_PUNCTUATION)
+        .put("Po", 1 << Character.OTHER_PUNCTUATION)
+        .put("Sm", 1 << Character.MATH_SYMBOL)
+        .put("Sc", 1 << Character.CURRENCY_SYMBOL)
+        .put("Sk", 1 << Character.MODIFIER_SYMBOL)
+        .put("So", 1 << Character.OTHER_SYMBOL)
+        .put("Pi", 1 << Character.INITIAL_QUOTE_PUNCTUATION)
+        .put("Pf", 1 << Character.FINAL_QUOTE_PUNCTUATION)
+        .put("L", 1 << Character.UPPERCASE_LETTER | 1 << Character.LOWERCASE_LETTER | 1 << Character.TITLECASE_LETTER
+            | 1 << Character.MODIFIER_LETTER | 1 << Character.OTHER_LETTER)
+        .put("M", 1 << Character.NON_SPACING_MARK | 1 << Character.ENCLOSING_MARK
+            | 1 << Character.COMBINING_SPACING_MARK)
+        .put("N", 1 << Character.DECIMAL_DIGIT_NUMBER | 1 << Character.LETTER_NUMBER | 1 << Character.OTHER_NUMBER)
+        .put("Z", 1 << Character.SPACE_SEPARATOR | 1 << Character.LINE_SEPARATOR | 1 << Character.PARAGRAPH_SEPARATOR)
+        .put("C", 1 << Character.CONTROL | 1 << Character.FORMAT | 1 << Character.PRIVATE_USE | 1 << Character.SURROGATE
+            | 1 << Character.UNASSIGNED)
+        .put("P", 1 << Character.DASH_PUNCTUATION | 1 << Character.START_PUNCTUATION | 1 << Character.END_PUNCTUATION
+            | 1 << Character.CONNECTOR_PUNCTUATION | 1 << Character.OTHER_PUNCTUATION
+            | 1 << Character.INITIAL_QUOTE_PUNCTUATION | 1 << Character.FINAL_QUOTE_PUNCTUATION)
+        .put("S", 1 << Character.MATH_SYMBOL | 1 << Character.CURRENCY_SYMBOL | 1 << Character.MODIFIER_SYMBOL
+            | 1 << Character.OTHER_SYMBOL)
+        .build();
+
+    // Computing a property requires a scan of all code points, hence we cache the results
+    private static final ConcurrentMap<String, CodePointSet> PROPERTIES = new ConcurrentHashMap<>();
+
+    private final String regex;
+    private int limit;
+    private int pos;
+
+    private RegexParser(final String regex) {
+        this.regex = requireNonNull(regex);
+    }
+
+    /**
+     * Parse a regular expression.
+     *
+     * @param regex Regular expression in {@link java.util.regex.Pattern} syntax
+     * @return Parsed expression tree
+     * @throws UnsupportedRegexException if the expression is not valid or uses an unsupported construct
+     */
+    static Node parse(final String regex) throws UnsupportedRegexException {
+        return new RegexParser(regex).parse();
+    }
+
+    private Node parse() throws UnsupportedRegexException {
+        // We always match the entire input, hence the leading '^' and trailing '$' emitted by RegexUtils are no-ops
+        limit = regex.length();
+        if (limit != 0 && regex.charAt(0) == '^') {
+            pos = 1;
+        }
+        if (limit > pos && regex.charAt(limit - 1) == '$' && !isEscaped(limit - 1)) {
+            limit--;
+        }
+
+        final Node node = parseAlternation();
+        if (pos != limit) {
+            throw unsupported("Unmatched closing parenthesis");
+        }
+        return node;
+    }
+
+    private boolean isEscaped(final int index) {
+        int backslashes = 0;
+        for (int i = index - 1; i >= 0 && regex.charAt(i) == '\\'; --i) {
+            backslashes++;
+        }
+        return backslashes % 2 != 0;
+    }
+
+    private Node parseAlternation() throws UnsupportedRegexException {
+        final Node first = parseBranch();
+        if (!peek('|')) {
+            return first;
+        }
+
+        final List<Node> branches = new ArrayList<>();
+        branches.add(first);
+        while (peek('|')) {
+            pos++;
+            branches.add(parseBranch());
+        }
+        return new AlternationNode(branches);
+    }
+
+    private Node parseBranch() throws UnsupportedRegexException {
+        final List<Node> pieces = new ArrayList<>();
+        while (pos < limit && !peek('|') && !peek(')')) {
+            pieces.add(parseQuantifier(parseAtom()));
+        }
+        return pieces.size() == 1 ? pieces.get(0) : new ConcatNode(pieces);
+    }
+
+    private Node parseAtom() throws UnsupportedRegexException {
+        final int ch = regex.codePointAt(pos);
+        switch (ch) {
+            case '(':
+                pos++;
+                if (peek('?')) {
+                    if (!regex.startsWith("?:", pos)) {
+                        throw unsupported("Unsupported group construct");
+                    }
+                    pos += 2;
+                }
+                final Node group = parseAlternation();
+                if (!peek(')')) {
+                    throw unsupported("Unclosed group");
+                }
+                pos++;
+                return group;
+            case '[':
+                return new CharacterNode(parseClass());
+            case '.':
+                pos++;
+                return new CharacterNode(DOT);
+            case '\\':
+                return new CharacterNode(isClassEscape() ? parseClassEscape() : CodePointSet.of(parseEscape()));
+            case '^':
+            case '$':
+                throw unsupported("Unsupported anchor");
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw unsupported("Dangling quantifier");
+            default:
+                pos += Character.charCount(ch);
+                return new CharacterNode(CodePointSet.of(ch));
+        }
+    }
+
+    private Node parseQuantifier(final Node atom) throws UnsupportedRegexException {
+        if (pos == limit) {
+            return atom;
+        }
+
+        final int min;
+        final int max;
+        switch (regex.charAt(pos)) {
+            case '*':
+                pos++;
+                min = 0;
+                max = -1;
+                break;
+            case '+':
+                pos++;
+                min = 1;
+                max = -1;
+                break;
+            case '?':
+                pos++;
+                min = 0;
+                max = 1;
+                break;
+            case '{':
+                pos++;
+                min = parseNumber();
+                if (peek(',')) {
+                    pos++;
+                    max = peek('}') ? -1 : parseNumber();
+                } else {
+                    max = min;
+                }
+                if (!peek('}')) {
+                    throw unsupported("Unclosed repetition");
+                }
+                pos++;
+                if (max != -1 && max < min) {
+                    throw unsupported("Illegal repetition range");
+                }
+                break;
+            default:
+                return atom;
+        }
+
+        if (peek('?')) {
+            // Reluctant quantifiers match the same language
+            pos++;
+        } else if (peek('+')) {
+            throw unsupported("Possessive quantifiers are not supported");
+        }
+        return new RepeatNode(atom, min, max);
+    }
+
+    private int parseNumber() throws UnsupportedRegexException {
+        final int start = pos;
+        while (pos < limit && regex.charAt(pos) >= '0' && regex.charAt(pos) <= '9') {
+            pos++;
+        }
+        if (pos == start || pos - start > 4) {
+            throw unsupported("Illegal repetition");
+        }
+        final int ret = Integer.parseInt(regex.substring(start, pos));
+        if (ret > MAX_REPEAT) {
+            throw unsupported("Repetition count too large");
+        }
+        return ret;
+    }
+
+    private CodePointSet parseClass() throws UnsupportedRegexException {
+        pos++;
+        final boolean negate = peek('^');
+        if (negate) {
+            pos++;
+        }
+
+        final CodePointSet.Builder builder = new CodePointSet.Builder();
+        boolean first = true;
+        while (true) {
+            if (pos >= limit) {
+                throw unsupported("Unclosed character class");
+            }
+
+            final int ch = regex.codePointAt(pos);
+            if (ch == ']') {
+                if (first) {
+                    throw unsupported("Empty character class");
+                }
+                pos++;
+                break;
+            }
+            first = false;
+            if (ch == '[' || regex.startsWith("&&", pos)) {
+                throw unsupported("Nested character classes are not supported");
+            }
+
+            if (ch == '\\' && isClassEscape()) {
+                builder.addAll(parseClassEscape());
+                if (isRangeDash()) {
+                    throw unsupported("Illegal character range");
+                }
+                continue;
+            }
+
+            final int lower = parseClassCharacter();
+            if (isRangeDash()) {
+                pos++;
+                if (peek('[') || peek('\\') && isClassEscape()) {
+                    throw unsupported("Character class subtraction is not supported");
+                }
+                final int upper = parseClassCharacter();
+                if (upper < lower) {
+                    throw unsupported("Illegal character range");
+                }
+                builder.add(lower, upper);
+            } else {
+                builder.add(lower, lower);
+            }
+        }
+
+        final CodePointSet set = builder.build();
+        return negate ? set.complement() : set;
+    }
+
+    private boolean isRangeDash() {
+        return peek('-') && pos + 1 < limit && regex.charAt(pos + 1) != ']';
+    }
+
+    private int parseClassCharacter() throws UnsupportedRegexException {
+        if (peek('\\')) {
+            return parseEscape();
+        }
+        final int ch = regex.codePointAt(pos);
+        pos += Character.charCount(ch);
+        return ch;
+    }
+
+    private boolean isClassEscape() {
+        if (pos + 1 >= limit) {
+            return false;
+        }
+        switch (regex.charAt(pos + 1)) {
+            case 'd':
+            case 'D':
+            case 's':
+            case 'S':
+            case 'w':
+            case 'W':
+            case 'p':
+            case 'P':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private CodePointSet parseClassEscape() throws UnsupportedRegexException {
+        final char ch = regex.charAt(pos + 1);
+        pos += 2;
+        switch (ch) {
+            case 'd':
+                return DIGIT;
+            case 'D':
+                return DIGIT.complement();
+            case 's':
+                return SPACE;
+            case 'S':
+                return SPACE.complement();
+            case 'w':
+                return WORD;
+            case 'W':
+                return WORD.complement();
+            case 'p':
+                return parseProperty();
+            case 'P':
+                return parseProperty().complement();
+            default:
+                throw new IllegalStateException("Unhandled class escape " + ch);
+        }
+    }
+
+    private CodePointSet parseProperty() throws UnsupportedRegexException {
+        final String name;
+        if (peek('{')) {
+            final int end = regex.indexOf('}', pos);
+            if (end == -1 || end >= limit) {
+                throw unsupported("Unclosed character property");
+            }
+            name = regex.substring(pos + 1, end);
+            pos = end + 1;
+        } else if (pos < limit) {
+            name = regex.substring(pos, pos + 1);
+            pos++;
+        } else {
+            throw unsupported("Missing character property");
+        }
+
+        CodePointSet set = PROPERTIES.get(name);
+        if (set == null) {
+            set = computeProperty(name);
+            final CodePointSet existing = PROPERTIES.putIfAbsent(name, set);
+            if (existing != null) {
+                set = existing;
+            }
+        }
+        return set;
+    }
+
+    private CodePointSet computeProperty(final String name) throws UnsupportedRegexException {
+        final CodePointSet.Builder builder = new CodePointSet.Builder();
+        if (name.startsWith("In")) {
+            final UnicodeBlock block;
+            try {
+                block = UnicodeBlock.forName(name.substring(2));
+            } catch (IllegalArgumentException e) {
+                throw unsupported("Unknown block " + name, e);
+            }
+            for (int cp = 0; cp <= Character.MAX_CODE_POINT; ++cp) {
+                if (UnicodeBlock.of(cp) == block) {
+                    builder.add(cp, cp);
+                }
+            }
+            return builder.build();
+        }
+
+        final Integer mask = CATEGORIES.get(name.startsWith("Is") ? name.substring(2) : name);
+        if (mask == null) {
+            throw unsupported("Unsupported character property " + name);
+        }
+        final int bits = mask;
+        for (int cp = 0; cp <= Character.MAX_CODE_POINT; ++cp) {
+            if ((bits >> Character.getType(cp) & 1) != 0) {
+                builder.add(cp, cp);
+            }
+        }
+        return builder.build();
+    }
+
+    private int parseEscape() throws UnsupportedRegexException {
+        if (pos + 1 >= limit) {
+            throw unsupported("Unterminated escape sequence");
+        }
+        final int ch = regex.codePointAt(pos + 1);
+        pos += 1 + Character.charCount(ch);
+        switch (ch) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return 0x07;
+            case 'e':
+                return 0x1B;
+            case 'x':
+                return parseHexEscape();
+            case 'u':
+                return parseUnicodeEscape();
+            default:
+                if (ch >= 'a' && ch <= 'z' || ch >= 'A' && ch <= 'Z' || ch >= '0' && ch <= '9') {
+                    throw unsupported("Unsupported escape sequence \\" + (char) ch);
+                }
+                return ch;
+        }
+    }
+
+    private int parseHexEscape() throws UnsupportedRegexException {
+        final int start;
+        final int end;
+        if (peek('{')) {
+            start = pos + 1;
+            end = regex.indexOf('}', start);
+            if (end == -1 || end >= limit) {
+                throw unsupported("Unclosed hexadecimal escape");
+            }
+            pos = end + 1;
+        } else {
+            start = pos;
+            end = pos + 2;
+            pos = end;
+        }
+        return parseHex(start, end);
+    }
+
+    private int parseUnicodeEscape() throws UnsupportedRegexException {
+        final int start = pos;
+        pos += 4;
+        final int ret = parseHex(start, pos);
+        if (Character.isSurrogate((char) ret)) {
+            // Pattern combines escaped surrogate pairs, we do not bother
+            throw unsupported("Surrogate escapes are not supported");
+        }
+        return ret;
+    }
+
+    private int parseHex(final int start, final int end) throws UnsupportedRegexException {
+        if (start == end || end > limit || end - start > 6) {
+            throw unsupported("Illegal hexadecimal escape");
+        }
+        final int ret;
+        try {
+            ret = Integer.parseInt(regex.substring(start, end), 16);
+        } catch (NumberFormatException e) {
+            throw unsupported("Illegal hexadecimal escape", e);
+        }
+        if (!Character.isValidCodePoint(ret)) {
+            throw unsupported("Hexadecimal codepoint is too big");
+        }
+        return ret;
+    }
+
+    private boolean peek(final char ch) {
+        return pos < limit && regex.charAt(pos) == ch;
+    }
+
+    private UnsupportedRegexException unsupported(final String message) {
+        return new UnsupportedRegexException(message + " near index " + pos + " in " + regex);
+    }
+
+    private UnsupportedRegexException unsupported(final String message, final Throwable cause) {
+        return new UnsupportedRegexException(message + " near index " + pos + " in " + regex, cause);
+    }
+}
@@ -20,11 +20,18 @@ final class StringPatternCheckingCodec extends StringStringCodec {
     private static final Logger LOG = LoggerFactory.getLogger(StringPatternCheckingCodec.class);
 
     private final ImmutableList<CompiledPatternContext> patterns;
+    private final PatternAutomaton automaton;
 
-    StringPatternCheckingCodec(final StringTypeDefinition typeDef) {
+    StringPatternCheckingCodec(final StringTypeDefinition typeDef, final PatternEngine patternEngine) {
         super(typeDef);
 
         final List<PatternConstraint> constraints = typeDef.getPatternConstraints();
+        automaton = patternEngine == PatternEngine.AUTOMATON ? compileAutomaton(constraints) : null;
+        if (automaton != null) {
+            patterns = ImmutableList.of();
+            return;
+        }
+
         final Builder<CompiledPatternContext> builder = ImmutableList.builderWithExpectedSize(constraints.size());
         for (final PatternConstraint yangPattern : typeDef.getPatternConstraints()) {
             try {
@@ -36,9 +43,22 @@ final class StringPatternCheckingCodec extends StringStringCodec {
         patterns = builder.build();
     }
 
+    private static PatternAutomaton compileAutomaton(final List<PatternConstraint> constraints) {
+        try {
+            return PatternAutomaton.compile(constraints);
+        } catch (UnsupportedRegexException e) {
+            LOG.debug("Unable to compile {} into an automaton, falling back to regular expressions", constraints, e);
+            return null;
+        }
+    }
+
     @Override
     void validate(final String str) {
         super.validate(str);
+        if (automaton != null) {
+            automaton.validate(str);
+            return;
+        }
         for (final CompiledPatternContext pattern : patterns) {
             pattern.validate(str);
         }
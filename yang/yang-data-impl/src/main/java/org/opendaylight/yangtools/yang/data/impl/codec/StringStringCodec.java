@@ -31,8 +31,12 @@ public class StringStringCodec extends TypeDefinitionAwareCodec<String, StringTy
     }
 
     public static StringStringCodec from(final StringTypeDefinition normalizedType) {
+        return from(normalizedType, PatternEngine.JAVA_REGEX);
+    }
+
+    public static StringStringCodec from(final StringTypeDefinition normalizedType, final PatternEngine patternEngine) {
         return normalizedType.getPatternConstraints().isEmpty() ? new StringStringCodec(normalizedType)
-                : new StringPatternCheckingCodec(normalizedType);
+                : new StringPatternCheckingCodec(normalizedType, patternEngine);
     }
 
     @Override
@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.regex.PatternSyntaxException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition.Bit;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition.EnumPair;
+import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.InstanceIdentifierTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int16TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int64TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int8TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeRestrictedTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint16TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint64TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint8TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pre-analyzed member types of a {@link UnionTypeDefinition}, allowing union codecs to skip members which cannot
+ * possibly accept a particular string representation without attempting to parse it. Attempting to parse incompatible
+ * input typically ends with an exception being thrown, which is expensive, especially for unions of numbers,
+ * enumerations and pattern-restricted strings.
+ *
+ * <p>
+ * For integer, boolean, enumeration, bits and string members the checks performed mirror the corresponding codecs,
+ * including range, length and pattern restrictions, without throwing any exceptions. Members of other types are
+ * checked only for necessary conditions: a member reported as not accepting the input is guaranteed to reject it, but
+ * a member reported as accepting the input may still reject it. Members whose acceptance cannot be determined up
+ * front, like leafrefs, are always reported as accepting. Union codecs therefore retain their semantics, which is to
+ * use the first member which successfully parses the input.
+ *
+ * <p>
+ * String members are {@link #isVerbatim(int) verbatim}: their value is the string representation itself, hence union
+ * codecs can use it as soon as {@link #mayAccept(int, String)} returns {@code true}, without matching the patterns
+ * a second time in the member codec.
+ *
+ * <p>
+ * Do not use this class outside of yangtools, its presence does not fall into the API stability contract.
+ */
+@Beta
+public final class UnionMemberDispatcher {
+    private static final Logger LOG = LoggerFactory.getLogger(UnionMemberDispatcher.class);
+    private static final Predicate<String> ANY = str -> true;
+    private static final Predicate<String> BOOLEAN = str -> "true".equals(str) || "false".equals(str);
+    private static final Predicate<String> DECIMAL = UnionMemberDispatcher::isDecimal;
+    private static final Predicate<String> IDENTITYREF = UnionMemberDispatcher::isIdentityref;
+    private static final Predicate<String> INSTANCE_IDENTIFIER = str -> str.isEmpty() || str.charAt(0) == '/';
+
+    // Same as BitsStringCodec
+    private static final Splitter BITS_SPLITTER = Splitter.on(' ').omitEmptyStrings().trimResults();
+    // Base64 alphabet, as interpreted by Base64.getMimeDecoder(), which ignores all other characters
+    private static final CharMatcher BASE64_CHARS = CharMatcher.inRange('A', 'Z').or(CharMatcher.inRange('a', 'z'))
+        .or(CharMatcher.inRange('0', '9')).or(CharMatcher.anyOf("+/")).precomputed();
+
+    // Value space of integer types, as enforced by their parsers when there is no range constraint
+    private static final Range<BigInteger> INT8 = signedRange(Byte.SIZE);
+    private static final Range<BigInteger> INT16 = signedRange(Short.SIZE);
+    private static final Range<BigInteger> INT32 = signedRange(Integer.SIZE);
+    private static final Range<BigInteger> INT64 = signedRange(Long.SIZE);
+    private static final Range<BigInteger> UINT8 = unsignedRange(Byte.SIZE);
+    private static final Range<BigInteger> UINT16 = unsignedRange(Short.SIZE);
+    private static final Range<BigInteger> UINT32 = unsignedRange(Integer.SIZE);
+    private static final Range<BigInteger> UINT64 = unsignedRange(Long.SIZE);
+
+    private final ImmutableList<Predicate<String>> members;
+    private final boolean[] verbatim;
+
+    private UnionMemberDispatcher(final ImmutableList<Predicate<String>> members, final boolean[] verbatim) {
+        this.members = requireNonNull(members);
+        this.verbatim = requireNonNull(verbatim);
+    }
+
+    /**
+     * Analyze a union type, checking patterns using {@link PatternEngine#JAVA_REGEX}.
+     *
+     * @param type Union type
+     * @return A dispatcher for the type's members, indexed in the order of {@link UnionTypeDefinition#getTypes()}
+     */
+    public static @NonNull UnionMemberDispatcher of(final UnionTypeDefinition type) {
+        return of(type, PatternEngine.JAVA_REGEX);
+    }
+
+    /**
+     * Analyze a union type, checking patterns using specified {@link PatternEngine}.
+     *
+     * @param type Union type
+     * @param patternEngine PatternEngine to use
+     * @return A dispatcher for the type's members, indexed in the order of {@link UnionTypeDefinition#getTypes()}
+     */
+    public static @NonNull UnionMemberDispatcher of(final UnionTypeDefinition type,
+            final PatternEngine patternEngine) {
+        requireNonNull(patternEngine);
+        final List<TypeDefinition<?>> types = type.getTypes();
+        final boolean[] verbatim = new boolean[types.size()];
+        for (int i = 0; i < verbatim.length; ++i) {
+            verbatim[i] = types.get(i) instanceof StringTypeDefinition;
+        }
+        return new UnionMemberDispatcher(compileMembers(type, patternEngine), verbatim);
+    }
+
+    /**
+     * Return the number of union members.
+     *
+     * @return Number of union members
+     */
+    public int size() {
+        return members.size();
+    }
+
+    /**
+     * Check whether a union member may accept a particular string representation.
+     *
+     * @param index Member index
+     * @param str String representation
+     * @return False if the member is guaranteed to reject the representation, true otherwise
+     * @throws IndexOutOfBoundsException if {@code index} is not valid
+     */
+    public boolean mayAccept(final int index, final String str) {
+        return members.get(index).test(str);
+    }
+
+    /**
+     * Check whether a union member's value is its string representation and {@link #mayAccept(int, String)} performs
+     * all the checks of the member's codec. If this method returns {@code true}, a string representation accepted by
+     * {@link #mayAccept(int, String)} is the value of the member and does not need to be parsed by its codec.
+     *
+     * @param index Member index
+     * @return True if the member is a string member
+     * @throws IndexOutOfBoundsException if {@code index} is not valid
+     */
+    public boolean isVerbatim(final int index) {
+        Objects.checkIndex(index, verbatim.length);
+        return verbatim[index];
+    }
+
+    private static ImmutableList<Predicate<String>> compileMembers(final UnionTypeDefinition type,
+            final PatternEngine patternEngine) {
+        final List<TypeDefinition<?>> types = type.getTypes();
+        final ImmutableList.Builder<Predicate<String>> builder = ImmutableList.builderWithExpectedSize(types.size());
+        for (TypeDefinition<?> member : types) {
+            builder.add(compileMember(member, patternEngine));
+        }
+        return builder.build();
+    }
+
+    private static Predicate<String> compileMember(final TypeDefinition<?> type, final PatternEngine patternEngine) {
+        if (type instanceof StringTypeDefinition) {
+            return compileString((StringTypeDefinition) type, patternEngine);
+        } else if (type instanceof Int8TypeDefinition) {
+            return compileInteger((Int8TypeDefinition) type, INT8);
+        } else if (type instanceof Int16TypeDefinition) {
+            return compileInteger((Int16TypeDefinition) type, INT16);
+        } else if (type instanceof Int32TypeDefinition) {
+            return compileInteger((Int32TypeDefinition) type, INT32);
+        } else if (type instanceof Int64TypeDefinition) {
+            return compileInteger((Int64TypeDefinition) type, INT64);
+        } else if (type instanceof Uint8TypeDefinition) {
+            return compileInteger((Uint8TypeDefinition) type, UINT8);
+        } else if (type instanceof Uint16TypeDefinition) {
+            return compileInteger((Uint16TypeDefinition) type, UINT16);
+        } else if (type instanceof Uint32TypeDefinition) {
+            return compileInteger((Uint32TypeDefinition) type, UINT32);
+        } else if (type instanceof Uint64TypeDefinition) {
+            return compileInteger((Uint64TypeDefinition) type, UINT64);
+        } else if (type instanceof EnumTypeDefinition) {
+            final ImmutableSet<String> names = ((EnumTypeDefinition) type).getValues().stream()
+                .map(EnumPair::getName)
+                .collect(ImmutableSet.toImmutableSet());
+            return names::contains;
+        } else if (type instanceof BooleanTypeDefinition) {
+            return BOOLEAN;
+        } else if (type instanceof DecimalTypeDefinition) {
+            return DECIMAL;
+        } else if (type instanceof BinaryTypeDefinition) {
+            return compileBinary((BinaryTypeDefinition) type);
+        } else if (type instanceof BitsTypeDefinition) {
+            final ImmutableSet<String> names = ((BitsTypeDefinition) type).getBits().stream()
+                .map(Bit::getName)
+                .collect(ImmutableSet.toImmutableSet());
+            return str -> {
+                for (String bit : BITS_SPLITTER.split(str)) {
+                    if (!names.contains(bit)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else if (type instanceof IdentityrefTypeDefinition) {
+            return IDENTITYREF;
+        } else if (type instanceof InstanceIdentifierTypeDefinition) {
+            return INSTANCE_IDENTIFIER;
+        } else if (type instanceof UnionTypeDefinition) {
+            final ImmutableList<Predicate<String>> nested = compileMembers((UnionTypeDefinition) type, patternEngine);
+            return str -> {
+                for (Predicate<String> member : nested) {
+                    if (member.test(str)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else {
+            // Empty, leafref and unknown types: their representation varies between codecs or cannot be determined
+            // without resolving the type
+            return ANY;
+        }
+    }
+
+    private static Predicate<String> compileString(final StringTypeDefinition type,
+            final PatternEngine patternEngine) {
+        final RangeSet<Integer> lengths = type.getLengthConstraint().map(LengthConstraint::getAllowedRanges)
+            .orElse(null);
+        final Predicate<String> patterns = compilePatterns(type.getPatternConstraints(), patternEngine);
+        if (lengths == null) {
+            return patterns;
+        }
+        return str -> lengths.contains(str.codePointCount(0, str.length())) && patterns.test(str);
+    }
+
+    // Consistent with StringPatternCheckingCodec, including the exclusion of patterns which fail to compile
+    private static Predicate<String> compilePatterns(final List<PatternConstraint> constraints,
+            final PatternEngine patternEngine) {
+        if (constraints.isEmpty()) {
+            return ANY;
+        }
+        if (patternEngine == PatternEngine.AUTOMATON) {
+            try {
+                return PatternAutomaton.compile(constraints)::matches;
+            } catch (UnsupportedRegexException e) {
+                LOG.debug("Unable to compile {} into an automaton, falling back to regular expressions", constraints,
+                    e);
+            }
+        }
+
+        final ImmutableList.Builder<CompiledPatternContext> builder =
+            ImmutableList.builderWithExpectedSize(constraints.size());
+        for (PatternConstraint constraint : constraints) {
+            try {
+                builder.add(new CompiledPatternContext(constraint));
+            } catch (PatternSyntaxException e) {
+                LOG.debug("Unable to compile {} pattern, excluding it from dispatch.", constraint, e);
+            }
+        }
+        final ImmutableList<CompiledPatternContext> patterns = builder.build();
+        return str -> {
+            for (CompiledPatternContext pattern : patterns) {
+                if (!pattern.matches(str)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static <N extends Number & Comparable<N>> Predicate<String> compileInteger(
+            final RangeRestrictedTypeDefinition<?, N> type, final Range<BigInteger> bounds) {
+        final RangeSet<BigInteger> ranges = type.getRangeConstraint()
+            .map(constraint -> toBigIntegerRanges(constraint.getAllowedRanges()))
+            .orElseGet(() -> ImmutableRangeSet.of(bounds));
+        // Uint64StringCodec relies on Long.parseUnsignedLong(), which rejects a minus sign even for zero
+        final boolean allowMinus = bounds != UINT64;
+        return str -> {
+            final BigInteger value = parseInteger(str, allowMinus);
+            return value != null && ranges.contains(value);
+        };
+    }
+
+    private static Predicate<String> compileBinary(final BinaryTypeDefinition type) {
+        final RangeSet<Integer> lengths = type.getLengthConstraint().map(LengthConstraint::getAllowedRanges)
+            .orElse(null);
+        if (lengths == null) {
+            return ANY;
+        }
+        return str -> {
+            // Padding is not significant, it only affects whether the decoder accepts the input
+            final int padding = str.indexOf('=');
+            final int chars = BASE64_CHARS.countIn(padding == -1 ? str : str.substring(0, padding));
+            // A single trailing character does not carry a full byte and padding cannot follow a complete unit, the
+            // decoder rejects such input
+            final int remainder = chars % 4;
+            return remainder != 1 && (remainder != 0 || padding == -1)
+                && lengths.contains(chars / 4 * 3 + Math.max(0, remainder - 1));
+        };
+    }
+
+    private static <N extends Number & Comparable<N>> RangeSet<BigInteger> toBigIntegerRanges(
+            final RangeSet<N> ranges) {
+        final ImmutableRangeSet.Builder<BigInteger> builder = ImmutableRangeSet.builder();
+        for (Range<N> range : ranges.asRanges()) {
+            // Range constraints are always bounded, as they are constrained by the type's value space
+            builder.add(Range.range(toBigInteger(range.lowerEndpoint()), range.lowerBoundType(),
+                toBigInteger(range.upperEndpoint()), range.upperBoundType()));
+        }
+        return builder.build();
+    }
+
+    private static BigInteger toBigInteger(final Number number) {
+        // Decimal string representation is common to all of Byte, Short, Integer, Long and Uint*
+        return new BigInteger(number.toString());
+    }
+
+    private static Range<BigInteger> signedRange(final int bits) {
+        return Range.closed(BigInteger.ONE.shiftLeft(bits - 1).negate(),
+            BigInteger.ONE.shiftLeft(bits - 1).subtract(BigInteger.ONE));
+    }
+
+    private static Range<BigInteger> unsignedRange(final int bits) {
+        return Range.closed(BigInteger.ZERO, BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE));
+    }
+
+    /**
+     * Parse an integer the same way AbstractIntegerStringCodec does, but without throwing exceptions. Accepted forms
+     * are a lone zero and an optionally-signed decimal, hexadecimal (prefix 0x) or octal (prefix 0) number.
+     *
+     * @param str String representation
+     * @param allowMinus True if a minus sign is allowed
+     * @return Parsed value, or null if {@code str} is not a valid representation
+     */
+    private static @Nullable BigInteger parseInteger(final String str, final boolean allowMinus) {
+        if ("0".equals(str)) {
+            return BigInteger.ZERO;
+        }
+
+        final int length = str.length();
+        int offset = 0;
+        boolean negative = false;
+        if (length != 0) {
+            final char sign = str.charAt(0);
+            if (sign == '-') {
+                if (!allowMinus) {
+                    return null;
+                }
+                negative = true;
+                offset = 1;
+            } else if (sign == '+') {
+                offset = 1;
+            }
+        }
+        if (offset == length) {
+            return null;
+        }
+
+        final int radix;
+        if (str.charAt(offset) != '0') {
+            radix = 10;
+        } else if (offset + 1 == length) {
+            // A signed zero is not accepted
+            return null;
+        } else if (str.charAt(offset + 1) == 'x' || str.charAt(offset + 1) == 'X') {
+            radix = 16;
+            offset += 2;
+            if (offset == length) {
+                return null;
+            }
+        } else {
+            radix = 8;
+            offset += 1;
+            if (str.charAt(offset) == '0') {
+                return null;
+            }
+        }
+
+        for (int i = offset; i < length; ++i) {
+            if (asciiDigit(str.charAt(i), radix) == -1) {
+                return null;
+            }
+        }
+        final BigInteger value = new BigInteger(str.substring(offset), radix);
+        return negative ? value.negate() : value;
+    }
+
+    private static int asciiDigit(final char ch, final int radix) {
+        final int digit;
+        if (ch >= '0' && ch <= '9') {
+            digit = ch - '0';
+        } else if (ch >= 'a' && ch <= 'f') {
+            digit = ch - 'a' + 10;
+        } else if (ch >= 'A' && ch <= 'F') {
+            digit = ch - 'A' + 10;
+        } else {
+            return -1;
+        }
+        return digit < radix ? digit : -1;
+    }
+
+    /**
+     * Check whether {@code new BigDecimal(str)}, as used by DecimalStringCodec, would accept a string. This covers the
+     * full grammar documented in {@link BigDecimal#BigDecimal(String)}, including the limits on the resulting scale.
+     *
+     * @param str String representation
+     * @return True if the string is a valid BigDecimal representation
+     */
+    private static boolean isDecimal(final String str) {
+        final int length = str.length();
+        int offset = 0;
+        if (length != 0 && (str.charAt(0) == '+' || str.charAt(0) == '-')) {
+            offset = 1;
+        }
+
+        int digits = 0;
+        int fractionDigits = 0;
+        boolean dot = false;
+        for (; offset < length; ++offset) {
+            final char ch = str.charAt(offset);
+            if (Character.isDigit(ch)) {
+                digits++;
+                if (dot) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (offset == length) {
+            return true;
+        }
+
+        final char exp = str.charAt(offset++);
+        if (exp != 'e' && exp != 'E' || offset == length) {
+            return false;
+        }
+        boolean negative = false;
+        final char sign = str.charAt(offset);
+        if (sign == '+' || sign == '-') {
+            negative = sign == '-';
+            if (++offset == length) {
+                return false;
+            }
+        }
+
+        long exponent = 0;
+        for (; offset < length; ++offset) {
+            final int digit = Character.digit(str.charAt(offset), 10);
+            if (digit == -1) {
+                return false;
+            }
+            // Anything larger than this overflows, but we still need to check the remaining characters
+            exponent = Math.min(exponent * 10 + digit, Integer.MAX_VALUE + 2L);
+        }
+        if (negative) {
+            exponent = -exponent;
+        }
+        // Both the exponent and the resulting scale need to fit into an int
+        final long scale = fractionDigits - exponent;
+        return (int) exponent == exponent && (int) scale == scale;
+    }
+
+    // Superset of what QNameCodecUtil accepts: at most a single colon and some non-whitespace content
+    private static boolean isIdentityref(final String str) {
+        final int colon = str.indexOf(':');
+        return (colon == -1 || str.indexOf(':', colon + 1) == -1) && !CharMatcher.whitespace().matchesAllOf(str);
+    }
+}
@@ -10,8 +10,9 @@ package org.opendaylight.yangtools.yang.data.impl.codec;
 import static java.util.Objects.requireNonNull;
 
 import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.opendaylight.yangtools.yang.data.api.codec.UnionCodec;
-import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +21,14 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
         implements UnionCodec<String> {
     private static final Logger LOG = LoggerFactory.getLogger(UnionStringCodec.class);
 
+    private final UnionMemberDispatcher dispatcher;
+    // Member codecs, null for types for which we do not have a codec
+    private final List<TypeDefinitionAwareCodec<Object, ?>> codecs;
+
     UnionStringCodec(final UnionTypeDefinition typeDef) {
         super(requireNonNull(typeDef), Object.class);
+        dispatcher = UnionMemberDispatcher.of(typeDef);
+        codecs = typeDef.getTypes().stream().map(TypeDefinitionAwareCodec::from).collect(Collectors.toList());
     }
 
     static TypeDefinitionAwareCodec<?, UnionTypeDefinition> from(final UnionTypeDefinition normalizedType) {
@@ -31,8 +38,8 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
     @Override
     @SuppressWarnings("checkstyle:illegalCatch")
     protected Object deserializeImpl(final String stringRepresentation) {
-        for (final TypeDefinition<?> type : getTypeDefinition().get().getTypes()) {
-            final TypeDefinitionAwareCodec<Object, ?> typeAwareCodec = from(type);
+        for (int i = 0; i < codecs.size(); ++i) {
+            final TypeDefinitionAwareCodec<Object, ?> typeAwareCodec = codecs.get(i);
             if (typeAwareCodec == null) {
                 /*
                  * This is a type for which we have no codec (eg identity ref) so we'll say it's
@@ -40,11 +47,19 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
                  */
                 return stringRepresentation;
             }
+            if (!dispatcher.mayAccept(i, stringRepresentation)) {
+                LOG.trace("Value {} cannot match representation for {}", stringRepresentation, typeAwareCodec);
+                continue;
+            }
+            if (dispatcher.isVerbatim(i)) {
+                // The dispatcher has performed all the checks, there is nothing left to parse
+                return stringRepresentation;
+            }
 
             try {
                 return typeAwareCodec.deserialize(stringRepresentation);
             } catch (final Exception e) {
-                LOG.debug("Value {} did not matched representation for {}",stringRepresentation,type,e);
+                LOG.debug("Value {} did not matched representation for {}", stringRepresentation, typeAwareCodec, e);
                 // invalid - try the next union type.
             }
         }
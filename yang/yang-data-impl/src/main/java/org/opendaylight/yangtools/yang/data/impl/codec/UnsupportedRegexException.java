@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+/**
+ * Exception thrown when a regular expression cannot be compiled into a {@link PatternAutomaton}, either because it
+ * uses a construct we do not support or because the resulting automaton would be too large.
+ */
+final class UnsupportedRegexException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    UnsupportedRegexException(final String message) {
+        super(message);
+    }
+
+    UnsupportedRegexException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -12,8 +12,12 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Verify;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
@@ -26,6 +30,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguratio
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModifiedNodeDoesNotExistException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.StoreTreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.spi.tree.MutableTreeNode;
@@ -80,6 +85,53 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         }
     }
 
+    /**
+     * Fork-join task applying a contiguous range of child modifications. Each child is applied against the state of
+     * the parent node before any of the children were applied, hence the children can be processed concurrently. The
+     * results are stored into a shared array and are merged back into the parent by the invoking thread.
+     */
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Tasks are never serialized")
+    private static final class ApplyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AbstractNodeContainerModificationStrategy<?> strategy;
+        private final Optional<? extends TreeNode>[] results;
+        private final ModifiedNode[] modifications;
+        private final StoreTreeNode<TreeNode> meta;
+        private final Version version;
+        private final int from;
+        private final int to;
+
+        ApplyTask(final AbstractNodeContainerModificationStrategy<?> strategy, final StoreTreeNode<TreeNode> meta,
+                final ModifiedNode[] modifications, final Optional<? extends TreeNode>[] results,
+                final Version version, final int from, final int to) {
+            this.strategy = strategy;
+            this.meta = meta;
+            this.modifications = modifications;
+            this.results = results;
+            this.version = version;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final int size = to - from;
+            if (size > strategy.parallelApplyThreshold) {
+                final int mid = from + size / 2;
+                invokeAll(new ApplyTask(strategy, meta, modifications, results, version, from, mid),
+                    new ApplyTask(strategy, meta, modifications, results, version, mid, to));
+                return;
+            }
+
+            for (int i = from; i < to; ++i) {
+                final ModifiedNode mod = modifications[i];
+                final PathArgument id = mod.getIdentifier();
+                results[i] = strategy.resolveChildOperation(id).apply(mod, meta.findChildByArg(id), version);
+            }
+        }
+    }
+
     /**
      * Fake TreeNode version used in
      * {@link #checkTouchApplicable(ModificationPath, NodeModification, Optional, Version)}
@@ -89,11 +141,13 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
 
     private final NormalizedNodeContainerSupport<?, ?> support;
     private final boolean verifyChildrenStructure;
+    private final int parallelApplyThreshold;
 
     AbstractNodeContainerModificationStrategy(final NormalizedNodeContainerSupport<?, ?> support,
             final DataTreeConfiguration treeConfig) {
         this.support = requireNonNull(support);
         this.verifyChildrenStructure = treeConfig.getTreeType() == TreeType.CONFIGURATION;
+        this.parallelApplyThreshold = treeConfig.getParallelApplyThreshold();
     }
 
     @Override
@@ -208,25 +262,63 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
      * @param modifications modification operations to apply
      * @return Sealed immutable copy of TreeNode structure with all Data Node references set.
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-    private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
+    private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder<?, ?, ?, ?> data,
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        if (parallelApplyThreshold != 0 && modifications.size() >= parallelApplyThreshold) {
+            return mutateChildrenParallel(meta, data, nodeVersion, modifications);
+        }
 
         for (final ModifiedNode mod : modifications) {
             final PathArgument id = mod.getIdentifier();
             final Optional<? extends TreeNode> cm = meta.findChildByArg(id);
 
-            final Optional<? extends TreeNode> result = resolveChildOperation(id).apply(mod, cm, nodeVersion);
-            if (result.isPresent()) {
-                final TreeNode tn = result.get();
-                meta.putChild(tn);
-                data.addChild(tn.getData());
-            } else {
-                meta.removeChild(id);
-                data.removeChild(id);
-            }
+            mergeChild(meta, data, id, resolveChildOperation(id).apply(mod, cm, nodeVersion));
         }
 
+        return sealChildren(meta, data);
+    }
+
+    /**
+     * Parallel version of {@link #mutateChildren(MutableTreeNode, NormalizedNodeContainerBuilder, Version,
+     * Collection)}. Child modifications are disjoint subtrees, hence they can be applied concurrently as long as the
+     * parent is not touched. We therefore compute all child results first and then merge them into the parent in
+     * iteration order, so that ordered containers retain their ordering.
+     */
+    private TreeNode mutateChildrenParallel(final MutableTreeNode meta,
+            final NormalizedNodeContainerBuilder<?, ?, ?, ?> data, final Version nodeVersion,
+            final Collection<ModifiedNode> modifications) {
+        final ModifiedNode[] mods = modifications.toArray(new ModifiedNode[0]);
+        @SuppressWarnings("unchecked")
+        final Optional<? extends TreeNode>[] results = new Optional[mods.length];
+
+        final ApplyTask task = new ApplyTask(this, meta, mods, results, nodeVersion, 0, mods.length);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        for (int i = 0; i < mods.length; ++i) {
+            mergeChild(meta, data, mods[i].getIdentifier(), results[i]);
+        }
+        return sealChildren(meta, data);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void mergeChild(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final PathArgument id, final Optional<? extends TreeNode> result) {
+        if (result.isPresent()) {
+            final TreeNode tn = result.get();
+            meta.putChild(tn);
+            data.addChild(tn.getData());
+        } else {
+            meta.removeChild(id);
+            data.removeChild(id);
+        }
+    }
+
+    private static TreeNode sealChildren(final MutableTreeNode meta,
+            final NormalizedNodeContainerBuilder<?, ?, ?, ?> data) {
         meta.setData(data.build());
         return meta.seal();
     }
@@ -421,6 +513,7 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
 
     @Override
     ToStringHelper addToStringAttributes(final ToStringHelper helper) {
-        return helper.add("support", support).add("verifyChildren", verifyChildrenStructure);
+        return helper.add("support", support).add("verifyChildren", verifyChildrenStructure)
+            .add("parallelApply", parallelApplyThreshold);
     }
 }
@@ -7,11 +7,15 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -19,7 +23,11 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgum
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
@@ -35,6 +43,29 @@ import org.slf4j.LoggerFactory;
  * Read-only snapshot of the data tree.
  */
 final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
+    /**
+     * A tip anchored at a particular root, used as the starting point of a batch commit.
+     */
+    private static final class BatchTip extends AbstractDataTreeTip {
+        private final YangInstanceIdentifier rootPath;
+        private final TreeNode root;
+
+        BatchTip(final YangInstanceIdentifier rootPath, final TreeNode root) {
+            this.rootPath = requireNonNull(rootPath);
+            this.root = requireNonNull(root);
+        }
+
+        @Override
+        protected TreeNode getTipRoot() {
+            return root;
+        }
+
+        @Override
+        YangInstanceIdentifier getRootPath() {
+            return rootPath;
+        }
+    }
+
     private static final VarHandle STATE;
 
     static {
@@ -150,7 +181,45 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(c.getTipRoot().getData()));
         }
 
-        final TreeNode newRoot = c.getTipRoot();
+        commitRoot(c.getBeforeRoot(), c.getTipRoot());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This implementation validates and prepares all modifications against a single snapshot of the current state and
+     * then performs a single state transition to the resulting root. The batch is therefore committed atomically: if
+     * the state transition fails because the data tree has been concurrently modified, none of the modifications are
+     * committed.
+     */
+    @Override
+    public DataTreeCandidate commit(final List<? extends DataTreeModification> modifications)
+            throws DataValidationFailedException {
+        checkArgument(!modifications.isEmpty(), "Batch must not be empty");
+
+        final TreeNode baseRoot = getTipRoot();
+        final List<DataTreeCandidate> candidates = new ArrayList<>(modifications.size());
+        AbstractDataTreeTip tip = new BatchTip(getRootPath(), baseRoot);
+        for (DataTreeModification modification : modifications) {
+            tip.validate(modification);
+            final DataTreeCandidateTip candidate = tip.prepare(modification);
+            verify(candidate instanceof AbstractDataTreeTip, "Unexpected candidate %s", candidate);
+            candidates.add(candidate);
+            tip = (AbstractDataTreeTip) candidate;
+        }
+
+        final TreeNode newRoot = tip.getTipRoot();
+        if (newRoot != baseRoot) {
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(newRoot.getData()));
+            }
+            commitRoot(baseRoot, newRoot);
+        }
+        return DataTreeCandidates.aggregate(candidates);
+    }
+
+    private void commitRoot(final TreeNode oldRoot, final TreeNode newRoot) {
         DataTreeState currentState;
         DataTreeState newState;
         do {
@@ -158,7 +227,6 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             final TreeNode currentRoot = currentState.getRoot();
             LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
 
-            final TreeNode oldRoot = c.getBeforeRoot();
             if (oldRoot != currentRoot) {
                 final String oldStr = simpleToString(oldRoot);
                 final String currentStr = simpleToString(currentRoot);
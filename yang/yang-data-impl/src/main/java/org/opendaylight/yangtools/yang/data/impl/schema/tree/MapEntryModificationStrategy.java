@@ -11,11 +11,15 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.SubtreeOffloader;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
 import org.opendaylight.yangtools.yang.data.spi.tree.TreeNode;
 import org.opendaylight.yangtools.yang.data.spi.tree.Version;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
@@ -61,11 +65,14 @@ class MapEntryModificationStrategy extends DataNodeContainerModificationStrategy
     }
 
     private static final NormalizedNodeContainerSupport<NodeIdentifierWithPredicates, MapEntryNode> SUPPORT =
-            new NormalizedNodeContainerSupport<>(MapEntryNode.class, ImmutableMapEntryNodeBuilder::create,
+            new NormalizedNodeContainerSupport<>(MapEntryNode.class, MapEntryModificationStrategy::copyBuilder,
                     ImmutableMapEntryNodeBuilder::create);
 
+    private final @Nullable SubtreeOffloader offloader;
+
     MapEntryModificationStrategy(final ListSchemaNode schema, final DataTreeConfiguration treeConfig) {
         super(SUPPORT, schema, treeConfig);
+        offloader = treeConfig.getSubtreeOffloader().orElse(null);
     }
 
     static @NonNull MapEntryModificationStrategy of(final ListSchemaNode schema,
@@ -74,4 +81,20 @@ class MapEntryModificationStrategy extends DataNodeContainerModificationStrategy
         return enforcer.isPresent() ? new EnforcingMandatory(schema, treeConfig, enforcer.get())
                 : new MapEntryModificationStrategy(schema, treeConfig);
     }
+
+    @Override
+    protected TreeNode applyWrite(final ModifiedNode modification, final NormalizedNode newValue,
+            final Optional<? extends TreeNode> currentMeta, final Version version) {
+        // Only entries written as a whole are offloaded, anything else would be materialized right away
+        return super.applyWrite(modification, offloader != null && modification.getChildren().isEmpty()
+            ? offloader.offload((MapEntryNode) newValue) : newValue, currentMeta, version);
+    }
+
+    private static @NonNull DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> copyBuilder(
+            final MapEntryNode entry) {
+        // Offloaded entries cannot be used to initialize the builder, copy their children instead
+        return entry instanceof AbstractImmutableDataContainerNode ? ImmutableMapEntryNodeBuilder.create(entry)
+            : ImmutableMapEntryNodeBuilder.create(entry.size()).withNodeIdentifier(entry.getIdentifier())
+                .withValue(entry.body());
+    }
 }
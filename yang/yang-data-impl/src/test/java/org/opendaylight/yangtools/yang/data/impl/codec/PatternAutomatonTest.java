@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.codec.YangInvalidValueException;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class PatternAutomatonTest {
+    private static final String EMOJI = Character.toString(0x1F600);
+    private static final String SCRIPT_A = Character.toString(0x1D49C);
+    private static final String HIGH_SURROGATE = String.valueOf((char) 0xD83D);
+    private static final String LOW_SURROGATE = String.valueOf((char) 0xDE00);
+
+    // Values of, or close to, values of ietf-inet-types and ietf-yang-types
+    private static final List<String> IETF_SAMPLES = List.of("", "0.0.0.0", "192.168.1.1", "255.255.255.255",
+        "256.0.0.1", "01.2.3.4", "1.2.3.4%eth0", "1.2.3.4%é٣", "10.0.0.0/8", "10.0.0.0/33", "::", "::1",
+        "fe80::1%eth0", "2001:db8::/32", "2001:db8::/129", "2001:0db8:85a3:0000:0000:8a2e:0370:7334",
+        "::ffff:192.0.2.1", "1:2:3:4:5:6:7:8:9", "example.com", "example.com.", ".", "a-.com", "-a.com",
+        "xn--bcher-kva.example", "a".repeat(63) + ".com", "a".repeat(64) + ".com", "1.3.6.1.4.1", "2.999.3", "3.1",
+        "0.40", "2013-07-15T12:34:56Z", "2013-07-15T12:34:56.789+02:00", "2013-7-15T12:34:56Z",
+        "00:1b:21:aa:bb:cc", "00:1B:21:AA:BB", "0a", "f81d4fae-7dec-11d0-a765-00a0c91e6bf6", "xmlfoo",
+        "_foo-bar.baz");
+    // Characters substituted into samples, exercising literal, class and dot matching
+    private static final List<String> IETF_ALPHABET = List.of("0", "9", "a", "F", "g", "Z", "_", ".", ":", "/",
+        "%", "-", "+", "é", EMOJI);
+    private static final List<String> TARGETED_ALPHABET = List.of("a", "b", "e", "A", "1", ".", "-", "[", "^", "\\",
+        " ", "\n", "\r", "\t", "é", "α", "Ω", String.valueOf((char) 0x85), String.valueOf((char) 0x2028), EMOJI,
+        SCRIPT_A, HIGH_SURROGATE, LOW_SURROGATE);
+
+    private static EffectiveModelContext context;
+    private static EffectiveModelContext ietfContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        context = YangParserTestUtils.parseYangResource("/pattern-automaton.yang");
+        ietfContext = YangParserTestUtils.parseYangResourceDirectory("/pattern-automaton-ietf");
+    }
+
+    @Test
+    public void testIpv4Address() throws UnsupportedRegexException {
+        final List<PatternConstraint> patterns = patternsOf("ipv4-address");
+        final PatternAutomaton automaton = PatternAutomaton.compile(patterns);
+        final CompiledPatternContext regex = new CompiledPatternContext(patterns.get(0));
+
+        for (String str : List.of("0.0.0.0", "192.168.1.1", "255.255.255.255", "1.2.3.4%eth0", "1.2.3.4%é٣",
+                "", "256.1.1.1", "1.2.3", "01.2.3.4", "1.2.3.4%", "1.2.3.4%a.b", "1.2.3.4.5", "a.b.c.d")) {
+            assertEquals(str, regex.matches(str), automaton.matches(str));
+        }
+    }
+
+    @Test
+    public void testMultiplePatterns() {
+        final StringStringCodec codec = StringStringCodec.from(typeOf("identifier"), PatternEngine.AUTOMATON);
+        assertEquals("foo-bar.baz_1", codec.deserialize("foo-bar.baz_1"));
+        assertEquals("_xml", codec.deserialize("_xml"));
+
+        YangInvalidValueException ex = assertThrows(YangInvalidValueException.class, () -> codec.deserialize("1foo"));
+        assertEquals("Value '1foo' does not match regular expression '[a-zA-Z_][a-zA-Z0-9\\-_.]*'", ex.getMessage());
+
+        ex = assertThrows(YangInvalidValueException.class, () -> codec.deserialize("XmLfoo"));
+        assertEquals("Value 'XmLfoo' matches regular expression '[xX][mM][lL].*'", ex.getMessage());
+
+        // Length is still checked separately
+        assertThrows(YangInvalidValueException.class, () -> codec.deserialize("a".repeat(65)));
+    }
+
+    @Test
+    public void testLinearMatching() throws UnsupportedRegexException {
+        final PatternAutomaton automaton = PatternAutomaton.compile(patternsOf("repeated"));
+        // Minimal automaton for (a|aa)+ has an initial, an accepting and a dead state
+        assertEquals(3, automaton.stateCount());
+        assertTrue(automaton.matches("a".repeat(100_000)));
+        assertFalse(automaton.matches("a".repeat(100_000) + "b"));
+    }
+
+    @Test
+    public void testUnsupportedFallback() {
+        assertThrows(UnsupportedRegexException.class, () -> PatternAutomaton.compile(patternsOf("latin")));
+
+        final StringStringCodec codec = StringStringCodec.from(typeOf("latin"), PatternEngine.AUTOMATON);
+        assertEquals("abc", codec.deserialize("abc"));
+        assertThrows(YangInvalidValueException.class, () -> codec.deserialize("αβγ"));
+    }
+
+    @Test
+    public void testIetfTypes() throws UnsupportedRegexException {
+        final Set<String> inputs = mutate(IETF_SAMPLES, IETF_ALPHABET);
+        final List<String> checked = new ArrayList<>();
+        for (Module module : ietfContext.getModules()) {
+            for (TypeDefinition<?> typedef : module.getTypeDefinitions()) {
+                if (typedef instanceof StringTypeDefinition) {
+                    final List<PatternConstraint> patterns = ((StringTypeDefinition) typedef).getPatternConstraints();
+                    if (!patterns.isEmpty()) {
+                        final String name = typedef.getQName().getLocalName();
+                        assertAgrees(name, patterns, inputs);
+                        checked.add(name);
+                    }
+                }
+            }
+        }
+
+        assertEquals(List.of("date-and-time", "domain-name", "dotted-quad", "hex-string", "ipv4-address",
+            "ipv4-address-no-zone", "ipv4-prefix", "ipv6-address", "ipv6-address-no-zone", "ipv6-prefix",
+            "mac-address", "object-identifier", "object-identifier-128", "phys-address", "uuid", "yang-identifier"),
+            checked.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testBoundedRepetition() throws UnsupportedRegexException {
+        assertAgrees("bounded", List.of("aabbbcd", "aaaabbbcdcdee", "abbbcd", "aaaaabbbcd", "aabbcd", "aabbbcdeee",
+            "aabbb", "aabbbcdcdcdcd"));
+    }
+
+    @Test
+    public void testBlocks() throws UnsupportedRegexException {
+        assertAgrees("blocks", List.of("abcαβγ", "αβ1", "αβa", "Ω", "abc", "αβ" + EMOJI, "abc" + "Ω" + "é"));
+    }
+
+    @Test
+    public void testEscapes() throws UnsupportedRegexException {
+        final String suffix = "A" + EMOJI + "é x1a_!";
+        assertAgrees("escapes", List.of("\\." + suffix, "\\-\n\t\t" + suffix, "\\^\t" + suffix,
+            "\\]" + suffix, "\\[\n\n" + suffix, "." + suffix, "\\.\tAé x1a_!"));
+    }
+
+    @Test
+    public void testDot() throws UnsupportedRegexException {
+        assertAgrees("dot", List.of("abx", "abxc", "a\nx", "\rbx", EMOJI + "bx", EMOJI + EMOJI + "x",
+            "abx" + (char) 0x2028, HIGH_SURROGATE + "bx", "abx" + EMOJI, "abxx"));
+    }
+
+    @Test
+    public void testSupplementaryCharacters() throws UnsupportedRegexException {
+        assertAgrees("supplementary", List.of("a1", "ab" + EMOJI + "1", EMOJI + EMOJI + EMOJI + "A",
+            SCRIPT_A + "a" + EMOJI, "abcd1", "a" + HIGH_SURROGATE, "a" + LOW_SURROGATE + "1", SCRIPT_A + "1"));
+    }
+
+    @Test
+    public void testInvertMatch() throws UnsupportedRegexException {
+        assertAgrees("inverted", List.of("abc", "123", "ab", "1234a", "", "12", "a12"));
+    }
+
+    @Test
+    public void testCharacterClassSubtraction() {
+        // Java interprets XSD subtraction as a union, we do not replicate that and leave it to java.util.regex
+        assertThrows(UnsupportedRegexException.class, () -> PatternAutomaton.compile(patternsOf("subtraction")));
+
+        final StringTypeDefinition type = typeOf("subtraction");
+        final StringStringCodec automaton = StringStringCodec.from(type, PatternEngine.AUTOMATON);
+        final StringStringCodec regex = StringStringCodec.from(type, PatternEngine.JAVA_REGEX);
+        for (String str : mutate(List.of("bcd", "abc", "b-c", "b[c]", "xyz"), TARGETED_ALPHABET)) {
+            assertEquals(escape(str), accepts(regex, str), accepts(automaton, str));
+        }
+    }
+
+    private static void assertAgrees(final String leaf, final List<String> samples) throws UnsupportedRegexException {
+        assertAgrees(leaf, patternsOf(leaf), mutate(samples, TARGETED_ALPHABET));
+    }
+
+    private static void assertAgrees(final String name, final List<PatternConstraint> patterns,
+            final Set<String> inputs) throws UnsupportedRegexException {
+        final PatternAutomaton automaton = PatternAutomaton.compile(patterns);
+        final List<CompiledPatternContext> regexes = patterns.stream().map(CompiledPatternContext::new)
+            .collect(ImmutableList.toImmutableList());
+
+        boolean matched = false;
+        boolean mismatched = false;
+        for (String str : inputs) {
+            final boolean expected = regexes.stream().allMatch(regex -> regex.matches(str));
+            assertEquals(name + " on " + escape(str), expected, automaton.matches(str));
+            matched |= expected;
+            mismatched |= !expected;
+        }
+        // Make sure the inputs exercise both outcomes
+        assertTrue(name + " matches no inputs", matched);
+        assertTrue(name + " matches all inputs", mismatched);
+    }
+
+    private static boolean accepts(final StringStringCodec codec, final String str) {
+        try {
+            codec.deserialize(str);
+            return true;
+        } catch (YangInvalidValueException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Return samples along with their variants with a single character deleted, duplicated or replaced by a character
+     * from the alphabet. Since variants are created for each UTF-16 unit, they include lone surrogates.
+     */
+    private static Set<String> mutate(final List<String> samples, final List<String> alphabet) {
+        final Set<String> ret = new LinkedHashSet<>(samples);
+        for (String sample : samples) {
+            for (int i = 0; i < sample.length(); ++i) {
+                final String prefix = sample.substring(0, i);
+                final String suffix = sample.substring(i + 1);
+                ret.add(prefix + suffix);
+                ret.add(prefix + sample.charAt(i) + sample.substring(i));
+                for (String ch : alphabet) {
+                    ret.add(prefix + ch + suffix);
+                    ret.add(prefix + ch + sample.substring(i));
+                }
+            }
+            for (String ch : alphabet) {
+                ret.add(sample + ch);
+            }
+        }
+        return ret;
+    }
+
+    private static String escape(final String str) {
+        return str.codePoints()
+            .mapToObj(cp -> cp >= 0x20 && cp < 0x7F ? Character.toString(cp) : String.format("U+%04X", cp))
+            .collect(Collectors.joining("", "'", "'"));
+    }
+
+    private static List<PatternConstraint> patternsOf(final String leaf) {
+        return typeOf(leaf).getPatternConstraints();
+    }
+
+    private static StringTypeDefinition typeOf(final String leaf) {
+        return (StringTypeDefinition) ((LeafSchemaNode) context.findDataTreeChild(
+            QName.create("pattern-automaton", leaf)).orElseThrow()).getType();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class UnionMemberDispatcherTest {
+    private static final int UINT8 = 0;
+    private static final int ENUM = 1;
+    private static final int BOOLEAN = 2;
+    private static final int DECIMAL = 3;
+    private static final int BITS = 4;
+    private static final int STRING = 5;
+    private static final int UNION = 6;
+    private static final int BINARY = 7;
+    private static final int INT16 = 8;
+    private static final int BINARY2 = 9;
+    private static final int UINT64 = 10;
+
+    private static UnionTypeDefinition type;
+    private static UnionMemberDispatcher dispatcher;
+
+    @BeforeClass
+    public static void beforeClass() {
+        final LeafSchemaNode foo = (LeafSchemaNode) YangParserTestUtils.parseYangResource(
+            "/union-member-dispatcher.yang").findDataTreeChild(QName.create("union-member-dispatcher", "foo"))
+            .orElseThrow();
+        type = (UnionTypeDefinition) foo.getType();
+        dispatcher = UnionMemberDispatcher.of(type);
+    }
+
+    @Test
+    public void testSize() {
+        assertEquals(11, dispatcher.size());
+    }
+
+    @Test
+    public void testInteger() {
+        assertTrue(dispatcher.mayAccept(UINT8, "0"));
+        assertTrue(dispatcher.mayAccept(UINT8, "+12"));
+        assertTrue(dispatcher.mayAccept(UINT8, "0x1F"));
+        assertTrue(dispatcher.mayAccept(UINT8, "017"));
+        assertTrue(dispatcher.mayAccept(UINT8, "255"));
+        assertTrue(dispatcher.mayAccept(UINT8, "-0x0"));
+        assertFalse(dispatcher.mayAccept(UINT8, "256"));
+        assertFalse(dispatcher.mayAccept(UINT8, "0xFFF"));
+        assertFalse(dispatcher.mayAccept(UINT8, "-1"));
+        assertFalse(dispatcher.mayAccept(UINT8, "-0"));
+        assertFalse(dispatcher.mayAccept(UINT8, "00"));
+        assertFalse(dispatcher.mayAccept(UINT8, "08"));
+        assertFalse(dispatcher.mayAccept(UINT8, "0x"));
+        assertFalse(dispatcher.mayAccept(UINT8, "1F"));
+        assertFalse(dispatcher.mayAccept(UINT8, ""));
+        assertFalse(dispatcher.mayAccept(UINT8, "-"));
+        assertFalse(dispatcher.mayAccept(UINT8, "one"));
+        assertFalse(dispatcher.mayAccept(UINT8, "1.5"));
+        assertFalse(dispatcher.mayAccept(UINT8, " 1"));
+        assertFalse(dispatcher.mayAccept(UINT8, "١"));
+    }
+
+    @Test
+    public void testIntegerRange() {
+        assertTrue(dispatcher.mayAccept(INT16, "-10"));
+        assertTrue(dispatcher.mayAccept(INT16, "0xA"));
+        assertTrue(dispatcher.mayAccept(INT16, "100"));
+        assertFalse(dispatcher.mayAccept(INT16, "-11"));
+        assertFalse(dispatcher.mayAccept(INT16, "50"));
+        assertFalse(dispatcher.mayAccept(INT16, "99999999999999999999"));
+
+        assertTrue(dispatcher.mayAccept(UINT64, "18446744073709551615"));
+        assertTrue(dispatcher.mayAccept(UINT64, "+0xFFFFFFFFFFFFFFFF"));
+        assertFalse(dispatcher.mayAccept(UINT64, "18446744073709551616"));
+        assertFalse(dispatcher.mayAccept(UINT64, "-0x0"));
+    }
+
+    @Test
+    public void testEnumeration() {
+        assertTrue(dispatcher.mayAccept(ENUM, "one"));
+        assertTrue(dispatcher.mayAccept(ENUM, "two"));
+        assertFalse(dispatcher.mayAccept(ENUM, "three"));
+        assertFalse(dispatcher.mayAccept(ENUM, "1"));
+    }
+
+    @Test
+    public void testBoolean() {
+        assertTrue(dispatcher.mayAccept(BOOLEAN, "true"));
+        assertTrue(dispatcher.mayAccept(BOOLEAN, "false"));
+        assertFalse(dispatcher.mayAccept(BOOLEAN, "TRUE"));
+    }
+
+    @Test
+    public void testDecimal() {
+        assertTrue(dispatcher.mayAccept(DECIMAL, "1.25"));
+        assertTrue(dispatcher.mayAccept(DECIMAL, "-.5"));
+        assertTrue(dispatcher.mayAccept(DECIMAL, "1e3"));
+        assertTrue(dispatcher.mayAccept(DECIMAL, "1."));
+        assertTrue(dispatcher.mayAccept(DECIMAL, "1E-3"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "."));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "abc"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1.2.3"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1e"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1e+"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1-2"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1e99999999999"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1e2147483648"));
+        assertFalse(dispatcher.mayAccept(DECIMAL, "1e-2147483648"));
+        assertTrue(dispatcher.mayAccept(DECIMAL, "1e-2147483647"));
+    }
+
+    @Test
+    public void testBits() {
+        assertTrue(dispatcher.mayAccept(BITS, ""));
+        assertTrue(dispatcher.mayAccept(BITS, "x"));
+        assertTrue(dispatcher.mayAccept(BITS, " y  x "));
+        assertFalse(dispatcher.mayAccept(BITS, "x z"));
+    }
+
+    @Test
+    public void testString() {
+        assertTrue(dispatcher.mayAccept(STRING, "abc"));
+        assertFalse(dispatcher.mayAccept(STRING, ""));
+        assertFalse(dispatcher.mayAccept(STRING, "abcdefghi"));
+        assertFalse(dispatcher.mayAccept(STRING, "ABC"));
+        assertTrue(dispatcher.isVerbatim(STRING));
+        assertFalse(dispatcher.isVerbatim(UINT8));
+        assertFalse(dispatcher.isVerbatim(UNION));
+    }
+
+    @Test
+    public void testAutomatonPatterns() {
+        final UnionMemberDispatcher automaton = UnionMemberDispatcher.of(type, PatternEngine.AUTOMATON);
+        assertTrue(automaton.mayAccept(STRING, "abc"));
+        assertFalse(automaton.mayAccept(STRING, ""));
+        assertFalse(automaton.mayAccept(STRING, "abcdefghi"));
+        assertFalse(automaton.mayAccept(STRING, "ABC"));
+        assertTrue(automaton.isVerbatim(STRING));
+    }
+
+    @Test
+    public void testNestedUnion() {
+        assertTrue(dispatcher.mayAccept(UNION, "umd:base-id"));
+        assertTrue(dispatcher.mayAccept(UNION, "/umd:foo"));
+        assertTrue(dispatcher.mayAccept(UNION, ""));
+        assertFalse(dispatcher.mayAccept(UNION, "a:b:c"));
+    }
+
+    @Test
+    public void testBinary() {
+        assertTrue(dispatcher.mayAccept(BINARY, "AAEC"));
+        assertTrue(dispatcher.mayAccept(BINARY, "a:b:c"));
+
+        assertTrue(dispatcher.mayAccept(BINARY2, "AAE="));
+        assertTrue(dispatcher.mayAccept(BINARY2, "AAE"));
+        assertTrue(dispatcher.mayAccept(BINARY2, "AA\nE="));
+        assertFalse(dispatcher.mayAccept(BINARY2, "AA=="));
+        assertFalse(dispatcher.mayAccept(BINARY2, "AAEC"));
+        assertFalse(dispatcher.mayAccept(BINARY2, "AAEC="));
+        assertFalse(dispatcher.mayAccept(BINARY2, "AAECA"));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class BatchCommitTest extends AbstractTestModelTest {
+    private static final MapEntryNode FOO_NODE = mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+        Uint16.ONE);
+    private static final MapEntryNode BAR_NODE = mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+        Uint16.TWO);
+    private static final YangInstanceIdentifier FOO_PATH = TestModel.OUTER_LIST_PATH.node(FOO_NODE.getIdentifier());
+    private static final YangInstanceIdentifier BAR_PATH = TestModel.OUTER_LIST_PATH.node(BAR_NODE.getIdentifier());
+
+    private DataTree dataTree;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    @Test
+    public void testBatchCommit() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+
+        final DataTreeModification first = snapshot.newModification();
+        first.write(FOO_PATH, FOO_NODE);
+        first.write(BAR_PATH, BAR_NODE);
+        first.ready();
+
+        // Based on the same snapshot, hence it can only be validated on top of the first modification
+        final DataTreeModification second = snapshot.newModification();
+        second.merge(BAR_PATH, BAR_NODE);
+        second.ready();
+
+        final DataTreeModification third = snapshot.newModification();
+        third.delete(FOO_PATH);
+        third.ready();
+
+        final DataTreeCandidate candidate = dataTree.commit(List.of(first, second, third));
+        assertEquals(YangInstanceIdentifier.empty(), candidate.getRootPath());
+
+        final DataTreeSnapshot after = dataTree.takeSnapshot();
+        assertEquals(Optional.empty(), after.readNode(FOO_PATH));
+        assertEquals(Optional.of(BAR_NODE), after.readNode(BAR_PATH));
+
+        final DataTreeCandidateNode outerList = candidate.getRootNode()
+            .getModifiedChild(TestModel.TEST_PATH.getLastPathArgument()).orElseThrow()
+            .getModifiedChild(TestModel.OUTER_LIST_PATH.getLastPathArgument()).orElseThrow();
+        // Empty lists are not retained, hence the list did not exist before
+        assertEquals(ModificationType.APPEARED, outerList.getModificationType());
+
+        final DataTreeCandidateNode bar = outerList.getModifiedChild(BAR_NODE.getIdentifier()).orElseThrow();
+        assertEquals(ModificationType.WRITE, bar.getModificationType());
+        assertEquals(Optional.of(BAR_NODE), bar.getDataAfter());
+
+        // FOO was written and then deleted, hence there is no net change and it is not reported at all
+        assertEquals(Optional.empty(), outerList.getModifiedChild(FOO_NODE.getIdentifier()));
+        assertEquals(1, outerList.getChildNodes().size());
+    }
+
+    @Test
+    public void testBatchCommitFailure() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final Optional<NormalizedNode> before = snapshot.readNode(YangInstanceIdentifier.empty());
+
+        final DataTreeModification first = snapshot.newModification();
+        first.write(FOO_PATH, FOO_NODE);
+        first.ready();
+
+        // Conflicts with the first modification
+        final DataTreeModification second = snapshot.newModification();
+        second.write(FOO_PATH, FOO_NODE);
+        second.ready();
+
+        assertThrows(ConflictingModificationAppliedException.class, () -> dataTree.commit(List.of(first, second)));
+
+        // Nothing has been committed
+        assertEquals(before, dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()));
+    }
+
+    @Test
+    public void testEmptyBatchCommit() throws DataValidationFailedException {
+        assertThrows(IllegalArgumentException.class, () -> dataTree.commit(List.of()));
+
+        final DataTreeSnapshot snapshot = dataTree.takeSnapshot();
+        final DataTreeModification noop = snapshot.newModification();
+        noop.ready();
+
+        final Optional<NormalizedNode> before = snapshot.readNode(YangInstanceIdentifier.empty());
+        final DataTreeCandidate candidate = dataTree.commit(List.of(noop));
+        assertEquals(ModificationType.UNMODIFIED, candidate.getRootNode().getModificationType());
+        assertSame(before.orElseThrow(), dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty())
+            .orElseThrow());
+    }
+}
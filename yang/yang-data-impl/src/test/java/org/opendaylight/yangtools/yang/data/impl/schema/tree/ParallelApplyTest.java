@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class ParallelApplyTest extends AbstractTestModelTest {
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testInvalidThreshold() {
+        final DataTreeConfiguration.Builder builder = DataTreeConfiguration.builder(TreeType.OPERATIONAL);
+        assertThrows(IllegalArgumentException.class, () -> builder.setParallelApplyThreshold(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.setParallelApplyThreshold(1));
+        assertFalse(builder.build().isParallelApplyEnabled());
+        assertTrue(builder.setParallelApplyThreshold(2).build().isParallelApplyEnabled());
+    }
+
+    @Test
+    public void testParallelMatchesSerial() throws DataValidationFailedException {
+        final DataTree serial = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+        final DataTree parallel = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+            .setParallelApplyThreshold(16)
+            .build());
+
+        // Initial population: a write with a lot of child modifications on top of it
+        for (DataTree tree : new DataTree[] { serial, parallel }) {
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+            mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+            for (int i = 0; i < ENTRY_COUNT; ++i) {
+                mod.write(outerEntryPath(i), mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+                    Uint16.valueOf(i))
+                    .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                        .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "name" + i))
+                        .build())
+                    .build());
+            }
+            commit(tree, mod);
+        }
+        assertSameData(serial, parallel);
+
+        // Subtree modification: delete every other entry, merge into the rest
+        for (DataTree tree : new DataTree[] { serial, parallel }) {
+            final DataTreeModification mod = tree.takeSnapshot().newModification();
+            for (int i = 0; i < ENTRY_COUNT; ++i) {
+                if (i % 2 == 0) {
+                    mod.delete(outerEntryPath(i));
+                } else {
+                    mod.merge(outerEntryPath(i), mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+                        Uint16.valueOf(i))
+                        .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                            .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "merged" + i))
+                            .build())
+                        .build());
+                }
+            }
+            commit(tree, mod);
+        }
+        assertSameData(serial, parallel);
+
+        final Optional<NormalizedNode> innerList = parallel.takeSnapshot().readNode(outerEntryPath(1)
+            .node(TestModel.INNER_LIST_QNAME));
+        assertEquals(Optional.of(mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+            .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "name1"))
+            .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "merged1"))
+            .build()), innerList);
+        assertEquals(Optional.empty(), parallel.takeSnapshot().readNode(outerEntryPath(0)));
+    }
+
+    private static DataTree createTree(final DataTreeConfiguration config) {
+        return new InMemoryDataTreeFactory().create(config, SCHEMA_CONTEXT);
+    }
+
+    private static YangInstanceIdentifier outerEntryPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME,
+            Uint16.valueOf(id)).getIdentifier());
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static void assertSameData(final DataTree expected, final DataTree actual) {
+        assertEquals(expected.takeSnapshot().readNode(YangInstanceIdentifier.empty()),
+            actual.takeSnapshot().readNode(YangInstanceIdentifier.empty()));
+    }
+}
@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.journal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.DataTreeCandidateInputOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeStreamVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent journal of {@link DataTreeCandidate}s committed to a {@link DataTree}, allowing its contents to be
+ * restored after a restart.
+ *
+ * <p>
+ * The journal lives in a dedicated directory and consists of two kinds of files:
+ * <ul>
+ *   <li>memory-mapped segments, to which each candidate is appended in the form produced by
+ *       {@link DataTreeCandidateInputOutput}</li>
+ *   <li>snapshots, each holding the full contents of the tree at a particular point in the journal</li>
+ * </ul>
+ * Each journal entry is assigned a sequence number. When a snapshot is written, the journal entries it covers are no
+ * longer needed and segments holding only such entries are deleted. {@link #restore(DataTree)} then loads the latest
+ * snapshot and replays the journal entries which follow it.
+ *
+ * <p>
+ * Appended entries are forced to storage after every {@link Builder#setSyncInterval(int) sync interval} entries, and
+ * when the journal is {@link #sync() synced} or {@link #close() closed}. A crash can therefore lose up to sync interval
+ * entries, but never leaves the journal inconsistent: an entry torn by a crash terminates the journal.
+ *
+ * <p>
+ * This class is not thread-safe, which matches the single-writer nature of {@link DataTree#commit(DataTreeCandidate)}.
+ */
+@Beta
+public final class DataTreeJournal implements AutoCloseable {
+    /**
+     * Builder of {@link DataTreeJournal} instances.
+     */
+    public static final class Builder {
+        private final @NonNull Path directory;
+
+        private NormalizedNodeStreamVersion version = NormalizedNodeStreamVersion.current();
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private int syncInterval = 1;
+        private int snapshotInterval;
+
+        Builder(final Path directory) {
+            this.directory = requireNonNull(directory);
+        }
+
+        /**
+         * Set the stream version used to encode new journal entries and snapshots. Existing files are read regardless
+         * of their version. Defaults to {@link NormalizedNodeStreamVersion#current()}.
+         *
+         * @param streamVersion Stream version
+         * @return This builder
+         */
+        public @NonNull Builder setStreamVersion(final NormalizedNodeStreamVersion streamVersion) {
+            this.version = requireNonNull(streamVersion);
+            return this;
+        }
+
+        /**
+         * Set the size of newly-allocated segments. Entries which do not fit into a segment of this size are placed
+         * into a dedicated, larger segment. Defaults to {@value DataTreeJournal#DEFAULT_SEGMENT_SIZE} bytes.
+         *
+         * @param size Segment size, in bytes
+         * @return This builder
+         * @throws IllegalArgumentException if {@code size} is not positive
+         */
+        public @NonNull Builder setSegmentSize(final int size) {
+            checkArgument(size > 0, "Invalid segment size %s", size);
+            this.segmentSize = size;
+            return this;
+        }
+
+        /**
+         * Set the number of appended entries after which the journal is forced to storage. A value of {@code 1}, which
+         * is the default, forces each entry individually.
+         *
+         * @param interval Sync interval
+         * @return This builder
+         * @throws IllegalArgumentException if {@code interval} is not positive
+         */
+        public @NonNull Builder setSyncInterval(final int interval) {
+            checkArgument(interval > 0, "Invalid sync interval %s", interval);
+            this.syncInterval = interval;
+            return this;
+        }
+
+        /**
+         * Set the number of entries committed through {@link DataTreeJournal#commit(DataTree, DataTreeCandidate)}
+         * after which a snapshot is written automatically. A value of {@code 0}, which is the default, disables
+         * automatic snapshots.
+         *
+         * @param interval Snapshot interval
+         * @return This builder
+         * @throws IllegalArgumentException if {@code interval} is negative
+         */
+        public @NonNull Builder setSnapshotInterval(final int interval) {
+            checkArgument(interval >= 0, "Invalid snapshot interval %s", interval);
+            this.snapshotInterval = interval;
+            return this;
+        }
+
+        /**
+         * Open the journal, creating its directory if needed.
+         *
+         * @return An open journal
+         * @throws IOException if the journal cannot be opened
+         */
+        public @NonNull DataTreeJournal open() throws IOException {
+            return DataTreeJournal.open(this);
+        }
+    }
+
+    /**
+     * Default size of journal segments.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.log");
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{20})\\.bin");
+    private static final int SNAPSHOT_MAGIC = 0x59534E50;
+
+    private final @NonNull Path directory;
+    private final @NonNull NormalizedNodeStreamVersion version;
+    private final int segmentSize;
+    private final int syncInterval;
+    private final int snapshotInterval;
+    private final List<Path> segmentFiles;
+
+    private JournalSegment segment;
+    private long snapshotSequence;
+    private int unsynced;
+    private int unsnapshotted;
+
+    private DataTreeJournal(final Builder builder, final List<Path> segmentFiles, final JournalSegment segment,
+            final long snapshotSequence) {
+        directory = builder.directory;
+        version = builder.version;
+        segmentSize = builder.segmentSize;
+        syncInterval = builder.syncInterval;
+        snapshotInterval = builder.snapshotInterval;
+        this.segmentFiles = requireNonNull(segmentFiles);
+        this.segment = requireNonNull(segment);
+        this.snapshotSequence = snapshotSequence;
+    }
+
+    public static @NonNull Builder builder(final Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Return the sequence number of the last entry in this journal.
+     *
+     * @return Last entry sequence number, {@code 0} if the journal is empty
+     */
+    public long lastSequence() {
+        return segment.nextSequence() - 1;
+    }
+
+    /**
+     * Return the sequence number of the last entry covered by the latest snapshot.
+     *
+     * @return Last snapshot sequence number, {@code 0} if there is no snapshot
+     */
+    public long snapshotSequence() {
+        return snapshotSequence;
+    }
+
+    /**
+     * Append a candidate to this journal.
+     *
+     * @param candidate Candidate to append
+     * @return Sequence number assigned to the candidate
+     * @throws IOException if the candidate cannot be written
+     */
+    public long append(final DataTreeCandidate candidate) throws IOException {
+        final ByteArrayDataOutput bado = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = version.newDataOutput(bado)) {
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        }
+        final byte[] payload = bado.toByteArray();
+
+        long sequence = segment.tryAppend(payload);
+        if (sequence == -1) {
+            nextSegment(payload.length);
+            sequence = segment.tryAppend(payload);
+            checkState(sequence != -1, "Failed to append %s bytes to new segment %s", payload.length, segment);
+        }
+
+        if (++unsynced >= syncInterval) {
+            sync();
+        }
+        return sequence;
+    }
+
+    /**
+     * Append a candidate to this journal and commit it to a {@link DataTree}. If a snapshot interval is configured,
+     * a snapshot of the tree is written once enough candidates have been committed.
+     *
+     * <p>
+     * The candidate is appended before it is committed, so that a committed candidate is never missing from the
+     * journal. Should {@link DataTree#commit(DataTreeCandidate)} fail, the journal entry is removed before the failure
+     * is propagated, so that the journal does not replay a candidate which has never been applied.
+     *
+     * @param dataTree Data tree to commit to
+     * @param candidate Candidate prepared by {@code dataTree}
+     * @return Sequence number assigned to the candidate
+     * @throws IOException if the candidate or the snapshot cannot be written
+     */
+    @SuppressWarnings("checkstyle:illegalCatch")
+    public long commit(final DataTree dataTree, final DataTreeCandidate candidate) throws IOException {
+        final long sequence = append(candidate);
+        try {
+            dataTree.commit(candidate);
+        } catch (RuntimeException e) {
+            removeLast();
+            throw e;
+        }
+        if (snapshotInterval != 0 && ++unsnapshotted >= snapshotInterval) {
+            writeSnapshot(dataTree.takeSnapshot().readNode(YangInstanceIdentifier.empty()).orElse(null));
+        }
+        return sequence;
+    }
+
+    private void removeLast() {
+        segment.removeLast();
+        if (unsynced != 0) {
+            unsynced--;
+        } else {
+            // The entry has already been forced, make sure its removal is persisted, too
+            segment.force();
+        }
+    }
+
+    /**
+     * Force all appended entries to storage.
+     */
+    public void sync() {
+        segment.force();
+        unsynced = 0;
+    }
+
+    /**
+     * Write a snapshot of a data tree. The snapshot needs to reflect all entries appended to this journal, i.e. the
+     * result of {@link #lastSequence()}. Segments which contain only entries covered by this snapshot are deleted.
+     *
+     * @param root Root node of the tree, {@code null} if the tree is empty
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void writeSnapshot(final NormalizedNode root) throws IOException {
+        // Make sure the journal does not lag behind the snapshot
+        sync();
+
+        final long sequence = lastSequence();
+        final Path file = snapshotFile(sequence);
+        final Path tmp = directory.resolve(fileName(file) + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(
+                Channels.newOutputStream(channel)));
+            dos.writeInt(SNAPSHOT_MAGIC);
+            dos.writeLong(sequence);
+            try (NormalizedNodeDataOutput out = version.newDataOutput(dos)) {
+                out.writeOptionalNormalizedNode(root);
+            }
+            dos.flush();
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        LOG.debug("Journal {} written snapshot at {}", directory, sequence);
+
+        snapshotSequence = sequence;
+        unsnapshotted = 0;
+        prune();
+    }
+
+    /**
+     * Restore the contents of a data tree from the latest snapshot and the journal entries following it. This method
+     * is expected to be invoked on an empty tree.
+     *
+     * @param dataTree Data tree to restore
+     * @return Number of replayed journal entries
+     * @throws IOException if the snapshot or the journal cannot be read
+     * @throws DataValidationFailedException if the restored data fails to validate
+     */
+    public long restore(final DataTree dataTree) throws IOException, DataValidationFailedException {
+        final long firstSequence;
+        if (snapshotSequence != 0) {
+            final Optional<NormalizedNode> root = readSnapshot(snapshotFile(snapshotSequence));
+            if (root.isPresent()) {
+                final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+                mod.write(YangInstanceIdentifier.empty(), root.orElseThrow());
+                commitModification(dataTree, mod);
+            }
+            firstSequence = snapshotSequence + 1;
+        } else {
+            firstSequence = 1;
+        }
+
+        final long[] replayed = new long[1];
+        for (Path file : segmentFiles) {
+            JournalSegment.read(file, (sequence, payload) -> {
+                if (sequence >= firstSequence) {
+                    final DataTreeCandidate candidate = DataTreeCandidateInputOutput.readDataTreeCandidate(
+                        NormalizedNodeDataInput.newDataInput(payload));
+                    final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+                    DataTreeCandidates.applyToModification(mod, candidate);
+                    try {
+                        commitModification(dataTree, mod);
+                    } catch (DataValidationFailedException e) {
+                        throw new IOException("Failed to replay journal entry " + sequence, e);
+                    }
+                    replayed[0]++;
+                }
+            });
+        }
+
+        LOG.debug("Journal {} restored snapshot {} and {} entries", directory, snapshotSequence, replayed[0]);
+        return replayed[0];
+    }
+
+    @Override
+    public void close() throws IOException {
+        sync();
+        segment.close();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("directory", directory).add("version", version)
+            .add("snapshot", snapshotSequence).add("segment", segment).toString();
+    }
+
+    static @NonNull DataTreeJournal open(final Builder builder) throws IOException {
+        final Path directory = Files.createDirectories(builder.directory);
+
+        final List<Path> segmentFiles = listFiles(directory, SEGMENT_NAME);
+        final List<Path> snapshotFiles = listFiles(directory, SNAPSHOT_NAME);
+        final long snapshotSequence = snapshotFiles.isEmpty() ? 0
+            : sequenceOf(snapshotFiles.get(snapshotFiles.size() - 1), SNAPSHOT_NAME);
+
+        final JournalSegment segment;
+        if (segmentFiles.isEmpty()) {
+            final Path file = segmentFile(directory, snapshotSequence + 1);
+            segment = JournalSegment.create(file, snapshotSequence + 1, builder.segmentSize);
+            segmentFiles.add(file);
+        } else {
+            segment = JournalSegment.open(segmentFiles.get(segmentFiles.size() - 1));
+        }
+
+        return new DataTreeJournal(builder, segmentFiles, segment, snapshotSequence);
+    }
+
+    private void nextSegment(final int payloadLength) throws IOException {
+        sync();
+        segment.close();
+
+        final long sequence = segment.nextSequence();
+        final Path file = segmentFile(directory, sequence);
+        segment = JournalSegment.create(file, sequence, Math.max(segmentSize,
+            JournalSegment.HEADER_SIZE + JournalSegment.RECORD_HEADER_SIZE + payloadLength));
+        segmentFiles.add(file);
+        LOG.debug("Journal {} switched to segment {}", directory, segment);
+    }
+
+    private void prune() throws IOException {
+        // A segment can be removed if the next segment starts at or before the first entry not covered by the snapshot
+        while (segmentFiles.size() > 1 && sequenceOf(segmentFiles.get(1), SEGMENT_NAME) <= snapshotSequence + 1) {
+            Files.delete(segmentFiles.remove(0));
+        }
+
+        final String current = fileName(snapshotFile(snapshotSequence));
+        for (Path file : listFiles(directory, SNAPSHOT_NAME)) {
+            if (!current.equals(fileName(file))) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private @NonNull Path snapshotFile(final long sequence) {
+        return directory.resolve(String.format("snapshot-%020d.bin", sequence));
+    }
+
+    private static Optional<NormalizedNode> readSnapshot(final Path file) throws IOException {
+        // Decode directly from the mapped file
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < Integer.BYTES + Long.BYTES) {
+            throw new IOException("Snapshot " + file + " is too short");
+        }
+        final int magic = buffer.getInt();
+        if (magic != SNAPSHOT_MAGIC) {
+            throw new IOException("Snapshot " + file + " has invalid magic " + Integer.toHexString(magic));
+        }
+        buffer.getLong();
+        return NormalizedNodeDataInput.newDataInput(buffer).readOptionalNormalizedNode();
+    }
+
+    private static void commitModification(final DataTree dataTree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static @NonNull Path segmentFile(final Path directory, final long firstSequence) {
+        return directory.resolve(String.format("segment-%020d.log", firstSequence));
+    }
+
+    private static List<Path> listFiles(final Path directory, final Pattern pattern) throws IOException {
+        final Predicate<Path> matches = file -> pattern.matcher(fileName(file)).matches();
+        try (Stream<Path> stream = Files.list(directory)) {
+            // Names are zero-padded, hence lexicographic order is also numeric order
+            return stream.filter(matches).sorted().collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static long sequenceOf(final Path file, final Pattern pattern) {
+        final Matcher matcher = pattern.matcher(fileName(file));
+        checkState(matcher.matches(), "Unexpected file %s", file);
+        return Long.parseLong(matcher.group(1));
+    }
+
+    private static String fileName(final Path file) {
+        // All paths we deal with have a file name
+        return String.valueOf(file.getFileName());
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.journal;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A single memory-mapped journal segment file. A segment starts with a header, followed by a sequence of records:
+ * <pre>
+ *   header: int magic, int version, long firstSequence
+ *   record: int length, int crc32, long sequence, byte[length] payload
+ * </pre>
+ * The remainder of the file is zero-filled, hence a record length of {@code 0} marks the end of the segment. Records
+ * are validated when the segment is scanned, so that a record torn by a crash terminates the segment.
+ */
+final class JournalSegment implements AutoCloseable {
+    /**
+     * Consumer of records read from a segment. The payload buffer is a read-only view of the mapped segment, valid only
+     * for the duration of the {@link #accept(long, ByteBuffer)} call.
+     */
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(long sequence, ByteBuffer payload) throws IOException;
+    }
+
+    static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+    static final int RECORD_HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES;
+
+    private static final int MAGIC = 0x594A524E;
+    private static final int VERSION = 1;
+
+    private final @NonNull Path file;
+    private final @NonNull FileChannel channel;
+    private final @NonNull MappedByteBuffer buffer;
+    private final long firstSequence;
+
+    private long nextSequence;
+    private int lastRecordStart = -1;
+
+    private JournalSegment(final Path file, final FileChannel channel, final MappedByteBuffer buffer,
+            final long firstSequence) {
+        this.file = requireNonNull(file);
+        this.channel = requireNonNull(channel);
+        this.buffer = requireNonNull(buffer);
+        this.firstSequence = firstSequence;
+        nextSequence = firstSequence;
+    }
+
+    /**
+     * Create a new segment file.
+     *
+     * @param file Segment file
+     * @param firstSequence Sequence number of the first record
+     * @param size Size of the segment, in bytes
+     * @return A new segment, positioned at its first record
+     * @throws IOException if the file cannot be created
+     */
+    static @NonNull JournalSegment create(final Path file, final long firstSequence, final int size)
+            throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        final MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(firstSequence);
+        buffer.force();
+        return new JournalSegment(file, channel, buffer, firstSequence);
+    }
+
+    /**
+     * Open an existing segment file. The segment is positioned after its last valid record.
+     *
+     * @param file Segment file
+     * @return An open segment
+     * @throws IOException if the file cannot be opened or is not a valid segment
+     */
+    static @NonNull JournalSegment open(final Path file) throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, channel.size());
+            final JournalSegment segment = new JournalSegment(file, channel, buffer, readHeader(file, buffer));
+            segment.scan(null);
+            return segment;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Read all valid records from a segment file, without opening it for writing.
+     *
+     * @param file Segment file
+     * @param consumer Record consumer
+     * @throws IOException if the file cannot be read or the consumer fails
+     */
+    static void read(final Path file, final RecordConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            new JournalSegment(file, channel, buffer, readHeader(file, buffer)).scan(requireNonNull(consumer));
+        }
+    }
+
+    @NonNull Path file() {
+        return file;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Attempt to append a record to this segment.
+     *
+     * @param payload Record payload
+     * @return The sequence number assigned to the record, or {@code -1} if the segment does not have enough space
+     */
+    long tryAppend(final byte[] payload) {
+        if (buffer.remaining() < RECORD_HEADER_SIZE + payload.length) {
+            return -1;
+        }
+
+        lastRecordStart = buffer.position();
+        final long sequence = nextSequence++;
+        buffer.putInt(payload.length).putInt(crc32(ByteBuffer.wrap(payload))).putLong(sequence).put(payload);
+        return sequence;
+    }
+
+    /**
+     * Remove the record appended by the last successful {@link #tryAppend(byte[])}. The record is overwritten with
+     * zeroes, hence it terminates the segment as far as {@link #scan(RecordConsumer)} is concerned, and its sequence
+     * number is reused by the next append. The removal needs to be {@link #force() forced} to storage if the record
+     * itself has been forced.
+     *
+     * @throws IllegalStateException if there is no record to remove
+     */
+    void removeLast() {
+        final int start = lastRecordStart;
+        checkState(start != -1, "No record to remove in %s", this);
+        final int end = buffer.position();
+        for (int i = start; i < end; ++i) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(start);
+        nextSequence--;
+        lastRecordStart = -1;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("file", file).add("first", firstSequence)
+            .add("next", nextSequence).toString();
+    }
+
+    private void scan(final RecordConsumer consumer) throws IOException {
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            final int start = buffer.position();
+            final int length = buffer.getInt();
+            final int crc = buffer.getInt();
+            final long sequence = buffer.getLong();
+            if (length <= 0 || length > buffer.remaining() || sequence != nextSequence) {
+                buffer.position(start);
+                return;
+            }
+
+            final ByteBuffer payload = buffer.slice().limit(length);
+            if (crc32(payload.duplicate()) != crc) {
+                buffer.position(start);
+                return;
+            }
+
+            buffer.position(buffer.position() + length);
+            nextSequence++;
+            if (consumer != null) {
+                // Hand out a view of the mapped file, so the payload can be decoded without copying it
+                consumer.accept(sequence, payload.asReadOnlyBuffer());
+            }
+        }
+    }
+
+    private static long readHeader(final Path file, final ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            throw new IOException("Segment " + file + " is too short");
+        }
+        final int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Segment " + file + " has invalid magic " + Integer.toHexString(magic));
+        }
+        final int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Segment " + file + " has unsupported version " + version);
+        }
+        return buffer.getLong();
+    }
+
+    private static int crc32(final ByteBuffer bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.leafNode;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class DataTreeJournalTest {
+    private static final QName ROOT = QName.create("urn:opendaylight:params:xml:ns:yang:journal", "root");
+    private static final QName ENTRY = QName.create(ROOT, "entry");
+    private static final QName ID = QName.create(ROOT, "id");
+    private static final QName VALUE = QName.create(ROOT, "value");
+    private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT);
+    private static final YangInstanceIdentifier ENTRY_PATH = ROOT_PATH.node(ENTRY);
+
+    private static EffectiveModelContext SCHEMA_CONTEXT;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void beforeClass() {
+        SCHEMA_CONTEXT = YangParserTestUtils.parseYangResource("/journal.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEMA_CONTEXT = null;
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        final DataTreeJournal.Builder builder = DataTreeJournal.builder(folder.getRoot().toPath());
+        assertThrows(IllegalArgumentException.class, () -> builder.setSegmentSize(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.setSyncInterval(0));
+        assertThrows(IllegalArgumentException.class, () -> builder.setSnapshotInterval(-1));
+    }
+
+    @Test
+    public void testJournalRestore() throws IOException, DataValidationFailedException {
+        final Path dir = folder.getRoot().toPath();
+        final DataTree dataTree = createTree();
+
+        // Small segments, so we exercise segment switching
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).setSegmentSize(512).setSyncInterval(3).open()) {
+            commitInitial(journal, dataTree);
+            for (int i = 0; i < 20; ++i) {
+                commitEntry(journal, dataTree, i);
+            }
+            assertEquals(21, journal.lastSequence());
+            assertEquals(0, journal.snapshotSequence());
+        }
+        assertEquals(List.of(), listFiles(dir, "snapshot-"));
+
+        final DataTree restored = createTree();
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).open()) {
+            assertEquals(21, journal.lastSequence());
+            assertEquals(21, journal.restore(restored));
+        }
+        assertSameData(dataTree, restored);
+    }
+
+    @Test
+    public void testSnapshotRestore() throws IOException, DataValidationFailedException {
+        final Path dir = folder.getRoot().toPath();
+        final DataTree dataTree = createTree();
+
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).setSegmentSize(512).setSnapshotInterval(10)
+                .open()) {
+            commitInitial(journal, dataTree);
+            for (int i = 0; i < 25; ++i) {
+                commitEntry(journal, dataTree, i);
+            }
+            assertEquals(26, journal.lastSequence());
+            assertEquals(20, journal.snapshotSequence());
+        }
+
+        // Only the latest snapshot is retained and old segments have been pruned
+        assertEquals(List.of("snapshot-00000000000000000020.bin"), listFiles(dir, "snapshot-"));
+        assertEquals(false, listFiles(dir, "segment-").contains("segment-00000000000000000001.log"));
+
+        final DataTree restored = createTree();
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).open()) {
+            assertEquals(6, journal.restore(restored));
+
+            // Continue appending after restore
+            commitEntry(journal, restored, 100);
+            commitEntry(null, dataTree, 100);
+            assertEquals(27, journal.lastSequence());
+        }
+        assertSameData(dataTree, restored);
+
+        final DataTree again = createTree();
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).open()) {
+            assertEquals(7, journal.restore(again));
+        }
+        assertSameData(dataTree, again);
+    }
+
+    @Test
+    public void testTornEntry() throws IOException, DataValidationFailedException {
+        final Path dir = folder.getRoot().toPath();
+        final DataTree dataTree = createTree();
+
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).setSegmentSize(4096).open()) {
+            commitInitial(journal, dataTree);
+            commitEntry(journal, dataTree, 1);
+        }
+        final DataTree expected = createTree();
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).setSegmentSize(4096).open()) {
+            journal.restore(expected);
+            commitEntry(journal, dataTree, 2);
+        }
+
+        // Corrupt the last byte of the last entry, simulating a torn write
+        final Path segment = dir.resolve(listFiles(dir, "segment-").get(0));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer buf = ByteBuffer.allocate(1);
+            long pos = channel.size() - 1;
+            while (true) {
+                buf.clear();
+                channel.read(buf, pos);
+                if (buf.get(0) != 0) {
+                    break;
+                }
+                pos--;
+            }
+            buf.clear();
+            buf.put(0, (byte) (buf.get(0) ^ 0xFF));
+            channel.write(buf, pos);
+        }
+
+        final DataTree restored = createTree();
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).open()) {
+            assertEquals(2, journal.lastSequence());
+            assertEquals(2, journal.restore(restored));
+        }
+        assertSameData(expected, restored);
+    }
+
+    @Test
+    public void testFailedCommit() throws IOException, DataValidationFailedException {
+        final Path dir = folder.getRoot().toPath();
+        final DataTree dataTree = createTree();
+
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).open()) {
+            commitInitial(journal, dataTree);
+
+            // Prepare a candidate and then commit a different one, so the first one no longer applies
+            final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+            mod.write(ENTRY_PATH.node(NodeIdentifierWithPredicates.of(ENTRY, ID, Uint32.ONE)),
+                mapEntryBuilder(ENTRY, ID, Uint32.ONE).build());
+            mod.ready();
+            dataTree.validate(mod);
+            final DataTreeCandidate stale = dataTree.prepare(mod);
+            commitEntry(journal, dataTree, 2);
+            assertEquals(2, journal.lastSequence());
+
+            assertThrows(IllegalStateException.class, () -> journal.commit(dataTree, stale));
+            assertEquals(2, journal.lastSequence());
+
+            // The sequence number is reused
+            commitEntry(journal, dataTree, 3);
+            assertEquals(3, journal.lastSequence());
+        }
+
+        final DataTree restored = createTree();
+        try (DataTreeJournal journal = DataTreeJournal.builder(dir).open()) {
+            assertEquals(3, journal.lastSequence());
+            assertEquals(3, journal.restore(restored));
+        }
+        assertSameData(dataTree, restored);
+    }
+
+    private static DataTree createTree() {
+        return new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+    }
+
+    private static void commitInitial(final DataTreeJournal journal, final DataTree dataTree)
+            throws IOException, DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, ImmutableNodes.containerNode(ROOT));
+        mod.write(ENTRY_PATH, mapNodeBuilder(ENTRY).build());
+        commit(journal, dataTree, mod);
+    }
+
+    private static void commitEntry(final DataTreeJournal journal, final DataTree dataTree, final int id)
+            throws IOException, DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ENTRY_PATH.node(NodeIdentifierWithPredicates.of(ENTRY, ID, Uint32.valueOf(id))),
+            mapEntryBuilder(ENTRY, ID, Uint32.valueOf(id)).withChild(leafNode(VALUE, "value" + id)).build());
+        commit(journal, dataTree, mod);
+    }
+
+    private static void commit(final DataTreeJournal journal, final DataTree dataTree,
+            final DataTreeModification mod) throws IOException, DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        if (journal != null) {
+            journal.commit(dataTree, dataTree.prepare(mod));
+        } else {
+            dataTree.commit(dataTree.prepare(mod));
+        }
+    }
+
+    private static List<String> listFiles(final Path dir, final String prefix) throws IOException {
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.map(file -> file.getFileName().toString()).filter(name -> name.startsWith(prefix))
+                .sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static void assertSameData(final DataTree expected, final DataTree actual) {
+        assertEquals(expected.takeSnapshot().readNode(YangInstanceIdentifier.empty()),
+            actual.takeSnapshot().readNode(YangInstanceIdentifier.empty()));
+    }
+}
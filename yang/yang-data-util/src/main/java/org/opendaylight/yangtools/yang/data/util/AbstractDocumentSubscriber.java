@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.Empty;
+
+/**
+ * Base class for subscribers which collect a complete document from {@link ByteBuffer} chunks, for example as they
+ * arrive from a non-blocking network connection, and parse it once it has been received. This is not an incremental
+ * parser: chunks are copied into a buffer until the publisher signals completion, at which point the complete document
+ * is handed to {@link #parse(InputStream)} on a separate {@link Executor}. The outcome is reported through
+ * {@link #completion()}. The publishing thread is never blocked.
+ *
+ * <p>
+ * Since the whole document is held in memory, its size is capped at a limit specified by the user. Chunks are
+ * requested in batches and the subscription is cancelled as soon as the limit is exceeded.
+ *
+ * <p>
+ * Each instance can be subscribed to only a single publisher and hence is good for parsing a single document.
+ */
+@Beta
+public abstract class AbstractDocumentSubscriber implements Subscriber<ByteBuffer> {
+    /**
+     * Largest maximum document size, i.e. the largest array we can allocate.
+     */
+    public static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final int INITIAL_CAPACITY = 4096;
+    // Number of chunks we request at once, we ask for more once half of them have been delivered
+    private static final int BATCH_SIZE = 16;
+
+    private final CompletableFuture<Empty> completion = new CompletableFuture<>();
+    private final @NonNull Executor executor;
+    private final int maxSize;
+
+    // Flow signals are delivered serially, hence these fields do not need to be volatile
+    private Subscription subscription;
+    private byte[] buf = new byte[0];
+    private int count;
+    private int pending;
+
+    protected AbstractDocumentSubscriber(final Executor executor, final int maxSize) {
+        this.executor = requireNonNull(executor);
+        checkArgument(maxSize >= 0 && maxSize <= MAX_SIZE, "Invalid maximum size %s", maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return a {@link CompletionStage} which completes when the document has been parsed. It completes exceptionally
+     * if the publisher reports an error, the document exceeds the maximum size or the parser fails.
+     *
+     * @return A {@link CompletionStage}
+     */
+    public final @NonNull CompletionStage<Empty> completion() {
+        return completion;
+    }
+
+    @Override
+    public final void onSubscribe(final Subscription newSubscription) {
+        requireNonNull(newSubscription);
+        if (subscription != null) {
+            newSubscription.cancel();
+            return;
+        }
+        subscription = newSubscription;
+        pending = BATCH_SIZE;
+        newSubscription.request(BATCH_SIZE);
+    }
+
+    @Override
+    public final void onNext(final ByteBuffer item) {
+        requireNonNull(item);
+        if (buf == null) {
+            // Already terminated
+            return;
+        }
+
+        final int length = item.remaining();
+        if (length > maxSize - count) {
+            subscription.cancel();
+            fail(new IOException("Document exceeds maximum size of " + maxSize + " bytes"));
+            return;
+        }
+
+        final int required = count + length;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, (int) Math.min(MAX_SIZE,
+                Math.max(required, Math.max(INITIAL_CAPACITY, (long) buf.length * 2))));
+        }
+        item.get(buf, count, length);
+        count = required;
+        if (--pending <= BATCH_SIZE / 2) {
+            subscription.request(BATCH_SIZE - pending);
+            pending = BATCH_SIZE;
+        }
+    }
+
+    @Override
+    public final void onError(final Throwable throwable) {
+        requireNonNull(throwable);
+        if (buf != null) {
+            fail(throwable);
+        }
+    }
+
+    @Override
+    public final void onComplete() {
+        if (buf == null) {
+            return;
+        }
+
+        final InputStream input = new ByteArrayInputStream(buf, 0, count);
+        buf = null;
+        try {
+            executor.execute(() -> parseDocument(input));
+        } catch (RejectedExecutionException e) {
+            completion.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Parse a complete document. This method is invoked at most once, from the executor thread.
+     *
+     * @param input document content
+     * @throws Exception if the document cannot be parsed
+     */
+    protected abstract void parse(@NonNull InputStream input) throws Exception;
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void parseDocument(final InputStream input) {
+        try {
+            parse(input);
+        } catch (Exception e) {
+            completion.completeExceptionally(e);
+            return;
+        }
+        completion.complete(Empty.getInstance());
+    }
+
+    private void fail(final Throwable cause) {
+        buf = null;
+        completion.completeExceptionally(cause);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.opendaylight.yangtools.rfc7952.data.api.StreamWriterMetadataExtension;
+import org.opendaylight.yangtools.util.ImmutableMapTemplate;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+
+/**
+ * Tracks the key leaves of a keyed list entry being streamed, so that the entry is started as soon as its last key
+ * leaf has been read. This class is to be used only by streaming XML and JSON parsers in yang-data-codec-xml and
+ * yang-data-codec-gson.
+ */
+@Beta
+public final class KeyedListEntryStart {
+    private final Map<QName, LeafNodeDataWithSchema> keyValues = new HashMap<>();
+    private final ImmutableMapTemplate<QName> predicateTemplate;
+    private final ImmutableMap<QName, Object> attributes;
+    private final ListSchemaNode schema;
+
+    private boolean started;
+
+    /**
+     * Create a new tracker.
+     *
+     * @param schema List schema
+     * @param predicateTemplate Template of the entry's key, as created from {@link ListSchemaNode#getKeyDefinition()}
+     * @param attributes Metadata attached to the entry, emitted when the entry is started
+     */
+    public KeyedListEntryStart(final ListSchemaNode schema, final ImmutableMapTemplate<QName> predicateTemplate,
+            final ImmutableMap<QName, Object> attributes) {
+        this.schema = requireNonNull(schema);
+        this.predicateTemplate = requireNonNull(predicateTemplate);
+        this.attributes = requireNonNull(attributes);
+    }
+
+    /**
+     * Return {@code true} if the entry has been started in the writer.
+     *
+     * @return {@code true} if the entry has been started in the writer
+     */
+    public boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * Check whether a child is a key leaf which needs to be passed to {@link #addKey(NormalizedNodeStreamWriter,
+     * LeafNodeDataWithSchema)}.
+     *
+     * @param childSchema Child schema
+     * @return {@code true} if the child is a key leaf and the entry has not been started yet
+     */
+    public boolean isPendingKey(final DataSchemaNode childSchema) {
+        return !started && childSchema instanceof LeafSchemaNode
+            && predicateTemplate.keySet().contains(childSchema.getQName());
+    }
+
+    /**
+     * Record a key leaf. The entry is started once all of its key leaves have been recorded.
+     *
+     * @param writer Writer to start the entry in
+     * @param key Key leaf
+     * @throws IOException if the writer fails
+     */
+    public void addKey(final NormalizedNodeStreamWriter writer, final LeafNodeDataWithSchema key) throws IOException {
+        keyValues.put(key.getSchema().getQName(), key);
+        if (keyValues.size() == predicateTemplate.keySet().size()) {
+            start(writer);
+        }
+    }
+
+    /**
+     * Start the entry in the writer, emitting its metadata and the key leaves recorded so far. Missing key leaves are
+     * reported by {@link ImmutableMapTemplate}, just as they would be by the non-streaming parsers.
+     *
+     * @param writer Writer to start the entry in
+     * @throws IOException if the writer fails
+     * @throws IllegalArgumentException if some of the key leaves are missing
+     */
+    public void start(final NormalizedNodeStreamWriter writer) throws IOException {
+        writer.nextDataSchemaNode(schema);
+        writer.startMapEntryNode(NodeIdentifierWithPredicates.of(schema.getQName(),
+            predicateTemplate.instantiateTransformed(keyValues, (key, node) -> node.getValue())),
+            NormalizedNodeStreamWriter.UNKNOWN_SIZE);
+        if (!attributes.isEmpty()) {
+            final StreamWriterMetadataExtension metaWriter = writer.getExtensions()
+                .getInstance(StreamWriterMetadataExtension.class);
+            if (metaWriter != null) {
+                metaWriter.metadata(attributes);
+            }
+        }
+        for (LeafNodeDataWithSchema keyLeaf : keyValues.values()) {
+            keyLeaf.write(writer);
+        }
+        started = true;
+    }
+}
@@ -8,6 +8,7 @@
 
 package org.opendaylight.yangtools.yang.data.util;
 
+import com.google.common.annotations.Beta;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
@@ -71,4 +72,19 @@ public final class ParserStreamUtils {
         }
         return result;
     }
+
+    /**
+     * Check whether a child found by {@link #findSchemaNodeByNameAndNamespace(DataSchemaNode, String, XMLNamespace)}
+     * is a direct child of its parent, i.e. it is neither nested in a choice nor introduced by an augmentation.
+     * Streaming parsers can emit such children as soon as they are read.
+     *
+     * @param parent Parent schema node
+     * @param childDataSchemaNodes Stack of schema nodes leading to the child
+     * @return {@code true} if the child is a direct child of {@code parent}
+     */
+    @Beta
+    public static boolean isDirectChild(final DataSchemaNode parent, final Deque<DataSchemaNode> childDataSchemaNodes) {
+        return childDataSchemaNodes.size() == 1
+            && CompositeNodeDataWithSchema.findCorrespondingAugment(parent, childDataSchemaNodes.getLast()) == null;
+    }
 }
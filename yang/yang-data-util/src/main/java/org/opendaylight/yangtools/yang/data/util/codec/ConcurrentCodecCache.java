@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util.codec;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opendaylight.yangtools.yang.model.api.SchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeAware;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+
+/**
+ * A thread-safe lazily-populated codec cache. Lookups do not acquire any locks and populating the cache only contends
+ * with concurrent population of the same hash bin. Once a codec is cached, it stays cached for the lifetime of this
+ * object, which is expected to be the lifetime of the codec factory, and hence of its EffectiveModelContext.
+ *
+ * <p>
+ * Unlike {@link SharedCodecCache}, this implementation does not use weak or soft references, so it does not subject
+ * the garbage collector to reference processing, nor does it need to recreate codecs after memory pressure subsides.
+ *
+ * @param <T> Codec type
+ */
+@Beta
+public final class ConcurrentCodecCache<T> extends CodecCache<T> {
+    /**
+     * Identity-based map key. Type definitions implement value-based equality, hence we cannot use them as keys
+     * directly. Instances are short-lived and are expected to be eliminated by escape analysis on the lookup path.
+     */
+    private static final class IdentityKey {
+        private final Object obj;
+        private final int hashCode;
+
+        IdentityKey(final Object obj) {
+            this.obj = requireNonNull(obj);
+            hashCode = System.identityHashCode(obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof IdentityKey && obj == ((IdentityKey) other).obj;
+        }
+    }
+
+    private final ConcurrentHashMap<IdentityKey, T> simpleCodecs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<IdentityKey, T> complexCodecs = new ConcurrentHashMap<>();
+
+    @Override
+    <S extends SchemaNode & TypeAware> T lookupComplex(final S schema) {
+        return complexCodecs.get(new IdentityKey(schema));
+    }
+
+    @Override
+    T lookupSimple(final TypeDefinition<?> type) {
+        return simpleCodecs.get(new IdentityKey(type));
+    }
+
+    @Override
+    <S extends SchemaNode & TypeAware> T getComplex(final S schema, final T codec) {
+        final T existing = complexCodecs.putIfAbsent(new IdentityKey(schema), requireNonNull(codec));
+        return existing != null ? existing : codec;
+    }
+
+    @Override
+    T getSimple(final TypeDefinition<?> type, final T codec) {
+        final T existing = simpleCodecs.putIfAbsent(new IdentityKey(type), requireNonNull(codec));
+        return existing != null ? existing : codec;
+    }
+
+    /**
+     * Return the number of cached complex codecs.
+     *
+     * @return Number of cached complex codecs
+     */
+    public int complexSize() {
+        return complexCodecs.size();
+    }
+
+    /**
+     * Return the number of cached simple codecs.
+     *
+     * @return Number of cached simple codecs
+     */
+    public int simpleSize() {
+        return simpleCodecs.size();
+    }
+}
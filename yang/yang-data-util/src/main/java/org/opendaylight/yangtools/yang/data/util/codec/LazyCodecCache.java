@@ -45,6 +45,17 @@ public final class LazyCodecCache<T> extends CodecCache<T> {
         return simpleCodecs.computeIfAbsent(type, any -> codec);
     }
 
+    /**
+     * Add all codecs cached in another instance, unless this instance already has a codec for the same key. This is
+     * useful for combining caches populated by independent threads.
+     *
+     * @param other Cache to merge
+     */
+    public void putAll(final LazyCodecCache<T> other) {
+        other.simpleCodecs.forEach(simpleCodecs::putIfAbsent);
+        other.complexCodecs.forEach(complexCodecs::putIfAbsent);
+    }
+
     public PrecomputedCodecCache<T> toPrecomputed() {
         return new PrecomputedCodecCache<>(simpleCodecs, complexCodecs);
     }
@@ -7,7 +7,6 @@
  */
 package org.opendaylight.yangtools.yang.data.util.codec;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
@@ -38,9 +37,9 @@ public final class PrecomputedCodecCache<T> extends CodecCache<T> {
 
     @Override
     <S extends SchemaNode & TypeAware> T lookupComplex(final S schema) {
-        final T ret = complexCodecs.get(schema);
-        checkArgument(ret != null, "No codec available for schema %s", schema);
-        return ret;
+        // Codecs for fully-shared types are not cached at all, hence we need to fall through to them. Any other
+        // misses are reported by getComplex() and getSimple().
+        return complexCodecs.get(schema);
     }
 
     @Override
@@ -20,8 +20,10 @@ import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
  * A thread-safe lazily-populated codec cache. Instances are cached in an internal weak/soft cache.
  *
  * @author Robert Varga
+ * @deprecated Use {@link ConcurrentCodecCache} instead, which performs better under contention.
  */
 @Beta
+@Deprecated
 public final class SharedCodecCache<T> extends CodecCache<T> {
     // Weak keys to force identity lookup
     // Soft values to keep unreferenced codecs around for a bit, but eventually we want them to go away
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class ConcurrentCodecCacheTest {
+    private static final QName FOO = QName.create("codec-cache", "foo");
+    private static final QName BAR = QName.create(FOO, "bar");
+    private static final QName BAZ = QName.create(FOO, "baz");
+
+    private static LeafSchemaNode bar;
+    private static LeafSchemaNode baz;
+
+    @BeforeClass
+    public static void init() {
+        final EffectiveModelContext context = YangParserTestUtils.parseYangResource("/codec-cache.yang");
+        final ContainerSchemaNode foo = (ContainerSchemaNode) context.findDataTreeChild(FOO).orElseThrow();
+        bar = (LeafSchemaNode) foo.findDataTreeChild(BAR).orElseThrow();
+        baz = (LeafSchemaNode) foo.findDataTreeChild(BAZ).orElseThrow();
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        bar = null;
+        baz = null;
+    }
+
+    @Test
+    public void testSimple() {
+        final ConcurrentCodecCache<String> cache = new ConcurrentCodecCache<>();
+        assertNotSame(bar.getType(), baz.getType());
+        assertNull(cache.lookupSimple(bar.getType()));
+
+        assertSame("first", cache.getSimple(bar.getType(), "first"));
+        assertSame("first", cache.getSimple(bar.getType(), "second"));
+        assertSame("first", cache.lookupSimple(bar.getType()));
+
+        // Lookups are identity-based
+        assertNull(cache.lookupSimple(baz.getType()));
+        assertEquals(1, cache.simpleSize());
+    }
+
+    @Test
+    public void testComplex() {
+        final ConcurrentCodecCache<String> cache = new ConcurrentCodecCache<>();
+        assertNull(cache.lookupComplex(bar));
+        assertSame("bar", cache.getComplex(bar, "bar"));
+        assertSame("baz", cache.getComplex(baz, "baz"));
+        assertSame("bar", cache.getComplex(bar, "other"));
+        assertSame("bar", cache.lookupComplex(bar));
+        assertSame("baz", cache.lookupComplex(baz));
+        assertEquals(2, cache.complexSize());
+    }
+
+    @Test
+    public void testConcurrentPopulation() throws Exception {
+        final ConcurrentCodecCache<Object> cache = new ConcurrentCodecCache<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                futures.add(executor.submit(() -> cache.getComplex(bar, new Object())));
+            }
+
+            // All threads need to observe the same winner
+            final Object winner = futures.get(0).get();
+            for (Future<Object> future : futures) {
+                assertSame(winner, future.get());
+            }
+            assertSame(winner, cache.lookupComplex(bar));
+            assertEquals(1, cache.complexSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.repo.api.SchemaSourceRepresentation;
 
 /**
@@ -55,6 +56,29 @@ public interface YangParser {
      */
     @NonNull YangParser addSource(SchemaSourceRepresentation source) throws IOException, YangSyntaxErrorException;
 
+    /**
+     * Add main source, reusing the effective statement a previous parser produced from the same source. Statements of
+     * other sources in the resulting SchemaContext refer to the instances reachable from {@code reused}, so that it can
+     * be combined with other statements of the previous parser's result. The caller is responsible for all statements
+     * referenced from {@code reused} being part of the resulting SchemaContext, either by being reused as well, or
+     * by being identical.
+     *
+     * <p>
+     * Default implementation ignores {@code reused} and delegates to {@link #addSource(SchemaSourceRepresentation)}.
+     *
+     * @param source which should be added into main sources
+     * @param reused effective statement previously built from {@code source}, typically a ModuleEffectiveStatement or
+     *               a SubmoduleEffectiveStatement
+     * @throws YangSyntaxErrorException when the source fails syntactic analysis
+     * @throws IOException when an IO error occurs
+     * @throws IllegalArgumentException if the representation is not supported
+     */
+    @Beta
+    default @NonNull YangParser addSource(final SchemaSourceRepresentation source,
+            final EffectiveStatement<?, ?> reused) throws IOException, YangSyntaxErrorException {
+        return addSource(source);
+    }
+
     /**
      * Add main sources. All main sources are present in resulting SchemaContext.
      *
@@ -71,6 +95,15 @@ public interface YangParser {
         return this;
     }
 
+    /**
+     * Add main sources. All main sources are present in resulting SchemaContext. Implementations may process the
+     * sources concurrently, in which case failures are still reported in the order of {@code sources}.
+     *
+     * @param sources which should be added into main sources
+     * @throws YangSyntaxErrorException when one of the sources fails syntactic analysis
+     * @throws IOException when an IO error occurs
+     * @throws IllegalArgumentException if the representation is not supported
+     */
     default @NonNull YangParser addSources(final Collection<? extends SchemaSourceRepresentation> sources)
             throws IOException, YangSyntaxErrorException {
         for (SchemaSourceRepresentation source : sources) {
@@ -12,9 +12,11 @@ import static java.util.Objects.requireNonNull;
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
 import java.util.Collection;
+import java.util.concurrent.Executor;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.kohsuke.MetaInfServices;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
@@ -35,6 +37,7 @@ public final class YangParserFactoryImpl implements YangParserFactory {
         StatementParserMode.DEFAULT_MODE, StatementParserMode.SEMVER_MODE);
 
     private final CrossSourceStatementReactor reactor;
+    private final @Nullable Executor sourceExecutor;
 
     /**
      * Construct a new {@link YangParserFactory} backed by {@link DefaultReactors#defaultReactor()}.
@@ -55,6 +58,21 @@ public final class YangParserFactoryImpl implements YangParserFactory {
      */
     public YangParserFactoryImpl(final @NonNull CrossSourceStatementReactor reactor) {
         this.reactor = requireNonNull(reactor);
+        sourceExecutor = null;
+    }
+
+    /**
+     * Construct a new {@link YangParserFactory} backed by specified reactor, whose parsers parse YANG text sources
+     * passed to {@link YangParser#addSources(Collection)} concurrently, using specified executor. Parsers created by
+     * factories constructed by other means parse all sources on the calling thread.
+     *
+     * @param reactor Backing reactor
+     * @param sourceExecutor Executor to use for parsing YANG text sources
+     */
+    public YangParserFactoryImpl(final @NonNull CrossSourceStatementReactor reactor,
+            final @NonNull Executor sourceExecutor) {
+        this.reactor = requireNonNull(reactor);
+        this.sourceExecutor = requireNonNull(sourceExecutor);
     }
 
     @Override
@@ -64,6 +82,6 @@ public final class YangParserFactoryImpl implements YangParserFactory {
 
     @Override
     public YangParser createParser(final StatementParserMode parserMode) {
-        return new YangParserImpl(reactor.newBuild(parserMode));
+        return new YangParserImpl(reactor.newBuild(parserMode), sourceExecutor);
     }
 }
@@ -9,18 +9,28 @@ package org.opendaylight.yangtools.yang.parser.impl;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.SetMultimap;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import javax.xml.transform.TransformerException;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserException;
 import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
@@ -44,9 +54,12 @@ final class YangParserImpl implements YangParser {
                 YinXmlSchemaSource.class, YinTextSchemaSource.class);
 
     private final BuildAction buildAction;
+    // Executor used to parse YANG text sources in addSources(), null if they should be parsed on the calling thread
+    private final @Nullable Executor sourceExecutor;
 
-    YangParserImpl(final BuildAction buildAction) {
+    YangParserImpl(final BuildAction buildAction, final @Nullable Executor sourceExecutor) {
         this.buildAction = requireNonNull(buildAction);
+        this.sourceExecutor = sourceExecutor;
     }
 
     @Override
@@ -67,6 +80,26 @@ final class YangParserImpl implements YangParser {
         return this;
     }
 
+    @Override
+    public @NonNull YangParser addSource(final SchemaSourceRepresentation source,
+            final EffectiveStatement<?, ?> reused) throws IOException, YangSyntaxErrorException {
+        buildAction.addSource(sourceToStatementStream(source), reused);
+        return this;
+    }
+
+    @Override
+    public @NonNull YangParser addSources(final SchemaSourceRepresentation... sources) throws IOException,
+            YangSyntaxErrorException {
+        return addSources(Arrays.asList(sources));
+    }
+
+    @Override
+    public @NonNull YangParser addSources(final Collection<? extends SchemaSourceRepresentation> sources)
+            throws IOException, YangSyntaxErrorException {
+        buildAction.addSources(sourcesToStatementStreams(sources));
+        return this;
+    }
+
     @Override
     public @NonNull YangParser addLibSource(final SchemaSourceRepresentation source) throws IOException,
             YangSyntaxErrorException {
@@ -74,6 +107,19 @@ final class YangParserImpl implements YangParser {
         return this;
     }
 
+    @Override
+    public @NonNull YangParser addLibSources(final SchemaSourceRepresentation... sources) throws IOException,
+            YangSyntaxErrorException {
+        return addLibSources(Arrays.asList(sources));
+    }
+
+    @Override
+    public @NonNull YangParser addLibSources(final Collection<SchemaSourceRepresentation> sources)
+            throws IOException, YangSyntaxErrorException {
+        buildAction.addLibSources(sourcesToStatementStreams(sources));
+        return this;
+    }
+
     @Override
     public @NonNull YangParser setSupportedFeatures(final Set<QName> supportedFeatures) {
         buildAction.setSupportedFeatures(supportedFeatures);
@@ -110,6 +156,72 @@ final class YangParserImpl implements YangParser {
         return new YangParserException("Failed to assemble sources", reported);
     }
 
+    /*
+     * Convert a batch of sources. If we have an executor, YANG text sources are lexed and parsed concurrently, as each
+     * of them has its own lexer and parser. Results and failures are reported in the order of the input collection,
+     * hence the outcome does not depend on scheduling.
+     */
+    private List<StatementStreamSource> sourcesToStatementStreams(
+            final Collection<? extends SchemaSourceRepresentation> sources)
+            throws IOException, YangSyntaxErrorException {
+        final List<StatementStreamSource> ret = new ArrayList<>(sources.size());
+        if (sourceExecutor == null || sources.size() < 2) {
+            for (SchemaSourceRepresentation source : sources) {
+                ret.add(sourceToStatementStream(source));
+            }
+            return ret;
+        }
+
+        final List<FutureTask<StatementStreamSource>> parses = new ArrayList<>(sources.size());
+        boolean success = false;
+        try {
+            for (SchemaSourceRepresentation source : sources) {
+                final FutureTask<StatementStreamSource> parse;
+                if (requireNonNull(source) instanceof YangTextSchemaSource) {
+                    parse = new FutureTask<>(() -> YangStatementStreamSource.create((YangTextSchemaSource) source));
+                    sourceExecutor.execute(parse);
+                } else {
+                    parse = null;
+                }
+                parses.add(parse);
+            }
+
+            final Iterator<FutureTask<StatementStreamSource>> it = parses.iterator();
+            for (SchemaSourceRepresentation source : sources) {
+                final FutureTask<StatementStreamSource> parse = it.next();
+                ret.add(parse != null ? getParse(parse) : sourceToStatementStream(source));
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                // No point in finishing the remaining parses
+                parses.forEach(parse -> {
+                    if (parse != null) {
+                        parse.cancel(false);
+                    }
+                });
+            }
+        }
+        return ret;
+    }
+
+    private static StatementStreamSource getParse(final FutureTask<StatementStreamSource> parse)
+            throws IOException, YangSyntaxErrorException {
+        try {
+            return parse.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while parsing sources").initCause(e);
+        } catch (ExecutionException e) {
+            // FutureTask reports the exception thrown by the parse itself, so we can rethrow it as-is
+            final Throwable cause = e.getCause();
+            Throwables.throwIfInstanceOf(cause, IOException.class);
+            Throwables.throwIfInstanceOf(cause, YangSyntaxErrorException.class);
+            Throwables.throwIfUnchecked(cause);
+            throw new IllegalStateException("Unexpected failure to parse source", e);
+        }
+    }
+
     private static StatementStreamSource sourceToStatementStream(final SchemaSourceRepresentation source)
             throws IOException, YangSyntaxErrorException {
         requireNonNull(source);
@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.parser.repo;
 import static org.opendaylight.yangtools.util.concurrent.FluentFutures.immediateFluentFuture;
 
 import com.google.common.base.Function;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.FluentFuture;
@@ -18,8 +19,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.SemVer;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParser;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserException;
 import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
@@ -41,6 +44,8 @@ final class AssembleSources implements AsyncFunction<List<IRSchemaSource>, Effec
     private final @NonNull Function<IRSchemaSource, SourceIdentifier> getIdentifier;
     private final @NonNull SchemaContextFactoryConfiguration config;
     private final @NonNull YangParserFactory parserFactory;
+    private final @Nullable IncrementalAssembly incremental;
+    private final @Nullable SharedModules sharedModules;
 
     AssembleSources(final @NonNull YangParserFactory parserFactory,
             final @NonNull SchemaContextFactoryConfiguration config) {
@@ -53,6 +58,14 @@ final class AssembleSources implements AsyncFunction<List<IRSchemaSource>, Effec
             default:
                 this.getIdentifier = IRSchemaSource::getIdentifier;
         }
+
+        final boolean defaultMode = config.getStatementParserMode() == StatementParserMode.DEFAULT_MODE;
+        if (!defaultMode && (config.isIncrementalBuild() || config.isShareStatements())) {
+            LOG.warn("Incremental build and statement sharing are not supported in {}, ignoring them",
+                config.getStatementParserMode());
+        }
+        incremental = defaultMode && config.isIncrementalBuild() ? new IncrementalAssembly() : null;
+        sharedModules = defaultMode && config.isShareStatements() ? new SharedModules(parserFactory, config) : null;
     }
 
     @Override
@@ -60,7 +73,7 @@ final class AssembleSources implements AsyncFunction<List<IRSchemaSource>, Effec
             throws SchemaResolutionException, ReactorException {
         final Map<SourceIdentifier, IRSchemaSource> srcs = Maps.uniqueIndex(sources, getIdentifier);
         final Map<SourceIdentifier, YangModelDependencyInfo> deps =
-                Maps.transformValues(srcs, YangModelDependencyInfo::forIR);
+                ImmutableMap.copyOf(Maps.transformValues(srcs, YangModelDependencyInfo::forIR));
 
         LOG.debug("Resolving dependency reactor {}", deps);
 
@@ -74,26 +87,36 @@ final class AssembleSources implements AsyncFunction<List<IRSchemaSource>, Effec
                     res.getResolvedSources(), res.getUnsatisfiedImports());
         }
 
-        final YangParser parser = parserFactory.createParser(statementParserMode);
+        final SourceAssembler assembler = sharedModules == null ? this::assemble
+            : (subset, reused) -> sharedModules.assemble(subset, deps, reused, this::assemble);
+        return immediateFluentFuture(incremental != null ? incremental.assemble(srcs, deps, assembler)
+            : assembler.assemble(srcs, Map.of()));
+    }
+
+    private @NonNull EffectiveModelContext assemble(final Map<SourceIdentifier, IRSchemaSource> srcs,
+            final Map<SourceIdentifier, EffectiveStatement<?, ?>> reused) throws SchemaResolutionException {
+        final YangParser parser = parserFactory.createParser(config.getStatementParserMode());
         config.getSupportedFeatures().ifPresent(parser::setSupportedFeatures);
         config.getModulesDeviatedByModules().ifPresent(parser::setModulesWithSupportedDeviations);
 
         for (final Entry<SourceIdentifier, IRSchemaSource> entry : srcs.entrySet()) {
+            final EffectiveStatement<?, ?> stmt = reused.get(entry.getKey());
             try {
-                parser.addSource(entry.getValue());
+                if (stmt != null) {
+                    parser.addSource(entry.getValue(), stmt);
+                } else {
+                    parser.addSource(entry.getValue());
+                }
             } catch (YangSyntaxErrorException | IOException e) {
                 throw new SchemaResolutionException("Failed to add source " + entry.getKey(), e);
             }
         }
 
-        final EffectiveModelContext schemaContext;
         try {
-            schemaContext = parser.buildEffectiveModel();
+            return parser.buildEffectiveModel();
         } catch (final YangParserException e) {
             throw new SchemaResolutionException("Failed to resolve required models", e);
         }
-
-        return immediateFluentFuture(schemaContext);
     }
 
     private static SemVerSourceIdentifier getSemVerIdentifier(final IRSchemaSource source) {
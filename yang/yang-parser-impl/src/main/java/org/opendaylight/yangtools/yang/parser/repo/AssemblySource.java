@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.YangStmtMapping;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement.NameToEffectiveSubmoduleNamespace;
+import org.opendaylight.yangtools.yang.model.api.stmt.RevisionStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.SubmoduleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Concatenation;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Single;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRStatement;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+
+/**
+ * A source which is being assembled into an {@link EffectiveSchemaContext}, along with a fingerprint of its contents.
+ * Sources are keyed by what they declare, i.e. their name and latest revision, as that is what we can match against
+ * statements of an assembled context.
+ */
+final class AssemblySource {
+    private static final String AUGMENT = YangStmtMapping.AUGMENT.getStatementName().getLocalName();
+    private static final String DEVIATION = YangStmtMapping.DEVIATION.getStatementName().getLocalName();
+    private static final String IMPORT = YangStmtMapping.IMPORT.getStatementName().getLocalName();
+    private static final String PREFIX = YangStmtMapping.PREFIX.getStatementName().getLocalName();
+
+    final @NonNull SourceIdentifier id;
+    final @NonNull YangModelDependencyInfo info;
+    final @NonNull HashCode fingerprint;
+    // Names of imported modules whose statements are augmented or deviated by this source
+    final @NonNull ImmutableSet<String> targets;
+
+    private AssemblySource(final SourceIdentifier id, final YangModelDependencyInfo info, final HashCode fingerprint,
+            final ImmutableSet<String> targets) {
+        this.id = requireNonNull(id);
+        this.info = requireNonNull(info);
+        this.fingerprint = requireNonNull(fingerprint);
+        this.targets = requireNonNull(targets);
+    }
+
+    /**
+     * Index sources by their key.
+     *
+     * @param sources Sources, indexed by their identifier
+     * @param deps Dependency information of sources, indexed by their identifier
+     * @return Sources indexed by their key, in the order of {@code sources}
+     */
+    static @NonNull Map<SourceIdentifier, AssemblySource> index(final Map<SourceIdentifier, IRSchemaSource> sources,
+            final Map<SourceIdentifier, YangModelDependencyInfo> deps) {
+        final Map<SourceIdentifier, AssemblySource> ret = new LinkedHashMap<>();
+        for (Entry<SourceIdentifier, IRSchemaSource> entry : sources.entrySet()) {
+            final YangModelDependencyInfo info = deps.get(entry.getKey());
+            ret.put(RevisionSourceIdentifier.create(info.getName(), info.getRevision()),
+                new AssemblySource(entry.getKey(), info, fingerprint(entry.getValue()),
+                    targets(entry.getValue().getRootStatement())));
+        }
+        return ret;
+    }
+
+    /**
+     * Index root statements of a context, i.e. its modules and their submodules, by their key.
+     *
+     * @param context Context to take statements from
+     * @return Root effective statements indexed by their key
+     */
+    static @NonNull Map<SourceIdentifier, EffectiveStatement<?, ?>> rootStatements(
+            final EffectiveModelContext context) {
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> ret = new HashMap<>();
+        for (ModuleEffectiveStatement module : context.getModuleStatements().values()) {
+            ret.put(sourceKey(module.getDeclared()), module);
+            for (SubmoduleEffectiveStatement submodule
+                    : module.getAll(NameToEffectiveSubmoduleNamespace.class).values()) {
+                ret.put(sourceKey(submodule.getDeclared()), submodule);
+            }
+        }
+        return ret;
+    }
+
+    private static @NonNull SourceIdentifier sourceKey(final DeclaredStatement<?> module) {
+        Revision latest = null;
+        for (RevisionStatement revision : module.declaredSubstatements(RevisionStatement.class)) {
+            if (Revision.compare(latest, revision.argument()) < 0) {
+                latest = revision.argument();
+            }
+        }
+        return RevisionSourceIdentifier.create(module.rawArgument(), latest);
+    }
+
+    // Absolute augment and deviation targets can only be specified at the top level. The first node of the path
+    // identifies the module whose statements are affected.
+    private static @NonNull ImmutableSet<String> targets(final IRStatement root) {
+        final Map<String, String> imports = new HashMap<>();
+        for (IRStatement stmt : root.statements()) {
+            if (isKeyword(stmt, IMPORT) && stmt.argument() != null) {
+                for (IRStatement child : stmt.statements()) {
+                    if (isKeyword(child, PREFIX) && child.argument() != null) {
+                        imports.put(argumentString(child.argument()), argumentString(stmt.argument()));
+                    }
+                }
+            }
+        }
+
+        final ImmutableSet.Builder<String> ret = ImmutableSet.builder();
+        for (IRStatement stmt : root.statements()) {
+            if ((isKeyword(stmt, AUGMENT) || isKeyword(stmt, DEVIATION)) && stmt.argument() != null) {
+                final String path = argumentString(stmt.argument()).strip();
+                final int start = path.startsWith("/") ? 1 : 0;
+                final int slash = path.indexOf('/', start);
+                final String first = slash == -1 ? path.substring(start) : path.substring(start, slash);
+                final int colon = first.indexOf(':');
+                // Unprefixed nodes and unknown prefixes belong to this source's own module
+                final String target = colon == -1 ? null : imports.get(first.substring(0, colon).strip());
+                if (target != null) {
+                    ret.add(target);
+                }
+            }
+        }
+        return ret.build();
+    }
+
+    private static boolean isKeyword(final IRStatement stmt, final String keyword) {
+        return stmt.keyword().prefix() == null && keyword.equals(stmt.keyword().identifier());
+    }
+
+    private static @NonNull String argumentString(final IRArgument argument) {
+        if (argument instanceof Single) {
+            return ((Single) argument).string();
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (Single part : ((Concatenation) argument).parts()) {
+            sb.append(part.string());
+        }
+        return sb.toString();
+    }
+
+    // Everything which can make a difference to the statements built from a source, including source references
+    private static @NonNull HashCode fingerprint(final IRSchemaSource source) {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, source.getSymbolicName().orElse(""));
+        putStatement(hasher, source.getRootStatement());
+        return hasher.hash();
+    }
+
+    private static void putStatement(final Hasher hasher, final IRStatement stmt) {
+        putString(hasher, stmt.keyword().asStringDeclaration());
+        hasher.putInt(stmt.startLine()).putInt(stmt.startColumn());
+        putArgument(hasher, stmt.argument());
+
+        final List<? extends IRStatement> statements = stmt.statements();
+        hasher.putInt(statements.size());
+        for (IRStatement child : statements) {
+            putStatement(hasher, child);
+        }
+    }
+
+    private static void putArgument(final Hasher hasher, final @Nullable IRArgument argument) {
+        if (argument == null) {
+            hasher.putByte((byte) 0);
+        } else if (argument instanceof Single) {
+            hasher.putByte((byte) 1);
+            putSingle(hasher, (Single) argument);
+        } else if (argument instanceof Concatenation) {
+            final List<? extends Single> parts = ((Concatenation) argument).parts();
+            hasher.putByte((byte) 2).putInt(parts.size());
+            for (Single part : parts) {
+                putSingle(hasher, part);
+            }
+        } else {
+            throw new IllegalStateException("Unhandled argument " + argument);
+        }
+    }
+
+    private static void putSingle(final Hasher hasher, final Single single) {
+        // Quoting affects how the string is interpreted
+        putString(hasher, single.getClass().getSimpleName());
+        putString(hasher, single.string());
+    }
+
+    private static void putString(final Hasher hasher, final String str) {
+        // Length prefix keeps adjacent strings from being ambiguous
+        hasher.putInt(str.length()).putUnencodedChars(str);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import com.google.common.collect.ImmutableMap;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo.SubmoduleDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.EffectiveSchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Incremental assembly of {@link EffectiveModelContext}s. We remember the last context we have assembled, along with
+ * a fingerprint and dependency information of each source it has been assembled from. When asked to assemble a new
+ * set of sources, we run the reactor on all of them, but have it reuse effective statements of sources not affected by
+ * the difference.
+ *
+ * <p>
+ * Effective statements of a module are built from statements of the modules it imports and includes, hence a module
+ * is rebuilt if it is new or has changed, or if it depends, directly or transitively, on a source which is new, has
+ * changed or has been removed. Modules it depends on are not affected and keep their previous statements, unless they
+ * are targets of augment or deviation statements of a rebuilt module, in which case they are rebuilt along with their
+ * dependents. Sources which are not rebuilt therefore only depend on other sources which are not rebuilt, and the
+ * reactor resolves references of rebuilt sources to them to the previous statements, so that the resulting context
+ * refers to a single instance of each statement.
+ */
+final class IncrementalAssembly {
+    private static final class Baseline {
+        // We do not want to prevent the context from being garbage-collected, hence we hold it weakly
+        final WeakReference<EffectiveSchemaContext> context;
+        final ImmutableMap<SourceIdentifier, AssemblySource> sources;
+
+        Baseline(final EffectiveSchemaContext context, final Map<SourceIdentifier, AssemblySource> sources) {
+            this.context = new WeakReference<>(context);
+            this.sources = ImmutableMap.copyOf(sources);
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(IncrementalAssembly.class);
+
+    private volatile Baseline baseline;
+
+    @NonNull EffectiveModelContext assemble(final Map<SourceIdentifier, IRSchemaSource> sources,
+            final Map<SourceIdentifier, YangModelDependencyInfo> deps, final SourceAssembler assembler)
+                throws SchemaResolutionException {
+        final Map<SourceIdentifier, AssemblySource> index = AssemblySource.index(sources, deps);
+
+        final Baseline prev = baseline;
+        final EffectiveSchemaContext prevContext = prev == null ? null : prev.context.get();
+        final EffectiveModelContext result = prevContext == null ? assembler.assemble(sources, Map.of())
+            : assemble(prevContext, prev.sources, sources, index, assembler);
+
+        if (result instanceof EffectiveSchemaContext) {
+            baseline = new Baseline((EffectiveSchemaContext) result, index);
+        }
+        return result;
+    }
+
+    private static @NonNull EffectiveModelContext assemble(final EffectiveSchemaContext prevContext,
+            final Map<SourceIdentifier, AssemblySource> prevIndex, final Map<SourceIdentifier, IRSchemaSource> sources,
+            final Map<SourceIdentifier, AssemblySource> index, final SourceAssembler assembler)
+                throws SchemaResolutionException {
+        final Set<SourceIdentifier> changed = new HashSet<>();
+        for (Entry<SourceIdentifier, AssemblySource> entry : index.entrySet()) {
+            final AssemblySource prevSource = prevIndex.get(entry.getKey());
+            if (prevSource == null || !prevSource.fingerprint.equals(entry.getValue().fingerprint)) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (SourceIdentifier key : prevIndex.keySet()) {
+            if (!index.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        if (changed.isEmpty()) {
+            LOG.debug("No changes in {} sources, reusing previous context", index.size());
+            return prevContext;
+        }
+
+        // Changed sources, sources which imported them and modules previous versions of changed sources augmented or
+        // deviated. Sources are matched by name, as revision-less imports can bind to any revision, which also covers
+        // sources which imported removed sources.
+        final Set<String> changedNames = new HashSet<>();
+        final Set<String> prevTargets = new HashSet<>();
+        final Set<SourceIdentifier> seeds = new HashSet<>();
+        for (SourceIdentifier key : changed) {
+            changedNames.add(key.getName());
+            if (index.containsKey(key)) {
+                seeds.add(key);
+            }
+            final AssemblySource prevSource = prevIndex.get(key);
+            if (prevSource != null) {
+                prevTargets.addAll(prevSource.targets);
+            }
+        }
+        for (Entry<SourceIdentifier, AssemblySource> entry : index.entrySet()) {
+            if (prevTargets.contains(entry.getKey().getName())) {
+                seeds.add(entry.getKey());
+                continue;
+            }
+            for (ModuleImport dependency : entry.getValue().info.getDependencies()) {
+                if (changedNames.contains(dependency.getModuleName())) {
+                    seeds.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+
+        final Set<SourceIdentifier> rebuild = rebuildSet(SourceGraph.of(index), index, seeds);
+        if (rebuild.size() == index.size()) {
+            LOG.debug("All {} sources are affected by changes, assembling from scratch", index.size());
+            return assembler.assemble(sources, Map.of());
+        }
+
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> prevStatements =
+            AssemblySource.rootStatements(prevContext);
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> reused = new HashMap<>();
+        for (Entry<SourceIdentifier, AssemblySource> entry : index.entrySet()) {
+            if (!rebuild.contains(entry.getKey())) {
+                final EffectiveStatement<?, ?> stmt = prevStatements.get(entry.getKey());
+                if (stmt == null) {
+                    LOG.debug("Failed to find previous statement of {}, assembling from scratch", entry.getKey());
+                    return assembler.assemble(sources, Map.of());
+                }
+                reused.put(entry.getValue().id, stmt);
+            }
+        }
+
+        LOG.debug("Rebuilding {} of {} sources", rebuild.size(), index.size());
+        try {
+            return assembler.assemble(sources, reused);
+        } catch (SchemaResolutionException e) {
+            // Let the full assembly decide whether the failure is caused by the sources themselves
+            LOG.debug("Failed to reuse {} of {} sources, assembling from scratch", reused.size(), index.size(), e);
+            return assembler.assemble(sources, Map.of());
+        }
+    }
+
+    private static @NonNull Set<SourceIdentifier> rebuildSet(final SourceGraph graph,
+            final Map<SourceIdentifier, AssemblySource> index, final Set<SourceIdentifier> seeds) {
+        Set<SourceIdentifier> ret = graph.dependentsOf(seeds);
+        while (true) {
+            // Statements of augment and deviation targets change along with the sources targeting them, submodules are
+            // part of the module which includes them
+            final Set<String> targets = new HashSet<>();
+            final Set<String> modules = new HashSet<>();
+            for (SourceIdentifier key : ret) {
+                targets.addAll(index.get(key).targets);
+                modules.add(key.getName());
+            }
+            final Set<SourceIdentifier> more = new HashSet<>();
+            for (Entry<SourceIdentifier, AssemblySource> entry : index.entrySet()) {
+                final YangModelDependencyInfo info = entry.getValue().info;
+                if (!ret.contains(entry.getKey()) && (targets.contains(info.getName())
+                    || info instanceof SubmoduleDependencyInfo
+                        && modules.contains(((SubmoduleDependencyInfo) info).getParentModule()))) {
+                    more.add(entry.getKey());
+                }
+            }
+            if (more.isEmpty()) {
+                return ret;
+            }
+            more.addAll(ret);
+            ret = graph.dependentsOf(more);
+        }
+    }
+}
@@ -119,7 +119,7 @@ final class SharedEffectiveModelContextFactory implements EffectiveModelContextF
     SharedEffectiveModelContextFactory(final @NonNull SharedSchemaRepository repository,
             final @NonNull SchemaContextFactoryConfiguration config) {
         this.repository = requireNonNull(repository);
-        this.assembleSources = new AssembleSources(repository.factory(), config);
+        this.assembleSources = new AssembleSources(repository.factory(config), config);
 
     }
 
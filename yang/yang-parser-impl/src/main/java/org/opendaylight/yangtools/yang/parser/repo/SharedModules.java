@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.hash.HashCode;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.rfc7950.repo.YangModelDependencyInfo.SubmoduleDependencyInfo;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.EffectiveSchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sharing of identical statements across {@link EffectiveModelContext}s. Statements of each module, along with its
+ * submodules, are interned in a global table. They are keyed by the parser factory, supported features and deviations
+ * and by fingerprints of the module's closure, i.e. the module, the modules augmenting or deviating it and all sources
+ * these depend on, as that is what determines the module's statements. Hence contexts which share modules, for example
+ * schemas of mount points of devices running the same software, end up sharing their statements, too.
+ *
+ * <p>
+ * Statements of a module refer to statements of the other modules in its closure. An entry therefore links to entries
+ * of these modules, as they were when its statements were built, and we take an entry from the table only if the
+ * entries it links to are the ones we end up with. The reactor then runs on all sources, reusing statements of such
+ * modules and resolving references to them to the reused statements. If all modules are found, we do not need to run
+ * the reactor at all. Newly-built modules are interned only if the entries they link to are interned, too.
+ *
+ * <p>
+ * The table holds entries weakly. Each context holds the entries it has been assembled from, and entries hold the
+ * entries they link to, so that an entry is retained as long as any context uses its statements.
+ */
+final class SharedModules {
+    private static final class ModuleKey {
+        private final @NonNull YangParserFactory parserFactory;
+        private final @Nullable Set<QName> supportedFeatures;
+        private final @Nullable SetMultimap<QNameModule, QNameModule> modulesDeviatedByModules;
+        private final @NonNull ImmutableMap<SourceIdentifier, HashCode> sources;
+        private final int hashCode;
+
+        ModuleKey(final SharedModules owner, final ImmutableMap<SourceIdentifier, HashCode> sources) {
+            this.parserFactory = owner.parserFactory;
+            this.supportedFeatures = owner.supportedFeatures;
+            this.modulesDeviatedByModules = owner.modulesDeviatedByModules;
+            this.sources = requireNonNull(sources);
+            hashCode = Objects.hash(parserFactory, supportedFeatures, modulesDeviatedByModules, sources);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ModuleKey)) {
+                return false;
+            }
+            final ModuleKey other = (ModuleKey) obj;
+            return hashCode == other.hashCode && parserFactory.equals(other.parserFactory)
+                && Objects.equals(supportedFeatures, other.supportedFeatures)
+                && Objects.equals(modulesDeviatedByModules, other.modulesDeviatedByModules)
+                && sources.equals(other.sources);
+        }
+
+        @Override
+        public String toString() {
+            return sources.keySet().toString();
+        }
+    }
+
+    /**
+     * Statements of a module and its submodules, along with entries of the other modules in its closure.
+     */
+    private static final class SharedModule {
+        final @NonNull ModuleKey key;
+        // Module and submodule statements, indexed by their source key
+        final @NonNull ImmutableMap<SourceIdentifier, EffectiveStatement<?, ?>> statements;
+        final @NonNull EffectiveStatement<?, ?> module;
+        // Entries of other modules in the closure, indexed by their source key. Assigned once before the entry is
+        // published, as entries of modules augmenting each other's modules link to each other.
+        @NonNull ImmutableMap<SourceIdentifier, SharedModule> dependencies = ImmutableMap.of();
+
+        SharedModule(final ModuleKey key, final SourceIdentifier module,
+                final Map<SourceIdentifier, EffectiveStatement<?, ?>> statements) {
+            this.key = requireNonNull(key);
+            this.statements = ImmutableMap.copyOf(statements);
+            this.module = requireNonNull(this.statements.get(module));
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedModules.class);
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final ConcurrentMap<ModuleKey, WeakReference<SharedModule>> MODULES = new ConcurrentHashMap<>();
+    // Entries used by each context, keeping them alive for as long as the context is
+    private static final Map<EffectiveModelContext, List<SharedModule>> CONTEXTS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final @NonNull YangParserFactory parserFactory;
+    private final @Nullable Set<QName> supportedFeatures;
+    private final @Nullable SetMultimap<QNameModule, QNameModule> modulesDeviatedByModules;
+
+    SharedModules(final YangParserFactory parserFactory, final SchemaContextFactoryConfiguration config) {
+        this.parserFactory = requireNonNull(parserFactory);
+        supportedFeatures = config.getSupportedFeatures().orElse(null);
+        modulesDeviatedByModules = config.getModulesDeviatedByModules().orElse(null);
+    }
+
+    @NonNull EffectiveModelContext assemble(final Map<SourceIdentifier, IRSchemaSource> sources,
+            final Map<SourceIdentifier, YangModelDependencyInfo> deps,
+            final Map<SourceIdentifier, EffectiveStatement<?, ?>> reused, final SourceAssembler assembler)
+                throws SchemaResolutionException {
+        final Map<SourceIdentifier, AssemblySource> index = AssemblySource.index(sources, deps);
+        final SourceGraph graph = SourceGraph.of(index);
+        final Map<SourceIdentifier, Set<SourceIdentifier>> modules = modules(index, graph);
+        if (modules.values().stream().mapToInt(Set::size).sum() != index.size()) {
+            LOG.debug("Some of {} sources do not belong to a module, not sharing them", index.size());
+            return assembler.assemble(sources, reused);
+        }
+
+        // Keys of modules and the other modules in their closures
+        final Map<SourceIdentifier, ModuleKey> keys = new LinkedHashMap<>();
+        final Map<SourceIdentifier, Set<SourceIdentifier>> linked = new HashMap<>();
+        for (SourceIdentifier module : modules.keySet()) {
+            final Set<SourceIdentifier> closure = closure(index, graph, module);
+            keys.put(module, moduleKey(index, closure));
+            final Set<SourceIdentifier> others = new HashSet<>();
+            for (SourceIdentifier key : closure) {
+                if (!key.equals(module) && modules.containsKey(key)) {
+                    others.add(key);
+                }
+            }
+            linked.put(module, others);
+        }
+
+        // Module statements the caller wants reused take precedence over the table
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> provided = new HashMap<>();
+        for (SourceIdentifier module : modules.keySet()) {
+            final EffectiveStatement<?, ?> stmt = reused.get(index.get(module).id);
+            if (stmt != null) {
+                provided.put(module, stmt);
+            }
+        }
+        final Map<SourceIdentifier, SharedModule> found = consistentModules(lookup(keys), linked, provided);
+
+        // Pick statements of all sources, if we can
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> chosen = new HashMap<>(reused);
+        for (Entry<SourceIdentifier, SharedModule> entry : found.entrySet()) {
+            for (Entry<SourceIdentifier, EffectiveStatement<?, ?>> stmt : entry.getValue().statements.entrySet()) {
+                final AssemblySource source = index.get(stmt.getKey());
+                if (source != null) {
+                    chosen.put(source.id, stmt.getValue());
+                }
+            }
+        }
+        if (chosen.size() == index.size()) {
+            LOG.debug("All {} sources found in shared modules", index.size());
+            final List<DeclaredStatement<?>> declared = new ArrayList<>(index.size());
+            final List<EffectiveStatement<?, ?>> effective = new ArrayList<>(index.size());
+            for (AssemblySource source : index.values()) {
+                final EffectiveStatement<?, ?> stmt = chosen.get(source.id);
+                declared.add(stmt.getDeclared());
+                effective.add(stmt);
+            }
+            final EffectiveSchemaContext context = EffectiveSchemaContext.create(declared, effective);
+            CONTEXTS.put(context, ImmutableList.copyOf(found.values()));
+            return context;
+        }
+
+        LOG.debug("Reusing {} of {} sources", chosen.size(), index.size());
+        final EffectiveModelContext assembled = assembler.assemble(sources, chosen);
+        final Map<SourceIdentifier, EffectiveStatement<?, ?>> statements = AssemblySource.rootStatements(assembled);
+        for (Entry<SourceIdentifier, SharedModule> entry : found.entrySet()) {
+            if (statements.get(entry.getKey()) != entry.getValue().module) {
+                LOG.debug("Module {} was not reused by {}, not sharing its modules", entry.getKey(), assembled);
+                return assembled;
+            }
+        }
+
+        // Create entries of newly-assembled modules, linking them to entries of the modules they refer to
+        final Map<SourceIdentifier, SharedModule> created = new HashMap<>();
+        for (Entry<SourceIdentifier, Set<SourceIdentifier>> module : modules.entrySet()) {
+            if (!found.containsKey(module.getKey())) {
+                final Map<SourceIdentifier, EffectiveStatement<?, ?>> moduleStatements = new HashMap<>();
+                for (SourceIdentifier member : module.getValue()) {
+                    final EffectiveStatement<?, ?> stmt = statements.get(member);
+                    if (stmt == null) {
+                        LOG.debug("Failed to find statements of {}, not sharing modules of {}", member, assembled);
+                        return assembled;
+                    }
+                    moduleStatements.put(member, stmt);
+                }
+                created.put(module.getKey(),
+                    new SharedModule(keys.get(module.getKey()), module.getKey(), moduleStatements));
+            }
+        }
+        for (Entry<SourceIdentifier, SharedModule> entry : created.entrySet()) {
+            final ImmutableMap.Builder<SourceIdentifier, SharedModule> builder = ImmutableMap.builder();
+            for (SourceIdentifier other : linked.get(entry.getKey())) {
+                final SharedModule dependency = found.get(other);
+                builder.put(other, dependency != null ? dependency : created.get(other));
+            }
+            entry.getValue().dependencies = builder.build();
+        }
+
+        intern(created.values());
+        final List<SharedModule> used = new ArrayList<>(modules.size());
+        used.addAll(found.values());
+        used.addAll(created.values());
+        CONTEXTS.put(assembled, used);
+        return assembled;
+    }
+
+    // Find live entries in the table, holding them strongly for the duration of the assembly
+    private static @NonNull Map<SourceIdentifier, SharedModule> lookup(final Map<SourceIdentifier, ModuleKey> keys) {
+        final Map<SourceIdentifier, SharedModule> ret = new HashMap<>();
+        for (Entry<SourceIdentifier, ModuleKey> entry : keys.entrySet()) {
+            final WeakReference<SharedModule> ref = MODULES.get(entry.getValue());
+            final SharedModule module = ref == null ? null : ref.get();
+            if (module != null) {
+                ret.put(entry.getKey(), module);
+            }
+        }
+        return ret;
+    }
+
+    // Retain only entries which link to the statements we end up with, i.e. those provided by the caller and those of
+    // other retained entries
+    private static @NonNull Map<SourceIdentifier, SharedModule> consistentModules(
+            final Map<SourceIdentifier, SharedModule> found, final Map<SourceIdentifier, Set<SourceIdentifier>> linked,
+            final Map<SourceIdentifier, EffectiveStatement<?, ?>> provided) {
+        found.entrySet().removeIf(entry -> {
+            final EffectiveStatement<?, ?> stmt = provided.get(entry.getKey());
+            return stmt != null && stmt != entry.getValue().module;
+        });
+
+        boolean removed;
+        do {
+            removed = false;
+            final Iterator<Entry<SourceIdentifier, SharedModule>> it = found.entrySet().iterator();
+            while (it.hasNext()) {
+                final Entry<SourceIdentifier, SharedModule> entry = it.next();
+                for (SourceIdentifier other : linked.get(entry.getKey())) {
+                    final SharedModule dependency = entry.getValue().dependencies.get(other);
+                    final SharedModule current = found.get(other);
+                    final EffectiveStatement<?, ?> expected = current != null ? current.module : provided.get(other);
+                    if (dependency == null || dependency.module != expected) {
+                        it.remove();
+                        removed = true;
+                        break;
+                    }
+                }
+            }
+        } while (removed);
+        return found;
+    }
+
+    // Modules along with the submodules they include, indexed by the module's key
+    private static @NonNull Map<SourceIdentifier, Set<SourceIdentifier>> modules(
+            final Map<SourceIdentifier, AssemblySource> index, final SourceGraph graph) {
+        final Map<SourceIdentifier, Set<SourceIdentifier>> ret = new LinkedHashMap<>();
+        for (Entry<SourceIdentifier, AssemblySource> entry : index.entrySet()) {
+            if (!(entry.getValue().info instanceof SubmoduleDependencyInfo)) {
+                final Set<SourceIdentifier> members = new HashSet<>();
+                members.add(entry.getKey());
+                for (SourceIdentifier key : graph.dependenciesOf(List.of(entry.getKey()))) {
+                    final YangModelDependencyInfo info = index.get(key).info;
+                    if (info instanceof SubmoduleDependencyInfo
+                        && entry.getKey().getName().equals(((SubmoduleDependencyInfo) info).getParentModule())) {
+                        members.add(key);
+                    }
+                }
+                ret.put(entry.getKey(), members);
+            }
+        }
+        return ret;
+    }
+
+    // Statements of a module are determined by the module itself, the modules augmenting or deviating it and by the
+    // sources these depend on
+    private static @NonNull Set<SourceIdentifier> closure(final Map<SourceIdentifier, AssemblySource> index,
+            final SourceGraph graph, final SourceIdentifier module) {
+        final Set<SourceIdentifier> seeds = new HashSet<>();
+        seeds.add(module);
+        for (Entry<SourceIdentifier, AssemblySource> entry : index.entrySet()) {
+            if (entry.getValue().targets.contains(module.getName())) {
+                seeds.add(entry.getKey());
+            }
+        }
+        return graph.dependenciesOf(seeds);
+    }
+
+    private @NonNull ModuleKey moduleKey(final Map<SourceIdentifier, AssemblySource> index,
+            final Set<SourceIdentifier> closure) {
+        final ImmutableMap.Builder<SourceIdentifier, HashCode> builder =
+            ImmutableMap.builderWithExpectedSize(closure.size());
+        for (SourceIdentifier key : closure) {
+            builder.put(key, index.get(key).fingerprint);
+        }
+        return new ModuleKey(this, builder.build());
+    }
+
+    // Intern entries which do not conflict with live entries and link only to interned entries. Entries of modules
+    // augmenting each other's modules link to each other, hence we start with all candidates and drop those which link
+    // to dropped entries.
+    private static synchronized void intern(final Collection<SharedModule> created) {
+        final Set<SharedModule> candidates = new HashSet<>();
+        for (SharedModule module : created) {
+            final WeakReference<SharedModule> ref = MODULES.get(module.key);
+            if (ref == null || ref.get() == null) {
+                candidates.add(module);
+            }
+        }
+
+        boolean removed;
+        do {
+            removed = candidates.removeIf(module -> module.dependencies.values().stream()
+                .anyMatch(dependency -> !candidates.contains(dependency) && !isInterned(dependency)));
+        } while (removed);
+
+        for (SharedModule module : candidates) {
+            final ModuleKey key = module.key;
+            final WeakReference<SharedModule> ref = new WeakReference<>(module);
+            MODULES.put(key, ref);
+            // Remove the entry once no context uses it, directly or through entries linking to it
+            CLEANER.register(module, () -> MODULES.remove(key, ref));
+            LOG.debug("Sharing module {}", key);
+        }
+    }
+
+    private static boolean isInterned(final SharedModule module) {
+        final WeakReference<SharedModule> ref = MODULES.get(module.key);
+        return ref != null && ref.get() == module;
+    }
+}
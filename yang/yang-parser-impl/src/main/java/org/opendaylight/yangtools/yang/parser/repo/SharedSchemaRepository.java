@@ -34,6 +34,12 @@ import org.opendaylight.yangtools.yang.parser.impl.YangParserFactoryImpl;
 @Beta
 @MetaInfServices(value = SchemaRepository.class)
 public final class SharedSchemaRepository extends AbstractSchemaRepository implements Identifiable<String> {
+    // Used by default-constructed instances for factories which share statements, as statements can only be shared
+    // among factories using the same parser factory
+    private static final class SharedParserFactory {
+        static final @NonNull YangParserFactory INSTANCE = new YangParserFactoryImpl();
+    }
+
     private final LoadingCache<SchemaContextFactoryConfiguration, EffectiveModelContextFactory> cacheByConfig =
             CacheBuilder.newBuilder().softValues()
             .build(new CacheLoader<SchemaContextFactoryConfiguration, EffectiveModelContextFactory>() {
@@ -45,18 +51,24 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
 
     private final @NonNull String id;
     private final @NonNull YangParserFactory factory;
+    private final boolean defaultFactory;
 
     public SharedSchemaRepository() {
         this("unnamed");
     }
 
     public SharedSchemaRepository(final String id) {
-        this(id, new YangParserFactoryImpl());
+        this(id, new YangParserFactoryImpl(), true);
     }
 
     public SharedSchemaRepository(final String id, final YangParserFactory factory) {
+        this(id, factory, false);
+    }
+
+    private SharedSchemaRepository(final String id, final YangParserFactory factory, final boolean defaultFactory) {
         this.id = requireNonNull(id);
         this.factory = requireNonNull(factory);
+        this.defaultFactory = defaultFactory;
     }
 
     @Override
@@ -70,8 +82,8 @@ public final class SharedSchemaRepository extends AbstractSchemaRepository imple
         return cacheByConfig.getUnchecked(config);
     }
 
-    @NonNull YangParserFactory factory() {
-        return factory;
+    @NonNull YangParserFactory factory(final SchemaContextFactoryConfiguration config) {
+        return defaultFactory && config.isShareStatements() ? SharedParserFactory.INSTANCE : factory;
     }
 
     @Override
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaResolutionException;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+
+/**
+ * Assembly of a set of sources into an {@link EffectiveModelContext}.
+ */
+@FunctionalInterface
+interface SourceAssembler {
+    /**
+     * Assemble sources into an {@link EffectiveModelContext}, reusing effective statements previously built from some
+     * of them.
+     *
+     * @param sources Sources, indexed by their identifier
+     * @param reused Effective statements to reuse, indexed by the identifier of the source they were built from
+     * @return An EffectiveModelContext
+     * @throws SchemaResolutionException if the sources cannot be assembled
+     */
+    @NonNull EffectiveModelContext assemble(Map<SourceIdentifier, IRSchemaSource> sources,
+        Map<SourceIdentifier, EffectiveStatement<?, ?>> reused) throws SchemaResolutionException;
+}
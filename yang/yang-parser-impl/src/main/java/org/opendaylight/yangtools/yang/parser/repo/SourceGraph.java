@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.ModuleImport;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+
+/**
+ * Graph of imports and includes among a set of {@link AssemblySource}s. Effective statements of a source refer to
+ * statements of the sources it depends on, hence when a source changes, all of its transitive dependents need to be
+ * rebuilt, whereas its dependencies do not.
+ */
+final class SourceGraph {
+    private final Map<SourceIdentifier, Set<SourceIdentifier>> dependencies;
+    private final Map<SourceIdentifier, Set<SourceIdentifier>> dependents;
+
+    private SourceGraph(final Map<SourceIdentifier, Set<SourceIdentifier>> dependencies,
+            final Map<SourceIdentifier, Set<SourceIdentifier>> dependents) {
+        this.dependencies = requireNonNull(dependencies);
+        this.dependents = requireNonNull(dependents);
+    }
+
+    static @NonNull SourceGraph of(final Map<SourceIdentifier, AssemblySource> sources) {
+        final Map<SourceIdentifier, Set<SourceIdentifier>> dependencies = new LinkedHashMap<>();
+        final Map<SourceIdentifier, Set<SourceIdentifier>> dependents = new LinkedHashMap<>();
+        for (SourceIdentifier key : sources.keySet()) {
+            dependencies.put(key, new HashSet<>());
+            dependents.put(key, new HashSet<>());
+        }
+        for (Entry<SourceIdentifier, AssemblySource> entry : sources.entrySet()) {
+            for (ModuleImport dependency : entry.getValue().info.getDependencies()) {
+                for (SourceIdentifier target : resolveDependency(sources.keySet(), dependency)) {
+                    dependencies.get(entry.getKey()).add(target);
+                    dependents.get(target).add(entry.getKey());
+                }
+            }
+        }
+        return new SourceGraph(dependencies, dependents);
+    }
+
+    /**
+     * Return the keys of all sources which can satisfy a dependency. Revision-less dependencies may bind to any
+     * revision.
+     *
+     * @param keys Source keys
+     * @param dependency Dependency to resolve
+     * @return Keys of matching sources
+     */
+    static @NonNull List<SourceIdentifier> resolveDependency(final Collection<SourceIdentifier> keys,
+            final ModuleImport dependency) {
+        final Revision revision = dependency.getRevision().orElse(null);
+        final List<SourceIdentifier> ret = new ArrayList<>(1);
+        for (SourceIdentifier key : keys) {
+            if (key.getName().equals(dependency.getModuleName())
+                && (revision == null || revision.equals(key.getRevision().orElse(null)))) {
+                ret.add(key);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Return specified sources along with all sources they transitively depend on.
+     *
+     * @param seeds Source keys
+     * @return Keys of {@code seeds} and their transitive dependencies
+     */
+    @NonNull Set<SourceIdentifier> dependenciesOf(final Collection<SourceIdentifier> seeds) {
+        return closure(dependencies, seeds);
+    }
+
+    /**
+     * Return specified sources along with all sources which transitively depend on them.
+     *
+     * @param seeds Source keys
+     * @return Keys of {@code seeds} and their transitive dependents
+     */
+    @NonNull Set<SourceIdentifier> dependentsOf(final Collection<SourceIdentifier> seeds) {
+        return closure(dependents, seeds);
+    }
+
+    private static @NonNull Set<SourceIdentifier> closure(final Map<SourceIdentifier, Set<SourceIdentifier>> edges,
+            final Collection<SourceIdentifier> seeds) {
+        final Set<SourceIdentifier> ret = new HashSet<>(seeds);
+        final Queue<SourceIdentifier> queue = new ArrayDeque<>(seeds);
+        while (!queue.isEmpty()) {
+            for (SourceIdentifier next : edges.get(queue.remove())) {
+                if (ret.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.parser.api.YangParserFactory;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+
+public class YangParserImplTest {
+    private static final List<String> RESOURCES = List.of("/ietf/ietf-inet-types@2010-09-24.yang",
+        "/ietf/iana-timezones@2012-07-09.yang", "/ietf/network-topology@2013-10-21.yang");
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private ExecutorService executor;
+    private YangParserFactory concurrentFactory;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(2);
+        concurrentFactory = new YangParserFactoryImpl(DefaultReactors.defaultReactor(), command -> {
+            executions.incrementAndGet();
+            executor.execute(command);
+        });
+    }
+
+    @After
+    public void after() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testConcurrentSources() throws Exception {
+        final EffectiveModelContext expected = new YangParserFactoryImpl()
+            .createParser(StatementParserMode.DEFAULT_MODE).addSources(sources(RESOURCES)).buildEffectiveModel();
+        final EffectiveModelContext actual = concurrentFactory.createParser(StatementParserMode.DEFAULT_MODE)
+            .addSources(sources(RESOURCES)).buildEffectiveModel();
+
+        assertEquals(RESOURCES.size(), executions.get());
+        assertEquals(expected.getModuleStatements().keySet(), actual.getModuleStatements().keySet());
+    }
+
+    @Test
+    public void testConcurrentSyntaxError() {
+        final List<YangTextSchemaSource> sources = sources(List.of("/ietf/ietf-inet-types@2010-09-24.yang",
+            "/parser-impl/broken.yang", "/ietf/iana-timezones@2012-07-09.yang"));
+
+        final YangSyntaxErrorException sequential = assertThrows(YangSyntaxErrorException.class,
+            () -> new YangParserFactoryImpl().createParser(StatementParserMode.DEFAULT_MODE).addSources(sources));
+        final YangSyntaxErrorException concurrent = assertThrows(YangSyntaxErrorException.class,
+            () -> concurrentFactory.createParser(StatementParserMode.DEFAULT_MODE).addSources(sources));
+        assertEquals(sequential.getMessage(), concurrent.getMessage());
+    }
+
+    private static List<YangTextSchemaSource> sources(final List<String> resources) {
+        return resources.stream().map(YangTextSchemaSource::forResource).collect(Collectors.toList());
+    }
+}
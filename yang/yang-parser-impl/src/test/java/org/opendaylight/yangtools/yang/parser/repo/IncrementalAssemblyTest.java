@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.repo.api.EffectiveModelContextFactory;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+
+public class IncrementalAssemblyTest {
+    private final SharedSchemaRepository repository = new SharedSchemaRepository("incremental");
+
+    private EffectiveModelContextFactory factory;
+    private SourceIdentifier inetTypes;
+    private SourceIdentifier topology;
+    private SourceIdentifier timezones;
+    private SourceIdentifier base;
+    private SourceIdentifier left;
+    private SourceIdentifier leftUpdated;
+    private SourceIdentifier right;
+    private SourceIdentifier top;
+    private SourceIdentifier augmenter;
+    private SourceIdentifier augmenterUpdated;
+
+    @Before
+    public void before() throws Exception {
+        factory = repository.createEffectiveModelContextFactory(SchemaContextFactoryConfiguration.builder()
+            .setIncrementalBuild(true).build());
+        inetTypes = register("/ietf/ietf-inet-types@2010-09-24.yang");
+        topology = register("/ietf/network-topology@2013-10-21.yang");
+        timezones = register("/ietf/iana-timezones@2012-07-09.yang");
+        base = register("/incremental/base@2021-01-01.yang");
+        left = register("/incremental/left@2021-01-01.yang");
+        leftUpdated = register("/incremental/left@2021-02-01.yang");
+        right = register("/incremental/right@2021-01-01.yang");
+        top = register("/incremental/top@2021-01-01.yang");
+        augmenter = register("/incremental/augmenter@2021-01-01.yang");
+        augmenterUpdated = register("/incremental/augmenter@2021-02-01.yang");
+    }
+
+    @Test
+    public void testUnconnectedModulesReused() throws Exception {
+        final EffectiveModelContext first = factory.createEffectiveModelContext(timezones, base, left, right).get();
+
+        // network-topology and ietf-inet-types are not connected to any of the modules already present
+        final EffectiveModelContext second = factory.createEffectiveModelContext(timezones, base, left, right,
+            inetTypes, topology).get();
+        assertSameModel(second, inetTypes, topology, timezones, base, left, right);
+        assertReused(first, second, first.getModuleStatements().keySet());
+
+        // iana-timezones is not connected to any of the remaining modules
+        final EffectiveModelContext third = factory.createEffectiveModelContext(base, left, right, inetTypes,
+            topology).get();
+        assertSameModel(third, inetTypes, topology, base, left, right);
+        assertReused(second, third, third.getModuleStatements().keySet());
+    }
+
+    @Test
+    public void testImportsReused() throws Exception {
+        final EffectiveModelContext first = factory.createEffectiveModelContext(inetTypes, timezones).get();
+
+        // network-topology imports ietf-inet-types, which is not affected by it
+        final EffectiveModelContext second = factory.createEffectiveModelContext(inetTypes, timezones, topology)
+            .get();
+        assertSameModel(second, inetTypes, timezones, topology);
+        assertReused(first, second, first.getModuleStatements().keySet());
+    }
+
+    @Test
+    public void testSharedBaseModuleReused() throws Exception {
+        final EffectiveModelContext first = factory.createEffectiveModelContext(base, left, right, top).get();
+
+        // left has changed, hence it needs to be rebuilt along with top, which imports it, whereas base, which is
+        // imported by both left and right, and right are not affected
+        final EffectiveModelContext second = factory.createEffectiveModelContext(base, leftUpdated, right, top).get();
+        assertSameModel(second, base, leftUpdated, right, top);
+        assertReused(first, second, Set.of(moduleNamed(first, "base"), moduleNamed(first, "right")));
+        final QNameModule topModule = moduleNamed(first, "top");
+        assertNotSame(first.getModuleStatements().get(topModule), second.getModuleStatements().get(topModule));
+
+        // Rebuilt modules refer to the reused statements of base
+        final Module baseModule = second.findModule(moduleNamed(second, "base")).orElseThrow();
+        final IdentitySchemaNode baseId = baseModule.getIdentities().iterator().next();
+        final Module leftModule = second.findModule(moduleNamed(second, "left")).orElseThrow();
+        assertSame(baseId, leftModule.getIdentities().iterator().next().getBaseIdentities().iterator().next());
+        assertEquals(Set.of(QName.create("urn:left", "2021-02-01", "left-id"),
+            QName.create("urn:right", "2021-01-01", "right-id")), derivedIdentities(second, baseId));
+
+        final IdentityrefTypeDefinition identityref = (IdentityrefTypeDefinition) leaf(leftModule, "other-leaf")
+            .getType();
+        assertSame(baseId, identityref.getIdentities().iterator().next());
+        final TypeDefinition<?> baseType = baseModule.getTypeDefinitions().iterator().next();
+        assertSame(baseType, leaf(leftModule, "left-leaf").getType());
+    }
+
+    @Test
+    public void testAugmentTargetRebuilt() throws Exception {
+        final EffectiveModelContext first = factory.createEffectiveModelContext(base, augmenter, right,
+            timezones).get();
+        assertTrue(hasBaseChild(first, "aug-one"));
+
+        // base is augmented by augmenter, hence it needs to be rebuilt along with right, which imports it
+        final EffectiveModelContext second = factory.createEffectiveModelContext(base, augmenterUpdated, right,
+            timezones).get();
+        assertSameModel(second, base, augmenterUpdated, right, timezones);
+        assertReused(first, second, Set.of(moduleNamed(first, "iana-timezones")));
+        for (String name : Set.of("base", "right")) {
+            final QNameModule module = moduleNamed(first, name);
+            assertNotSame(first.getModuleStatements().get(module), second.getModuleStatements().get(module));
+        }
+        assertFalse(hasBaseChild(second, "aug-one"));
+        assertTrue(hasBaseChild(second, "aug-two"));
+
+        // base was augmented by augmenter, hence it needs to be rebuilt when augmenter is removed
+        final EffectiveModelContext third = factory.createEffectiveModelContext(base, right, timezones).get();
+        assertSameModel(third, base, right, timezones);
+        assertFalse(hasBaseChild(third, "aug-two"));
+    }
+
+    private SourceIdentifier register(final String resourceName) throws Exception {
+        final SettableSchemaProvider<IRSchemaSource> provider =
+            SharedSchemaRepositoryTest.getImmediateYangSourceProviderFromResource(resourceName);
+        provider.setResult();
+        provider.register(repository);
+        return provider.getId();
+    }
+
+    private static void assertReused(final EffectiveModelContext prev, final EffectiveModelContext next,
+            final Set<QNameModule> modules) {
+        for (QNameModule module : modules) {
+            assertSame(prev.getModuleStatements().get(module), next.getModuleStatements().get(module));
+        }
+    }
+
+    // Compare against a context assembled from scratch
+    private void assertSameModel(final EffectiveModelContext context, final SourceIdentifier... sources)
+            throws Exception {
+        final EffectiveModelContext expected = repository.createEffectiveModelContextFactory()
+            .createEffectiveModelContext(sources).get();
+        assertEquals(expected.getModuleStatements().keySet(), context.getModuleStatements().keySet());
+        assertEquals(expected.getModules().size(), context.getModules().size());
+        for (Entry<QNameModule, ModuleEffectiveStatement> entry : expected.getModuleStatements().entrySet()) {
+            assertEquals(entry.getValue().effectiveSubstatements().size(),
+                context.getModuleStatements().get(entry.getKey()).effectiveSubstatements().size());
+        }
+    }
+
+    private static Set<QName> derivedIdentities(final EffectiveModelContext context,
+            final IdentitySchemaNode identity) {
+        return context.getDerivedIdentities(identity).stream().map(IdentitySchemaNode::getQName)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static LeafSchemaNode leaf(final Module module, final String localName) {
+        return (LeafSchemaNode) module.findDataChildByName(QName.create(module.getQNameModule(), localName))
+            .orElseThrow();
+    }
+
+    private static boolean hasBaseChild(final EffectiveModelContext context, final String localName) {
+        final QName baseCont = QName.create("urn:base", "2021-01-01", "base-cont");
+        return ((ContainerSchemaNode) context.findDataTreeChild(baseCont).orElseThrow()).getChildNodes().stream()
+            .anyMatch(child -> localName.equals(child.getQName().getLocalName()));
+    }
+
+    private static QNameModule moduleNamed(final EffectiveModelContext context, final String name) {
+        return context.findModules(name).iterator().next().getQNameModule();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.repo.api.SchemaContextFactoryConfiguration;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+
+public class SharedModulesTest {
+    private static final SchemaContextFactoryConfiguration CONFIG = SchemaContextFactoryConfiguration.builder()
+        .setShareStatements(true).build();
+    private static final List<String> RESOURCES = List.of("/ietf/ietf-inet-types@2010-09-24.yang",
+        "/ietf/network-topology@2013-10-21.yang", "/ietf/iana-timezones@2012-07-09.yang");
+
+    @Test
+    public void testStatementsSharedAcrossRepositories() throws Exception {
+        final EffectiveModelContext first = createContext(new SharedSchemaRepository("first"), CONFIG, RESOURCES);
+        final EffectiveModelContext second = createContext(new SharedSchemaRepository("second"), CONFIG,
+            RESOURCES.subList(0, 2));
+        assertEquals(2, second.getModuleStatements().size());
+        assertSame(module(first, "ietf-inet-types"), module(second, "ietf-inet-types"));
+        assertSame(module(first, "network-topology"), module(second, "network-topology"));
+    }
+
+    @Test
+    public void testStatementsSharedWithoutDependents() throws Exception {
+        final EffectiveModelContext first = createContext(new SharedSchemaRepository("first"), CONFIG, RESOURCES);
+
+        // ietf-inet-types is no longer imported by network-topology, which does not affect its statements
+        final EffectiveModelContext second = createContext(new SharedSchemaRepository("second"), CONFIG,
+            List.of(RESOURCES.get(0), RESOURCES.get(2)));
+        assertSame(module(first, "ietf-inet-types"), module(second, "ietf-inet-types"));
+        assertSame(module(first, "iana-timezones"), module(second, "iana-timezones"));
+    }
+
+    @Test
+    public void testStatementsSharedWithSharedBaseModule() throws Exception {
+        final EffectiveModelContext first = createContext(new SharedSchemaRepository("first"), CONFIG,
+            List.of("/incremental/base@2021-01-01.yang", "/incremental/left@2021-01-01.yang",
+                "/incremental/right@2021-01-01.yang"));
+
+        // left differs, but neither base nor right depend on it
+        final EffectiveModelContext second = createContext(new SharedSchemaRepository("second"), CONFIG,
+            List.of("/incremental/base@2021-01-01.yang", "/incremental/left@2021-02-01.yang",
+                "/incremental/right@2021-01-01.yang"));
+        assertSame(module(first, "base"), module(second, "base"));
+        assertSame(module(first, "right"), module(second, "right"));
+        assertNotSame(module(first, "left"), module(second, "left"));
+
+        // left refers to the shared statements of base
+        final IdentitySchemaNode baseId = second.findModules("base").iterator().next().getIdentities().iterator()
+            .next();
+        final IdentitySchemaNode leftId = second.findModules("left").iterator().next().getIdentities().iterator()
+            .next();
+        assertSame(baseId, leftId.getBaseIdentities().iterator().next());
+        assertEquals(Set.of(leftId, second.findModules("right").iterator().next().getIdentities().iterator().next()),
+            Set.copyOf(second.getDerivedIdentities(baseId)));
+    }
+
+    @Test
+    public void testStatementsSharedWithAllModulesFound() throws Exception {
+        final EffectiveModelContext first = createContext(new SharedSchemaRepository("first"), CONFIG, RESOURCES);
+        final EffectiveModelContext second = createContext(new SharedSchemaRepository("second"), CONFIG, RESOURCES);
+        assertNotSame(first, second);
+        assertEquals(first.getModuleStatements(), second.getModuleStatements());
+    }
+
+    @Test
+    public void testStatementsNotSharedWithDifferentAugmentations() throws Exception {
+        final EffectiveModelContext first = createContext(new SharedSchemaRepository("first"), CONFIG,
+            List.of("/incremental/base@2021-01-01.yang", "/incremental/augmenter@2021-01-01.yang"));
+
+        // base is no longer augmented
+        final EffectiveModelContext second = createContext(new SharedSchemaRepository("second"), CONFIG,
+            List.of("/incremental/base@2021-01-01.yang"));
+        assertNotSame(module(first, "base"), module(second, "base"));
+    }
+
+    @Test
+    public void testStatementsNotSharedWithDifferentFeatures() throws Exception {
+        final EffectiveModelContext first = createContext(new SharedSchemaRepository("first"), CONFIG, RESOURCES);
+        final EffectiveModelContext second = createContext(new SharedSchemaRepository("second"),
+            SchemaContextFactoryConfiguration.builder().setShareStatements(true).setSupportedFeatures(Set.of()).build(),
+            RESOURCES);
+        assertNotSame(module(first, "iana-timezones"), module(second, "iana-timezones"));
+    }
+
+    @Test
+    public void testParserFactorySharedOnlyWhenSharingStatements() {
+        final SharedSchemaRepository first = new SharedSchemaRepository("first");
+        final SharedSchemaRepository second = new SharedSchemaRepository("second");
+        assertSame(first.factory(CONFIG), second.factory(CONFIG));
+
+        final SchemaContextFactoryConfiguration config = SchemaContextFactoryConfiguration.getDefault();
+        assertNotSame(first.factory(config), second.factory(config));
+    }
+
+    private static EffectiveModelContext createContext(final SharedSchemaRepository repository,
+            final SchemaContextFactoryConfiguration config, final List<String> resources) throws Exception {
+        final SourceIdentifier[] ids = new SourceIdentifier[resources.size()];
+        for (int i = 0; i < ids.length; ++i) {
+            final SettableSchemaProvider<IRSchemaSource> provider =
+                SharedSchemaRepositoryTest.getImmediateYangSourceProviderFromResource(resources.get(i));
+            provider.setResult();
+            provider.register(repository);
+            ids[i] = provider.getId();
+        }
+        return repository.createEffectiveModelContextFactory(config).createEffectiveModelContext(ids).get();
+    }
+
+    private static ModuleEffectiveStatement module(final EffectiveModelContext context, final String name) {
+        return context.getModuleStatements().get(context.findModules(name).iterator().next().getQNameModule());
+    }
+}
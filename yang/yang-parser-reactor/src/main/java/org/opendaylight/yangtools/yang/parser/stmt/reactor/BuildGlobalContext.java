@@ -29,6 +29,9 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
@@ -59,6 +62,7 @@ import org.opendaylight.yangtools.yang.parser.spi.source.ModulesDeviatedByModule
 import org.opendaylight.yangtools.yang.parser.spi.source.ModulesDeviatedByModules.SupportedModules;
 import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
 import org.opendaylight.yangtools.yang.parser.spi.source.SupportedFeaturesNamespace;
 import org.opendaylight.yangtools.yang.parser.spi.source.SupportedFeaturesNamespace.SupportedFeatures;
 import org.opendaylight.yangtools.yang.parser.spi.validation.ValidationBundlesNamespace;
@@ -88,6 +92,7 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
     private final boolean enabledSemanticVersions;
 
     private Set<SourceSpecificContext> libSources = new HashSet<>();
+    private ForkJoinPool loadingPool;
     private ModelProcessingPhase currentPhase = ModelProcessingPhase.INIT;
     private ModelProcessingPhase finishedPhase = ModelProcessingPhase.INIT;
 
@@ -124,6 +129,10 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
         sources.add(new SourceSpecificContext(this, source));
     }
 
+    void addSource(final @NonNull StatementStreamSource source, final @NonNull EffectiveStatement<?, ?> reused) {
+        sources.add(new SourceSpecificContext(this, source, reused));
+    }
+
     void addLibSource(final @NonNull StatementStreamSource libSource) {
         checkState(!isEnabledSemanticVersioning(),
             "Library sources are not supported in semantic version mode currently.");
@@ -132,6 +141,12 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
         libSources.add(new SourceSpecificContext(this, libSource));
     }
 
+    void setLoadingPool(final ForkJoinPool pool) {
+        checkState(currentPhase == ModelProcessingPhase.INIT,
+                "Loading pool can be set in ModelProcessingPhase.INIT only");
+        loadingPool = pool;
+    }
+
     void setSupportedFeatures(final Set<QName> supportedFeatures) {
         addToNamespace(SupportedFeaturesNamespace.class, SupportedFeatures.SUPPORTED_FEATURES,
                     ImmutableSet.copyOf(supportedFeatures));
@@ -279,8 +294,10 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
         for (final SourceSpecificContext source : sources) {
             final RootStatementContext<?, ?, ?> root = source.getRoot();
             try {
-                rootStatements.add(root.declared());
-                rootEffectiveStatements.add(root.buildEffective());
+                final EffectiveStatement<?, ?> effective = root.buildEffective();
+                // Reused statements carry their own declared instance, make sure we report it consistently
+                rootStatements.add(source.reusedRoot() != null ? effective.getDeclared() : root.declared());
+                rootEffectiveStatements.add(effective);
             } catch (final RuntimeException ex) {
                 throw propagateException(source, ex);
             }
@@ -313,6 +330,11 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
 
     @SuppressWarnings("checkstyle:illegalCatch")
     private void loadPhaseStatementsFor(final Set<SourceSpecificContext> srcs) throws ReactorException {
+        if (loadingPool != null && srcs.size() > 1) {
+            loadPhaseStatementsInParallel(srcs);
+            return;
+        }
+
         for (final SourceSpecificContext source : srcs) {
             try {
                 source.loadStatements();
@@ -322,6 +344,51 @@ final class BuildGlobalContext extends NamespaceStorageSupport implements Regist
         }
     }
 
+    /*
+     * Parallel equivalent of the above loop. Sources are walked concurrently, each into a RecordingStatementWriter,
+     * while anything touching shared state, i.e. preparing the walk and creating statement contexts, happens on this
+     * thread. Recordings are replayed in the same order in which the sequential loop would process the sources, hence
+     * the outcome, including any reported failure, does not depend on scheduling.
+     */
+    @SuppressWarnings("checkstyle:illegalCatch")
+    private void loadPhaseStatementsInParallel(final Set<SourceSpecificContext> srcs) throws ReactorException {
+        final List<SourceSpecificContext> ordered = new ArrayList<>(srcs);
+        final List<ForkJoinTask<RecordingStatementWriter>> recordings = new ArrayList<>(ordered.size());
+        for (final SourceSpecificContext source : ordered) {
+            final Consumer<StatementWriter> loader;
+            try {
+                loader = source.prepareStatements();
+            } catch (final RuntimeException ex) {
+                cancelRecordings(recordings);
+                throw propagateException(source, ex);
+            }
+            recordings.add(loader == null ? null : loadingPool.submit(() -> source.recordStatements(loader)));
+        }
+
+        for (int i = 0; i < ordered.size(); ++i) {
+            final ForkJoinTask<RecordingStatementWriter> recording = recordings.get(i);
+            if (recording != null) {
+                final SourceSpecificContext source = ordered.get(i);
+                try {
+                    // Recordings carry their failures, so this join() completes normally and the exception thrown
+                    // from replay is the one thrown while walking the source, not a copy made by ForkJoinTask
+                    source.replayStatements(recording.join());
+                } catch (final RuntimeException ex) {
+                    cancelRecordings(recordings.subList(i + 1, recordings.size()));
+                    throw propagateException(source, ex);
+                }
+            }
+        }
+    }
+
+    private static void cancelRecordings(final List<ForkJoinTask<RecordingStatementWriter>> recordings) {
+        for (final ForkJoinTask<RecordingStatementWriter> recording : recordings) {
+            if (recording != null) {
+                recording.cancel(false);
+            }
+        }
+    }
+
     private SomeModifiersUnresolvedException addSourceExceptions(final List<SourceSpecificContext> sourcesToProgress) {
         boolean addedCause = false;
         SomeModifiersUnresolvedException buildFailure = null;
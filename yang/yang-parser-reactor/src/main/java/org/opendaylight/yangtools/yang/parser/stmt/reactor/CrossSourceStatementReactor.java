@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
 import java.util.Arrays;
@@ -17,9 +18,11 @@ import java.util.Collection;
 import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.repo.api.StatementParserMode;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
@@ -112,6 +115,29 @@ public final class CrossSourceStatementReactor {
             return this;
         }
 
+        /**
+         * Add main source, reusing its effective statement built by a previous reactor run. The source is processed
+         * as usual, but instead of building new effective statements, {@code reused} and its substatements are used
+         * wherever they can be matched to this source's statements. Statements of other sources therefore refer to the
+         * same instances as in the previous run.
+         *
+         * <p>
+         * It is up to the caller to ensure {@code reused} is consistent with the resulting model: it must have been
+         * built from the same source, with the same features and deviations, and all statements it refers to must be
+         * part of this build either by being reused as well, or by being identical.
+         *
+         * @param source which should be added into main sources
+         * @param reused root effective statement built from {@code source} by a previous reactor run
+         * @return This build action, for fluent use.
+         * @throws NullPointerException if any argument is null
+         */
+        @Beta
+        public @NonNull BuildAction addSource(final StatementStreamSource source,
+                final EffectiveStatement<?, ?> reused) {
+            context.addSource(source, requireNonNull(reused));
+            return this;
+        }
+
         /**
          * Add main sources. All main sources are present in resulting SchemaContext.
          *
@@ -221,6 +247,24 @@ public final class CrossSourceStatementReactor {
             return this;
         }
 
+        /**
+         * Enable parallel loading of sources. When enabled, statement streams of individual sources are walked
+         * concurrently in the specified pool at the start of each processing phase. Resolution of statements and
+         * cross-source references remains sequential and is performed in the same order as when this option is not
+         * enabled, hence the result of the build is not affected. {@link StatementStreamSource} implementations are
+         * required not to share mutable state.
+         *
+         * @param pool Pool to use for loading sources
+         * @return This build action, for fluent use.
+         * @throws NullPointerException if {@code pool} is null
+         * @throws IllegalStateException if the build has already started
+         */
+        @Beta
+        public @NonNull BuildAction setParallelLoading(final @NonNull ForkJoinPool pool) {
+            context.setLoadingPool(requireNonNull(pool));
+            return this;
+        }
+
         /**
          * Build the effective model context.
          */
@@ -7,6 +7,7 @@
  */
 package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 
+import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Verify;
 import com.google.common.collect.ImmutableList;
@@ -15,6 +16,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.model.api.EffectiveModelContext;
 import org.opendaylight.yangtools.yang.model.api.Module;
@@ -38,7 +40,19 @@ public final class EffectiveSchemaContext extends SimpleSchemaContext implements
                 .collect(ImmutableMap.toImmutableMap(ModuleEffectiveStatement::localQNameModule, Function.identity()));
     }
 
-    static EffectiveSchemaContext create(final List<DeclaredStatement<?>> rootDeclaredStatements,
+    /**
+     * Create an EffectiveSchemaContext from a set of root statements, for example to combine modules from multiple
+     * other EffectiveSchemaContexts. Caller is responsible for the statements forming a self-contained model, i.e. any
+     * statement referenced from the statements needs to be reachable from them. In particular, statements built by
+     * separate reactor runs can be combined only if each of them refers to the same instances of the statements of
+     * its dependencies as the others do, for example because the runs reused these instances.
+     *
+     * @param rootDeclaredStatements Declared module and submodule statements
+     * @param rootEffectiveStatements Effective module and submodule statements
+     * @return An EffectiveSchemaContext
+     */
+    @Beta
+    public static @NonNull EffectiveSchemaContext create(final List<DeclaredStatement<?>> rootDeclaredStatements,
             final List<EffectiveStatement<?, ?>> rootEffectiveStatements) {
         final Set<Module> modules = new HashSet<>();
         for (EffectiveStatement<?, ?> stmt : rootEffectiveStatements) {
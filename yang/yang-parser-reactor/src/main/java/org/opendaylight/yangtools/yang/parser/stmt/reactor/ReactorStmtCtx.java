@@ -392,7 +392,8 @@ abstract class ReactorStmtCtx<A, D extends DeclaredStatement<A>, E extends Effec
         // we attempt to create effective statement:
         declared();
 
-        final E ret = createEffective();
+        final E reused = reusedEffective();
+        final E ret = reused != null ? reused : createEffective();
         effectiveInstance = ret;
         // we have called createEffective(), substatements are no longer guarded by us. Let's see if we can clear up
         // some residue.
@@ -404,6 +405,17 @@ abstract class ReactorStmtCtx<A, D extends DeclaredStatement<A>, E extends Effec
 
     abstract @NonNull E createEffective();
 
+    /**
+     * Return the effective statement built for this statement by a previous reactor run, if this statement's source
+     * was added with such a statement and it can be located. Returned statement is used instead of invoking
+     * {@link #createEffective()}, so that other statements refer to the same instance the previous run handed out.
+     *
+     * @return A reused effective statement, or {@code null} if a new one should be created
+     */
+    @Nullable E reusedEffective() {
+        return null;
+    }
+
 
     /**
      * Attach an effective copy of this statement. This essentially acts as a map, where we make a few assumptions:
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.stmt.reactor;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.Throwables;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ModelProcessingPhase;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
+
+/**
+ * A {@link StatementWriter} which does not create any statements, but records the calls made to it, so that they can
+ * be replayed into a {@link StatementContextWriter} later on. This allows a source to be walked concurrently with
+ * other sources, as walking only reads the statement tree of that source, while all interactions with the rest of
+ * the reactor happen during replay.
+ *
+ * <p>
+ * In order to answer {@link #resumeStatement(int)} the same way a {@link StatementContextWriter} would, we track our
+ * position in the tree of statements declared in previous phases.
+ */
+final class RecordingStatementWriter implements StatementWriter {
+    private final List<Consumer<StatementWriter>> events = new ArrayList<>();
+    // Current path through the statement tree. Null elements indicate statements which do not exist yet.
+    private final List<AbstractResumedStatement<?, ?, ?>> path = new ArrayList<>();
+    private final SourceSpecificContext ctx;
+    private final ModelProcessingPhase phase;
+
+    // Either a RuntimeException or an Error
+    private Throwable failure;
+
+    RecordingStatementWriter(final SourceSpecificContext ctx, final ModelProcessingPhase phase) {
+        this.ctx = requireNonNull(ctx);
+        this.phase = requireNonNull(phase);
+    }
+
+    @SuppressWarnings("checkstyle:illegalCatch")
+    void record(final Consumer<StatementWriter> loader) {
+        try {
+            loader.accept(this);
+        } catch (RuntimeException | Error e) {
+            // Defer the failure until replay, so it is reported in the same order as when loading sequentially. This
+            // also means that a task recording statements never completes abnormally, hence ForkJoinTask.join() does
+            // not get a chance to replace the failure with a copy, and replay rethrows the original exception.
+            failure = e;
+        }
+    }
+
+    void replayTo(final StatementWriter writer) {
+        for (Consumer<StatementWriter> event : events) {
+            event.accept(writer);
+        }
+        if (failure != null) {
+            Throwables.throwIfUnchecked(failure);
+            throw new IllegalStateException("Unexpected failure", failure);
+        }
+    }
+
+    @Override
+    public Optional<? extends ResumedStatement> resumeStatement(final int childId) {
+        final AbstractResumedStatement<?, ?, ?> existing = StatementContextWriter.lookupDeclaredChild(current(),
+            childId);
+        if (existing == null) {
+            return Optional.empty();
+        }
+
+        events.add(writer -> writer.resumeStatement(childId));
+        if (!existing.isFullyDefined()) {
+            path.add(existing);
+        }
+        return Optional.of(existing);
+    }
+
+    @Override
+    public void storeStatement(final int expectedChildren, final boolean fullyDefined) {
+        checkState(!path.isEmpty());
+        events.add(writer -> writer.storeStatement(expectedChildren, fullyDefined));
+    }
+
+    @Override
+    public void startStatement(final int childId, final QName name, final String argument,
+            final StatementSourceReference ref) {
+        events.add(writer -> writer.startStatement(childId, name, argument, ref));
+        path.add(path.isEmpty() ? ctx.resumableRoot() : StatementContextWriter.lookupDeclaredChild(current(),
+            childId));
+    }
+
+    @Override
+    public void endStatement(final StatementSourceReference ref) {
+        checkState(!path.isEmpty());
+        events.add(writer -> writer.endStatement(ref));
+        path.remove(path.size() - 1);
+    }
+
+    @Override
+    public ModelProcessingPhase getPhase() {
+        return phase;
+    }
+
+    private AbstractResumedStatement<?, ?, ?> current() {
+        return path.isEmpty() ? null : path.get(path.size() - 1);
+    }
+}
@@ -112,6 +112,18 @@ public final class RootStatementContext<A, D extends DeclaredStatement<A>, E ext
         return sourceContext;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    E reusedEffective() {
+        final EffectiveStatement<?, ?> reused = sourceContext.reusedRoot();
+        if (reused == null) {
+            return null;
+        }
+        checkState(publicDefinition().equals(reused.statementDefinition()) && argument().equals(reused.argument()),
+            "Reused statement %s does not match %s", reused, this);
+        return (E) reused;
+    }
+
     @Override
     public A argument() {
         return argument;
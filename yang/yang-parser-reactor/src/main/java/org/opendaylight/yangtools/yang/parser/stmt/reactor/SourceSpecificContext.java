@@ -23,12 +23,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Mutable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.common.XMLNamespace;
 import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
 import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
 import org.opendaylight.yangtools.yang.parser.spi.meta.InferenceException;
 import org.opendaylight.yangtools.yang.parser.spi.meta.ModelActionBuilder;
@@ -55,6 +58,7 @@ import org.opendaylight.yangtools.yang.parser.spi.source.QNameToStatementDefinit
 import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -75,6 +79,8 @@ final class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeha
 
     // Freed as soon as we complete ModelProcessingPhase.EFFECTIVE_MODEL
     private StatementStreamSource source;
+    // Effective statement of this source built by a previous reactor run, to be reused instead of building a new one
+    private final @Nullable EffectiveStatement<?, ?> reusedRoot;
 
     /*
      * "imported" namespaces in this source -- this points to RootStatementContexts of
@@ -88,14 +94,24 @@ final class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeha
     private ModelProcessingPhase inProgressPhase;
 
     SourceSpecificContext(final BuildGlobalContext globalContext, final StatementStreamSource source) {
+        this(globalContext, source, null);
+    }
+
+    SourceSpecificContext(final BuildGlobalContext globalContext, final StatementStreamSource source,
+            final @Nullable EffectiveStatement<?, ?> reusedRoot) {
         this.globalContext = requireNonNull(globalContext);
         this.source = requireNonNull(source);
+        this.reusedRoot = reusedRoot;
     }
 
     @NonNull BuildGlobalContext globalContext() {
         return globalContext;
     }
 
+    @Nullable EffectiveStatement<?, ?> reusedRoot() {
+        return reusedRoot;
+    }
+
     ModelProcessingPhase getInProgressPhase() {
         return inProgressPhase;
     }
@@ -149,8 +165,7 @@ final class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeha
          */
         if (root == null) {
             root = new RootStatementContext<>(this, def, ref, argument);
-        } else if (!RootStatementContext.DEFAULT_VERSION.equals(root.yangVersion())
-                && inProgressPhase == ModelProcessingPhase.SOURCE_LINKAGE) {
+        } else if (replacesRoot()) {
             root = new RootStatementContext<>(this, def, ref, argument, root.yangVersion(),
                     root.getRootIdentifier());
         } else {
@@ -167,6 +182,22 @@ final class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeha
         return root;
     }
 
+    /**
+     * Return the root statement context which will be resumed when the root statement is declared in the current
+     * phase, if it exists.
+     *
+     * @return Existing root statement context, or null
+     */
+    @Nullable RootStatementContext<?, ?, ?> resumableRoot() {
+        return root == null || replacesRoot() ? null : root;
+    }
+
+    // Root statement is recreated when we encounter a non-default version during linkage
+    private boolean replacesRoot() {
+        return !RootStatementContext.DEFAULT_VERSION.equals(root.yangVersion())
+            && inProgressPhase == ModelProcessingPhase.SOURCE_LINKAGE;
+    }
+
     /**
      * Return version of root statement context.
      *
@@ -345,29 +376,67 @@ final class SourceSpecificContext implements NamespaceStorageNode, NamespaceBeha
     }
 
     void loadStatements() {
+        final Consumer<StatementWriter> loader = prepareStatements();
+        if (loader != null) {
+            loader.accept(new StatementContextWriter(this, inProgressPhase));
+        }
+    }
+
+    /**
+     * Prepare loading of statements in the phase in progress. This method accesses global namespaces and therefore
+     * has to be invoked from the reactor thread. The returned function, on the other hand, touches only this source
+     * and the statement tree which has been declared by it in previous phases.
+     *
+     * @return A function emitting statements into a {@link StatementWriter}, or null if there is nothing to load
+     */
+    @Nullable Consumer<StatementWriter> prepareStatements() {
         LOG.trace("Source {} loading statements for phase {}", source, inProgressPhase);
 
+        final StatementStreamSource src = source;
+        final QNameToStatementDefinition stmtDef;
+        final PrefixToModule prefixes;
+        final YangVersion version;
         switch (inProgressPhase) {
             case SOURCE_PRE_LINKAGE:
-                source.writePreLinkage(new StatementContextWriter(this, inProgressPhase), stmtDef());
-                break;
+                stmtDef = stmtDef();
+                return writer -> src.writePreLinkage(writer, stmtDef);
             case SOURCE_LINKAGE:
-                source.writeLinkage(new StatementContextWriter(this, inProgressPhase), stmtDef(), preLinkagePrefixes(),
-                    getRootVersion());
-                break;
+                stmtDef = stmtDef();
+                prefixes = preLinkagePrefixes();
+                version = getRootVersion();
+                return writer -> src.writeLinkage(writer, stmtDef, prefixes, version);
             case STATEMENT_DEFINITION:
-                source.writeLinkageAndStatementDefinitions(new StatementContextWriter(this, inProgressPhase), stmtDef(),
-                    prefixes(), getRootVersion());
-                break;
+                stmtDef = stmtDef();
+                prefixes = prefixes();
+                version = getRootVersion();
+                return writer -> src.writeLinkageAndStatementDefinitions(writer, stmtDef, prefixes, version);
             case FULL_DECLARATION:
-                source.writeFull(new StatementContextWriter(this, inProgressPhase), stmtDef(), prefixes(),
-                    getRootVersion());
-                break;
+                stmtDef = stmtDef();
+                prefixes = prefixes();
+                version = getRootVersion();
+                return writer -> src.writeFull(writer, stmtDef, prefixes, version);
             default:
-                break;
+                return null;
         }
     }
 
+    /**
+     * Run a function obtained from {@link #prepareStatements()} against a {@link RecordingStatementWriter}. This
+     * method can be invoked concurrently for distinct sources.
+     *
+     * @param loader Statement loading function
+     * @return Recorded statements, to be passed to {@link #replayStatements(RecordingStatementWriter)}
+     */
+    @NonNull RecordingStatementWriter recordStatements(final Consumer<StatementWriter> loader) {
+        final RecordingStatementWriter recorder = new RecordingStatementWriter(this, inProgressPhase);
+        recorder.record(loader);
+        return recorder;
+    }
+
+    void replayStatements(final RecordingStatementWriter recorder) {
+        recorder.replayTo(new StatementContextWriter(this, inProgressPhase));
+    }
+
     private PrefixToModule preLinkagePrefixes() {
         final PrefixToModuleMap preLinkagePrefixes = new PrefixToModuleMap();
         final Map<String, XMLNamespace> prefixToNamespaceMap = getAllFromLocalStorage(ImpPrefixToNamespace.class);
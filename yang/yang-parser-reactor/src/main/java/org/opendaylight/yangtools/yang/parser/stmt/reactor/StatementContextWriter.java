@@ -100,7 +100,7 @@ final class StatementContextWriter implements StatementWriter {
         }
     }
 
-    private static @Nullable AbstractResumedStatement<?, ?, ?> lookupDeclaredChild(
+    static @Nullable AbstractResumedStatement<?, ?, ?> lookupDeclaredChild(
             final AbstractResumedStatement<?, ?, ?> current, final int childId) {
         if (current == null) {
             return null;
@@ -9,9 +9,11 @@ package org.opendaylight.yangtools.yang.parser.stmt.reactor;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Objects;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.meta.DeclaredStatement;
 import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.meta.StatementDefinition;
 import org.opendaylight.yangtools.yang.parser.spi.meta.CopyType;
 import org.opendaylight.yangtools.yang.parser.spi.meta.NamespaceBehaviour.StorageNodeType;
 import org.opendaylight.yangtools.yang.parser.spi.source.StatementSourceReference;
@@ -44,6 +46,31 @@ final class SubstatementContext<A, D extends DeclaredStatement<A>, E extends Eff
         this.argument = argument;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    E reusedEffective() {
+        final EffectiveStatement<?, ?> parentEffective = parent.reusedEffective();
+        if (parentEffective == null) {
+            return null;
+        }
+
+        // Locate the unique substatement of the parent's reused statement which corresponds to this statement. If the
+        // match is ambiguous we build a new statement, as picking any of the candidates could be wrong.
+        final StatementDefinition def = publicDefinition();
+        final Class<?> representation = def.getEffectiveRepresentationClass();
+        EffectiveStatement<?, ?> found = null;
+        for (EffectiveStatement<?, ?> stmt : parentEffective.effectiveSubstatements()) {
+            if (def.equals(stmt.statementDefinition()) && Objects.equals(argument, stmt.argument())
+                    && representation.isInstance(stmt)) {
+                if (found != null) {
+                    return null;
+                }
+                found = stmt;
+            }
+        }
+        return (E) found;
+    }
+
     @Override
     SubstatementContext<A, D, E> reparent(final StatementContextBase<?, ?, ?> newParent) {
         return new SubstatementContext<>(this, newParent);
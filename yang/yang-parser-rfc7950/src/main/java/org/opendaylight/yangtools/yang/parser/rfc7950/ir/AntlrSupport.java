@@ -102,7 +102,11 @@ public final class AntlrSupport {
         final ImmutableList<IRStatement> statements = createStatements(stmt);
         final int line = keywordToken.getLine();
         final int column = keywordToken.getCharPositionInLine();
+        return statementOf(keyword, argument, statements, line, column);
+    }
 
+    static @NonNull IRStatement statementOf(final IRKeyword keyword, final IRArgument argument,
+            final ImmutableList<IRStatement> statements, final int line, final int column) {
         switch (statements.size()) {
             case 0:
                 return statementOf(keyword, argument, line, column);
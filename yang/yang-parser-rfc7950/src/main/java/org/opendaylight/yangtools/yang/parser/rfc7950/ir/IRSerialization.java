@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.ir;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.repo.api.RevisionSourceIdentifier;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Concatenation;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.DoubleQuoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Identifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Single;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.SingleQuoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRArgument.Unquoted;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRKeyword.Qualified;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRKeyword.Unqualified;
+
+/**
+ * Compact binary serialization of {@link IRSchemaSource}s. The serialized form is tagged with a hash of the text from
+ * which the source was parsed, so that it can be used as a persistent stand-in for parsing that text.
+ *
+ * <p>
+ * The format is a header, consisting of a magic number, format version and the content hash, followed by the source
+ * identifier, symbolic name and the root statement. Strings, keywords and arguments are each written out only on
+ * their first occurrence and are referenced by their index afterwards. Integers are written as variable-length
+ * quantities, hence line and column numbers typically take a single byte each.
+ */
+@Beta
+public final class IRSerialization {
+    private static final int MAGIC = 0x59495200;
+    private static final byte VERSION = 1;
+
+    // References to strings and keywords: zero introduces a new object, otherwise it is its index plus one
+    private static final int NEW_OBJECT = 0;
+    // References to arguments: zero is a null argument, one introduces a new argument, otherwise it is its index plus
+    // two
+    private static final int NULL_ARGUMENT = 0;
+    private static final int NEW_ARGUMENT = 1;
+
+    private static final byte KEYWORD_UNQUALIFIED = 0;
+    private static final byte KEYWORD_QUALIFIED = 1;
+
+    private static final byte ARGUMENT_DQUOT = 0;
+    private static final byte ARGUMENT_SQUOT = 1;
+    private static final byte ARGUMENT_IDENTIFIER = 2;
+    private static final byte ARGUMENT_UNQUOTED = 3;
+    private static final byte ARGUMENT_CONCATENATION = 4;
+
+    private IRSerialization() {
+        // Hidden on purpose
+    }
+
+    /**
+     * Write an {@link IRSchemaSource} into a {@link DataOutput}.
+     *
+     * @param out Output to write to
+     * @param source Source to write
+     * @param contentHash Hash of the text from which the source was parsed
+     * @throws IOException if an I/O error occurs
+     * @throws NullPointerException if any argument is null
+     */
+    public static void writeTo(final DataOutput out, final IRSchemaSource source, final HashCode contentHash)
+            throws IOException {
+        final byte[] hash = contentHash.asBytes();
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(hash.length);
+        out.write(hash);
+        new Writer(out).writeSource(source);
+    }
+
+    /**
+     * Read an {@link IRSchemaSource} from a {@link ByteBuffer}. The buffer is expected to have been populated by
+     * {@link #writeTo(DataOutput, IRSchemaSource, HashCode)}, with the same content hash.
+     *
+     * @param buffer Buffer to read from
+     * @param contentHash Expected hash of the text from which the source was parsed
+     * @return An IRSchemaSource
+     * @throws IOException if the buffer does not contain a serialized source matching {@code contentHash}
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull IRSchemaSource readFrom(final ByteBuffer buffer, final HashCode contentHash)
+            throws IOException {
+        try {
+            return readSource(buffer, contentHash);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                | DateTimeParseException e) {
+            throw new IOException("Malformed serialized source", e);
+        }
+    }
+
+    private static @NonNull IRSchemaSource readSource(final ByteBuffer buffer, final HashCode contentHash)
+            throws IOException {
+        final int magic = buffer.getInt();
+        if (magic != MAGIC) {
+            throw new IOException("Unexpected magic " + Integer.toHexString(magic));
+        }
+        final byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version " + version);
+        }
+        final byte[] hash = new byte[buffer.get() & 0xFF];
+        buffer.get(hash);
+        if (!contentHash.equals(HashCode.fromBytes(hash))) {
+            throw new IOException("Content hash mismatch: expected " + contentHash + ", found "
+                + HashCode.fromBytes(hash));
+        }
+        return new Reader(buffer).readSource();
+    }
+
+    private static final class Writer {
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<IRKeyword, Integer> keywords = new IdentityHashMap<>();
+        private final Map<IRArgument, Integer> arguments = new IdentityHashMap<>();
+        private final DataOutput out;
+
+        Writer(final DataOutput out) {
+            this.out = requireNonNull(out);
+        }
+
+        void writeSource(final IRSchemaSource source) throws IOException {
+            final SourceIdentifier identifier = source.getIdentifier();
+            writeString(identifier.getName());
+            final Optional<Revision> revision = identifier.getRevision();
+            out.writeBoolean(revision.isPresent());
+            if (revision.isPresent()) {
+                writeString(revision.get().toString());
+            }
+
+            final Optional<String> symbolicName = source.getSymbolicName();
+            out.writeBoolean(symbolicName.isPresent());
+            if (symbolicName.isPresent()) {
+                writeString(symbolicName.get());
+            }
+
+            writeStatement(source.getRootStatement());
+        }
+
+        private void writeStatement(final IRStatement statement) throws IOException {
+            writeKeyword(statement.keyword());
+            writeArgument(statement.argument());
+            writeInt(statement.startLine());
+            writeInt(statement.startColumn());
+
+            final List<? extends IRStatement> statements = statement.statements();
+            writeInt(statements.size());
+            for (IRStatement child : statements) {
+                writeStatement(child);
+            }
+        }
+
+        private void writeKeyword(final IRKeyword keyword) throws IOException {
+            // Keywords are identity-interned by AntlrSupport, hence an identity lookup is sufficient
+            final Integer existing = keywords.putIfAbsent(keyword, keywords.size());
+            if (existing != null) {
+                writeInt(existing + 1);
+                return;
+            }
+
+            writeInt(NEW_OBJECT);
+            if (keyword instanceof Qualified) {
+                out.writeByte(KEYWORD_QUALIFIED);
+                writeString(keyword.prefix());
+            } else {
+                out.writeByte(KEYWORD_UNQUALIFIED);
+            }
+            writeString(keyword.identifier());
+        }
+
+        private void writeArgument(final IRArgument argument) throws IOException {
+            if (argument == null) {
+                writeInt(NULL_ARGUMENT);
+                return;
+            }
+            // Arguments are identity-interned as well
+            final Integer existing = arguments.get(argument);
+            if (existing != null) {
+                writeInt(existing + 2);
+                return;
+            }
+
+            writeInt(NEW_ARGUMENT);
+            if (argument instanceof Concatenation) {
+                final List<? extends Single> parts = ((Concatenation) argument).parts();
+                out.writeByte(ARGUMENT_CONCATENATION);
+                writeInt(parts.size());
+                for (Single part : parts) {
+                    writeArgument(part);
+                }
+            } else {
+                out.writeByte(singleTag((Single) argument));
+                writeString(((Single) argument).string());
+            }
+            // Concatenation parts are assigned their indices first, mirroring what Reader does
+            arguments.put(argument, arguments.size());
+        }
+
+        private static byte singleTag(final Single single) {
+            if (single instanceof DoubleQuoted) {
+                return ARGUMENT_DQUOT;
+            } else if (single instanceof SingleQuoted) {
+                return ARGUMENT_SQUOT;
+            } else if (single instanceof Identifier) {
+                return ARGUMENT_IDENTIFIER;
+            } else if (single instanceof Unquoted) {
+                return ARGUMENT_UNQUOTED;
+            } else {
+                throw new IllegalStateException("Unhandled argument " + single);
+            }
+        }
+
+        private void writeString(final String str) throws IOException {
+            final Integer existing = strings.putIfAbsent(str, strings.size());
+            if (existing != null) {
+                writeInt(existing + 1);
+                return;
+            }
+
+            final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            writeInt(NEW_OBJECT);
+            writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        // Unsigned LEB128
+        private void writeInt(final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                out.writeByte(remaining & 0x7F | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte(remaining);
+        }
+    }
+
+    private static final class Reader {
+        private final List<String> strings = new ArrayList<>();
+        private final List<IRKeyword> keywords = new ArrayList<>();
+        private final List<IRArgument> arguments = new ArrayList<>();
+        private final ByteBuffer buffer;
+
+        Reader(final ByteBuffer buffer) {
+            this.buffer = requireNonNull(buffer);
+        }
+
+        @NonNull IRSchemaSource readSource() throws IOException {
+            final String name = readString();
+            final Revision revision = readBoolean() ? Revision.of(readString()) : null;
+            final String symbolicName = readBoolean() ? readString() : null;
+            final IRStatement rootStatement = readStatement();
+            if (buffer.hasRemaining()) {
+                throw new IOException("Unexpected " + buffer.remaining() + " trailing bytes");
+            }
+            return new IRSchemaSource(RevisionSourceIdentifier.create(name, revision), rootStatement, symbolicName);
+        }
+
+        private IRStatement readStatement() throws IOException {
+            final IRKeyword keyword = readKeyword();
+            final IRArgument argument = readArgument();
+            final int line = readInt();
+            final int column = readInt();
+            final int size = readInt();
+
+            final ImmutableList<IRStatement> statements;
+            switch (size) {
+                case 0:
+                    statements = ImmutableList.of();
+                    break;
+                case 1:
+                    statements = ImmutableList.of(readStatement());
+                    break;
+                default:
+                    final ImmutableList.Builder<IRStatement> builder = ImmutableList.builderWithExpectedSize(size);
+                    for (int i = 0; i < size; ++i) {
+                        builder.add(readStatement());
+                    }
+                    statements = builder.build();
+            }
+            return AntlrSupport.statementOf(keyword, argument, statements, line, column);
+        }
+
+        private IRKeyword readKeyword() throws IOException {
+            final int ref = readInt();
+            if (ref != NEW_OBJECT) {
+                return keywords.get(ref - 1);
+            }
+
+            final IRKeyword keyword;
+            final byte tag = buffer.get();
+            switch (tag) {
+                case KEYWORD_UNQUALIFIED:
+                    keyword = new Unqualified(readString());
+                    break;
+                case KEYWORD_QUALIFIED:
+                    final String prefix = readString();
+                    keyword = new Qualified(prefix, readString());
+                    break;
+                default:
+                    throw new IOException("Unknown keyword tag " + tag);
+            }
+            keywords.add(keyword);
+            return keyword;
+        }
+
+        private IRArgument readArgument() throws IOException {
+            final int ref = readInt();
+            switch (ref) {
+                case NULL_ARGUMENT:
+                    return null;
+                case NEW_ARGUMENT:
+                    break;
+                default:
+                    return arguments.get(ref - 2);
+            }
+
+            final byte tag = buffer.get();
+            final IRArgument argument;
+            if (tag == ARGUMENT_CONCATENATION) {
+                final int size = readInt();
+                final List<Single> parts = new ArrayList<>(size);
+                for (int i = 0; i < size; ++i) {
+                    final IRArgument part = readArgument();
+                    if (!(part instanceof Single)) {
+                        throw new IOException("Unexpected concatenation part " + part);
+                    }
+                    parts.add((Single) part);
+                }
+                argument = new Concatenation(parts);
+            } else {
+                argument = readSingle(tag, readString());
+            }
+            arguments.add(argument);
+            return argument;
+        }
+
+        private static Single readSingle(final byte tag, final String str) throws IOException {
+            switch (tag) {
+                case ARGUMENT_DQUOT:
+                    return new DoubleQuoted(str);
+                case ARGUMENT_SQUOT:
+                    return str.isEmpty() ? SingleQuoted.EMPTY : new SingleQuoted(str);
+                case ARGUMENT_IDENTIFIER:
+                    return new Identifier(str);
+                case ARGUMENT_UNQUOTED:
+                    return new Unquoted(str);
+                default:
+                    throw new IOException("Unknown argument tag " + tag);
+            }
+        }
+
+        private String readString() {
+            final int ref = readInt();
+            if (ref != NEW_OBJECT) {
+                return strings.get(ref - 1);
+            }
+
+            final byte[] bytes = new byte[readInt()];
+            buffer.get(bytes);
+            final String str = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(str);
+            return str;
+        }
+
+        private boolean readBoolean() {
+            return buffer.get() != 0;
+        }
+
+        private int readInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Variable-length integer is too long");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.model.parser.api.YangSyntaxErrorException;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSerialization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of {@link IRSchemaSource}s parsed from {@link YangTextSchemaSource}s. Each source is stored in
+ * its {@link IRSerialization serialized form} in a file named after the SHA-256 hash of the text it has been parsed
+ * from. Subsequent requests to transform the same text are satisfied by memory-mapping that file, without lexing and
+ * parsing the text again.
+ *
+ * <p>
+ * Since cache entries are keyed by content, there is no need for invalidation: modified sources simply end up in a new
+ * entry. Entries which cannot be read back, for example because they are corrupted or have been written by a different
+ * version, are silently replaced. Instances are safe for concurrent use, including by multiple processes sharing the
+ * same directory.
+ */
+@Beta
+public final class FilesystemIRSourceCache {
+    private static final Logger LOG = LoggerFactory.getLogger(FilesystemIRSourceCache.class);
+    private static final String SUFFIX = ".yir";
+
+    private final @NonNull Path directory;
+
+    private FilesystemIRSourceCache(final Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    /**
+     * Create a cache backed by specified directory. The directory is created if it does not exist.
+     *
+     * @param directory Cache directory
+     * @return A FilesystemIRSourceCache
+     * @throws IOException if the directory cannot be created
+     * @throws NullPointerException if {@code directory} is null
+     */
+    public static @NonNull FilesystemIRSourceCache create(final Path directory) throws IOException {
+        return new FilesystemIRSourceCache(Files.createDirectories(directory));
+    }
+
+    /**
+     * Transform a {@link YangTextSchemaSource} into an {@link IRSchemaSource}. This method is equivalent to
+     * {@link TextToIRTransformer#transformText(YangTextSchemaSource)}, except it consults the cache first and
+     * populates it if needed.
+     *
+     * @param text Text to transform
+     * @return An IRSchemaSource
+     * @throws YangSyntaxErrorException if the text is not a valid YANG source
+     * @throws IOException if the text cannot be read
+     */
+    public @NonNull IRSchemaSource transformText(final YangTextSchemaSource text)
+            throws YangSyntaxErrorException, IOException {
+        final byte[] bytes = text.read();
+        final HashCode hash = Hashing.sha256().hashBytes(bytes);
+        final Path file = directory.resolve(hash + SUFFIX);
+
+        final IRSchemaSource cached = readEntry(file, hash);
+        if (cached != null) {
+            LOG.trace("Source {} found in cache as {}", text.getIdentifier(), file);
+            return cached;
+        }
+
+        // Parse the bytes we already have rather than reading the text again
+        final IRSchemaSource source = TextToIRTransformer.transformText(
+            YangTextSchemaSource.delegateForByteSource(text.getIdentifier(), ByteSource.wrap(bytes)));
+        writeEntry(file, hash, source);
+        LOG.trace("Source {} stored in cache as {}", text.getIdentifier(), file);
+        return source;
+    }
+
+    private static @Nullable IRSchemaSource readEntry(final Path file, final HashCode hash) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return IRSerialization.readFrom(channel.map(MapMode.READ_ONLY, 0, channel.size()), hash);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            LOG.debug("Failed to read cache entry {}, ignoring it", file, e);
+            return null;
+        }
+    }
+
+    private void writeEntry(final Path file, final HashCode hash, final IRSchemaSource source) {
+        // Write to a temporary file first, so concurrent readers never observe a partial entry
+        final Path tmp;
+        try {
+            tmp = Files.createTempFile(directory, hash.toString(), ".tmp");
+        } catch (IOException e) {
+            LOG.warn("Failed to create a temporary file in {}, not caching {}", directory, source.getIdentifier(), e);
+            return;
+        }
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                IRSerialization.writeTo(out, source, hash);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOG.warn("Failed to store {} in cache as {}", source.getIdentifier(), file, e);
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ex) {
+                LOG.debug("Failed to delete {}", tmp, ex);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("directory", directory).toString();
+    }
+}
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
 
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
 import com.google.common.util.concurrent.Futures;
 import java.io.IOException;
@@ -29,11 +31,31 @@ public final class TextToIRTransformer extends SchemaSourceTransformer<YangTextS
             input -> Futures.immediateFuture(transformText(input)));
     }
 
+    private TextToIRTransformer(final SchemaRepository provider, final SchemaSourceRegistry consumer,
+            final FilesystemIRSourceCache cache) {
+        super(provider, YangTextSchemaSource.class, consumer, IRSchemaSource.class,
+            input -> Futures.immediateFuture(cache.transformText(input)));
+    }
+
     public static @NonNull TextToIRTransformer create(final SchemaRepository provider,
             final SchemaSourceRegistry consumer) {
         return new TextToIRTransformer(provider, consumer);
     }
 
+    /**
+     * Create a transformer which uses a {@link FilesystemIRSourceCache} to avoid parsing previously-seen texts.
+     *
+     * @param provider Repository from which to acquire text sources
+     * @param consumer Registry to which to register transformed sources
+     * @param cache Cache to use
+     * @return A TextToIRTransformer
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull TextToIRTransformer create(final SchemaRepository provider,
+            final SchemaSourceRegistry consumer, final FilesystemIRSourceCache cache) {
+        return new TextToIRTransformer(provider, consumer, requireNonNull(cache));
+    }
+
     public static @NonNull IRSchemaSource transformText(final YangTextSchemaSource text)
             throws YangSyntaxErrorException, IOException {
         final IRStatement rootStatement = AntlrSupport.createStatement(YangStatementStreamSource.parseYangSource(text));
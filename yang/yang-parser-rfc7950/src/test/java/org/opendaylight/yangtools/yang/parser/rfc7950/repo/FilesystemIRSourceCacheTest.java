@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.parser.rfc7950.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.model.repo.api.YangTextSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSchemaSource;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRSerialization;
+import org.opendaylight.yangtools.yang.parser.rfc7950.ir.IRStatement;
+
+public class FilesystemIRSourceCacheTest {
+    private static final List<String> RESOURCES = List.of(
+        "/ietf/ietf-inet-types@2010-09-24.yang",
+        "/ietf/ietf-yang-types@2010-09-24.yang",
+        "/ietf/network-topology@2013-10-21.yang",
+        "/model/bar.yang",
+        "/model/baz.yang",
+        "/model/foo.yang",
+        "/model/subfoo.yang");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSerializationRoundTrip() throws Exception {
+        for (String resource : RESOURCES) {
+            final YangTextSchemaSource text = textForResource(resource);
+            final IRSchemaSource source = TextToIRTransformer.transformText(text);
+            final HashCode hash = text.hash(Hashing.sha256());
+
+            final ByteArrayDataOutput out = ByteStreams.newDataOutput();
+            IRSerialization.writeTo(out, source, hash);
+            final byte[] bytes = out.toByteArray();
+
+            assertSameSource(source, IRSerialization.readFrom(ByteBuffer.wrap(bytes), hash));
+            assertThrows(IOException.class, () -> IRSerialization.readFrom(ByteBuffer.wrap(bytes),
+                Hashing.sha256().hashInt(0)));
+        }
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("cache");
+        final FilesystemIRSourceCache cache = FilesystemIRSourceCache.create(directory);
+
+        for (String resource : RESOURCES) {
+            final YangTextSchemaSource text = textForResource(resource);
+            final IRSchemaSource expected = TextToIRTransformer.transformText(text);
+
+            // Miss populates the cache, hit reads from it
+            assertSameSource(expected, cache.transformText(text));
+            final Path entry = directory.resolve(text.hash(Hashing.sha256()) + ".yir");
+            assertTrue(Files.isRegularFile(entry));
+            assertSameSource(expected, cache.transformText(text));
+
+            // Corrupted entry is ignored and replaced
+            Files.write(entry, new byte[] { 1, 2, 3 });
+            assertSameSource(expected, cache.transformText(text));
+            assertTrue(Files.size(entry) > 3);
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(RESOURCES.size(), files.collect(Collectors.toList()).size());
+        }
+    }
+
+    private static void assertSameSource(final IRSchemaSource expected, final IRSchemaSource actual) {
+        assertEquals(expected.getIdentifier(), actual.getIdentifier());
+        assertEquals(expected.getSymbolicName(), actual.getSymbolicName());
+        assertSameStatement(expected.getRootStatement(), actual.getRootStatement());
+    }
+
+    private static void assertSameStatement(final IRStatement expected, final IRStatement actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        assertEquals(expected.keyword().toString(), actual.keyword().toString());
+        assertEquals(String.valueOf(expected.argument()), String.valueOf(actual.argument()));
+        assertEquals(expected.startLine(), actual.startLine());
+        assertEquals(expected.startColumn(), actual.startColumn());
+
+        final List<? extends IRStatement> expectedChildren = expected.statements();
+        final List<? extends IRStatement> actualChildren = actual.statements();
+        assertEquals(expectedChildren.size(), actualChildren.size());
+        for (int i = 0; i < expectedChildren.size(); ++i) {
+            assertSameStatement(expectedChildren.get(i), actualChildren.get(i));
+        }
+    }
+
+    // Resources are not accessible through Class.getResource() of another module, hence we go through the filesystem
+    private static YangTextSchemaSource textForResource(final String resource) throws URISyntaxException {
+        return YangTextSchemaSource.forFile(new File(FilesystemIRSourceCacheTest.class.getResource(resource).toURI()));
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2021 PANTHEON.tech, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.stmt;
+
+import static java.util.Objects.requireNonNull;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.opendaylight.yangtools.yang.stmt.StmtTestUtils.sourceForResource;
+
+import com.google.common.base.Throwables;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.YangVersion;
+import org.opendaylight.yangtools.yang.model.api.meta.EffectiveStatement;
+import org.opendaylight.yangtools.yang.model.api.stmt.ModuleEffectiveStatement;
+import org.opendaylight.yangtools.yang.model.repo.api.SourceIdentifier;
+import org.opendaylight.yangtools.yang.parser.rfc7950.reactor.RFC7950Reactors;
+import org.opendaylight.yangtools.yang.parser.spi.meta.ReactorException;
+import org.opendaylight.yangtools.yang.parser.spi.meta.SomeModifiersUnresolvedException;
+import org.opendaylight.yangtools.yang.parser.spi.source.PrefixToModule;
+import org.opendaylight.yangtools.yang.parser.spi.source.QNameToStatementDefinition;
+import org.opendaylight.yangtools.yang.parser.spi.source.SourceException;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementStreamSource;
+import org.opendaylight.yangtools.yang.parser.spi.source.StatementWriter;
+import org.opendaylight.yangtools.yang.parser.stmt.reactor.CrossSourceStatementReactor.BuildAction;
+
+public class ParallelLoadingTest {
+    /**
+     * A source which fails with an unexpected exception while being walked in the full declaration phase.
+     */
+    private static final class FailingSource implements StatementStreamSource {
+        private final StatementStreamSource delegate;
+
+        FailingSource(final StatementStreamSource delegate) {
+            this.delegate = requireNonNull(delegate);
+        }
+
+        @Override
+        public SourceIdentifier getIdentifier() {
+            return delegate.getIdentifier();
+        }
+
+        @Override
+        public void writePreLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef) {
+            delegate.writePreLinkage(writer, stmtDef);
+        }
+
+        @Override
+        public void writeLinkage(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+                final PrefixToModule preLinkagePrefixes, final YangVersion yangVersion) {
+            delegate.writeLinkage(writer, stmtDef, preLinkagePrefixes, yangVersion);
+        }
+
+        @Override
+        public void writeLinkageAndStatementDefinitions(final StatementWriter writer,
+                final QNameToStatementDefinition stmtDef, final PrefixToModule prefixes,
+                final YangVersion yangVersion) {
+            delegate.writeLinkageAndStatementDefinitions(writer, stmtDef, prefixes, yangVersion);
+        }
+
+        @Override
+        public void writeFull(final StatementWriter writer, final QNameToStatementDefinition stmtDef,
+                final PrefixToModule prefixes, final YangVersion yangVersion) {
+            throw FAILURE;
+        }
+    }
+
+    // IllegalStateException has a constructor ForkJoinTask.join() would use to create a copy
+    private static final IllegalStateException FAILURE = new IllegalStateException("Unexpected failure");
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void beforeClass() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void testYang10Sources() throws ReactorException {
+        assertSameResult(List.of("/model/bar.yang", "/model/baz.yang", "/model/foo.yang", "/model/subfoo.yang",
+            "/ietf/ietf-inet-types@2010-09-24.yang", "/ietf/ietf-yang-types@2010-09-24.yang",
+            "/ietf/network-topology@2013-10-21.yang", "/semantic-statement-parser/ext-typedef.yang",
+            "/semantic-statement-parser/ext-use.yang"));
+    }
+
+    @Test
+    public void testYang11Sources() throws ReactorException {
+        assertSameResult(List.of("/rfc7950/model/bar.yang", "/rfc7950/model/baz.yang", "/rfc7950/model/foo.yang",
+            "/rfc7950/model/subfoo.yang"));
+    }
+
+    @Test
+    public void testInvalidSource() {
+        final List<String> resources = List.of("/model/bar.yang", "/model/baz.yang", "/parallel-loading/invalid.yang");
+        final SomeModifiersUnresolvedException sequential = assertThrows(SomeModifiersUnresolvedException.class,
+            () -> newBuild(resources).buildEffective());
+        final SomeModifiersUnresolvedException parallel = assertThrows(SomeModifiersUnresolvedException.class,
+            () -> newBuild(resources).setParallelLoading(pool).buildEffective());
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+        assertEquals(sequential.getCause().getMessage(), parallel.getCause().getMessage());
+    }
+
+    @Test
+    public void testInvalidArgument() {
+        // Fails while the source is being walked, i.e. on a pool thread
+        final List<String> resources = List.of("/model/bar.yang", "/model/baz.yang",
+            "/parallel-loading/invalid-argument.yang");
+        final ReactorException sequential = assertThrows(ReactorException.class,
+            () -> newBuild(resources).buildEffective());
+        final ReactorException parallel = assertThrows(ReactorException.class,
+            () -> newBuild(resources).setParallelLoading(pool).buildEffective());
+        assertEquals(causalChain(sequential), causalChain(parallel));
+        assertEquals(sequential.getMessage(), parallel.getMessage());
+        assertThat(parallel.getCause(), instanceOf(SourceException.class));
+        assertEquals(sequential.getCause().getMessage(), parallel.getCause().getMessage());
+    }
+
+    @Test
+    public void testUnexpectedFailure() {
+        final List<String> resources = List.of("/model/baz.yang", "/model/foo.yang", "/model/subfoo.yang");
+        final ReactorException sequential = assertThrows(ReactorException.class,
+            () -> newBuild(resources).addSource(new FailingSource(sourceForResource("/model/bar.yang")))
+                .buildEffective());
+        final ReactorException parallel = assertThrows(ReactorException.class,
+            () -> newBuild(resources).addSource(new FailingSource(sourceForResource("/model/bar.yang")))
+                .setParallelLoading(pool).buildEffective());
+        assertEquals(causalChain(sequential), causalChain(parallel));
+        assertSame(FAILURE, sequential.getCause());
+        assertSame(FAILURE, parallel.getCause());
+    }
+
+    private static void assertSameResult(final List<String> resources) throws ReactorException {
+        final Map<QNameModule, ModuleEffectiveStatement> expected = newBuild(resources).buildEffective()
+            .getModuleStatements();
+        final Map<QNameModule, ModuleEffectiveStatement> actual = newBuild(resources).setParallelLoading(pool)
+            .buildEffective().getModuleStatements();
+
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((module, stmt) -> assertEquals(dump(stmt), dump(actual.get(module))));
+    }
+
+    private static List<Class<?>> causalChain(final Throwable throwable) {
+        return Throwables.getCausalChain(throwable).stream().map(Object::getClass).collect(Collectors.toList());
+    }
+
+    private static BuildAction newBuild(final List<String> resources) {
+        final BuildAction build = RFC7950Reactors.defaultReactor().newBuild();
+        resources.forEach(resource -> build.addSource(sourceForResource(resource)));
+        return build;
+    }
+
+    // Substatements are sorted, as the order in which augmentations are applied depends on the iteration order of
+    // sources within the reactor, which differs between builds regardless of parallel loading
+    private static String dump(final EffectiveStatement<?, ?> stmt) {
+        final Collection<? extends EffectiveStatement<?, ?>> substatements = stmt.effectiveSubstatements();
+        return stmt.statementDefinition().getStatementName() + " " + stmt.argument()
+            + substatements.stream().map(ParallelLoadingTest::dump).sorted()
+                .collect(Collectors.joining(", ", " {", "}"));
+    }
+}
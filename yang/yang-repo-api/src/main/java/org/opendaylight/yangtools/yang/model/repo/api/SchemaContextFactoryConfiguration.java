@@ -33,6 +33,8 @@ import org.opendaylight.yangtools.yang.common.QNameModule;
  * <li>statement parser mode</li>
  * <li>supported features</li>
  * <li>supported deviations</li>
+ * <li>incremental build</li>
+ * <li>statement sharing</li>
  * </ul>
  */
 @Beta
@@ -43,15 +45,20 @@ public final class SchemaContextFactoryConfiguration implements Immutable {
     private final @NonNull StatementParserMode statementParserMode;
     private final @Nullable ImmutableSet<QName> supportedFeatures;
     private final @Nullable ImmutableSetMultimap<QNameModule, QNameModule> modulesDeviatedByModules;
+    private final boolean incrementalBuild;
+    private final boolean shareStatements;
 
     private SchemaContextFactoryConfiguration(final @NonNull SchemaSourceFilter filter,
             final @NonNull StatementParserMode statementParserMode,
             final @Nullable ImmutableSet<QName> supportedFeatures,
-            final @Nullable ImmutableSetMultimap<QNameModule, QNameModule> modulesDeviatedByModules) {
+            final @Nullable ImmutableSetMultimap<QNameModule, QNameModule> modulesDeviatedByModules,
+            final boolean incrementalBuild, final boolean shareStatements) {
         this.filter = requireNonNull(filter);
         this.statementParserMode = requireNonNull(statementParserMode);
         this.supportedFeatures = supportedFeatures;
         this.modulesDeviatedByModules = modulesDeviatedByModules;
+        this.incrementalBuild = incrementalBuild;
+        this.shareStatements = shareStatements;
     }
 
     public @NonNull SchemaSourceFilter getSchemaSourceFilter() {
@@ -70,6 +77,14 @@ public final class SchemaContextFactoryConfiguration implements Immutable {
         return Optional.ofNullable(modulesDeviatedByModules);
     }
 
+    public boolean isIncrementalBuild() {
+        return incrementalBuild;
+    }
+
+    public boolean isShareStatements() {
+        return shareStatements;
+    }
+
     public static @NonNull SchemaContextFactoryConfiguration getDefault() {
         return DEFAULT_CONFIGURATION;
     }
@@ -80,7 +95,8 @@ public final class SchemaContextFactoryConfiguration implements Immutable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(filter, statementParserMode, supportedFeatures, modulesDeviatedByModules);
+        return Objects.hash(filter, statementParserMode, supportedFeatures, modulesDeviatedByModules,
+            incrementalBuild, shareStatements);
     }
 
     @Override
@@ -94,14 +110,16 @@ public final class SchemaContextFactoryConfiguration implements Immutable {
         final SchemaContextFactoryConfiguration other = (SchemaContextFactoryConfiguration) obj;
         return filter.equals(other.filter) && statementParserMode.equals(other.statementParserMode)
                 && Objects.equals(supportedFeatures, other.supportedFeatures)
-                && Objects.equals(modulesDeviatedByModules, other.modulesDeviatedByModules);
+                && Objects.equals(modulesDeviatedByModules, other.modulesDeviatedByModules)
+                && incrementalBuild == other.incrementalBuild && shareStatements == other.shareStatements;
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).omitNullValues().add("schemaSourceFilter", filter)
                 .add("statementParserMode", statementParserMode).add("supportedFeatures", supportedFeatures)
-                .add("modulesDeviatedByModules", modulesDeviatedByModules).toString();
+                .add("modulesDeviatedByModules", modulesDeviatedByModules).add("incrementalBuild", incrementalBuild)
+                .add("shareStatements", shareStatements).toString();
     }
 
     public static class Builder
@@ -110,6 +128,8 @@ public final class SchemaContextFactoryConfiguration implements Immutable {
         private StatementParserMode statementParserMode = StatementParserMode.DEFAULT_MODE;
         private ImmutableSetMultimap<QNameModule, QNameModule> modulesDeviatedByModules;
         private ImmutableSet<QName> supportedFeatures;
+        private boolean incrementalBuild;
+        private boolean shareStatements;
 
         /**
          * Set schema source filter which will filter available schema sources using the provided filter.
@@ -163,10 +183,43 @@ public final class SchemaContextFactoryConfiguration implements Immutable {
             return this;
         }
 
+        /**
+         * Enable incremental building of SchemaContexts. When enabled, the factory remembers the last SchemaContext it
+         * has built and reuses its modules in the next SchemaContext, as long as neither they, nor any module they
+         * import or include, directly or transitively, have changed. Modules augmented or deviated by a changed module
+         * are rebuilt, too. This is useful when SchemaContexts are created repeatedly from large, slowly-evolving sets
+         * of sources. Incremental building is only supported in {@link StatementParserMode#DEFAULT_MODE}, it is ignored
+         * in other modes.
+         *
+         * @param incrementalBuild {@code true} if SchemaContexts should be built incrementally
+         * @return this builder
+         */
+        public @NonNull Builder setIncrementalBuild(final boolean incrementalBuild) {
+            this.incrementalBuild = incrementalBuild;
+            return this;
+        }
+
+        /**
+         * Enable sharing of statements among SchemaContexts. When enabled, statements of modules are kept in a global
+         * table, from which they are reused by any other SchemaContext which contains the same modules, as long as
+         * they are built by the same parser, with the same supported features and deviations, and the sources they
+         * depend on, as well as modules augmenting or deviating them, are the same, too. This reduces memory footprint
+         * of applications which hold many similar SchemaContexts, such as those of mount points. Statements are
+         * retained only as long as they are used by some SchemaContext. Statement sharing is only supported in
+         * {@link StatementParserMode#DEFAULT_MODE}, it is ignored in other modes.
+         *
+         * @param shareStatements {@code true} if statements should be shared among SchemaContexts
+         * @return this builder
+         */
+        public @NonNull Builder setShareStatements(final boolean shareStatements) {
+            this.shareStatements = shareStatements;
+            return this;
+        }
+
         @Override
         public @NonNull SchemaContextFactoryConfiguration build() {
             return new SchemaContextFactoryConfiguration(filter, statementParserMode, supportedFeatures,
-                    modulesDeviatedByModules);
+                    modulesDeviatedByModules, incrementalBuild, shareStatements);
         }
     }
 }